@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import com.github.tonivade.resp.command.DefaultRequest;
+import com.github.tonivade.resp.command.DefaultSession;
+import com.github.tonivade.resp.command.RespCommand;
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+/**
+ * Server used by the benchmarks, commands are executed directly, without the network layer.
+ */
+public class BenchmarkServer {
+
+  private final ClauDB server;
+  private final Session session = new DefaultSession("benchmark", null);
+
+  public BenchmarkServer(int port, boolean offHeap) {
+    DBConfig.Builder builder = DBConfig.builder();
+    if (offHeap) {
+      builder.withOffHeapCache();
+    }
+    this.server = new ClauDB(DBServerContext.DEFAULT_HOST, port, builder.build());
+    this.session.putValue("state", new DBSessionState());
+  }
+
+  public void start() {
+    server.start();
+  }
+
+  public void stop() {
+    server.stop();
+  }
+
+  public DBServerContext getContext() {
+    return server;
+  }
+
+  public RedisToken execute(String command, String... params) {
+    RespCommand respCommand = server.getCommand(command);
+    return respCommand.execute(new DefaultRequest(server, session, safeString(command), safeAsList(params)));
+  }
+}
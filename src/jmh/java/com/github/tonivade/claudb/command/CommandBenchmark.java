@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.BenchmarkServer;
+
+/**
+ * Commands of every data type executed through {@link DBCommandWrapper}, on heap and off heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CommandBenchmark {
+
+  private static final int KEYS = 10000;
+
+  @Param({ "onheap", "offheap" })
+  public String backend;
+
+  private BenchmarkServer server;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    server = new BenchmarkServer(17081, backend.equals("offheap"));
+    server.start();
+    for (int i = 0; i < KEYS; i++) {
+      server.execute("set", "key:" + i, "value:" + i);
+    }
+    for (int i = 0; i < 100; i++) {
+      server.execute("rpush", "list", "value:" + i);
+      server.execute("sadd", "set", "value:" + i);
+      server.execute("zadd", "zset", String.valueOf(i), "value:" + i);
+      server.execute("hset", "hash", "field:" + i, "value:" + i);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.stop();
+  }
+
+  @Benchmark
+  public RedisToken get() {
+    return server.execute("get", nextKey());
+  }
+
+  @Benchmark
+  public RedisToken set() {
+    return server.execute("set", nextKey(), "value");
+  }
+
+  @Benchmark
+  public RedisToken incr() {
+    return server.execute("incr", "counter");
+  }
+
+  @Benchmark
+  public RedisToken lpushRpop() {
+    server.execute("lpush", "list", "value");
+    return server.execute("rpop", "list");
+  }
+
+  @Benchmark
+  public RedisToken lindex() {
+    return server.execute("lindex", "list", "50");
+  }
+
+  @Benchmark
+  public RedisToken sadd() {
+    return server.execute("sadd", "set", "value:" + (next++ % 100));
+  }
+
+  @Benchmark
+  public RedisToken sismember() {
+    return server.execute("sismember", "set", "value:50");
+  }
+
+  @Benchmark
+  public RedisToken zadd() {
+    return server.execute("zadd", "zset", String.valueOf(next % 100), "value:" + (next++ % 100));
+  }
+
+  @Benchmark
+  public RedisToken zrange() {
+    return server.execute("zrange", "zset", "0", "9");
+  }
+
+  @Benchmark
+  public RedisToken hset() {
+    return server.execute("hset", "hash", "field:" + (next++ % 100), "value");
+  }
+
+  @Benchmark
+  public RedisToken hget() {
+    return server.execute("hget", "hash", "field:50");
+  }
+
+  private String nextKey() {
+    return "key:" + (next++ % KEYS);
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.set;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.BenchmarkServer;
+import com.github.tonivade.claudb.command.pubsub.SubscriptionSupport;
+
+/**
+ * PUBLISH to a channel with many subscribers. Subscribers are not connected, so it measures the
+ * lookup of the subscriptions and the building of the messages, not the writes to the sockets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PublishBenchmark {
+
+  @Param({ "1", "100", "10000" })
+  public int subscribers;
+
+  @Param({ "1", "1000" })
+  public int channels;
+
+  private BenchmarkServer server;
+
+  @Setup
+  public void setUp() {
+    server = new BenchmarkServer(17082, false);
+    server.start();
+    List<SafeString> sessions = IntStream.range(0, subscribers)
+        .mapToObj(i -> safeString("session:" + i)).collect(Collectors.toList());
+    for (int i = 0; i < channels; i++) {
+      server.getContext().getAdminDatabase()
+          .put(safeKey(SubscriptionSupport.SUBSCRIPTION_PREFIX + "channel:" + i), set(sessions));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.stop();
+  }
+
+  @Benchmark
+  public RedisToken publish() {
+    return server.execute("publish", "channel:0", "message");
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Basic operations of the on heap and off heap databases, off heap includes the serialization
+ * of keys and values. Tiered keeps a tenth of the keys on heap, getHot only reads keys of
+ * that working set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DatabaseBenchmark {
+
+  private static final int KEYS = 100000;
+  private static final int HOT_KEYS = KEYS / 10;
+
+  @Param({ "onheap", "offheap", "tiered" })
+  public String backend;
+
+  private Database database;
+  private DatabaseKey[] keys;
+  private int next;
+  private int nextHot;
+
+  @Setup
+  public void setUp() {
+    DatabaseFactory factory = factory();
+    database = factory.create("benchmark");
+    keys = new DatabaseKey[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = safeKey("key:" + i);
+      database.put(keys[i], string("value:" + i));
+    }
+  }
+
+  @Benchmark
+  public DatabaseValue get() {
+    return database.get(nextKey());
+  }
+
+  @Benchmark
+  public DatabaseValue getHot() {
+    return database.get(keys[nextHot++ % HOT_KEYS]);
+  }
+
+  @Benchmark
+  public DatabaseValue put() {
+    return database.put(nextKey(), string("value"));
+  }
+
+  @Benchmark
+  public DatabaseValue merge() {
+    return database.merge(nextKey(), string("value"), (oldValue, newValue) -> newValue);
+  }
+
+  @Benchmark
+  public boolean containsKey() {
+    return database.containsKey(nextKey());
+  }
+
+  private DatabaseFactory factory() {
+    switch (backend) {
+      case "offheap":
+        return new OffHeapDatabaseFactory();
+      case "tiered":
+        return new TieredDatabaseFactory(HOT_KEYS);
+      default:
+        return new OnHeapDatabaseFactory();
+    }
+  }
+
+  private DatabaseKey nextKey() {
+    return keys[next++ % KEYS];
+  }
+}
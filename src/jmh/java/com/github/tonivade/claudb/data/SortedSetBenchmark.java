@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.claudb.data.DatabaseValue.score;
+
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SortedSetBenchmark {
+
+  @Param({ "100", "100000" })
+  public int size;
+
+  private SortedSet set;
+  private SafeString[] members;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    set = new SortedSet();
+    members = new SafeString[size];
+    for (int i = 0; i < size; i++) {
+      members[i] = safeString("member:" + i);
+      set.add(score(i, members[i]));
+    }
+  }
+
+  @Benchmark
+  public boolean addExisting() {
+    int i = next++ % size;
+    return set.add(score(i, members[i]));
+  }
+
+  @Benchmark
+  public boolean removeAndAdd() {
+    int i = next++ % size;
+    set.remove(members[i]);
+    return set.add(score(i, members[i]));
+  }
+
+  @Benchmark
+  public double memberScore() {
+    return set.score(members[next++ % size]);
+  }
+
+  @Benchmark
+  public int ranking() {
+    return set.ranking(members[next++ % size]);
+  }
+
+  @Benchmark
+  public Entry<Double, SafeString> range() {
+    return set.tailSet(score(size / 2, safeString(""))).first();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.persistence;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Checksum of a block of bytes, with one megabyte blocks the throughput in ops/s divided by
+ * 1024 is the throughput in GB/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class CRC64Benchmark {
+
+  @Param({ "64", "65536", "1048576" })
+  public int size;
+
+  private byte[] block;
+
+  @Setup
+  public void setUp() {
+    block = new byte[size];
+    new Random(1).nextBytes(block);
+  }
+
+  @Benchmark
+  public long block() {
+    CRC64 crc = new CRC64();
+    crc.update(block, 0, block.length);
+    return crc.getValue();
+  }
+
+  @Benchmark
+  public long byteByByte() {
+    CRC64 crc = new CRC64();
+    for (byte b : block) {
+      crc.update(b);
+    }
+    return crc.getValue();
+  }
+}
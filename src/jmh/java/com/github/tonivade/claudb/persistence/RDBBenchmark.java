@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.persistence;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.OnHeapDatabaseFactory;
+
+/**
+ * Dump and load of a whole database, every invocation is a full RDB file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RDBBenchmark {
+
+  @Param({ "1000000", "10000000" })
+  public int keys;
+
+  private Database database;
+  private byte[] dump;
+
+  @Setup
+  public void setUp() throws IOException {
+    database = new OnHeapDatabaseFactory().create("benchmark");
+    for (int i = 0; i < keys; i++) {
+      database.put(safeKey("key:" + i), string("value:" + i));
+    }
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    write(output);
+    dump = output.toByteArray();
+  }
+
+  @Benchmark
+  public void save() throws IOException {
+    write(new NullOutputStream());
+  }
+
+  @Benchmark
+  public Map<Integer, Map<DatabaseKey, DatabaseValue>> load() throws IOException {
+    return new RDBInputStream(new ByteArrayInputStream(dump)).parse();
+  }
+
+  private void write(OutputStream output) throws IOException {
+    RDBOutputStream rdb = new RDBOutputStream(output);
+    rdb.preamble(8);
+    rdb.select(0);
+    rdb.dabatase(database);
+    rdb.end();
+  }
+
+  private static final class NullOutputStream extends OutputStream {
+    @Override
+    public void write(int b) {
+      // discard
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      // discard
+    }
+  }
+}
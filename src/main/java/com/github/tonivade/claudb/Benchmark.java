@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.github.tonivade.resp.RespCallback;
+import com.github.tonivade.resp.RespClient;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.RedisTokenType;
+import com.github.tonivade.resp.protocol.SafeString;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+
+/**
+ * Load generator like redis-benchmark. Every connection keeps up to pipeline requests in flight,
+ * commands are chosen randomly from the mix according to their weights, and latency is measured
+ * from the moment a request is sent until its reply arrives.
+ */
+public class Benchmark {
+
+  private static final String SCRIPT = "return redis.call('get', KEYS[1])";
+
+  private final String host;
+  private final int port;
+  private final int clients;
+  private final long requests;
+  private final int pipeline;
+  private final int keyspace;
+  private final String payload;
+  private final List<Operation> mix;
+  private final int totalWeight;
+
+  private final AtomicLong issued = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final Histogram total = new ConcurrentHistogram(3);
+
+  private CountDownLatch finished;
+
+  Benchmark(String host, int port, int clients, long requests,
+            int pipeline, int keyspace, String payload, List<Operation> mix) {
+    this.host = host;
+    this.port = port;
+    this.clients = clients;
+    this.requests = requests;
+    this.pipeline = pipeline;
+    this.keyspace = keyspace;
+    this.payload = payload;
+    this.mix = mix;
+    this.totalWeight = mix.stream().mapToInt(operation -> operation.weight).sum();
+  }
+
+  public void run() throws InterruptedException {
+    finished = new CountDownLatch(1);
+    List<Connection> connections = new ArrayList<>(clients);
+    for (int i = 0; i < clients; i++) {
+      connections.add(new Connection());
+    }
+    for (Connection connection : connections) {
+      connection.connect();
+    }
+
+    long start = System.nanoTime();
+    connections.forEach(Connection::start);
+    finished.await();
+    long elapsed = System.nanoTime() - start;
+
+    connections.forEach(Connection::stop);
+    report(elapsed);
+  }
+
+  private void report(long elapsed) {
+    double seconds = elapsed / 1_000_000_000.0;
+    System.out.printf("%d requests completed in %.2f seconds%n", total.getTotalCount(), seconds);
+    System.out.printf("%d parallel clients, pipeline %d, %d keys, %d bytes payload%n%n",
+        clients, pipeline, keyspace, payload.length());
+    System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n",
+        "command", "requests", "req/s", "p50(us)", "p99(us)", "p999(us)", "max(us)");
+    for (Operation operation : mix) {
+      print(operation.name, operation.latency, seconds);
+    }
+    print("ALL", total, seconds);
+    System.out.printf("%n%d errors%n", errors.get());
+  }
+
+  private void print(String name, Histogram histogram, double seconds) {
+    System.out.printf("%-10s %10d %10.2f %10d %10d %10d %10d%n", name,
+        histogram.getTotalCount(),
+        histogram.getTotalCount() / seconds,
+        histogram.getValueAtPercentile(50.0),
+        histogram.getValueAtPercentile(99.0),
+        histogram.getValueAtPercentile(99.9),
+        histogram.getMaxValue());
+  }
+
+  private Operation nextOperation() {
+    int value = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (Operation operation : mix) {
+      value -= operation.weight;
+      if (value < 0) {
+        return operation;
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  private String[] nextCommand(Operation operation) {
+    return operation.command.apply(ThreadLocalRandom.current().nextInt(keyspace));
+  }
+
+  private final class Connection implements RespCallback {
+
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch connected = new CountDownLatch(1);
+    private final RespClient client = new RespClient(host, port, this);
+
+    void connect() throws InterruptedException {
+      client.start();
+      if (!connected.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("cannot connect to " + host + ":" + port);
+      }
+    }
+
+    void start() {
+      if (mix.stream().anyMatch(operation -> operation.name.equals("EVALSHA"))) {
+        // not measured, the script has to be loaded before the first evalsha arrives
+        pending.add(new Pending(null));
+        client.send("script", "load", SCRIPT);
+      }
+      for (int i = 0; i < pipeline; i++) {
+        sendNext();
+      }
+    }
+
+    void stop() {
+      client.stop();
+    }
+
+    @Override
+    public void onConnect() {
+      connected.countDown();
+    }
+
+    @Override
+    public void onDisconnect() {
+      if (finished.getCount() > 0) {
+        System.err.println("connection closed before the end of the benchmark");
+        finished.countDown();
+      }
+    }
+
+    @Override
+    public void onMessage(RedisToken token) {
+      long now = System.nanoTime();
+      Pending request = pending.poll();
+      if (request == null || request.operation == null) {
+        return;
+      }
+      if (token.getType() == RedisTokenType.ERROR) {
+        errors.incrementAndGet();
+      }
+      long micros = TimeUnit.NANOSECONDS.toMicros(now - request.start);
+      request.operation.latency.recordValue(micros);
+      total.recordValue(micros);
+      if (completed.incrementAndGet() >= requests) {
+        finished.countDown();
+      } else {
+        sendNext();
+      }
+    }
+
+    private void sendNext() {
+      if (issued.incrementAndGet() <= requests) {
+        Operation operation = nextOperation();
+        String[] command = nextCommand(operation);
+        pending.add(new Pending(operation));
+        client.send(command);
+      }
+    }
+  }
+
+  private static final class Pending {
+    private final long start = System.nanoTime();
+    private final Operation operation;
+
+    private Pending(Operation operation) {
+      this.operation = operation;
+    }
+  }
+
+  static final class Operation {
+    private final String name;
+    private final int weight;
+    private final IntFunction<String[]> command;
+    private final Histogram latency = new ConcurrentHistogram(3);
+
+    private Operation(String name, int weight, IntFunction<String[]> command) {
+      this.name = name;
+      this.weight = weight;
+      this.command = command;
+    }
+  }
+
+  /**
+   * Parses a mix like get:8,set:2, weight is 1 if not specified.
+   */
+  static List<Operation> parseMix(String mix, String payload, String sha1) {
+    List<Operation> operations = new ArrayList<>();
+    for (String item : mix.split(",")) {
+      String[] parts = item.trim().split(":");
+      String name = parts[0].toUpperCase();
+      int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+      if (weight <= 0) {
+        throw new IllegalArgumentException("invalid weight: " + item);
+      }
+      operations.add(new Operation(name, weight, command(name, payload, sha1)));
+    }
+    return operations;
+  }
+
+  private static IntFunction<String[]> command(String name, String payload, String sha1) {
+    switch (name) {
+    case "GET":
+      return key -> new String[] { "get", "key:" + key };
+    case "SET":
+      return key -> new String[] { "set", "key:" + key, payload };
+    case "INCR":
+      return key -> new String[] { "incr", "counter:" + key };
+    case "LPUSH":
+      return key -> new String[] { "lpush", "list:" + key, payload };
+    case "ZADD":
+      return key -> new String[] { "zadd", "zset:" + key,
+          String.valueOf(ThreadLocalRandom.current().nextInt(1000)), "member:" + key };
+    case "EVALSHA":
+      return key -> new String[] { "evalsha", sha1, "1", "key:" + key };
+    default:
+      throw new IllegalArgumentException("command not supported: " + name);
+    }
+  }
+
+  private static String digest(String script) throws NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance("SHA-1");
+    return new SafeString(digest.digest(safeString(script).getBytes())).toHexString();
+  }
+
+  public static void main(String[] args) throws Exception {
+    OptionParser parser = new OptionParser();
+    OptionSpec<Void> help = parser.accepts("help", "print help");
+    OptionSpec<String> host = parser.accepts("h", "host").withRequiredArg().ofType(String.class)
+        .defaultsTo(ClauDB.DEFAULT_HOST);
+    OptionSpec<Integer> port = parser.accepts("p", "port").withRequiredArg().ofType(Integer.class)
+        .defaultsTo(ClauDB.DEFAULT_PORT);
+    OptionSpec<Integer> clients = parser.accepts("c", "number of parallel connections")
+        .withRequiredArg().ofType(Integer.class).defaultsTo(50);
+    OptionSpec<Long> requests = parser.accepts("n", "total number of requests")
+        .withRequiredArg().ofType(Long.class).defaultsTo(100000L);
+    OptionSpec<Integer> pipeline = parser.accepts("P", "requests in flight per connection")
+        .withRequiredArg().ofType(Integer.class).defaultsTo(1);
+    OptionSpec<Integer> keyspace = parser.accepts("r", "number of distinct keys")
+        .withRequiredArg().ofType(Integer.class).defaultsTo(10000);
+    OptionSpec<Integer> dataSize = parser.accepts("d", "size in bytes of values")
+        .withRequiredArg().ofType(Integer.class).defaultsTo(3);
+    OptionSpec<String> tests = parser.accepts("t", "command mix: get,set,incr,lpush,zadd,evalsha with optional weights, e.g. get:8,set:2")
+        .withRequiredArg().ofType(String.class).defaultsTo("get,set");
+
+    OptionSet options = parser.parse(args);
+
+    if (options.has(help)) {
+      parser.printHelpOn(System.out);
+    } else {
+      String payload = new String(new char[options.valueOf(dataSize)]).replace('\0', 'x');
+      List<Operation> mix = parseMix(options.valueOf(tests), payload, digest(SCRIPT));
+      int keys = options.valueOf(keyspace);
+      if (options.valueOf(clients) < 1 || options.valueOf(pipeline) < 1 || keys < 1) {
+        throw new IllegalArgumentException("clients, pipeline and keys must be positive: " + Arrays.toString(args));
+      }
+
+      Benchmark benchmark = new Benchmark(options.valueOf(host), options.valueOf(port),
+          options.valueOf(clients), options.valueOf(requests), options.valueOf(pipeline),
+          keys, payload, mix);
+      benchmark.run();
+    }
+  }
+}
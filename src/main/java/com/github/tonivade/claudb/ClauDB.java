@@ -12,7 +12,8 @@ import static java.util.stream.Collectors.toList;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.time.Instant;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -21,11 +22,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.tonivade.claudb.command.DBCommandSuite;
+import com.github.tonivade.claudb.command.list.BlockingRegistry;
+import com.github.tonivade.claudb.command.list.BlockingTimer;
+import com.github.tonivade.claudb.command.scripting.ScriptExecutor;
+import com.github.tonivade.claudb.command.server.SlowLog;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseCleaner;
 import com.github.tonivade.claudb.data.DatabaseFactory;
 import com.github.tonivade.claudb.data.OffHeapDatabaseFactory;
 import com.github.tonivade.claudb.data.OnHeapDatabaseFactory;
+import com.github.tonivade.claudb.data.SegmentDatabaseFactory;
+import com.github.tonivade.claudb.data.TieredDatabaseFactory;
 import com.github.tonivade.claudb.event.Event;
 import com.github.tonivade.claudb.event.NotificationManager;
 import com.github.tonivade.claudb.persistence.PersistenceManager;
@@ -41,7 +49,12 @@ public class ClauDB extends RespServerContext implements DBServerContext {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ClauDB.class);
 
+  private static final String SELECT = "select";
+  private static final String MULTI = "multi";
+  private static final String EXEC = "exec";
+
   private DatabaseCleaner cleaner;
+  private BlockingTimer blockingTimer;
   private Optional<PersistenceManager> persistence;
   private Optional<NotificationManager> notifications;
   
@@ -71,6 +84,7 @@ public class ClauDB extends RespServerContext implements DBServerContext {
     persistence.ifPresent(PersistenceManager::start);
     notifications.ifPresent(NotificationManager::start);
     cleaner.start();
+    blockingTimer.start();
   }
 
   @Override
@@ -78,12 +92,14 @@ public class ClauDB extends RespServerContext implements DBServerContext {
     persistence.ifPresent(PersistenceManager::stop);
     notifications.ifPresent(NotificationManager::stop);
     cleaner.stop();
+    blockingTimer.stop();
 
     getState().clear();
 
     persistence = null;
     notifications = null;
     cleaner = null;
+    blockingTimer = null;
     
     super.stop();
   }
@@ -116,18 +132,12 @@ public class ClauDB extends RespServerContext implements DBServerContext {
 
   @Override
   public void exportRDB(OutputStream output) throws IOException {
-    executeOn(Observable.create(observable -> {
-      getState().exportRDB(output);
-      observable.onComplete();
-    })).blockingSubscribe();
+    executeOrFail(() -> getState().exportRDB(output));
   }
 
   @Override
   public void importRDB(InputStream input) throws IOException {
-    executeOn(Observable.create(observable -> {
-      getState().importRDB(input);
-      observable.onComplete();
-    })).blockingSubscribe();
+    executeOrFail(() -> getState().importRDB(input));
   }
 
   @Override
@@ -141,11 +151,17 @@ public class ClauDB extends RespServerContext implements DBServerContext {
   }
 
   @Override
-  public void clean(Instant now) {
-    executeOn(Observable.create(observable -> {
-      getState().evictExpired(now);
-      observable.onComplete();
-    })).blockingSubscribe();  
+  public void clean(long now) {
+    // if a script is running it will be cleaned next time
+    executeIfNotBusy(() -> getState().evictExpired(now));
+  }
+
+  @Override
+  public void expireBlocked(long now) {
+    BlockingRegistry registry = getState().getBlockingRegistry();
+    if (registry.hasTimeouts()) {
+      registry.expire(now);
+    }
   }
 
   @Override
@@ -155,16 +171,38 @@ public class ClauDB extends RespServerContext implements DBServerContext {
 
   @Override
   protected void cleanSession(Session session) {
+    serverState().ifPresent(state -> {
+      state.getBlockingRegistry().cancel(session);
+      sessionState(session).flatMap(DBSessionState::removeWatch).ifPresent(state::unwatch);
+    });
     session.destroy();
   }
 
   @Override
   protected RedisToken executeCommand(RespCommand command, Request request) {
+    try {
+      // every key touched by the command is checked for expiration against the same time
+      return Clock.frozen(() -> executeCommandAt(command, request));
+    } finally {
+      // commands called from a script are not replicated, the script is
+      sessionState(request.getSession()).ifPresent(DBSessionState::clearReplications);
+    }
+  }
+
+  private RedisToken executeCommandAt(RespCommand command, Request request) {
+    if (isScriptBusy(request)) {
+      return error(ScriptExecutor.BUSY);
+    }
     if (!isReadOnly(request.getCommand())) {
       try {
+        // queued commands are replicated by EXEC, all in the same block
+        boolean replicate = !isTxActive(request) && !isTxIgnore(request.getCommand());
         RedisToken response = command.execute(request);
-        replication(request);
-        notification(request);
+        if (replicate && !isBlocked(request)) {
+          replication(request);
+          notification(request);
+        }
+        serveBlocked();
         return response;
       } catch (RuntimeException e) {
         LOGGER.error("error executing command: " + request, e);
@@ -175,23 +213,131 @@ public class ClauDB extends RespServerContext implements DBServerContext {
     }
   }
 
+  @Override
+  public void replicateTransaction(int db, List<Request> requests) {
+    List<RedisToken> commands = new ArrayList<>(requests.size() + 2);
+    int current = db;
+    for (Request request : requests) {
+      if (isSelect(request)) {
+        current = selectedDB(request, current);
+      } else if (!isReadOnlyCommand(request.getCommand())) {
+        Optional<RedisToken> replicated = replicatedAs(request);
+        commands.add(replicated.isPresent() ? replicated.get() : requestToArray(current, request));
+        notification(current, request);
+      }
+    }
+    if (!commands.isEmpty()) {
+      commands.add(0, RedisToken.array(dbToken(db), RedisToken.string(MULTI)));
+      commands.add(RedisToken.array(dbToken(current), RedisToken.string(EXEC)));
+      replication(commands);
+    }
+  }
+
+  private boolean isSelect(Request request) {
+    return request.getCommand().equalsIgnoreCase(SELECT);
+  }
+
+  private int selectedDB(Request request, int current) {
+    try {
+      return Integer.parseInt(request.getParam(0).toString());
+    } catch (RuntimeException e) {
+      return current;
+    }
+  }
+
+  private boolean isTxActive(Request request) {
+    return request.getSession().getValue("tx").isPresent();
+  }
+
+  private boolean isTxIgnore(String command) {
+    return getDBCommands().isTxIgnore(command);
+  }
+
+  /**
+   * A script that overruns the time limit keeps running in its own thread, the databases are
+   * not thread safe so nothing else can touch them until it ends. It is checked in the command
+   * executor, a script only can start and be detached from a command executed there.
+   */
+  private boolean executeIfNotBusy(DataTask task) {
+    return executeOn(Observable.<Boolean>create(observable -> {
+      boolean busy = getState().getScriptExecutor().isBusy();
+      if (!busy) {
+        task.run();
+      }
+      observable.onNext(!busy);
+      observable.onComplete();
+    })).blockingFirst();
+  }
+
+  private void executeOrFail(DataTask task) throws IOException {
+    boolean executed;
+    try {
+      executed = executeIfNotBusy(task);
+    } catch (RuntimeException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+    if (!executed) {
+      throw new IOException(ScriptExecutor.BUSY);
+    }
+  }
+
+  private boolean isScriptBusy(Request request) {
+    return getState().getScriptExecutor().isBusy() && !isScriptKill(request);
+  }
+
+  private boolean isScriptKill(Request request) {
+    return request.getCommand().equalsIgnoreCase("script")
+        && request.getOptionalParam(0).map(param -> param.toString().equalsIgnoreCase("kill")).orElse(false);
+  }
+
   private boolean isReadOnly(String command) {
     return !isMaster() && !isReadOnlyCommand(command);
   }
 
+  private boolean isBlocked(Request request) {
+    return getState().getBlockingRegistry().isBlocked(request.getSession());
+  }
+
+  private void serveBlocked() {
+    getState().getBlockingRegistry().serve(getState()::getDatabase).forEach(this::replication);
+  }
+
   private void replication(Request request) {
     if (!isReadOnlyCommand(request.getCommand())) {
-      RedisToken array = requestToArray(request);
-      if (hasSlaves()) {
-        getState().append(array);
-      }
-      persistence.ifPresent(manager -> manager.append(array));
+      replication(replicatedAs(request).orElseGet(() -> requestToArray(request)));
     }
   }
 
+  private Optional<RedisToken> replicatedAs(Request request) {
+    return sessionState(request.getSession()).flatMap(state -> state.removeReplication(request));
+  }
+
+  private void replication(RedisToken array) {
+    if (hasSlaves()) {
+      getState().append(array);
+    }
+    persistence.ifPresent(manager -> manager.append(array));
+  }
+
+  private void replication(List<RedisToken> commands) {
+    if (hasSlaves()) {
+      commands.forEach(getState()::append);
+    }
+    persistence.ifPresent(manager -> manager.append(commands));
+  }
+
   private void notification(Request request) {
     if (!isReadOnlyCommand(request.getCommand()) && request.getLength() > 1) {
-      notifications.ifPresent(manager -> publishEvent(manager, request));
+      notifications.ifPresent(manager -> publishEvent(manager, currentDB(request), request));
+    }
+  }
+
+  private void notification(int db, Request request) {
+    if (request.getLength() > 1) {
+      notifications.ifPresent(manager -> publishEvent(manager, db, request));
     }
   }
 
@@ -199,17 +345,17 @@ public class ClauDB extends RespServerContext implements DBServerContext {
     return getDBCommands().isReadOnly(command);
   }
 
-  private void publishEvent(NotificationManager manager, Request request) {
-    manager.enqueue(createKeyEvent(request));
-    manager.enqueue(createCommandEvent(request));
+  private void publishEvent(NotificationManager manager, int db, Request request) {
+    manager.enqueue(createKeyEvent(db, request));
+    manager.enqueue(createCommandEvent(db, request));
   }
 
-  private Event createKeyEvent(Request request) {
-    return Event.keyEvent(safeString(request.getCommand()), request.getParam(0), currentDB(request));
+  private Event createKeyEvent(int db, Request request) {
+    return Event.keyEvent(safeString(request.getCommand()), request.getParam(0), db);
   }
 
-  private Event createCommandEvent(Request request) {
-    return Event.commandEvent(safeString(request.getCommand()), request.getParam(0), currentDB(request));
+  private Event createCommandEvent(int db, Request request) {
+    return Event.commandEvent(safeString(request.getCommand()), request.getParam(0), db);
   }
 
   private Integer currentDB(Request request) {
@@ -217,8 +363,12 @@ public class ClauDB extends RespServerContext implements DBServerContext {
   }
 
   private RedisToken requestToArray(Request request) {
+    return requestToArray(getCurrentDB(request), request);
+  }
+
+  private RedisToken requestToArray(int db, Request request) {
     List<RedisToken> array = new LinkedList<>();
-    array.add(currentDbToken(request));
+    array.add(dbToken(db));
     array.add(commandToken(request));
     array.addAll(paramTokens(request));
     return RedisToken.array(array);
@@ -228,8 +378,8 @@ public class ClauDB extends RespServerContext implements DBServerContext {
     return RedisToken.string(request.getCommand());
   }
 
-  private RedisToken currentDbToken(Request request) {
-    return RedisToken.string(valueOf(getCurrentDB(request)));
+  private RedisToken dbToken(int db) {
+    return RedisToken.string(valueOf(db));
   }
 
   private int getCurrentDB(Request request) {
@@ -267,17 +417,23 @@ public class ClauDB extends RespServerContext implements DBServerContext {
   private void init() {
     DatabaseFactory factory = initFactory();
 
-    putValue("state", new DBServerState(factory, config.getNumDatabases()));
+    SlowLog slowLog = new SlowLog(config.getSlowlogLogSlowerThan(), config.getSlowlogMaxLen());
+    putValue("state", new DBServerState(factory, config.getNumDatabases(), config.getLuaTimeLimit(), slowLog));
 
     initPersistence();
     initNotifications();
     initCleaner();
+    initBlockingTimer();
   }
 
   private void initCleaner() {
     this.cleaner = new DatabaseCleaner(this, config);
   }
 
+  private void initBlockingTimer() {
+    this.blockingTimer = new BlockingTimer(this);
+  }
+
   private void initNotifications() {
     if (config.isNotificationsActive()) {
       this.notifications = Optional.of(new NotificationManager(this));
@@ -296,11 +452,20 @@ public class ClauDB extends RespServerContext implements DBServerContext {
 
   private DatabaseFactory initFactory() {
     DatabaseFactory factory = null;
-    if (config.isOffHeapActive()) {
+    if (config.isOffHeapActive() && config.getSegmentsDirectory() != null) {
+      factory = new SegmentDatabaseFactory(Paths.get(config.getSegmentsDirectory()), config.getHotKeys());
+    } else if (config.isOffHeapActive() && config.getHotKeys() > 0) {
+      factory = new TieredDatabaseFactory(config.getHotKeys());
+    } else if (config.isOffHeapActive()) {
       factory = new OffHeapDatabaseFactory();
     } else {
       factory = new OnHeapDatabaseFactory();
     }
     return factory;
   }
+
+  @FunctionalInterface
+  private interface DataTask {
+    void run() throws IOException;
+  }
 }
@@ -9,6 +9,9 @@ public class DBConfig {
   private static final int DEFAULT_SYNC_PERIOD = 60;
   private static final int DEFAULT_CLEAN_PERIOD = 30;
   private static final int DEFAULT_DATABASES = 10;
+  private static final int DEFAULT_LUA_TIME_LIMIT = 5000;
+  private static final long DEFAULT_SLOWLOG_LOG_SLOWER_THAN = 10000;
+  private static final int DEFAULT_SLOWLOG_MAX_LEN = 128;
   private static final String DUMP_FILE = "dump.rdb";
   private static final String REDO_FILE = "redo.aof";
 
@@ -17,12 +20,17 @@ public class DBConfig {
   private boolean persistenceActive;
   private boolean notificationsActive;
   private boolean offHeapActive;
+  private int hotKeys;
 
+  private String segmentsDirectory;
   private String rdbFile;
   private String aofFile;
 
   private int syncPeriod = DEFAULT_SYNC_PERIOD;
   private int cleanPeriod = DEFAULT_CLEAN_PERIOD;
+  private int luaTimeLimit = DEFAULT_LUA_TIME_LIMIT;
+  private long slowlogLogSlowerThan = DEFAULT_SLOWLOG_LOG_SLOWER_THAN;
+  private int slowlogMaxLen = DEFAULT_SLOWLOG_MAX_LEN;
 
   public boolean isPersistenceActive() {
     return persistenceActive;
@@ -48,6 +56,29 @@ public class DBConfig {
     return offHeapActive;
   }
 
+  public void setHotKeys(int hotKeys) {
+    this.hotKeys = hotKeys;
+  }
+
+  /**
+   * Keys of every database kept on heap when off heap memory is active, 0 to keep all of them
+   * off heap.
+   */
+  public int getHotKeys() {
+    return hotKeys;
+  }
+
+  public void setSegmentsDirectory(String segmentsDirectory) {
+    this.segmentsDirectory = segmentsDirectory;
+  }
+
+  /**
+   * Directory of the segment files, if it is set values are stored on disk instead of off heap.
+   */
+  public String getSegmentsDirectory() {
+    return segmentsDirectory;
+  }
+
   public String getRdbFile() {
     return rdbFile;
   }
@@ -88,6 +119,34 @@ public class DBConfig {
     this.cleanPeriod = cleanPeriod;
   }
 
+  public int getLuaTimeLimit() {
+    return luaTimeLimit;
+  }
+
+  public void setLuaTimeLimit(int luaTimeLimit) {
+    this.luaTimeLimit = luaTimeLimit;
+  }
+
+  /**
+   * Execution time in microseconds from which commands are recorded in the slow log, a negative
+   * value disables it.
+   */
+  public long getSlowlogLogSlowerThan() {
+    return slowlogLogSlowerThan;
+  }
+
+  public void setSlowlogLogSlowerThan(long slowlogLogSlowerThan) {
+    this.slowlogLogSlowerThan = slowlogLogSlowerThan;
+  }
+
+  public int getSlowlogMaxLen() {
+    return slowlogMaxLen;
+  }
+
+  public void setSlowlogMaxLen(int slowlogMaxLen) {
+    this.slowlogMaxLen = slowlogMaxLen;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -112,11 +171,34 @@ public class DBConfig {
       return this;
     }
 
+    public Builder withTieredCache(int hotKeys) {
+      config.setOffHeapActive(true);
+      config.setHotKeys(hotKeys);
+      return this;
+    }
+
+    public Builder withSegmentFiles(String directory) {
+      config.setOffHeapActive(true);
+      config.setSegmentsDirectory(directory);
+      return this;
+    }
+
     public Builder withNotifications() {
       config.setNotificationsActive(true);
       return this;
     }
 
+    public Builder withLuaTimeLimit(int luaTimeLimit) {
+      config.setLuaTimeLimit(luaTimeLimit);
+      return this;
+    }
+
+    public Builder withSlowLog(long slowerThan, int maxLen) {
+      config.setSlowlogLogSlowerThan(slowerThan);
+      config.setSlowlogMaxLen(maxLen);
+      return this;
+    }
+
     public DBConfig build() {
       return config;
     }
@@ -7,9 +7,9 @@ package com.github.tonivade.claudb;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.time.Instant;
 import java.util.List;
 
+import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.command.ServerContext;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.data.Database;
@@ -27,5 +27,7 @@ public interface DBServerContext extends ServerContext {
   Database getAdminDatabase();
   void publish(String sourceKey, RedisToken message);
   List<RedisToken> getCommandsToReplicate();
-  void clean(Instant now);
+  void replicateTransaction(int db, List<Request> requests);
+  void clean(long now);
+  void expireBlocked(long now);
 }
\ No newline at end of file
@@ -6,14 +6,14 @@ package com.github.tonivade.claudb;
 
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
 import static com.github.tonivade.claudb.data.DatabaseValue.entry;
 import static com.github.tonivade.claudb.data.DatabaseValue.hash;
-import static com.github.tonivade.claudb.data.DatabaseValue.set;
+import static com.github.tonivade.claudb.data.DatabaseValue.persistentSet;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -24,19 +24,28 @@ import java.util.Queue;
 
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.list.BlockingRegistry;
+import com.github.tonivade.claudb.command.scripting.ScriptExecutor;
+import com.github.tonivade.claudb.command.server.SlowLog;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseFactory;
 import com.github.tonivade.claudb.data.DatabaseKey;
 import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.KeyspaceStats;
+import com.github.tonivade.claudb.data.LazyFree;
+import com.github.tonivade.claudb.data.StatsDatabase;
+import com.github.tonivade.claudb.data.WatchedDatabase;
 import com.github.tonivade.claudb.persistence.RDBInputStream;
 import com.github.tonivade.claudb.persistence.RDBOutputStream;
 
+import io.vavr.collection.HashSet;
 import io.vavr.collection.LinkedHashMap;
 import io.vavr.collection.Set;
 
 public class DBServerState {
 
-  private static final int RDB_VERSION = 6;
+  private static final int RDB_VERSION = 8;
+  private static final long DEFAULT_SCRIPT_TIME_LIMIT = 5000;
 
   private static final SafeString SLAVES = safeString("slaves");
   private static final DatabaseKey SLAVES_KEY = safeKey("slaves");
@@ -44,17 +53,35 @@ public class DBServerState {
 
   private boolean master = true;
 
-  private final List<Database> databases = new ArrayList<>();
+  private final List<WatchedDatabase> databases = new ArrayList<>();
+  private final List<StatsDatabase> keyspaces = new ArrayList<>();
   private final Database admin;
   private final DatabaseFactory factory;
+  private final ScriptExecutor scriptExecutor;
+  private final BlockingRegistry blockingRegistry = new BlockingRegistry();
+  private final LazyFree lazyFree = new LazyFree();
+  private final KeyspaceStats keyspaceStats = new KeyspaceStats();
+  private final SlowLog slowLog;
 
   private final Queue<RedisToken> queue = new LinkedList<>();
 
   public DBServerState(DatabaseFactory factory, int numDatabases) {
+    this(factory, numDatabases, DEFAULT_SCRIPT_TIME_LIMIT);
+  }
+
+  public DBServerState(DatabaseFactory factory, int numDatabases, long scriptTimeLimit) {
+    this(factory, numDatabases, scriptTimeLimit, new SlowLog());
+  }
+
+  public DBServerState(DatabaseFactory factory, int numDatabases, long scriptTimeLimit, SlowLog slowLog) {
     this.factory = factory;
+    this.scriptExecutor = new ScriptExecutor(scriptTimeLimit);
+    this.slowLog = slowLog;
     this.admin = factory.create("admin");
     for (int i = 0; i < numDatabases; i++) {
-      this.databases.add(factory.create("db-" + i));
+      StatsDatabase keyspace = new StatsDatabase(factory.create("db-" + i), keyspaceStats);
+      this.keyspaces.add(keyspace);
+      this.databases.add(new WatchedDatabase(keyspace));
     }
   }
 
@@ -78,8 +105,53 @@ public class DBServerState {
     return databases.get(id);
   }
 
+  public int getNumDatabases() {
+    return databases.size();
+  }
+
+  public StatsDatabase getKeyspace(int id) {
+    return keyspaces.get(id);
+  }
+
+  public KeyspaceStats getKeyspaceStats() {
+    return keyspaceStats;
+  }
+
+  public void watch(WatchState state, int db, DatabaseKey key) {
+    WatchedDatabase database = databases.get(db);
+    DatabaseValue value = database.get(key);
+    if (state.add(db, key, value != null ? value.getExpiredAt() : NO_EXPIRATION)) {
+      database.watch(key, state);
+    }
+  }
+
+  public void unwatch(WatchState state) {
+    state.forEach((db, key) -> databases.get(db).unwatch(key, state));
+  }
+
+  public ScriptExecutor getScriptExecutor() {
+    return scriptExecutor;
+  }
+
+  public BlockingRegistry getBlockingRegistry() {
+    return blockingRegistry;
+  }
+
+  public LazyFree getLazyFree() {
+    return lazyFree;
+  }
+
+  public SlowLog getSlowLog() {
+    return slowLog;
+  }
+
   public void clear() {
+    scriptExecutor.shutdown();
+    lazyFree.shutdown();
     databases.clear();
+    keyspaces.forEach(StatsDatabase::reset);
+    keyspaces.clear();
+    keyspaceStats.reset();
     factory.clear();
   }
 
@@ -133,14 +205,14 @@ public class DBServerState {
   }
 
   public void addSlave(String id) {
-    getAdminDatabase().merge(SLAVES_KEY, set(safeString(id)), (oldValue, newValue) -> {
-      return set(oldValue.getSet().addAll(newValue.getSet()));
+    getAdminDatabase().merge(SLAVES_KEY, persistentSet(HashSet.of(safeString(id))), (oldValue, newValue) -> {
+      return persistentSet(oldValue.getSet().addAll(newValue.getSet()));
     });
   }
 
   public void removeSlave(String id) {
-    getAdminDatabase().merge(SLAVES_KEY, set(safeString(id)), (oldValue, newValue) -> {
-      return set(oldValue.getSet().removeAll(newValue.getSet()));
+    getAdminDatabase().merge(SLAVES_KEY, persistentSet(HashSet.of(safeString(id))), (oldValue, newValue) -> {
+      return persistentSet(oldValue.getSet().removeAll(newValue.getSet()));
     });
   }
 
@@ -150,9 +222,11 @@ public class DBServerState {
     return list;
   }
 
-  public void evictExpired(Instant now) {
+  public void evictExpired(long now) {
     for (Database database : databases) {
-      database.evictableKeys(now).forEach(database::remove);
+      Set<DatabaseKey> keys = database.evictableKeys(now);
+      // the keys have expired, so they are counted as expired and not as evicted
+      keys.forEach(database::remove);
     }
   }
 }
@@ -7,15 +7,23 @@ package com.github.tonivade.claudb;
 import static java.util.Collections.unmodifiableSet;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.resp.protocol.SafeString;
 
 public class DBSessionState {
 
   private int db;
+  private boolean blockingAllowed = true;
+  private WatchState watch;
 
   private final Set<SafeString> subscriptions = new HashSet<>();
+  private final Map<Request, RedisToken> replications = new IdentityHashMap<>();
 
   public int getCurrentDB() {
     return db;
@@ -25,6 +33,27 @@ public class DBSessionState {
     this.db = db;
   }
 
+  public boolean isBlockingAllowed() {
+    return blockingAllowed;
+  }
+
+  public void setBlockingAllowed(boolean blockingAllowed) {
+    this.blockingAllowed = blockingAllowed;
+  }
+
+  public WatchState getOrCreateWatch() {
+    if (watch == null) {
+      watch = new WatchState();
+    }
+    return watch;
+  }
+
+  public Optional<WatchState> removeWatch() {
+    Optional<WatchState> current = Optional.ofNullable(watch);
+    watch = null;
+    return current;
+  }
+
   public Set<SafeString> getSubscriptions() {
     return unmodifiableSet(subscriptions);
   }
@@ -40,4 +69,20 @@ public class DBSessionState {
   public boolean isSubscribed() {
     return !subscriptions.isEmpty();
   }
+
+  /**
+   * The command to replicate instead of the request, for commands that would not give the same
+   * result if they were executed again in the slaves or replaying the AOF.
+   */
+  public void replicateAs(Request request, RedisToken command) {
+    replications.put(request, command);
+  }
+
+  public Optional<RedisToken> removeReplication(Request request) {
+    return Optional.ofNullable(replications.remove(request));
+  }
+
+  public void clearReplications() {
+    replications.clear();
+  }
 }
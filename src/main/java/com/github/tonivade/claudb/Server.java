@@ -20,6 +20,10 @@ public class Server {
     OptionSpec<Void> verbose = parser.accepts("V", "verbose");
     OptionSpec<Void> persist = parser.accepts("P", "persistence (experimental)");
     OptionSpec<Void> offHeap = parser.accepts("O", "off heap memory (experimental)");
+    OptionSpec<Integer> hotKeys = parser.accepts("T", "keys per database kept on heap with off heap memory (experimental)")
+        .withRequiredArg().ofType(Integer.class);
+    OptionSpec<String> segments = parser.accepts("S", "store values on disk, in segment files in this directory (experimental)")
+        .withRequiredArg().ofType(String.class);
     OptionSpec<Void> notifications = parser.accepts("N", "keyspace notifications (experimental)");
     OptionSpec<String> host = parser.accepts("h", "host").withRequiredArg().ofType(String.class)
         .defaultsTo(ClauDB.DEFAULT_HOST);
@@ -35,6 +39,8 @@ public class Server {
       int optionPort = parsePort(options.valueOf(port));
       DBConfig config = parseConfig(options.has(persist), 
                                         options.has(offHeap), 
+                                        options.valueOf(hotKeys),
+                                        options.valueOf(segments),
                                         options.has(notifications));
      
       readBanner().forEach(System.out::println);
@@ -57,14 +63,20 @@ public class Server {
     return optionPort != null ? optionPort : DBServerContext.DEFAULT_PORT;
   }
 
-  private static DBConfig parseConfig(boolean persist, boolean offHeap, boolean notifications) {
+  private static DBConfig parseConfig(boolean persist, boolean offHeap, Integer hotKeys,
+                                      String segments, boolean notifications) {
     DBConfig.Builder builder = DBConfig.builder();
     if (persist) {
       builder.withPersistence();
     }
-    if (offHeap) {
+    if (segments != null) {
+      builder.withSegmentFiles(segments);
+    } else if (offHeap) {
       builder.withOffHeapCache();
     }
+    if (hotKeys != null) {
+      builder.withTieredCache(hotKeys);
+    }
     if (notifications) {
       builder.withNotifications();
     }
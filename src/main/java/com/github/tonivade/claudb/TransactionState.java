@@ -4,24 +4,47 @@
  */
 package com.github.tonivade.claudb;
 
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.command.RespCommand;
 
 public class TransactionState implements Iterable<Request> {
 
-  private List<Request> requests = new LinkedList<>();
+  private final List<Request> requests = new ArrayList<>();
+  private final List<RespCommand> commands = new ArrayList<>();
 
   public void enqueue(Request request) {
+    enqueue(request, null);
+  }
+
+  /**
+   * Queues the request with the command already resolved, so EXEC doesn't have to look it up again.
+   */
+  public void enqueue(Request request, RespCommand command) {
     requests.add(request);
+    commands.add(command);
   }
 
   public int size() {
     return requests.size();
   }
 
+  public void forEach(BiConsumer<Request, RespCommand> action) {
+    for (int i = 0; i < requests.size(); i++) {
+      action.accept(requests.get(i), commands.get(i));
+    }
+  }
+
+  public List<Request> getRequests() {
+    return unmodifiableList(requests);
+  }
+
   @Override
   public Iterator<Request> iterator() {
     return requests.iterator();
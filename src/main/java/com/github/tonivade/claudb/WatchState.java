@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb;
+
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.github.tonivade.claudb.data.DatabaseKey;
+
+/**
+ * Keys watched by a client with WATCH. Databases mark it as dirty when one of the keys
+ * is modified, so EXEC only has to check the flag and the expiration of the keys.
+ */
+public class WatchState {
+
+  private boolean dirty;
+
+  private final Map<Integer, Map<DatabaseKey, Long>> keys = new HashMap<>();
+
+  /**
+   * Returns false if the key was already watched.
+   */
+  public boolean add(int db, DatabaseKey key, long expiredAt) {
+    Map<DatabaseKey, Long> watched = keys.computeIfAbsent(db, i -> new HashMap<>());
+    if (watched.containsKey(key)) {
+      return false;
+    }
+    watched.put(key, expiredAt);
+    return true;
+  }
+
+  public void touch() {
+    dirty = true;
+  }
+
+  // a key that expires is modified too, even if it has not been removed yet
+  public boolean isDirty(long now) {
+    return dirty || keys.values().stream()
+        .flatMap(watched -> watched.values().stream())
+        .anyMatch(expiredAt -> expiredAt != NO_EXPIRATION && now > expiredAt);
+  }
+
+  public void forEach(BiConsumer<Integer, DatabaseKey> action) {
+    keys.forEach((db, watched) -> watched.keySet().forEach(key -> action.accept(db, key)));
+  }
+}
@@ -4,13 +4,19 @@
  */
 package com.github.tonivade.claudb.command;
 
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.lang.String.valueOf;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.command.ServerContext;
 import com.github.tonivade.resp.command.Session;
 import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.DBServerContext;
 import com.github.tonivade.claudb.DBServerState;
 import com.github.tonivade.claudb.DBSessionState;
@@ -47,6 +53,15 @@ public interface DBCommand {
     return session.getValue("state");
   }
 
+  default void replicateAs(Request request, String command, List<SafeString> params) {
+    DBSessionState sessionState = getSessionState(request.getSession());
+    List<RedisToken> array = new ArrayList<>(params.size() + 2);
+    array.add(string(valueOf(sessionState.getCurrentDB())));
+    array.add(string(command));
+    params.forEach(param -> array.add(string(param)));
+    sessionState.replicateAs(request, RedisToken.array(array));
+  }
+
   default RedisToken convert(DatabaseValue value) {
     return DBResponse.convertValue(value);
   }
@@ -11,15 +11,30 @@ import java.util.Set;
 
 import com.github.tonivade.resp.command.CommandSuite;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.command.annotation.TxIgnore;
 import com.github.tonivade.claudb.command.bitset.BitCountCommand;
+import com.github.tonivade.claudb.command.bitset.BitFieldCommand;
+import com.github.tonivade.claudb.command.bitset.BitOperationCommand;
+import com.github.tonivade.claudb.command.bitset.BitPositionCommand;
 import com.github.tonivade.claudb.command.bitset.GetBitCommand;
 import com.github.tonivade.claudb.command.bitset.SetBitCommand;
+import com.github.tonivade.claudb.command.geo.GeoAddCommand;
+import com.github.tonivade.claudb.command.geo.GeoDistanceCommand;
+import com.github.tonivade.claudb.command.geo.GeoHashCommand;
+import com.github.tonivade.claudb.command.geo.GeoPositionCommand;
+import com.github.tonivade.claudb.command.geo.GeoRadiusByMemberCommand;
+import com.github.tonivade.claudb.command.geo.GeoRadiusCommand;
+import com.github.tonivade.claudb.command.geo.GeoSearchCommand;
+import com.github.tonivade.claudb.command.hll.HyperLogLogAddCommand;
+import com.github.tonivade.claudb.command.hll.HyperLogLogCountCommand;
+import com.github.tonivade.claudb.command.hll.HyperLogLogMergeCommand;
 import com.github.tonivade.claudb.command.hash.HashDeleteCommand;
 import com.github.tonivade.claudb.command.hash.HashExistsCommand;
 import com.github.tonivade.claudb.command.hash.HashGetAllCommand;
 import com.github.tonivade.claudb.command.hash.HashGetCommand;
 import com.github.tonivade.claudb.command.hash.HashKeysCommand;
 import com.github.tonivade.claudb.command.hash.HashLengthCommand;
+import com.github.tonivade.claudb.command.hash.HashIncrementByCommand;
 import com.github.tonivade.claudb.command.hash.HashSetCommand;
 import com.github.tonivade.claudb.command.hash.HashValuesCommand;
 import com.github.tonivade.claudb.command.key.DeleteCommand;
@@ -31,13 +46,21 @@ import com.github.tonivade.claudb.command.key.RenameCommand;
 import com.github.tonivade.claudb.command.key.TimeToLiveMillisCommand;
 import com.github.tonivade.claudb.command.key.TimeToLiveSecondsCommand;
 import com.github.tonivade.claudb.command.key.TypeCommand;
+import com.github.tonivade.claudb.command.key.UnlinkCommand;
+import com.github.tonivade.claudb.command.list.BlockingLeftPopCommand;
+import com.github.tonivade.claudb.command.list.BlockingRightPopCommand;
+import com.github.tonivade.claudb.command.list.BlockingRightPopLeftPushCommand;
 import com.github.tonivade.claudb.command.list.LeftPopCommand;
 import com.github.tonivade.claudb.command.list.LeftPushCommand;
 import com.github.tonivade.claudb.command.list.ListIndexCommand;
+import com.github.tonivade.claudb.command.list.ListInsertCommand;
 import com.github.tonivade.claudb.command.list.ListLengthCommand;
 import com.github.tonivade.claudb.command.list.ListRangeCommand;
+import com.github.tonivade.claudb.command.list.ListRemoveCommand;
 import com.github.tonivade.claudb.command.list.ListSetCommand;
+import com.github.tonivade.claudb.command.list.ListTrimCommand;
 import com.github.tonivade.claudb.command.list.RightPopCommand;
+import com.github.tonivade.claudb.command.list.RightPopLeftPushCommand;
 import com.github.tonivade.claudb.command.list.RightPushCommand;
 import com.github.tonivade.claudb.command.pubsub.PatternSubscribeCommand;
 import com.github.tonivade.claudb.command.pubsub.PatternUnsubscribeCommand;
@@ -48,25 +71,43 @@ import com.github.tonivade.claudb.command.scripting.EvalCommand;
 import com.github.tonivade.claudb.command.scripting.EvalShaCommand;
 import com.github.tonivade.claudb.command.scripting.ScriptCommands;
 import com.github.tonivade.claudb.command.server.DatabaseSizeCommand;
+import com.github.tonivade.claudb.command.server.FlushAllCommand;
 import com.github.tonivade.claudb.command.server.FlushDBCommand;
 import com.github.tonivade.claudb.command.server.InfoCommand;
 import com.github.tonivade.claudb.command.server.RoleCommand;
 import com.github.tonivade.claudb.command.server.SelectCommand;
 import com.github.tonivade.claudb.command.server.SlaveOfCommand;
+import com.github.tonivade.claudb.command.server.SlowLogCommand;
 import com.github.tonivade.claudb.command.server.SyncCommand;
 import com.github.tonivade.claudb.command.set.SetAddCommand;
 import com.github.tonivade.claudb.command.set.SetCardinalityCommand;
 import com.github.tonivade.claudb.command.set.SetDifferenceCommand;
+import com.github.tonivade.claudb.command.set.SetDifferenceStoreCommand;
 import com.github.tonivade.claudb.command.set.SetIntersectionCommand;
+import com.github.tonivade.claudb.command.set.SetIntersectionStoreCommand;
 import com.github.tonivade.claudb.command.set.SetIsMemberCommand;
 import com.github.tonivade.claudb.command.set.SetMembersCommand;
+import com.github.tonivade.claudb.command.set.SetPopCommand;
+import com.github.tonivade.claudb.command.set.SetRandomMemberCommand;
 import com.github.tonivade.claudb.command.set.SetRemoveCommand;
 import com.github.tonivade.claudb.command.set.SetUnionCommand;
+import com.github.tonivade.claudb.command.set.SetUnionStoreCommand;
+import com.github.tonivade.claudb.command.stream.StreamAckCommand;
+import com.github.tonivade.claudb.command.stream.StreamAddCommand;
+import com.github.tonivade.claudb.command.stream.StreamGroupCommand;
+import com.github.tonivade.claudb.command.stream.StreamLengthCommand;
+import com.github.tonivade.claudb.command.stream.StreamPendingCommand;
+import com.github.tonivade.claudb.command.stream.StreamRangeCommand;
+import com.github.tonivade.claudb.command.stream.StreamReadCommand;
+import com.github.tonivade.claudb.command.stream.StreamReadGroupCommand;
+import com.github.tonivade.claudb.command.stream.StreamReverseRangeCommand;
+import com.github.tonivade.claudb.command.stream.StreamTrimCommand;
 import com.github.tonivade.claudb.command.string.DecrementByCommand;
 import com.github.tonivade.claudb.command.string.DecrementCommand;
 import com.github.tonivade.claudb.command.string.GetCommand;
 import com.github.tonivade.claudb.command.string.GetSetCommand;
 import com.github.tonivade.claudb.command.string.IncrementByCommand;
+import com.github.tonivade.claudb.command.string.IncrementByFloatCommand;
 import com.github.tonivade.claudb.command.string.IncrementCommand;
 import com.github.tonivade.claudb.command.string.MultiGetCommand;
 import com.github.tonivade.claudb.command.string.MultiSetCommand;
@@ -78,6 +119,8 @@ import com.github.tonivade.claudb.command.string.StringLengthCommand;
 import com.github.tonivade.claudb.command.transaction.DiscardCommand;
 import com.github.tonivade.claudb.command.transaction.ExecCommand;
 import com.github.tonivade.claudb.command.transaction.MultiCommand;
+import com.github.tonivade.claudb.command.transaction.UnwatchCommand;
+import com.github.tonivade.claudb.command.transaction.WatchCommand;
 import com.github.tonivade.claudb.command.zset.SortedSetAddCommand;
 import com.github.tonivade.claudb.command.zset.SortedSetCardinalityCommand;
 import com.github.tonivade.claudb.command.zset.SortedSetRangeByScoreCommand;
@@ -98,9 +141,11 @@ public class DBCommandSuite extends CommandSuite {
 
     // server
     addCommand(FlushDBCommand.class);
+    addCommand(FlushAllCommand.class);
     addCommand(InfoCommand.class);
     addCommand(RoleCommand.class);
     addCommand(DatabaseSizeCommand.class);
+    addCommand(SlowLogCommand.class);
 
     // strings
     addCommand(GetCommand.class);
@@ -110,18 +155,49 @@ public class DBCommandSuite extends CommandSuite {
     addCommand(GetSetCommand.class);
     addCommand(IncrementCommand.class);
     addCommand(IncrementByCommand.class);
+    addCommand(IncrementByFloatCommand.class);
     addCommand(DecrementCommand.class);
     addCommand(DecrementByCommand.class);
     addCommand(StringLengthCommand.class);
     addCommand(SetExpiredCommand.class);
     addCommand(BitCountCommand.class);
+    addCommand(BitOperationCommand.class);
+    addCommand(BitPositionCommand.class);
+    addCommand(BitFieldCommand.class);
     addCommand(SetBitCommand.class);
     addCommand(GetBitCommand.class);
     addCommand(SetIfNotExistsCommand.class);
     addCommand(MultiSetIfNotExistsCommand.class);
 
+    // hyperloglog
+    addCommand(HyperLogLogAddCommand.class);
+    addCommand(HyperLogLogCountCommand.class);
+    addCommand(HyperLogLogMergeCommand.class);
+
+    // stream
+    addCommand(StreamAddCommand.class);
+    addCommand(StreamLengthCommand.class);
+    addCommand(StreamRangeCommand.class);
+    addCommand(StreamReverseRangeCommand.class);
+    addCommand(StreamTrimCommand.class);
+    addCommand(StreamReadCommand.class);
+    addCommand(StreamGroupCommand.class);
+    addCommand(StreamReadGroupCommand.class);
+    addCommand(StreamAckCommand.class);
+    addCommand(StreamPendingCommand.class);
+
+    // geo
+    addCommand(GeoAddCommand.class);
+    addCommand(GeoPositionCommand.class);
+    addCommand(GeoDistanceCommand.class);
+    addCommand(GeoHashCommand.class);
+    addCommand(GeoRadiusCommand.class);
+    addCommand(GeoRadiusByMemberCommand.class);
+    addCommand(GeoSearchCommand.class);
+
     // keys
     addCommand(DeleteCommand.class);
+    addCommand(UnlinkCommand.class);
     addCommand(ExistsCommand.class);
     addCommand(TypeCommand.class);
     addCommand(RenameCommand.class);
@@ -133,6 +209,7 @@ public class DBCommandSuite extends CommandSuite {
 
     // hash
     addCommand(HashSetCommand.class);
+    addCommand(HashIncrementByCommand.class);
     addCommand(HashGetCommand.class);
     addCommand(HashGetAllCommand.class);
     addCommand(HashExistsCommand.class);
@@ -150,6 +227,13 @@ public class DBCommandSuite extends CommandSuite {
     addCommand(ListRangeCommand.class);
     addCommand(ListIndexCommand.class);
     addCommand(ListSetCommand.class);
+    addCommand(ListTrimCommand.class);
+    addCommand(ListInsertCommand.class);
+    addCommand(ListRemoveCommand.class);
+    addCommand(RightPopLeftPushCommand.class);
+    addCommand(BlockingLeftPopCommand.class);
+    addCommand(BlockingRightPopCommand.class);
+    addCommand(BlockingRightPopLeftPushCommand.class);
 
     // set
     addCommand(SetAddCommand.class);
@@ -157,9 +241,14 @@ public class DBCommandSuite extends CommandSuite {
     addCommand(SetCardinalityCommand.class);
     addCommand(SetIsMemberCommand.class);
     addCommand(SetRemoveCommand.class);
+    addCommand(SetPopCommand.class);
+    addCommand(SetRandomMemberCommand.class);
     addCommand(SetUnionCommand.class);
     addCommand(SetIntersectionCommand.class);
     addCommand(SetDifferenceCommand.class);
+    addCommand(SetUnionStoreCommand.class);
+    addCommand(SetIntersectionStoreCommand.class);
+    addCommand(SetDifferenceStoreCommand.class);
 
     // sorted set
     addCommand(SortedSetAddCommand.class);
@@ -180,6 +269,8 @@ public class DBCommandSuite extends CommandSuite {
     addCommand(MultiCommand.class);
     addCommand(ExecCommand.class);
     addCommand(DiscardCommand.class);
+    addCommand(WatchCommand.class);
+    addCommand(UnwatchCommand.class);
 
     // scripting
     addCommand(EvalCommand.class);
@@ -191,4 +282,8 @@ public class DBCommandSuite extends CommandSuite {
     return COMMAND_BLACK_LIST.contains(command) || isPresent(command, ReadOnly.class);
   }
 
+  public boolean isTxIgnore(String command) {
+    return isPresent(command, TxIgnore.class);
+  }
+
 }
@@ -68,7 +68,8 @@ public class DBCommandWrapper implements RespCommand {
   @Override
   public RedisToken execute(Request request) {
     // FIXME: ugly piece of code, please refactor
-    Database db = getCurrentDB(request);
+    DBServerState serverState = getServerState(request.getServerContext());
+    Database db = getCurrentDB(serverState, request);
     if (request.getLength() < params) {
       return error("ERR wrong number of arguments for '" + request.getCommand() + "' command");
     } else if (dataType != null && !db.isType(safeKey(request.getParam(0)), dataType)) {
@@ -79,6 +80,13 @@ public class DBCommandWrapper implements RespCommand {
       enqueueRequest(request);
       return status("QUEUED");
     }
+    long start = System.nanoTime();
+    RedisToken response = execute(db, request);
+    serverState.getSlowLog().record(request, (System.nanoTime() - start) / 1000);
+    return response;
+  }
+
+  private RedisToken execute(Database db, Request request) {
     if (command instanceof DBCommand) {
       return executeDBCommand(db, request);
     } else if (command instanceof RespCommand) {
@@ -96,7 +104,7 @@ public class DBCommandWrapper implements RespCommand {
   }
 
   private void enqueueRequest(Request request) {
-    getTransactionState(request.getSession()).ifPresent(tx -> tx.enqueue(request));
+    getTransactionState(request.getSession()).ifPresent(tx -> tx.enqueue(request, this));
   }
 
   private boolean isTxActive(Request request) {
@@ -107,8 +115,7 @@ public class DBCommandWrapper implements RespCommand {
     return session.getValue("tx");
   }
 
-  private Database getCurrentDB(Request request) {
-    DBServerState serverState = getServerState(request.getServerContext());
+  private Database getCurrentDB(DBServerState serverState, Request request) {
     DBSessionState sessionState = getSessionState(request.getSession());
     return serverState.getDatabase(sessionState.getCurrentDB());
   }
@@ -4,28 +4,22 @@
  */
 package com.github.tonivade.claudb.command;
 
-import static com.github.tonivade.resp.protocol.RedisToken.array;
-import static io.vavr.API.$;
-import static io.vavr.API.Case;
-import static io.vavr.API.Match;
-import static io.vavr.Predicates.instanceOf;
-import static io.vavr.Predicates.is;
-import static java.util.stream.Collectors.toList;
-
 import java.util.Collection;
 import java.util.Map.Entry;
 import java.util.NavigableSet;
-import java.util.function.Function;
 
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.QuickList;
 
-import io.vavr.collection.List;
+import io.vavr.Tuple2;
 import io.vavr.collection.Map;
-import io.vavr.collection.Set;
-import io.vavr.collection.Stream;
 
+/**
+ * Replies are built in a single pass over the value, every element is converted to its token
+ * and stored in an array of the final size, without intermediate lists or streams.
+ */
 class DBResponse {
 
   static RedisToken convertValue(DatabaseValue value) {
@@ -35,17 +29,13 @@ class DBResponse {
           SafeString string = value.getString();
           return RedisToken.string(string);
       case HASH:
-          Map<SafeString, SafeString> map = value.getHash();
-          return array(keyValueList(map).toJavaList());
+          return convertHash(value.getHash());
       case LIST:
-          List<SafeString> list = value.getList();
-          return convertArray(list.toJavaList());
+          return convertList(value.getList());
       case SET:
-          Set<SafeString> set = value.getSet();
-          return convertArray(set.toJavaList());
+          return convertSet(value);
       case ZSET:
-          NavigableSet<Entry<Double, SafeString>> zset = value.getSortedSet();
-          return convertArray(serialize(zset));
+          return convertSortedSet(value.getSortedSet());
       default:
         break;
       }
@@ -57,30 +47,76 @@ class DBResponse {
     if (array == null) {
       return RedisToken.array();
     }
-    return RedisToken.array(array.stream().map(DBResponse::parseToken).collect(toList()));
+    RedisToken[] tokens = new RedisToken[array.size()];
+    int i = 0;
+    for (Object value : array) {
+      tokens[i++] = parseToken(value);
+    }
+    return RedisToken.array(tokens);
   }
 
-  private static RedisToken parseToken(Object value) {
-    return Match(value).of(
-        Case($(instanceOf(Integer.class)), RedisToken::integer),
-        Case($(instanceOf(Boolean.class)), RedisToken::integer),
-        Case($(instanceOf(String.class)), RedisToken::string),
-        Case($(instanceOf(Double.class)), x -> RedisToken.string(x.toString())),
-        Case($(instanceOf(SafeString.class)), RedisToken::string),
-        Case($(instanceOf(DatabaseValue.class)), DBResponse::convertValue),
-        Case($(instanceOf(RedisToken.class)), Function.identity()),
-        Case($(is(null)), ignore -> RedisToken.nullString()));
+  private static RedisToken convertHash(Map<SafeString, SafeString> map) {
+    RedisToken[] tokens = new RedisToken[map.size() * 2];
+    int i = 0;
+    for (Tuple2<SafeString, SafeString> entry : map) {
+      tokens[i++] = RedisToken.string(entry._1());
+      tokens[i++] = RedisToken.string(entry._2());
+    }
+    return RedisToken.array(tokens);
   }
 
-  private static List<RedisToken> keyValueList(Map<SafeString, SafeString> map) {
-    return map
-        .flatMap(entry -> Stream.of(entry._1(), entry._2()))
-        .map(RedisToken::string)
-        .collect(List.collector());
+  private static RedisToken convertList(QuickList list) {
+    RedisToken[] tokens = new RedisToken[list.size()];
+    int i = 0;
+    for (SafeString item : list) {
+      tokens[i++] = RedisToken.string(item);
+    }
+    return RedisToken.array(tokens);
   }
 
-  private static Collection<?> serialize(NavigableSet<Entry<Double, SafeString>> set) {
-    return set.stream()
-        .flatMap(entry -> Stream.of(entry.getKey(), entry.getValue()).toJavaStream()).collect(toList());
+  private static RedisToken convertSet(DatabaseValue set) {
+    RedisToken[] tokens = new RedisToken[set.size()];
+    for (int i = 0; i < tokens.length; i++) {
+      tokens[i] = RedisToken.string(set.getMember(i));
+    }
+    return RedisToken.array(tokens);
+  }
+
+  private static RedisToken convertSortedSet(NavigableSet<Entry<Double, SafeString>> set) {
+    RedisToken[] tokens = new RedisToken[set.size() * 2];
+    int i = 0;
+    for (Entry<Double, SafeString> entry : set) {
+      tokens[i++] = RedisToken.string(entry.getKey().toString());
+      tokens[i++] = RedisToken.string(entry.getValue());
+    }
+    return RedisToken.array(tokens);
+  }
+
+  private static RedisToken parseToken(Object value) {
+    if (value == null) {
+      return RedisToken.nullString();
+    }
+    if (value instanceof SafeString) {
+      return RedisToken.string((SafeString) value);
+    }
+    if (value instanceof RedisToken) {
+      return (RedisToken) value;
+    }
+    if (value instanceof DatabaseValue) {
+      return convertValue((DatabaseValue) value);
+    }
+    if (value instanceof String) {
+      return RedisToken.string((String) value);
+    }
+    if (value instanceof Integer) {
+      return RedisToken.integer((Integer) value);
+    }
+    if (value instanceof Boolean) {
+      return RedisToken.integer((Boolean) value);
+    }
+    if (value instanceof Double) {
+      return RedisToken.string(value.toString());
+    }
+    throw new IllegalArgumentException("not supported: " + value.getClass());
   }
 }
@@ -4,11 +4,7 @@
  */
 package com.github.tonivade.claudb.command.bitset;
 
-import static com.github.tonivade.resp.protocol.RedisToken.integer;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.bitset;
-
-import java.util.BitSet;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
@@ -16,10 +12,12 @@ import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Bitmap;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
 
+@ReadOnly
 @Command("bitcount")
 @ParamLength(1)
 @ParamType(DataType.STRING)
@@ -27,8 +25,20 @@ public class BitCountCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    DatabaseValue value = db.getOrDefault(safeKey(request.getParam(0)), bitset());
-    BitSet bitSet = BitSet.valueOf(value.getString().getBuffer());
-    return integer(bitSet.cardinality());
+    if (request.getLength() != 1 && request.getLength() != 3) {
+      return error("ERR syntax error");
+    }
+    try {
+      Bitmap bitmap = Bitmaps.get(db, request.getParam(0));
+      int start = 0;
+      int end = bitmap.length() - 1;
+      if (request.getLength() == 3) {
+        start = Bitmaps.normalize(Integer.parseInt(request.getParam(1).toString()), bitmap.length());
+        end = Bitmaps.normalize(Integer.parseInt(request.getParam(2).toString()), bitmap.length());
+      }
+      return Bitmaps.bits(bitmap.count(start, end));
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    }
   }
 }
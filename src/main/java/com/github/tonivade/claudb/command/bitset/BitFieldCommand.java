@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2016-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.bitset;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.Bitmap;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+
+@Command("bitfield")
+@ParamLength(1)
+@ParamType(DataType.STRING)
+public class BitFieldCommand implements DBCommand {
+
+  private static final String INVALID_TYPE =
+      "ERR Invalid bitfield type. Use something like i16 u8. Note that u32 and i64 are not supported.";
+  private static final String INVALID_OFFSET = "ERR bit offset is not an integer or out of range";
+  private static final String INVALID_VALUE = "ERR value is not an integer or out of range";
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    List<Operation> operations = new ArrayList<>();
+    Overflow overflow = Overflow.WRAP;
+    int i = 1;
+    while (i < request.getLength()) {
+      String name = request.getParam(i).toString().toLowerCase();
+      int arguments = name.equals("get") ? 2 : name.equals("overflow") ? 1 : 3;
+      if (i + arguments >= request.getLength()) {
+        return error("ERR syntax error");
+      }
+      if (name.equals("overflow")) {
+        try {
+          overflow = Overflow.valueOf(request.getParam(i + 1).toString().toUpperCase());
+        } catch (IllegalArgumentException e) {
+          return error("ERR Invalid OVERFLOW type specified");
+        }
+        i += 2;
+        continue;
+      }
+      if (!name.equals("get") && !name.equals("set") && !name.equals("incrby")) {
+        return error("ERR syntax error");
+      }
+      Field field = Field.parse(request.getParam(i + 1));
+      if (field == null) {
+        return error(INVALID_TYPE);
+      }
+      long offset = parseOffset(request.getParam(i + 2), field.bits);
+      if (offset < 0) {
+        return error(INVALID_OFFSET);
+      }
+      long value = 0;
+      if (!name.equals("get")) {
+        try {
+          value = Long.parseLong(request.getParam(i + 3).toString());
+        } catch (NumberFormatException e) {
+          return error(INVALID_VALUE);
+        }
+      }
+      operations.add(new Operation(name, field, offset, value, overflow));
+      i += arguments + 1;
+    }
+
+    if (operations.stream().allMatch(Operation::isGet)) {
+      Bitmap bitmap = Bitmaps.get(db, request.getParam(0));
+      return RedisToken.array(operations.stream().map(op -> op.apply(bitmap)).collect(toList()));
+    }
+    List<RedisToken> result = Bitmaps.update(db, request.getParam(0),
+        bitmap -> operations.stream().map(op -> op.apply(bitmap)).collect(toList()));
+    return RedisToken.array(result);
+  }
+
+  // offsets prefixed with # are multiplied by the width of the type
+  private long parseOffset(SafeString param, int bits) {
+    try {
+      String value = param.toString();
+      long offset = value.startsWith("#")
+          ? Math.multiplyExact(Long.parseLong(value.substring(1)), bits) : Long.parseLong(value);
+      return offset >= 0 && offset + bits <= Bitmap.MAX_BITS ? offset : -1;
+    } catch (NumberFormatException | ArithmeticException e) {
+      return -1;
+    }
+  }
+
+  private enum Overflow {
+    WRAP, SAT, FAIL
+  }
+
+  private static final class Field {
+    private final boolean signed;
+    private final int bits;
+
+    private Field(boolean signed, int bits) {
+      this.signed = signed;
+      this.bits = bits;
+    }
+
+    // replies only hold an int, so wider types are not allowed
+    static Field parse(SafeString param) {
+      String type = param.toString().toLowerCase();
+      if (type.length() < 2 || (type.charAt(0) != 'i' && type.charAt(0) != 'u')) {
+        return null;
+      }
+      boolean signed = type.charAt(0) == 'i';
+      try {
+        int bits = Integer.parseInt(type.substring(1));
+        if (bits < 1 || bits > (signed ? 32 : 31)) {
+          return null;
+        }
+        return new Field(signed, bits);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    long min() {
+      return signed ? -(1L << (bits - 1)) : 0;
+    }
+
+    long max() {
+      return signed ? (1L << (bits - 1)) - 1 : (1L << bits) - 1;
+    }
+
+    long read(Bitmap bitmap, long offset) {
+      return wrap(bitmap.getBits(offset, bits));
+    }
+
+    long wrap(long value) {
+      long unsigned = value & ((1L << bits) - 1);
+      if (signed && (unsigned & (1L << (bits - 1))) != 0) {
+        return unsigned - (1L << bits);
+      }
+      return unsigned;
+    }
+  }
+
+  private static final class Operation {
+    private final String name;
+    private final Field field;
+    private final long offset;
+    private final long value;
+    private final Overflow overflow;
+
+    private Operation(String name, Field field, long offset, long value, Overflow overflow) {
+      this.name = name;
+      this.field = field;
+      this.offset = offset;
+      this.value = value;
+      this.overflow = overflow;
+    }
+
+    boolean isGet() {
+      return name.equals("get");
+    }
+
+    RedisToken apply(Bitmap bitmap) {
+      long current = field.read(bitmap, offset);
+      if (isGet()) {
+        return integer((int) current);
+      }
+      long result = name.equals("set") ? value : current + value;
+      boolean overflowed = !name.equals("set") && ((current ^ result) & (value ^ result)) < 0;
+      if (overflowed || result < field.min() || result > field.max()) {
+        switch (overflow) {
+        case FAIL:
+          return nullString();
+        case SAT:
+          boolean negative = overflowed ? value < 0 : result < field.min();
+          result = negative ? field.min() : field.max();
+          break;
+        default:
+          // the lower bits are right even if the sum overflowed
+          result = field.wrap(result);
+        }
+      }
+      bitmap.setBits(offset, field.bits, result);
+      return integer((int) (name.equals("set") ? current : result));
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.bitset;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.bitmap;
+
+import java.util.List;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Bitmap;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+
+@Command("bitop")
+@ParamLength(3)
+public class BitOperationCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    String operation = request.getParam(0).toString().toLowerCase();
+    SafeString destination = request.getParam(1);
+    List<SafeString> sources = request.getParams().subList(2, request.getLength());
+
+    if (!db.isType(safeKey(destination), DataType.STRING)
+        || sources.stream().anyMatch(key -> !db.isType(safeKey(key), DataType.STRING))) {
+      return error("WRONGTYPE Operation against a key holding the wrong kind of value");
+    }
+
+    Bitmap result = Bitmaps.get(db, sources.get(0)).copy();
+    switch (operation) {
+    case "and":
+      sources.stream().skip(1).forEach(key -> result.and(Bitmaps.get(db, key)));
+      break;
+    case "or":
+      sources.stream().skip(1).forEach(key -> result.or(Bitmaps.get(db, key)));
+      break;
+    case "xor":
+      sources.stream().skip(1).forEach(key -> result.xor(Bitmaps.get(db, key)));
+      break;
+    case "not":
+      if (sources.size() != 1) {
+        return error("ERR BITOP NOT must be called with a single source key.");
+      }
+      result.not();
+      break;
+    default:
+      return error("ERR syntax error");
+    }
+
+    if (result.length() == 0) {
+      db.remove(safeKey(destination));
+    } else {
+      db.store(safeKey(destination), bitmap(result));
+    }
+    return integer(result.length());
+  }
+}
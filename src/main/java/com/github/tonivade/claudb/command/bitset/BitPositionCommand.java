@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2016-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.bitset;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Bitmap;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+
+@ReadOnly
+@Command("bitpos")
+@ParamLength(2)
+@ParamType(DataType.STRING)
+public class BitPositionCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    if (request.getLength() > 4) {
+      return error("ERR syntax error");
+    }
+    try {
+      int bit = Integer.parseInt(request.getParam(1).toString());
+      if (bit != 0 && bit != 1) {
+        return error("ERR The bit argument must be 1 or 0.");
+      }
+      Bitmap bitmap = Bitmaps.get(db, request.getParam(0));
+      if (bitmap.length() == 0) {
+        return integer(bit == 1 ? -1 : 0);
+      }
+      int start = 0;
+      int end = bitmap.length() - 1;
+      if (request.getLength() > 2) {
+        start = Bitmaps.normalize(Integer.parseInt(request.getParam(2).toString()), bitmap.length());
+      }
+      if (request.getLength() > 3) {
+        end = Bitmaps.normalize(Integer.parseInt(request.getParam(3).toString()), bitmap.length());
+      }
+      long position = bitmap.position(bit == 1, start, end);
+      // looking for a zero without an explicit end, the string is padded at the right with zeros
+      if (position == -1 && bit == 0 && request.getLength() < 4 && start <= end) {
+        position = (long) bitmap.length() << 3;
+      }
+      return Bitmaps.bits(position);
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.bitset;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.bitmap;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import java.util.function.Function;
+
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.data.Bitmap;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+final class Bitmaps {
+
+  private Bitmaps() { }
+
+  /**
+   * Bitmap stored in key, or an empty one if it does not exists. It must not be modified.
+   */
+  static Bitmap get(Database db, SafeString key) {
+    DatabaseValue value = db.get(safeKey(key));
+    return value != null ? value.getBitmap() : new Bitmap();
+  }
+
+  /**
+   * Applies the function to the bitmap stored in key, creating it if it does not exists, and
+   * puts it back in the database keeping the expiration.
+   */
+  static <T> T update(Database db, SafeString key, Function<Bitmap, T> function) {
+    DatabaseKey databaseKey = safeKey(key);
+    DatabaseValue value = db.get(databaseKey);
+    Bitmap bitmap = value != null ? value.getBitmap() : new Bitmap();
+    T result = function.apply(bitmap);
+    db.store(databaseKey, value != null ? bitmap(bitmap).expiredAt(value.getExpiredAt()) : bitmap(bitmap));
+    return result;
+  }
+
+  static long parseOffset(SafeString param) {
+    long offset = Long.parseLong(param.toString());
+    if (offset < 0 || offset >= Bitmap.MAX_BITS) {
+      throw new NumberFormatException("offset out of range: " + offset);
+    }
+    return offset;
+  }
+
+  /**
+   * Counts and positions of the biggest bitmaps do not fit in an integer reply.
+   */
+  static RedisToken bits(long bits) {
+    if (bits > Integer.MAX_VALUE) {
+      return error("ERR bit count or position is out of range");
+    }
+    return integer((int) bits);
+  }
+
+  static int normalize(int index, int length) {
+    return index < 0 ? Math.max(0, length + index) : index;
+  }
+}
@@ -6,12 +6,6 @@ package com.github.tonivade.claudb.command.bitset;
 
 import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.bitset;
-
-import java.util.BitSet;
-import java.util.LinkedList;
-import java.util.Queue;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
@@ -30,16 +24,13 @@ public class SetBitCommand implements DBCommand {
   @Override
   public RedisToken execute(Database db, Request request) {
     try {
-      int offset = Integer.parseInt(request.getParam(1).toString());
+      long offset = Bitmaps.parseOffset(request.getParam(1));
       int bit = Integer.parseInt(request.getParam(2).toString());
-      Queue<Boolean> queue = new LinkedList<>();
-      db.merge(safeKey(request.getParam(0)), bitset(), (oldValue, newValue) -> {
-        BitSet bitSet = BitSet.valueOf(oldValue.getString().getBuffer());
-        queue.add(bitSet.get(offset));
-        bitSet.set(offset, bit != 0);
-        return oldValue;
-      });
-      return integer(queue.poll());
+      if (bit != 0 && bit != 1) {
+        return error("bit or offset is not an integer");
+      }
+      boolean previous = Bitmaps.update(db, request.getParam(0), bitmap -> bitmap.set(offset, bit == 1));
+      return integer(previous);
     } catch (NumberFormatException e) {
       return error("bit or offset is not an integer");
     }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Comparator;
+import java.util.List;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.geo.GeoSearch.GeoPoint;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+abstract class AbstractGeoSearchCommand implements DBCommand {
+
+  /**
+   * Parses WITHCOORD, WITHDIST, ASC, DESC and COUNT count [ANY] at the given position, returns
+   * the position of the next param or -1 if it is not one of these options.
+   */
+  protected int parseOption(Request request, int position, Options options) {
+    String option = request.getParam(position).toString();
+    if (option.equalsIgnoreCase("withcoord")) {
+      options.withCoord = true;
+    } else if (option.equalsIgnoreCase("withdist")) {
+      options.withDist = true;
+    } else if (option.equalsIgnoreCase("asc")) {
+      options.sort = 1;
+    } else if (option.equalsIgnoreCase("desc")) {
+      options.sort = -1;
+    } else if (option.equalsIgnoreCase("count")) {
+      if (position + 1 >= request.getLength()) {
+        throw new IllegalArgumentException(Geos.SYNTAX_ERROR);
+      }
+      options.count = parseCount(request.getParam(position + 1));
+      if (position + 2 < request.getLength() && request.getParam(position + 2).toString().equalsIgnoreCase("any")) {
+        options.any = true;
+        return position + 3;
+      }
+      return position + 2;
+    } else {
+      return -1;
+    }
+    return position + 1;
+  }
+
+  protected RedisToken search(DatabaseValue value, GeoSearch search, Options options, double unit) {
+    if (options.any && options.count == 0) {
+      throw new IllegalArgumentException("ERR the ANY argument requires COUNT argument");
+    }
+    if (value == null) {
+      return array();
+    }
+    List<GeoPoint> points = search.search(value.getSortedSet(), options.any ? options.count : 0);
+    int sort = options.sort == 0 && options.count > 0 && !options.any ? 1 : options.sort;
+    if (sort != 0) {
+      Comparator<GeoPoint> comparator = Comparator.comparingDouble(GeoPoint::getDistance);
+      points.sort(sort > 0 ? comparator : comparator.reversed());
+    }
+    if (options.count > 0 && points.size() > options.count) {
+      points = points.subList(0, options.count);
+    }
+    return array(points.stream().map(point -> reply(point, options, unit)).collect(toList()));
+  }
+
+  private RedisToken reply(GeoPoint point, Options options, double unit) {
+    RedisToken member = string(point.getMember());
+    if (!options.withCoord && !options.withDist) {
+      return member;
+    }
+    if (options.withCoord && options.withDist) {
+      return array(member, Geos.distance(point.getDistance(), unit), Geos.coordinates(point.getPosition()));
+    }
+    if (options.withDist) {
+      return array(member, Geos.distance(point.getDistance(), unit));
+    }
+    return array(member, Geos.coordinates(point.getPosition()));
+  }
+
+  private int parseCount(SafeString value) {
+    try {
+      int count = Integer.parseInt(value.toString());
+      if (count <= 0) {
+        throw new IllegalArgumentException("ERR COUNT must be > 0");
+      }
+      return count;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("ERR value is not an integer or out of range", e);
+    }
+  }
+
+  static final class Options {
+    private boolean withCoord;
+    private boolean withDist;
+    private int sort;
+    private int count;
+    private boolean any;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.score;
+import static com.github.tonivade.claudb.data.DatabaseValue.zset;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.SortedSet;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@Command("geoadd")
+@ParamLength(4)
+@ParamType(DataType.ZSET)
+public class GeoAddCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    boolean nx = false;
+    boolean xx = false;
+    boolean ch = false;
+    int i = 1;
+    for (; i < request.getLength(); i++) {
+      String option = request.getParam(i).toString();
+      if (option.equalsIgnoreCase("nx")) {
+        nx = true;
+      } else if (option.equalsIgnoreCase("xx")) {
+        xx = true;
+      } else if (option.equalsIgnoreCase("ch")) {
+        ch = true;
+      } else {
+        break;
+      }
+    }
+    if (nx && xx) {
+      return error("ERR XX and NX options at the same time are not compatible");
+    }
+    if ((request.getLength() - i) == 0 || (request.getLength() - i) % 3 != 0) {
+      return error(Geos.SYNTAX_ERROR);
+    }
+
+    Map<SafeString, Double> input = new LinkedHashMap<>();
+    for (; i < request.getLength(); i += 3) {
+      try {
+        double longitude = Geos.parseDouble(request.getParam(i));
+        double latitude = Geos.parseDouble(request.getParam(i + 1));
+        if (!GeoHash.isValid(longitude, latitude)) {
+          return error(String.format("ERR invalid longitude,latitude pair %f,%f", longitude, latitude));
+        }
+        input.put(request.getParam(i + 2), (double) GeoHash.encode(longitude, latitude));
+      } catch (IllegalArgumentException e) {
+        return error(e.getMessage());
+      }
+    }
+
+    DatabaseKey key = safeKey(request.getParam(0));
+    DatabaseValue value = db.get(key);
+    SortedSet result = new SortedSet();
+    int added = 0;
+    int changed = 0;
+    for (Entry<SafeString, Double> entry : input.entrySet()) {
+      Double current = value != null ? value.getScore(entry.getKey()) : null;
+      if (current == null ? xx : nx) {
+        continue;
+      }
+      if (current == null) {
+        added++;
+      } else if (!current.equals(entry.getValue())) {
+        changed++;
+      }
+      result.add(score(entry.getValue(), entry.getKey()));
+    }
+    if (added + changed > 0) {
+      // new scores first, add does not replace existing members
+      if (value != null) {
+        result.addAll(value.getSortedSet());
+      }
+      db.store(key, value != null ? zset(result).expiredAt(value.getExpiredAt()) : zset(result));
+    }
+    return integer(ch ? added + changed : added);
+  }
+}
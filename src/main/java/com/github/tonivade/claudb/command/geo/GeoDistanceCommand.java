@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@ReadOnly
+@Command("geodist")
+@ParamLength(3)
+@ParamType(DataType.ZSET)
+public class GeoDistanceCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    if (request.getLength() > 4) {
+      return error(Geos.SYNTAX_ERROR);
+    }
+    try {
+      double unit = request.getLength() == 4 ? Geos.parseUnit(request.getParam(3)) : 1;
+      DatabaseValue value = db.get(safeKey(request.getParam(0)));
+      double[] from = Geos.position(value, request.getParam(1));
+      double[] to = Geos.position(value, request.getParam(2));
+      if (from == null || to == null) {
+        return nullString();
+      }
+      return Geos.distance(GeoHash.distance(from[0], from[1], to[0], to[1]), unit);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
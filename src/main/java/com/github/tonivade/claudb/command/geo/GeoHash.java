@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 52 bits geohash, like REDIS, 26 bits of latitude and 26 bits of longitude interleaved,
+ * so it can be stored as the score of a sorted set without losing precision. A cell of a
+ * coarser step is a contiguous range of scores.
+ */
+final class GeoHash {
+
+  static final double LATITUDE_MIN = -85.05112878;
+  static final double LATITUDE_MAX = 85.05112878;
+  static final double LONGITUDE_MIN = -180;
+  static final double LONGITUDE_MAX = 180;
+
+  static final int STEP = 26;
+
+  private static final double EARTH_RADIUS = 6372797.560856;
+  private static final double MERCATOR_MAX = 20037726.37;
+
+  private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+  private GeoHash() { }
+
+  static boolean isValid(double longitude, double latitude) {
+    return longitude >= LONGITUDE_MIN && longitude <= LONGITUDE_MAX
+        && latitude >= LATITUDE_MIN && latitude <= LATITUDE_MAX;
+  }
+
+  static long encode(double longitude, double latitude) {
+    return encode(longitude, latitude, LATITUDE_MIN, LATITUDE_MAX);
+  }
+
+  /**
+   * Center of the cell of the hash, longitude and latitude.
+   */
+  static double[] decode(long hash) {
+    long latitudeCell = deinterleave(hash);
+    long longitudeCell = deinterleave(hash >>> 1);
+    double latitudeStep = (LATITUDE_MAX - LATITUDE_MIN) / (1L << STEP);
+    double longitudeStep = (LONGITUDE_MAX - LONGITUDE_MIN) / (1L << STEP);
+    double latitude = LATITUDE_MIN + (latitudeCell + 0.5) * latitudeStep;
+    double longitude = LONGITUDE_MIN + (longitudeCell + 0.5) * longitudeStep;
+    return new double[] {
+        Math.max(LONGITUDE_MIN, Math.min(LONGITUDE_MAX, longitude)),
+        Math.max(LATITUDE_MIN, Math.min(LATITUDE_MAX, latitude))
+    };
+  }
+
+  /**
+   * Standard geohash string of 11 characters, it uses the full latitude range, -90 to 90.
+   */
+  static String toString(double longitude, double latitude) {
+    long hash = encode(longitude, latitude, -90, 90);
+    StringBuilder result = new StringBuilder(11);
+    for (int i = 0; i < 11; i++) {
+      // only 52 bits, the last character is always padded with zeros
+      int index = i == 10 ? 0 : (int) ((hash >>> (52 - (i + 1) * 5)) & 0x1f);
+      result.append(BASE32.charAt(index));
+    }
+    return result.toString();
+  }
+
+  /**
+   * Distance in meters, haversine formula.
+   */
+  static double distance(double longitude1, double latitude1, double longitude2, double latitude2) {
+    double latitude1r = Math.toRadians(latitude1);
+    double latitude2r = Math.toRadians(latitude2);
+    double u = Math.sin((latitude2r - latitude1r) / 2);
+    double v = Math.sin((Math.toRadians(longitude2) - Math.toRadians(longitude1)) / 2);
+    return 2.0 * EARTH_RADIUS * Math.asin(Math.sqrt(u * u + Math.cos(latitude1r) * Math.cos(latitude2r) * v * v));
+  }
+
+  static double latitudeDistance(double latitude1, double latitude2) {
+    return EARTH_RADIUS * Math.abs(Math.toRadians(latitude2) - Math.toRadians(latitude1));
+  }
+
+  /**
+   * Score ranges, from inclusive and to exclusive, of the cell that contains the center and
+   * its neighbours, with a step coarse enough to cover the radius.
+   */
+  static List<long[]> ranges(double longitude, double latitude, double radius) {
+    int step = estimateStep(radius, latitude);
+    while (step > 1 && !covers(longitude, latitude, radius, step)) {
+      step--;
+    }
+    long cells = 1L << step;
+    long latitudeCell = cell(latitude, LATITUDE_MIN, LATITUDE_MAX, step);
+    long longitudeCell = cell(longitude, LONGITUDE_MIN, LONGITUDE_MAX, step);
+    Set<Long> hashes = new LinkedHashSet<>();
+    for (long i = latitudeCell - 1; i <= latitudeCell + 1; i++) {
+      if (i < 0 || i >= cells) {
+        continue;
+      }
+      for (long j = longitudeCell - 1; j <= longitudeCell + 1; j++) {
+        // longitude wraps around
+        hashes.add(interleave(i, Math.floorMod(j, cells)));
+      }
+    }
+    List<long[]> ranges = new ArrayList<>(hashes.size());
+    int shift = (STEP - step) * 2;
+    for (long hash : hashes) {
+      ranges.add(new long[] { hash << shift, (hash + 1) << shift });
+    }
+    return ranges;
+  }
+
+  private static int estimateStep(double radius, double latitude) {
+    if (radius == 0) {
+      return STEP;
+    }
+    int step = 1;
+    double range = radius;
+    while (range < MERCATOR_MAX) {
+      range *= 2;
+      step++;
+    }
+    // make sure the radius is included in most of the cases
+    step -= 2;
+    // cells are narrower near the poles
+    if (latitude > 66 || latitude < -66) {
+      step--;
+      if (latitude > 80 || latitude < -80) {
+        step--;
+      }
+    }
+    return Math.max(1, Math.min(STEP, step));
+  }
+
+  // the neighbours of the cell have to reach the radius in every direction
+  private static boolean covers(double longitude, double latitude, double radius, int step) {
+    double latitudeStep = (LATITUDE_MAX - LATITUDE_MIN) / (1L << step);
+    double longitudeStep = (LONGITUDE_MAX - LONGITUDE_MIN) / (1L << step);
+    long latitudeCell = cell(latitude, LATITUDE_MIN, LATITUDE_MAX, step);
+    long longitudeCell = cell(longitude, LONGITUDE_MIN, LONGITUDE_MAX, step);
+    double north = Math.min(LATITUDE_MAX, LATITUDE_MIN + (latitudeCell + 2) * latitudeStep);
+    double south = Math.max(LATITUDE_MIN, LATITUDE_MIN + (latitudeCell - 1) * latitudeStep);
+    double east = LONGITUDE_MIN + (longitudeCell + 2) * longitudeStep;
+    double west = LONGITUDE_MIN + (longitudeCell - 1) * longitudeStep;
+    return (north == LATITUDE_MAX || distance(longitude, latitude, longitude, north) >= radius)
+        && (south == LATITUDE_MIN || distance(longitude, latitude, longitude, south) >= radius)
+        && distance(longitude, latitude, east, latitude) >= radius
+        && distance(longitude, latitude, west, latitude) >= radius;
+  }
+
+  private static long cell(double value, double min, double max, int step) {
+    long cells = 1L << step;
+    long cell = (long) ((value - min) / (max - min) * cells);
+    return Math.max(0, Math.min(cells - 1, cell));
+  }
+
+  private static long encode(double longitude, double latitude, double latitudeMin, double latitudeMax) {
+    return interleave(cell(latitude, latitudeMin, latitudeMax, STEP),
+                      cell(longitude, LONGITUDE_MIN, LONGITUDE_MAX, STEP));
+  }
+
+  // latitude in the even bits, longitude in the odd bits
+  private static long interleave(long latitude, long longitude) {
+    return spread(latitude) | (spread(longitude) << 1);
+  }
+
+  private static long spread(long value) {
+    long x = value & 0xFFFFFFFFL;
+    x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+    x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+    x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+    x = (x | (x << 2)) & 0x3333333333333333L;
+    x = (x | (x << 1)) & 0x5555555555555555L;
+    return x;
+  }
+
+  private static long deinterleave(long value) {
+    long x = value & 0x5555555555555555L;
+    x = (x | (x >>> 1)) & 0x3333333333333333L;
+    x = (x | (x >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+    x = (x | (x >>> 4)) & 0x00FF00FF00FF00FFL;
+    x = (x | (x >>> 8)) & 0x0000FFFF0000FFFFL;
+    x = (x | (x >>> 16)) & 0x00000000FFFFFFFFL;
+    return x;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.util.stream.Collectors.toList;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@ReadOnly
+@Command("geohash")
+@ParamLength(1)
+@ParamType(DataType.ZSET)
+public class GeoHashCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    DatabaseValue value = db.get(safeKey(request.getParam(0)));
+    return array(request.getParams().stream().skip(1)
+        .map(member -> Geos.position(value, member))
+        .map(position -> position != null ? string(GeoHash.toString(position[0], position[1])) : nullString())
+        .collect(toList()));
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@ReadOnly
+@Command("georadiusbymember")
+@ParamLength(4)
+@ParamType(DataType.ZSET)
+public class GeoRadiusByMemberCommand extends AbstractGeoSearchCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      double unit = Geos.parseUnit(request.getParam(3));
+      double radius = Geos.parseDouble(request.getParam(2)) * unit;
+      Options options = new Options();
+      for (int i = 4; i < request.getLength();) {
+        i = parseOption(request, i, options);
+        if (i < 0) {
+          return error(Geos.SYNTAX_ERROR);
+        }
+      }
+      DatabaseValue value = db.get(safeKey(request.getParam(0)));
+      if (value == null) {
+        return array();
+      }
+      double[] center = Geos.position(value, request.getParam(1));
+      if (center == null) {
+        return error(Geos.MEMBER_NOT_FOUND);
+      }
+      return search(value, GeoSearch.byRadius(center[0], center[1], radius), options, unit);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@ReadOnly
+@Command("georadius")
+@ParamLength(5)
+@ParamType(DataType.ZSET)
+public class GeoRadiusCommand extends AbstractGeoSearchCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      double longitude = Geos.parseDouble(request.getParam(1));
+      double latitude = Geos.parseDouble(request.getParam(2));
+      double unit = Geos.parseUnit(request.getParam(4));
+      double radius = Geos.parseDouble(request.getParam(3)) * unit;
+      Options options = new Options();
+      for (int i = 5; i < request.getLength();) {
+        i = parseOption(request, i, options);
+        if (i < 0) {
+          return error(Geos.SYNTAX_ERROR);
+        }
+      }
+      return search(db.get(safeKey(request.getParam(0))),
+                    GeoSearch.byRadius(longitude, latitude, radius), options, unit);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseValue.score;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableSet;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Search of the members of a sorted set inside a circle or a rectangle. Only the score
+ * ranges of the cells around the center are scanned, not the whole set.
+ */
+final class GeoSearch {
+
+  private final double longitude;
+  private final double latitude;
+  private final double radius;
+  private final double width;
+  private final double height;
+
+  private GeoSearch(double longitude, double latitude, double radius, double width, double height) {
+    this.longitude = longitude;
+    this.latitude = latitude;
+    this.radius = radius;
+    this.width = width;
+    this.height = height;
+  }
+
+  static GeoSearch byRadius(double longitude, double latitude, double radius) {
+    return new GeoSearch(longitude, latitude, radius, 0, 0);
+  }
+
+  static GeoSearch byBox(double longitude, double latitude, double width, double height) {
+    return new GeoSearch(longitude, latitude, Math.sqrt(width * width + height * height) / 2, width, height);
+  }
+
+  /**
+   * Members inside the shape, in no particular order. If limit is greater than zero, it stops
+   * as soon as it finds limit members.
+   */
+  List<GeoPoint> search(NavigableSet<Entry<Double, SafeString>> set, int limit) {
+    List<GeoPoint> result = new ArrayList<>();
+    for (long[] range : GeoHash.ranges(longitude, latitude, radius)) {
+      for (Entry<Double, SafeString> entry : set.subSet(score(range[0], SafeString.EMPTY_STRING), true,
+                                                        score(range[1], SafeString.EMPTY_STRING), false)) {
+        double[] position = GeoHash.decode(entry.getKey().longValue());
+        double distance = distance(position);
+        if (distance >= 0) {
+          result.add(new GeoPoint(entry.getValue(), position, distance));
+          if (result.size() == limit) {
+            return result;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  // distance from the center, -1 if it is outside the shape
+  private double distance(double[] position) {
+    if (width > 0 || height > 0) {
+      if (GeoHash.latitudeDistance(latitude, position[1]) > height / 2
+          || GeoHash.distance(longitude, position[1], position[0], position[1]) > width / 2) {
+        return -1;
+      }
+      return GeoHash.distance(longitude, latitude, position[0], position[1]);
+    }
+    double distance = GeoHash.distance(longitude, latitude, position[0], position[1]);
+    return distance <= radius ? distance : -1;
+  }
+
+  static final class GeoPoint {
+    private final SafeString member;
+    private final double[] position;
+    private final double distance;
+
+    private GeoPoint(SafeString member, double[] position, double distance) {
+      this.member = member;
+      this.position = position;
+      this.distance = distance;
+    }
+
+    SafeString getMember() {
+      return member;
+    }
+
+    double[] getPosition() {
+      return position;
+    }
+
+    double getDistance() {
+      return distance;
+    }
+  }
+}
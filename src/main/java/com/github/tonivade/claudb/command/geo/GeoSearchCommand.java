@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@ReadOnly
+@Command("geosearch")
+@ParamLength(5)
+@ParamType(DataType.ZSET)
+public class GeoSearchCommand extends AbstractGeoSearchCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      SafeString member = null;
+      double[] center = null;
+      double radius = -1;
+      double width = -1;
+      double height = -1;
+      double unit = 1;
+      Options options = new Options();
+      for (int i = 1; i < request.getLength();) {
+        String option = request.getParam(i).toString();
+        if (option.equalsIgnoreCase("frommember") && i + 1 < request.getLength()) {
+          member = request.getParam(i + 1);
+          i += 2;
+        } else if (option.equalsIgnoreCase("fromlonlat") && i + 2 < request.getLength()) {
+          center = new double[] {
+              Geos.parseDouble(request.getParam(i + 1)), Geos.parseDouble(request.getParam(i + 2))
+          };
+          i += 3;
+        } else if (option.equalsIgnoreCase("byradius") && i + 2 < request.getLength()) {
+          unit = Geos.parseUnit(request.getParam(i + 2));
+          radius = Geos.parseDouble(request.getParam(i + 1)) * unit;
+          i += 3;
+        } else if (option.equalsIgnoreCase("bybox") && i + 3 < request.getLength()) {
+          unit = Geos.parseUnit(request.getParam(i + 3));
+          width = Geos.parseDouble(request.getParam(i + 1)) * unit;
+          height = Geos.parseDouble(request.getParam(i + 2)) * unit;
+          i += 4;
+        } else {
+          i = parseOption(request, i, options);
+          if (i < 0) {
+            return error(Geos.SYNTAX_ERROR);
+          }
+        }
+      }
+      if ((member == null) == (center == null)) {
+        return error("ERR exactly one of FROMMEMBER or FROMLONLAT can be specified for geosearch");
+      }
+      if ((radius < 0) == (width < 0)) {
+        return error("ERR exactly one of BYRADIUS and BYBOX can be specified for geosearch");
+      }
+
+      DatabaseValue value = db.get(safeKey(request.getParam(0)));
+      if (value == null) {
+        return array();
+      }
+      if (member != null) {
+        center = Geos.position(value, member);
+        if (center == null) {
+          return error(Geos.MEMBER_NOT_FOUND);
+        }
+      }
+      GeoSearch search = radius >= 0
+          ? GeoSearch.byRadius(center[0], center[1], radius)
+          : GeoSearch.byBox(center[0], center[1], width, height);
+      return search(value, search, options, unit);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import java.util.Locale;
+
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+final class Geos {
+
+  static final String SYNTAX_ERROR = "ERR syntax error";
+  static final String NOT_FLOAT = "ERR value is not a valid float";
+  static final String MEMBER_NOT_FOUND = "ERR could not decode requested zset member";
+
+  private Geos() { }
+
+  /**
+   * @throws IllegalArgumentException if it is not a valid number
+   */
+  static double parseDouble(SafeString value) {
+    try {
+      double result = Double.parseDouble(value.toString());
+      if (Double.isNaN(result)) {
+        throw new NumberFormatException();
+      }
+      return result;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(NOT_FLOAT, e);
+    }
+  }
+
+  /**
+   * Meters per unit.
+   *
+   * @throws IllegalArgumentException if it is not a valid unit
+   */
+  static double parseUnit(SafeString value) {
+    switch (value.toString().toLowerCase(Locale.ROOT)) {
+    case "m":
+      return 1;
+    case "km":
+      return 1000;
+    case "ft":
+      return 0.3048;
+    case "mi":
+      return 1609.34;
+    default:
+      throw new IllegalArgumentException("ERR unsupported unit provided. please use M, KM, FT, MI");
+    }
+  }
+
+  /**
+   * Longitude and latitude of the member, null if it is not a member.
+   */
+  static double[] position(DatabaseValue value, SafeString member) {
+    Double score = value != null ? value.getScore(member) : null;
+    return score != null ? GeoHash.decode(score.longValue()) : null;
+  }
+
+  static RedisToken coordinates(double[] position) {
+    return array(string(String.valueOf(position[0])), string(String.valueOf(position[1])));
+  }
+
+  static RedisToken distance(double meters, double unit) {
+    return string(String.format(Locale.ROOT, "%.4f", meters / unit));
+  }
+}
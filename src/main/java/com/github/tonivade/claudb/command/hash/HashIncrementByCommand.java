@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hash;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.hash;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+import io.vavr.collection.Map;
+
+@Command("hincrby")
+@ParamLength(3)
+@ParamType(DataType.HASH)
+public class HashIncrementByCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    long increment;
+    try {
+      increment = Long.parseLong(request.getParam(2).toString());
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    }
+
+    DatabaseKey key = safeKey(request.getParam(0));
+    SafeString field = request.getParam(1);
+    try {
+      DatabaseValue oldValue = db.getOrDefault(key, DatabaseValue.EMPTY_HASH);
+      Map<SafeString, SafeString> map = oldValue.getHash();
+      long current = map.get(field).map(value -> Long.parseLong(value.toString())).getOrElse(0L);
+      // the reply token only holds an int
+      int result = Math.toIntExact(Math.addExact(current, increment));
+
+      DatabaseValue newValue = hash(map.put(field, safeString(String.valueOf(result))));
+      db.store(key, newValue.expiredAt(oldValue.getExpiredAt()));
+      return integer(result);
+    } catch (NumberFormatException e) {
+      return error("ERR hash value is not an integer");
+    } catch (ArithmeticException e) {
+      return error("ERR increment or decrement would overflow");
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hll;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.HyperLogLog;
+
+@Command("pfadd")
+@ParamLength(1)
+public class HyperLogLogAddCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    DatabaseKey key = safeKey(request.getParam(0));
+    HyperLogLog hll;
+    try {
+      hll = HyperLogLogs.get(db, key);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+    boolean created = hll == null;
+    if (created) {
+      hll = new HyperLogLog();
+    }
+    byte[][] elements = request.getParams().stream().skip(1).map(param -> param.getBytes()).toArray(byte[][]::new);
+    boolean changed = hll.add(elements) || created;
+    if (changed) {
+      HyperLogLogs.put(db, key, hll);
+    }
+    return integer(changed);
+  }
+}
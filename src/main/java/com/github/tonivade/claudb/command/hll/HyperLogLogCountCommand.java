@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hll;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.HyperLogLog;
+
+@ReadOnly
+@Command("pfcount")
+@ParamLength(1)
+public class HyperLogLogCountCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    Map<DatabaseKey, HyperLogLog> hlls = new LinkedHashMap<>();
+    try {
+      for (SafeString param : request.getParams()) {
+        DatabaseKey key = safeKey(param);
+        HyperLogLog hll = HyperLogLogs.get(db, key);
+        // empty ones don't change the union
+        if (hll != null && !(hll.isCached() && hll.count() == 0)) {
+          hlls.put(key, hll);
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+
+    long count;
+    if (hlls.isEmpty()) {
+      count = 0;
+    } else if (hlls.size() == 1) {
+      count = count(db, hlls.entrySet().iterator().next());
+    } else {
+      byte[] registers = new byte[HyperLogLog.REGISTERS];
+      hlls.values().forEach(hll -> hll.merge(registers));
+      count = HyperLogLog.count(registers);
+    }
+    return count > Integer.MAX_VALUE ? error("ERR value is out of range") : integer((int) count);
+  }
+
+  // the cardinality is cached, so next time it is not computed again
+  private long count(Database db, Map.Entry<DatabaseKey, HyperLogLog> entry) {
+    HyperLogLog hll = entry.getValue();
+    if (hll.isCached()) {
+      return hll.count();
+    }
+    long count = hll.count();
+    HyperLogLogs.put(db, entry.getKey(), hll);
+    return count;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hll;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.HyperLogLog;
+
+@Command("pfmerge")
+@ParamLength(1)
+public class HyperLogLogMergeCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    byte[] registers = new byte[HyperLogLog.REGISTERS];
+    try {
+      // destination is part of the union too
+      for (SafeString param : request.getParams()) {
+        HyperLogLog hll = HyperLogLogs.get(db, safeKey(param));
+        if (hll != null) {
+          hll.merge(registers);
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+    HyperLogLogs.put(db, safeKey(request.getParam(0)), HyperLogLog.of(registers));
+    return responseOk();
+  }
+}
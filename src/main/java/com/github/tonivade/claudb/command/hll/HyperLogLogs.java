@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hll;
+
+import static com.github.tonivade.claudb.data.DatabaseValue.hyperLogLog;
+
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.HyperLogLog;
+
+final class HyperLogLogs {
+
+  static final String INVALID = "WRONGTYPE Key is not a valid HyperLogLog string value.";
+
+  private HyperLogLogs() { }
+
+  /**
+   * HyperLogLog stored in key, null if the key does not exists.
+   *
+   * @throws IllegalArgumentException if the value is not a valid HyperLogLog
+   */
+  static HyperLogLog get(Database db, DatabaseKey key) {
+    DatabaseValue value = db.get(key);
+    if (value == null) {
+      return null;
+    }
+    HyperLogLog hll = value.getType() == DataType.STRING ? value.getHyperLogLog() : null;
+    if (hll == null) {
+      throw new IllegalArgumentException(INVALID);
+    }
+    return hll;
+  }
+
+  /**
+   * Puts the HyperLogLog back in the database keeping the expiration.
+   */
+  static void put(Database db, DatabaseKey key, HyperLogLog hll) {
+    DatabaseValue value = db.get(key);
+    db.store(key, value != null ? hyperLogLog(hll).expiredAt(value.getExpiredAt()) : hyperLogLog(hll));
+  }
+}
@@ -26,7 +26,7 @@ public class ExpireCommand implements DBCommand {
     try {
       DatabaseValue value = db.get(safeKey(request.getParam(0)));
       if (value != null) {
-        db.put(safeKey(request.getParam(0)), value.expiredAt(parsetTtl(request.getParam(1))));
+        db.store(safeKey(request.getParam(0)), value.expiredAt(parsetTtl(request.getParam(1))));
       }
       return integer(value != null);
     } catch (NumberFormatException e) {
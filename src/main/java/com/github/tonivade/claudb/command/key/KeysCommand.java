@@ -4,7 +4,6 @@
  */
 package com.github.tonivade.claudb.command.key;
 
-import java.time.Instant;
 import java.util.function.Predicate;
 
 import com.github.tonivade.resp.annotation.Command;
@@ -14,6 +13,7 @@ import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseKey;
 import com.github.tonivade.claudb.data.DatabaseValue;
@@ -32,7 +32,7 @@ public class KeysCommand implements DBCommand {
     GlobPattern pattern = createPattern(request.getParam(0));
     Set<SafeString> keys = db.entrySet()
         .filter(matchPattern(pattern))
-        .filter(filterExpired(Instant.now()).negate())
+        .filter(filterExpired(Clock.now()).negate())
         .map(Tuple2::_1)
         .map(DatabaseKey::getValue);
     return convert(keys);
@@ -42,7 +42,7 @@ public class KeysCommand implements DBCommand {
     return new GlobPattern(param.toString());
   }
 
-  private Predicate<? super Tuple2<DatabaseKey, DatabaseValue>> filterExpired(Instant now) {
+  private Predicate<? super Tuple2<DatabaseKey, DatabaseValue>> filterExpired(long now) {
     return entry -> entry._2().isExpired(now);
   }
 
@@ -19,7 +19,7 @@ public class PersistCommand implements DBCommand {
   public RedisToken execute(Database db, Request request) {
     DatabaseValue value = db.get(safeKey(request.getParam(0)));
     if (value != null) {
-      db.put(safeKey(request.getParam(0)), value.noExpire());
+      db.store(safeKey(request.getParam(0)), value.noExpire());
     }
     return integer(value != null);
   }
@@ -6,12 +6,12 @@ package com.github.tonivade.claudb.command.key;
 
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-
-import java.time.Instant;
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
 
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseValue;
 
@@ -27,10 +27,10 @@ public abstract class TimeToLiveCommand implements DBCommand {
     }
   }
 
-  protected abstract int timeToLive(DatabaseValue value, Instant now);
+  protected abstract int timeToLive(DatabaseValue value, long now);
 
   private RedisToken keyExists(DatabaseValue value) {
-    if (value.getExpiredAt() != null) {
+    if (value.getExpiredAt() != NO_EXPIRATION) {
       return hasExpiredAt(value);
     } else {
       return integer(-1);
@@ -38,7 +38,7 @@ public abstract class TimeToLiveCommand implements DBCommand {
   }
 
   private RedisToken hasExpiredAt(DatabaseValue value) {
-    Instant now = Instant.now();
+    long now = Clock.now();
     if (!value.isExpired(now)) {
       return integer(timeToLive(value, now));
     } else {
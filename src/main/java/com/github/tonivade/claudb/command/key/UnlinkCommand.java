@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.key;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Like DEL, but the values are not read, they are only detached from the keyspace. Values on heap
+ * are reclaimed later by the garbage collector, off heap and on disk they are not deserialized.
+ */
+@Command("unlink")
+@ParamLength(1)
+public class UnlinkCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    int removed = 0;
+    for (SafeString key : request.getParams()) {
+      if (db.unlink(safeKey(key))) {
+        removed += 1;
+      }
+    }
+    return integer(removed);
+  }
+}
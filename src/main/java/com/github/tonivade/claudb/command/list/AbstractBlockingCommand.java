@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.github.tonivade.claudb.DBServerState;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+abstract class AbstractBlockingCommand implements DBCommand {
+
+  protected static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+  protected long parseTimeout(SafeString timeout) {
+    double seconds = Double.parseDouble(timeout.toString());
+    if (seconds < 0 || Double.isNaN(seconds) || Double.isInfinite(seconds)) {
+      throw new NumberFormatException();
+    }
+    return (long) (seconds * 1000);
+  }
+
+  /**
+   * Blocks the client until a waited key receives a new element or the timeout expires.
+   * Inside MULTI, a script, or on a replica it behaves as if the timeout had already expired.
+   */
+  protected RedisToken block(Request request, List<SafeString> keys, Waiter.Side side,
+                             Optional<SafeString> destination, long timeout) {
+    if (!canBlock(request)) {
+      return nullString();
+    }
+    long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+    registry(request).block(new Waiter(request.getSession(), currentDB(request), keys, side, destination, deadline));
+    // no reply until the client is served or the timeout expires
+    return null;
+  }
+
+  protected void signal(Request request, SafeString key) {
+    registry(request).signal(currentDB(request), key);
+  }
+
+  private boolean canBlock(Request request) {
+    DBServerState serverState = getServerState(request.getServerContext());
+    return serverState.isMaster() && getSessionState(request.getSession()).isBlockingAllowed();
+  }
+
+  private int currentDB(Request request) {
+    return getSessionState(request.getSession()).getCurrentDB();
+  }
+
+  private BlockingRegistry registry(Request request) {
+    return getServerState(request.getServerContext()).getBlockingRegistry();
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+abstract class AbstractBlockingPopCommand extends AbstractBlockingCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    List<SafeString> keys = request.getParams().stream().limit(request.getLength() - 1).collect(toList());
+    long timeout;
+    try {
+      timeout = parseTimeout(request.getParam(request.getLength() - 1));
+    } catch (NumberFormatException e) {
+      return error("ERR timeout is not a float or out of range");
+    }
+    for (SafeString key : keys) {
+      if (!Lists.isList(db, key)) {
+        return error(WRONG_TYPE);
+      }
+    }
+    for (SafeString key : keys) {
+      Optional<SafeString> value = pop(db, key);
+      if (value.isPresent()) {
+        return array(string(key), string(value.get()));
+      }
+    }
+    return block(request, keys, side(), Optional.empty(), timeout);
+  }
+
+  protected abstract Waiter.Side side();
+
+  private Optional<SafeString> pop(Database db, SafeString key) {
+    return side() == Waiter.Side.LEFT ? Lists.popLeft(db, key) : Lists.popRight(db, key);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.lang.String.valueOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Client waiting in the BlockingRegistry for some keys.
+ */
+public abstract class BlockedClient {
+
+  private final Session session;
+  private final int db;
+  private final List<SafeString> keys;
+  private final long deadline;
+
+  protected BlockedClient(Session session, int db, List<SafeString> keys, long deadline) {
+    this.session = session;
+    this.db = db;
+    this.keys = keys;
+    this.deadline = deadline;
+  }
+
+  public Session getSession() {
+    return session;
+  }
+
+  public int getDb() {
+    return db;
+  }
+
+  public List<SafeString> getKeys() {
+    return keys;
+  }
+
+  public boolean hasDeadline() {
+    return deadline > 0;
+  }
+
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * True if the client can be served with the current value of the key.
+   */
+  protected abstract boolean isReady(Database db, SafeString key);
+
+  /**
+   * Publishes the reply to the client and returns the command to be replicated, if any.
+   */
+  protected abstract Optional<RedisToken> serve(BlockingRegistry registry, Database db, SafeString key);
+
+  protected static RedisToken command(int db, String command, SafeString... params) {
+    List<RedisToken> array = new ArrayList<>();
+    array.add(string(valueOf(db)));
+    array.add(string(command));
+    for (SafeString param : params) {
+      array.add(string(param));
+    }
+    return array(array);
+  }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+
+@Command("blpop")
+@ParamLength(2)
+public class BlockingLeftPopCommand extends AbstractBlockingPopCommand {
+
+  @Override
+  protected Waiter.Side side() {
+    return Waiter.Side.LEFT;
+  }
+}
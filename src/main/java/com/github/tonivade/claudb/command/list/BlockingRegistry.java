@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static tonivade.equalizer.Equalizer.equalizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Clients blocked in BLPOP, BRPOP, BRPOPLPUSH, XREAD or XREADGROUP, queued by key in arrival order.
+ *
+ * Push commands only mark keys as ready, waiters are served once the whole command
+ * (or transaction) has finished, so a blocked client never sees intermediate state.
+ */
+public class BlockingRegistry {
+
+  public static final long TICK = 100;
+  private static final int WHEEL_SIZE = 512;
+
+  private final Map<WaitKey, Set<BlockedClient>> waiters = new HashMap<>();
+  private final Map<String, BlockedClient> sessions = new HashMap<>();
+  private final Set<WaitKey> ready = new LinkedHashSet<>();
+  private final TimerWheel<BlockedClient> timeouts = new TimerWheel<>(TICK, WHEEL_SIZE, System.currentTimeMillis());
+
+  public synchronized boolean isBlocked(Session session) {
+    return sessions.containsKey(session.getId());
+  }
+
+  public synchronized boolean hasTimeouts() {
+    return !timeouts.isEmpty();
+  }
+
+  /**
+   * Serves the waiters of the keys that received new elements and returns the
+   * equivalent commands (LPOP, RPOP, RPOPLPUSH or XREADGROUP) to be replicated.
+   */
+  public synchronized List<RedisToken> serve(IntFunction<Database> databases) {
+    List<RedisToken> commands = new ArrayList<>();
+    while (!ready.isEmpty()) {
+      Iterator<WaitKey> iterator = ready.iterator();
+      WaitKey key = iterator.next();
+      iterator.remove();
+      serve(databases.apply(key.db), key).forEach(commands::add);
+    }
+    return commands;
+  }
+
+  public synchronized void expire(long now) {
+    for (BlockedClient waiter : timeouts.advance(now)) {
+      unblock(waiter);
+      waiter.getSession().publish(nullString());
+    }
+  }
+
+  public synchronized void cancel(Session session) {
+    BlockedClient waiter = sessions.get(session.getId());
+    if (waiter != null) {
+      unblock(waiter);
+    }
+  }
+
+  public synchronized void block(BlockedClient waiter) {
+    sessions.put(waiter.getSession().getId(), waiter);
+    for (SafeString key : waiter.getKeys()) {
+      waiters.computeIfAbsent(new WaitKey(waiter.getDb(), key), k -> new LinkedHashSet<>()).add(waiter);
+    }
+    if (waiter.hasDeadline()) {
+      timeouts.schedule(waiter, waiter.getDeadline());
+    }
+  }
+
+  public synchronized void signal(int db, SafeString key) {
+    WaitKey waitKey = new WaitKey(db, key);
+    if (waiters.containsKey(waitKey)) {
+      ready.add(waitKey);
+    }
+  }
+
+  private List<RedisToken> serve(Database db, WaitKey key) {
+    List<RedisToken> commands = new ArrayList<>();
+    Set<BlockedClient> queue = waiters.get(key);
+    if (queue != null) {
+      for (BlockedClient waiter : new ArrayList<>(queue)) {
+        if (waiter.isReady(db, key.key)) {
+          unblock(waiter);
+          waiter.serve(this, db, key.key).ifPresent(commands::add);
+        }
+      }
+    }
+    return commands;
+  }
+
+  private void unblock(BlockedClient waiter) {
+    sessions.remove(waiter.getSession().getId());
+    for (SafeString key : waiter.getKeys()) {
+      WaitKey waitKey = new WaitKey(waiter.getDb(), key);
+      Set<BlockedClient> queue = waiters.get(waitKey);
+      if (queue != null) {
+        queue.remove(waiter);
+        if (queue.isEmpty()) {
+          waiters.remove(waitKey);
+        }
+      }
+    }
+    timeouts.cancel(waiter);
+  }
+
+  private static final class WaitKey {
+    private final int db;
+    private final SafeString key;
+
+    private WaitKey(int db, SafeString key) {
+      this.db = db;
+      this.key = key;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(db, key);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return equalizer(this)
+          .append((one, other) -> one.db == other.db && Objects.equals(one.key, other.key))
+          .applyTo(obj);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.util.Collections.singletonList;
+
+import java.util.Optional;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@Command("brpoplpush")
+@ParamLength(3)
+public class BlockingRightPopLeftPushCommand extends AbstractBlockingCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    SafeString source = request.getParam(0);
+    SafeString destination = request.getParam(1);
+    long timeout;
+    try {
+      timeout = parseTimeout(request.getParam(2));
+    } catch (NumberFormatException e) {
+      return error("ERR timeout is not a float or out of range");
+    }
+    if (!Lists.isList(db, source) || !Lists.isList(db, destination)) {
+      return error(WRONG_TYPE);
+    }
+    Optional<SafeString> value = Lists.popRight(db, source);
+    if (value.isPresent()) {
+      Lists.pushLeft(db, destination, singletonList(value.get()));
+      signal(request, destination);
+      return string(value.get());
+    }
+    return block(request, singletonList(source), Waiter.Side.RIGHT, Optional.of(destination), timeout);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.github.tonivade.claudb.DBServerContext;
+import com.github.tonivade.claudb.data.Clock;
+
+public class BlockingTimer {
+
+  private final DBServerContext server;
+
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+  public BlockingTimer(DBServerContext server) {
+    this.server = server;
+  }
+
+  public void start() {
+    executor.scheduleAtFixedRate(this::tick,
+        BlockingRegistry.TICK, BlockingRegistry.TICK, TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() {
+    executor.shutdown();
+  }
+
+  private void tick() {
+    server.expireBlocked(Clock.now());
+  }
+}
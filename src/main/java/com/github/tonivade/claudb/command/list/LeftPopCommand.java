@@ -5,24 +5,15 @@
 package com.github.tonivade.claudb.command.list;
 
 import static com.github.tonivade.resp.protocol.RedisToken.nullString;
-import static com.github.tonivade.resp.protocol.RedisToken.string;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.list;
-
-import java.util.LinkedList;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
-
-import io.vavr.collection.List;
 
 @Command("lpop")
 @ParamLength(1)
@@ -31,18 +22,6 @@ public class LeftPopCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    LinkedList<SafeString> removed = new LinkedList<>();
-    db.merge(safeKey(request.getParam(0)), DatabaseValue.EMPTY_LIST,
-        (oldValue, newValue) -> {
-          List<SafeString> list = oldValue.getList();
-          list.headOption().forEach(removed::add);
-          return list(list.tailOption().getOrElse(List::empty));
-        });
-
-    if (removed.isEmpty()) {
-      return nullString();
-    } else {
-      return string(removed.remove(0));
-    }
+    return Lists.popLeft(db, request.getParam(0)).map(RedisToken::string).orElse(nullString());
   }
 }
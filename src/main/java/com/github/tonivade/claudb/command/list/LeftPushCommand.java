@@ -4,21 +4,16 @@
  */
 package com.github.tonivade.claudb.command.list;
 
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.list;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
-
-import io.vavr.collection.List;
 
 @Command("lpush")
 @ParamLength(2)
@@ -27,11 +22,11 @@ public class LeftPushCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    List<SafeString> values = List.ofAll(request.getParams()).tail().reverse();
+    int size = Lists.pushLeft(db, request.getParam(0), request.getParams().subList(1, request.getLength()));
 
-    DatabaseValue result = db.merge(safeKey(request.getParam(0)), list(values),
-        (oldValue, newValue) -> list(newValue.getList().appendAll(oldValue.getList())));
+    getServerState(request.getServerContext()).getBlockingRegistry()
+        .signal(getSessionState(request.getSession()).getCurrentDB(), request.getParam(0));
 
-    return RedisToken.integer(result.size());
+    return integer(size);
   }
 }
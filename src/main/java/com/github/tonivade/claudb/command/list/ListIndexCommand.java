@@ -12,14 +12,12 @@ import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-
-import io.vavr.collection.List;
+import com.github.tonivade.claudb.data.QuickList;
 
 @ReadOnly
 @Command("lindex")
@@ -30,7 +28,7 @@ public class ListIndexCommand implements DBCommand {
   @Override
   public RedisToken execute(Database db, Request request) {
     try {
-      List<SafeString> list = db.getList(request.getParam(0));
+      QuickList list = db.getList(request.getParam(0));
 
       int index = Integer.parseInt(request.getParam(1).toString());
       if (index < 0) {
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+
+@Command("linsert")
+@ParamLength(4)
+@ParamType(DataType.LIST)
+public class ListInsertCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    String where = request.getParam(1).toString();
+    if (!where.equalsIgnoreCase("before") && !where.equalsIgnoreCase("after")) {
+      return error("ERR syntax error");
+    }
+    boolean before = where.equalsIgnoreCase("before");
+    SafeString pivot = request.getParam(2);
+    SafeString value = request.getParam(3);
+
+    int size = Lists.update(db, request.getParam(0), list -> {
+      if (list.isEmpty()) {
+        return 0;
+      }
+      return list.insert(pivot, value, before) ? list.size() : -1;
+    });
+
+    if (size > 0) {
+      getServerState(request.getServerContext()).getBlockingRegistry()
+          .signal(getSessionState(request.getSession()).getCurrentDB(), request.getParam(0));
+    }
+
+    return integer(size);
+  }
+}
@@ -10,15 +10,12 @@ import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
 
-import io.vavr.collection.List;
-
 @ReadOnly
 @Command("llen")
 @ParamLength(1)
@@ -27,7 +24,6 @@ public class ListLengthCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    List<SafeString> list = db.getList(request.getParam(0));
-    return integer(list.size());
+    return integer(db.getList(request.getParam(0)).size());
   }
 }
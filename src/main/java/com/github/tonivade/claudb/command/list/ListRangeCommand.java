@@ -5,21 +5,17 @@
 package com.github.tonivade.claudb.command.list;
 
 import static com.github.tonivade.resp.protocol.RedisToken.error;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
-
-import io.vavr.collection.List;
+import com.github.tonivade.claudb.data.QuickList;
 
 @ReadOnly
 @Command("lrange")
@@ -30,25 +26,18 @@ public class ListRangeCommand implements DBCommand {
   @Override
   public RedisToken execute(Database db, Request request) {
     try {
-      DatabaseValue value = db.getOrDefault(safeKey(request.getParam(0)), DatabaseValue.EMPTY_LIST);
-      List<SafeString> list = value.getList();
+      QuickList list = db.getList(request.getParam(0));
 
       int from = Integer.parseInt(request.getParam(1).toString());
       if (from < 0) {
-        from = list.size() + from;
+        from = Math.max(0, list.size() + from);
       }
       int to = Integer.parseInt(request.getParam(2).toString());
       if (to < 0) {
         to = list.size() + to;
       }
 
-      int min = Math.min(from, to);
-      int max = Math.max(from, to);
-
-      // TODO: use Array
-      List<SafeString> result = list.toJavaStream().skip(min).limit((max - min) + 1).collect(List.collector());
-
-      return convert(result);
+      return convert(list.range(from, Math.min(to, list.size() - 1)));
     } catch (NumberFormatException e) {
       return error("ERR value is not an integer or out of range");
     }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+
+@Command("lrem")
+@ParamLength(3)
+@ParamType(DataType.LIST)
+public class ListRemoveCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      int count = Integer.parseInt(request.getParam(1).toString());
+
+      int removed = Lists.update(db, request.getParam(0), list -> list.remove(count, request.getParam(2)));
+
+      return integer(removed);
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    }
+  }
+}
@@ -7,22 +7,15 @@ package com.github.tonivade.claudb.command.list;
 import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.status;
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.list;
-
-import java.util.ArrayList;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
-
-import io.vavr.collection.List;
 
 @Command("lset")
 @ParamLength(3)
@@ -33,14 +26,13 @@ public class ListSetCommand implements DBCommand {
   public RedisToken execute(Database db, Request request) {
     try {
       int index = Integer.parseInt(request.getParam(1).toString());
-      db.merge(safeKey(request.getParam(0)), DatabaseValue.EMPTY_LIST,
-          (oldValue, newValue) -> {
-            List<SafeString> oldList = oldValue.getList();
-            // TODO: use Array
-            ArrayList<SafeString> array = new ArrayList<>(oldList.toJavaList());
-            array.set(index > -1 ? index : array.size() + index, request.getParam(2));
-            return list(array);
-          });
+      if (!db.containsKey(safeKey(request.getParam(0)))) {
+        return error("ERR no such key");
+      }
+      Lists.update(db, request.getParam(0), list -> {
+        list.set(index > -1 ? index : list.size() + index, request.getParam(2));
+        return list;
+      });
       return status("OK");
     } catch (NumberFormatException e) {
       return error("ERR value is not an integer or out of range");
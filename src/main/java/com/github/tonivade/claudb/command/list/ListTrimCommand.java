@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+
+@Command("ltrim")
+@ParamLength(3)
+@ParamType(DataType.LIST)
+public class ListTrimCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      int start = Integer.parseInt(request.getParam(1).toString());
+      int stop = Integer.parseInt(request.getParam(2).toString());
+
+      Lists.update(db, request.getParam(0), list -> {
+        int from = start < 0 ? Math.max(0, list.size() + start) : start;
+        int to = stop < 0 ? list.size() + stop : stop;
+        list.trim(from, Math.min(to, list.size() - 1));
+        return list.size();
+      });
+
+      return responseOk();
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    }
+  }
+}
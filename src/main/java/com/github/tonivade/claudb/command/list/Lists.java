@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.list;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.QuickList;
+import com.github.tonivade.resp.protocol.SafeString;
+
+final class Lists {
+
+  private Lists() { }
+
+  static Optional<SafeString> popLeft(Database db, SafeString key) {
+    return update(db, key, list -> list.isEmpty() ? Optional.empty() : Optional.of(list.removeFirst()));
+  }
+
+  static Optional<SafeString> popRight(Database db, SafeString key) {
+    return update(db, key, list -> list.isEmpty() ? Optional.empty() : Optional.of(list.removeLast()));
+  }
+
+  static int pushLeft(Database db, SafeString key, Iterable<SafeString> values) {
+    return create(db, key, list -> {
+      values.forEach(list::addFirst);
+      return list.size();
+    });
+  }
+
+  static int pushRight(Database db, SafeString key, Iterable<SafeString> values) {
+    return create(db, key, list -> {
+      values.forEach(list::addLast);
+      return list.size();
+    });
+  }
+
+  static boolean isList(Database db, SafeString key) {
+    return db.isType(safeKey(key), DataType.LIST);
+  }
+
+  /**
+   * Applies the function to the list stored in key, if any. The key is removed if the
+   * list ends empty, otherwise the value is put back so off heap databases see the change.
+   */
+  static <T> T update(Database db, SafeString key, Function<QuickList, T> function) {
+    DatabaseKey databaseKey = safeKey(key);
+    DatabaseValue value = db.getOrDefault(databaseKey, DatabaseValue.EMPTY_LIST);
+    if (value.getList().isEmpty()) {
+      return function.apply(new QuickList());
+    }
+    T result = function.apply(value.getList());
+    if (value.getList().isEmpty()) {
+      db.remove(databaseKey);
+    } else {
+      db.store(databaseKey, value);
+    }
+    return result;
+  }
+
+  /**
+   * Like update, but an empty list is created if key does not exists.
+   */
+  static <T> T create(Database db, SafeString key, Function<QuickList, T> function) {
+    DatabaseKey databaseKey = safeKey(key);
+    DatabaseValue value = db.getOrDefault(databaseKey, DatabaseValue.EMPTY_LIST);
+    if (value.getList().isEmpty()) {
+      value = list();
+    }
+    T result = function.apply(value.getList());
+    db.store(databaseKey, value);
+    return result;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Hashed timer wheel. Scheduling and cancelling are O(1), advancing only visits the
+ * slots of the ticks elapsed since the last call. Timeouts never fire early, but may
+ * fire up to one tick late.
+ */
+class TimerWheel<T> {
+
+  private final long tick;
+  private final List<Map<T, Long>> slots;
+  private final Map<T, Long> scheduled = new HashMap<>();
+
+  private long current;
+
+  TimerWheel(long tick, int size, long now) {
+    this.tick = tick;
+    this.slots = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      slots.add(new LinkedHashMap<>());
+    }
+    this.current = now / tick;
+  }
+
+  boolean isEmpty() {
+    return scheduled.isEmpty();
+  }
+
+  void schedule(T value, long deadline) {
+    long ticks = Math.max(ceil(deadline), current + 1);
+    scheduled.put(value, ticks);
+    slot(ticks).put(value, ticks);
+  }
+
+  void cancel(T value) {
+    Long ticks = scheduled.remove(value);
+    if (ticks != null) {
+      slot(ticks).remove(value);
+    }
+  }
+
+  List<T> advance(long now) {
+    List<T> expired = new ArrayList<>();
+    long target = now / tick;
+    for (long ticks = Math.max(current + 1, target - slots.size() + 1); ticks <= target; ticks++) {
+      Iterator<Entry<T, Long>> iterator = slot(ticks).entrySet().iterator();
+      while (iterator.hasNext()) {
+        Entry<T, Long> entry = iterator.next();
+        if (entry.getValue() <= target) {
+          iterator.remove();
+          scheduled.remove(entry.getKey());
+          expired.add(entry.getKey());
+        }
+      }
+    }
+    current = Math.max(current, target);
+    return expired;
+  }
+
+  private long ceil(long deadline) {
+    return (deadline + tick - 1) / tick;
+  }
+
+  private Map<T, Long> slot(long ticks) {
+    return slots.get((int) (ticks % slots.size()));
+  }
+}
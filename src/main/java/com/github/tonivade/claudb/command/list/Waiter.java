@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+class Waiter extends BlockedClient {
+
+  enum Side { LEFT, RIGHT }
+
+  private final Side side;
+  private final Optional<SafeString> destination;
+
+  Waiter(Session session, int db, List<SafeString> keys, Side side, Optional<SafeString> destination, long deadline) {
+    super(session, db, keys, deadline);
+    this.side = side;
+    this.destination = destination;
+  }
+
+  Side getSide() {
+    return side;
+  }
+
+  Optional<SafeString> getDestination() {
+    return destination;
+  }
+
+  @Override
+  protected boolean isReady(Database db, SafeString key) {
+    return Lists.isList(db, key) && !db.getList(key).isEmpty();
+  }
+
+  @Override
+  protected Optional<RedisToken> serve(BlockingRegistry registry, Database db, SafeString key) {
+    if (destination.isPresent() && !Lists.isList(db, destination.get())) {
+      getSession().publish(error("WRONGTYPE Operation against a key holding the wrong kind of value"));
+      return Optional.empty();
+    }
+    if (destination.isPresent()) {
+      SafeString value = Lists.popRight(db, key).get();
+      Lists.pushLeft(db, destination.get(), singletonList(value));
+      registry.signal(getDb(), destination.get());
+      getSession().publish(string(value));
+      return Optional.of(command(getDb(), "rpoplpush", key, destination.get()));
+    }
+    if (side == Side.LEFT) {
+      SafeString value = Lists.popLeft(db, key).get();
+      getSession().publish(array(string(key), string(value)));
+      return Optional.of(command(getDb(), "lpop", key));
+    }
+    SafeString value = Lists.popRight(db, key).get();
+    getSession().publish(array(string(key), string(value)));
+    return Optional.of(command(getDb(), "rpop", key));
+  }
+}
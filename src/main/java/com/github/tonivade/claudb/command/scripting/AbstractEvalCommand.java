@@ -14,6 +14,7 @@ import java.util.List;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.DBSessionState;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.data.Database;
 
@@ -28,11 +29,28 @@ abstract class AbstractEvalCommand implements DBCommand {
     List<SafeString> params = request.getParams().stream().skip(2).collect(toList());
     List<SafeString> keys = readParams(numParams, params);
     List<SafeString> argv = readArguments(numParams, params);
-    return LuaInterpreter.buildFor(request).execute(script(request), keys, argv);
+    SafeString script = script(request);
+    // a null reply means the script overran the time limit, the reply is published when it finishes
+    ScriptExecutor executor = getServerState(request.getServerContext()).getScriptExecutor();
+    return executor.execute(sha1(request), request.getSession(),
+        running -> execute(request, running, script, keys, argv));
+  }
+
+  private RedisToken execute(Request request, RunningScript running, SafeString script,
+                             List<SafeString> keys, List<SafeString> argv) {
+    DBSessionState sessionState = getSessionState(request.getSession());
+    sessionState.setBlockingAllowed(false);
+    try {
+      return LuaInterpreter.buildFor(request, running).execute(script, keys, argv);
+    } finally {
+      sessionState.setBlockingAllowed(true);
+    }
   }
 
   protected abstract SafeString script(Request request);
 
+  protected abstract SafeString sha1(Request request);
+
   private List<SafeString> readParams(int numParams, List<SafeString> params) {
     List<SafeString> keys = new LinkedList<>();
     for (int i = 0; i < numParams; i++) {
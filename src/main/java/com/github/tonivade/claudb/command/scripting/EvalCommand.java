@@ -4,11 +4,15 @@
  */
 package com.github.tonivade.claudb.command.scripting;
 
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.SafeString;
 
+import io.vavr.control.Try;
+
 @Command("eval")
 @ParamLength(2)
 public class EvalCommand extends AbstractEvalCommand {
@@ -17,4 +21,9 @@ public class EvalCommand extends AbstractEvalCommand {
   protected SafeString script(Request request) {
     return request.getParam(0);
   }
+
+  @Override
+  protected SafeString sha1(Request request) {
+    return safeString(Try.of(() -> ScriptCommands.digest(request.getParam(0))).get());
+  }
 }
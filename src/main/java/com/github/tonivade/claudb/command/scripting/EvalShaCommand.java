@@ -21,4 +21,9 @@ public class EvalShaCommand extends AbstractEvalCommand {
     DBServerState server = getServerState(request.getServerContext());
     return server.getScript(request.getParam(0)).orElseThrow(NoSuchElementException::new);
   }
+
+  @Override
+  protected SafeString sha1(Request request) {
+    return request.getParam(0);
+  }
 }
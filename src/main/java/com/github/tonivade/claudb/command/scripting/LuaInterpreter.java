@@ -17,16 +17,17 @@ import static java.lang.String.valueOf;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
-
+import org.luaj.vm2.Globals;
 import org.luaj.vm2.LuaBoolean;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaNil;
 import org.luaj.vm2.LuaNumber;
 import org.luaj.vm2.LuaString;
 import org.luaj.vm2.LuaTable;
 import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.jse.JsePlatform;
 
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
@@ -35,28 +36,46 @@ import com.github.tonivade.resp.protocol.SafeString;
 public class LuaInterpreter {
 
   private RedisBinding redis;
+  private Optional<ScriptWatchdog> watchdog;
 
   public LuaInterpreter(RedisBinding binding) {
+    this(binding, Optional.empty());
+  }
+
+  LuaInterpreter(RedisBinding binding, Optional<ScriptWatchdog> watchdog) {
     this.redis = binding;
+    this.watchdog = watchdog;
   }
 
-  public static LuaInterpreter buildFor(Request request) {
-    return new LuaInterpreter(createBinding(request));
+  static LuaInterpreter buildFor(Request request, RunningScript script) {
+    return new LuaInterpreter(createBinding(request, script), Optional.of(new ScriptWatchdog(script)));
   }
 
   public RedisToken execute(SafeString script, List<SafeString> keys, List<SafeString> params) {
     try {
-      ScriptEngineManager manager = new ScriptEngineManager();
-      ScriptEngine engine = manager.getEngineByName("luaj");
-      engine.put("redis", createBinding(redis));
-      engine.put("KEYS", toArray(keys));
-      engine.put("ARGV", toArray(params));
-      return convert(engine.eval(script.toString()));
-    } catch (ScriptException e) {
-      return error(e.getMessage());
+      Globals globals = createGlobals();
+      globals.set("redis", createBinding(redis));
+      globals.set("KEYS", toTable(keys));
+      globals.set("ARGV", toTable(params));
+      return convert(globals.load(script.toString(), "script").call());
+    } catch (LuaError e) {
+      return error("ERR Error running script: " + firstLine(e.getMessage()));
     }
   }
 
+  private Globals createGlobals() {
+    Globals globals = JsePlatform.standardGlobals();
+    watchdog.ifPresent(globals::load);
+    // the hook is internal, scripts must not be able to replace it
+    globals.set("debug", LuaValue.NIL);
+    return globals;
+  }
+
+  private String firstLine(String message) {
+    int end = message.indexOf('\n');
+    return end < 0 ? message : message.substring(0, end);
+  }
+
   private LuaValue createBinding(RedisBinding redis) {
     LuaTable binding = LuaTable.tableOf();
     binding.set("call", redis);
@@ -64,13 +83,11 @@ public class LuaInterpreter {
   }
 
   private RedisToken convert(Object result) {
-    return Match(result).of(Case($(instanceOf(LuaTable.class)), this::convertLuaTable),
+    return Match(result).of(Case($(instanceOf(LuaNil.class)), this::convertLuaNil),
+                            Case($(instanceOf(LuaTable.class)), this::convertLuaTable),
                             Case($(instanceOf(LuaNumber.class)), this::convertLuaNumber),
                             Case($(instanceOf(LuaBoolean.class)), this::convertLuaBoolean),
                             Case($(instanceOf(LuaString.class)), this::convertLuaString),
-                            Case($(instanceOf(Number.class)), this::convertNumber),
-                            Case($(instanceOf(String.class)), this::convertString),
-                            Case($(instanceOf(Boolean.class)), this::convertBoolean),
                             Case($(), this::convertUnknown));
   }
 
@@ -83,6 +100,10 @@ public class LuaInterpreter {
     return array(tokens);
   }
 
+  private RedisToken convertLuaNil(LuaNil value) {
+    return nullString();
+  }
+
   private RedisToken convertLuaNumber(LuaNumber value) {
     return integer(value.toint());
   }
@@ -95,31 +116,24 @@ public class LuaInterpreter {
     return value.toboolean() ? integer(1) : nullString();
   }
 
-  private RedisToken convertNumber(Number number) {
-    return integer(number.intValue());
-  }
-
-  private RedisToken convertString(String string) {
-    return string(string);
-  }
-
-  private RedisToken convertBoolean(Boolean value) {
-    return value.booleanValue() ? integer(1) : nullString();
-  }
-
   private RedisToken convertUnknown(Object value) {
     return value != null ? string(valueOf(value)) : nullString();
   }
 
-  private Object[] toArray(List<SafeString> keys) {
-    return keys.stream().map(SafeString::toString).toArray(String[]::new);
+  private LuaTable toTable(List<SafeString> values) {
+    LuaTable table = LuaTable.tableOf();
+    int i = 0;
+    for (SafeString value : values) {
+      table.set(++i, LuaString.valueOf(value.getBytes()));
+    }
+    return table;
   }
 
-  private static RedisBinding createBinding(Request request) {
-    return new RedisBinding(createLibrary(request));
+  private static RedisBinding createBinding(Request request, RunningScript script) {
+    return new RedisBinding(createLibrary(request, script));
   }
 
-  private static RedisLibrary createLibrary(Request request) {
-    return new RedisLibrary(request.getServerContext(), request.getSession());
+  private static RedisLibrary createLibrary(Request request, RunningScript script) {
+    return new RedisLibrary(request.getServerContext(), request.getSession(), script);
   }
 }
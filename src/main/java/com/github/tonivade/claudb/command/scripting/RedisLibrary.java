@@ -6,6 +6,7 @@ package com.github.tonivade.claudb.command.scripting;
 
 import static java.util.Arrays.asList;
 
+import com.github.tonivade.claudb.command.DBCommandWrapper;
 import com.github.tonivade.resp.command.DefaultRequest;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.command.RespCommand;
@@ -18,14 +19,24 @@ public class RedisLibrary {
 
   private ServerContext context;
   private Session session;
+  private RunningScript script;
 
-  public RedisLibrary(ServerContext context, Session session) {
+  RedisLibrary(ServerContext context, Session session, RunningScript script) {
     this.context = context;
     this.session = session;
+    this.script = script;
   }
 
   public RedisToken call(SafeString commandName, SafeString... params) {
-    return getCommand(commandName).execute(createRequest(commandName, params));
+    RespCommand command = getCommand(commandName);
+    if (!isReadOnly(command)) {
+      script.markDirty();
+    }
+    return command.execute(createRequest(commandName, params));
+  }
+
+  private boolean isReadOnly(RespCommand command) {
+    return command instanceof DBCommandWrapper && ((DBCommandWrapper) command).isReadOnly();
   }
 
   private RespCommand getCommand(SafeString commandName) {
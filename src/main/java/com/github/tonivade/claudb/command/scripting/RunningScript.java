@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.scripting;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+class RunningScript {
+
+  private final SafeString sha1;
+  private final Session session;
+  private final long startedAt = System.nanoTime();
+
+  private volatile boolean killed;
+  private volatile boolean dirty;
+
+  private RedisToken result;
+  private boolean detached;
+
+  RunningScript(SafeString sha1, Session session) {
+    this.sha1 = sha1;
+    this.session = session;
+  }
+
+  SafeString getSha1() {
+    return sha1;
+  }
+
+  long elapsedMicros() {
+    return NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+  }
+
+  void kill() {
+    this.killed = true;
+  }
+
+  boolean isKilled() {
+    return killed;
+  }
+
+  void markDirty() {
+    this.dirty = true;
+  }
+
+  boolean isDirty() {
+    return dirty;
+  }
+
+  synchronized boolean isDetached() {
+    return detached;
+  }
+
+  /**
+   * Waits for the script to finish. If it overruns the time limit the script is detached
+   * from the caller, null is returned and the result is published to the session later.
+   */
+  synchronized RedisToken await(long timeLimit) {
+    long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeLimit);
+    try {
+      long remaining = deadline - System.nanoTime();
+      while (result == null && remaining > 0) {
+        NANOSECONDS.timedWait(this, remaining);
+        remaining = deadline - System.nanoTime();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (result == null) {
+      detached = true;
+    }
+    return result;
+  }
+
+  synchronized void complete(RedisToken result) {
+    this.result = result;
+    if (detached) {
+      session.publish(result);
+    }
+    notifyAll();
+  }
+}
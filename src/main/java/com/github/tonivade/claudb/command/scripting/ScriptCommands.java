@@ -34,6 +34,7 @@ public class ScriptCommands implements DBCommand {
         .of(Case($(is(safeString("load"))), ignore -> load(request)),
             Case($(is(safeString("exists"))), ignore -> exists(request)),
             Case($(is(safeString("flush"))), ignore -> flush(request)),
+            Case($(is(safeString("kill"))), ignore -> kill(request)),
             Case($(), command -> error("Unknown SCRIPT subcommand: " + command)));
   }
 
@@ -55,7 +56,11 @@ public class ScriptCommands implements DBCommand {
     return RedisToken.responseOk();
   }
 
-  private String digest(SafeString script) throws NoSuchAlgorithmException {
+  private RedisToken kill(Request request) {
+    return getServerState(request.getServerContext()).getScriptExecutor().kill();
+  }
+
+  static String digest(SafeString script) throws NoSuchAlgorithmException {
     MessageDigest digest = MessageDigest.getInstance("SHA-1");
     return new SafeString(digest.digest(script.getBytes())).toHexString();
   }
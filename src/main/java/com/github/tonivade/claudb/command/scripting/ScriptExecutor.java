@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.scripting;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.data.Clock;
+
+public class ScriptExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ScriptExecutor.class);
+
+  public static final String BUSY =
+      "BUSY Redis is busy running a script. You can only call SCRIPT KILL or SHUTDOWN NOSAVE.";
+
+  private final long timeLimit;
+  private final Map<SafeString, ScriptStats> stats = new ConcurrentHashMap<>();
+
+  private volatile RunningScript running;
+  private ExecutorService executor;
+
+  public ScriptExecutor(long timeLimit) {
+    this.timeLimit = timeLimit;
+  }
+
+  /**
+   * Returns true when a script has exceeded the time limit and it is still running.
+   */
+  public boolean isBusy() {
+    RunningScript script = running;
+    return script != null && script.isDetached();
+  }
+
+  public Map<SafeString, ScriptStats> getStats() {
+    return new TreeMap<>(stats);
+  }
+
+  public synchronized void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  RedisToken execute(SafeString sha1, Session session, Function<RunningScript, RedisToken> function) {
+    if (running != null) {
+      return error("ERR This Redis command is not allowed from scripts");
+    }
+    RunningScript script = new RunningScript(sha1, session);
+    running = script;
+    // the script sees the time of the command that started it, even if it is detached
+    long now = Clock.now();
+    executor().execute(() -> Clock.frozen(now, () -> {
+      run(script, function);
+      return null;
+    }));
+    return script.await(timeLimit);
+  }
+
+  RedisToken kill() {
+    RunningScript script = running;
+    if (script == null) {
+      return error("NOTBUSY No scripts in execution right now.");
+    }
+    if (script.isDirty()) {
+      return error("UNKILLABLE Sorry the script already executed write commands against the dataset. "
+          + "You can either wait the script termination or kill the server in a hard way using the SHUTDOWN NOSAVE command.");
+    }
+    script.kill();
+    return responseOk();
+  }
+
+  private void run(RunningScript script, Function<RunningScript, RedisToken> function) {
+    RedisToken result;
+    try {
+      result = function.apply(script);
+    } catch (RuntimeException e) {
+      LOGGER.error("error executing script: " + script.getSha1(), e);
+      result = error("ERR Error running script: " + e.getMessage());
+    }
+    stats.computeIfAbsent(script.getSha1(), sha1 -> new ScriptStats()).record(script.elapsedMicros());
+    running = null;
+    script.complete(result);
+  }
+
+  private synchronized ExecutorService executor() {
+    if (executor == null) {
+      executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "script-executor");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return executor;
+  }
+}
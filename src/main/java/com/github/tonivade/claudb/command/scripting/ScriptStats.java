@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.scripting;
+
+public class ScriptStats {
+
+  private long calls;
+  private long totalMicros;
+  private long maxMicros;
+
+  synchronized void record(long micros) {
+    calls++;
+    totalMicros += micros;
+    maxMicros = Math.max(maxMicros, micros);
+  }
+
+  public synchronized long getCalls() {
+    return calls;
+  }
+
+  public synchronized long getTotalMicros() {
+    return totalMicros;
+  }
+
+  public synchronized long getMaxMicros() {
+    return maxMicros;
+  }
+
+  public synchronized double getMicrosPerCall() {
+    return calls > 0 ? (double) totalMicros / calls : 0;
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.scripting;
+
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.DebugLib;
+
+class ScriptWatchdog extends DebugLib {
+
+  private static final int CHECK_INTERVAL = 1000;
+
+  private final RunningScript script;
+
+  private int instructions;
+
+  ScriptWatchdog(RunningScript script) {
+    this.script = script;
+  }
+
+  // once killed it keeps failing, so a pcall inside the script cannot swallow the error
+  @Override
+  public void onInstruction(int pc, Varargs v, int top) {
+    if (++instructions == CHECK_INTERVAL) {
+      instructions = 0;
+      if (script.isKilled()) {
+        throw new LuaError("Script killed by user with SCRIPT KILL...");
+      }
+    }
+  }
+}
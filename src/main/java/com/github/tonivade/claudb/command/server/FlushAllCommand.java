@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.server;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+
+import com.github.tonivade.claudb.DBServerState;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@Command("flushall")
+public class FlushAllCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      boolean async = Flushes.isAsync(request);
+      DBServerState state = getServerState(request.getServerContext());
+      for (int i = 0; i < state.getNumDatabases(); i++) {
+        Flushes.flush(state.getDatabase(i), async, state.getLazyFree());
+      }
+      return responseOk();
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
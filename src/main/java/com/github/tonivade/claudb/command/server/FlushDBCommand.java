@@ -5,6 +5,7 @@
 
 package com.github.tonivade.claudb.command.server;
 
+import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
 
 import com.github.tonivade.resp.annotation.Command;
@@ -18,7 +19,12 @@ public class FlushDBCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    db.clear();
-    return responseOk();
+    try {
+      boolean async = Flushes.isAsync(request);
+      Flushes.flush(db, async, getServerState(request.getServerContext()).getLazyFree());
+      return responseOk();
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
   }
 }
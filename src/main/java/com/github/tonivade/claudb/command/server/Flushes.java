@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.server;
+
+import java.util.Optional;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.LazyFree;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.SafeString;
+
+final class Flushes {
+
+  static final String SYNTAX_ERROR = "ERR syntax error";
+
+  private Flushes() { }
+
+  /**
+   * @throws IllegalArgumentException if the option is not ASYNC or SYNC
+   */
+  static boolean isAsync(Request request) {
+    if (request.getLength() > 1) {
+      throw new IllegalArgumentException(SYNTAX_ERROR);
+    }
+    Optional<SafeString> option = request.getOptionalParam(0);
+    if (!option.isPresent() || option.get().toString().equalsIgnoreCase("sync")) {
+      return false;
+    }
+    if (option.get().toString().equalsIgnoreCase("async")) {
+      return true;
+    }
+    throw new IllegalArgumentException(SYNTAX_ERROR);
+  }
+
+  static void flush(Database db, boolean async, LazyFree lazyFree) {
+    if (async) {
+      lazyFree.free(db.detach());
+    } else {
+      db.clear();
+    }
+  }
+}
@@ -26,9 +26,13 @@ import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.command.ServerContext;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.DBServerState;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.command.scripting.ScriptStats;
 import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.KeyspaceStats;
+import com.github.tonivade.claudb.data.StatsDatabase;
 
 @ReadOnly
 @Command("info")
@@ -137,7 +141,8 @@ public class InfoCommand implements DBCommand {
   }
 
   private Map<String, String> memory(ServerContext ctx) {
-    return map(entry("used_memory", valueOf(Runtime.getRuntime().totalMemory())));
+    return map(entry("used_memory", valueOf(Runtime.getRuntime().totalMemory())),
+               entry("lazyfree_pending_objects", valueOf(getServerState(ctx).getLazyFree().getPending())));
   }
 
   private Map<String, String> persistence(ServerContext ctx) {
@@ -146,8 +151,20 @@ public class InfoCommand implements DBCommand {
   }
 
   private Map<String, String> stats(ServerContext ctx) {
-    // TODO:
-    return map();
+    KeyspaceStats keyspace = getServerState(ctx).getKeyspaceStats();
+    Map<String, String> stats = map(entry("keyspace_hits", valueOf(keyspace.getHits())),
+                                    entry("keyspace_misses", valueOf(keyspace.getMisses())),
+                                    entry("expired_keys", valueOf(keyspace.getExpired())),
+                                    entry("evicted_keys", valueOf(keyspace.getEvicted())));
+    for (Entry<SafeString, ScriptStats> entry : getServerState(ctx).getScriptExecutor().getStats().entrySet()) {
+      stats.put("script_" + entry.getKey(), scriptStats(entry.getValue()));
+    }
+    return stats;
+  }
+
+  private String scriptStats(ScriptStats stats) {
+    return String.format("calls=%d,usec=%d,usec_per_call=%.2f,max_usec=%d",
+        stats.getCalls(), stats.getTotalMicros(), stats.getMicrosPerCall(), stats.getMaxMicros());
   }
 
   private Map<String, String> cpu(ServerContext ctx) {
@@ -161,8 +178,15 @@ public class InfoCommand implements DBCommand {
   }
 
   private Map<String, String> keyspace(ServerContext ctx) {
-    // TODO:
-    return map();
+    DBServerState state = getServerState(ctx);
+    Map<String, String> keyspace = new LinkedHashMap<>();
+    for (int i = 0; i < state.getNumDatabases(); i++) {
+      StatsDatabase db = state.getKeyspace(i);
+      if (!db.isEmpty()) {
+        keyspace.put("db" + i, String.format("keys=%d,expires=%d,avg_ttl=%d", db.size(), db.getExpires(), db.getAvgTtl()));
+      }
+    }
+    return keyspace;
   }
 
   @SafeVarargs
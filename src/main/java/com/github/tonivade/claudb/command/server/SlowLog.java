@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.server;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Commands that took longer than a threshold, kept in a fixed size ring buffer, once it is full
+ * the oldest entries are overwritten. Recording only needs an atomic increment, and commands
+ * faster than the threshold are discarded before building anything, so it can be checked for
+ * every command. A negative threshold disables the log, zero records every command.
+ */
+public class SlowLog {
+
+  private static final long DEFAULT_SLOWER_THAN = 10000;
+  private static final int DEFAULT_MAX_LEN = 128;
+
+  private static final int MAX_ARGS = 32;
+  private static final int MAX_ARG_LENGTH = 128;
+
+  private final long slowerThan;
+  private final AtomicReferenceArray<Entry> entries;
+  private final AtomicLong nextId = new AtomicLong();
+
+  private volatile long firstId;
+
+  public SlowLog() {
+    this(DEFAULT_SLOWER_THAN, DEFAULT_MAX_LEN);
+  }
+
+  public SlowLog(long slowerThan, int maxLen) {
+    this.slowerThan = slowerThan;
+    this.entries = new AtomicReferenceArray<>(Math.max(maxLen, 1));
+  }
+
+  public boolean isSlow(long micros) {
+    return slowerThan >= 0 && micros >= slowerThan;
+  }
+
+  public void record(Request request, long micros) {
+    if (isSlow(micros)) {
+      long id = nextId.getAndIncrement();
+      entries.set(slot(id), new Entry(id, System.currentTimeMillis() / 1000, micros,
+          arguments(request), request.getSession().getId()));
+    }
+  }
+
+  /**
+   * Newest entries first, at most count of them.
+   */
+  public List<Entry> get(int count) {
+    List<Entry> result = new ArrayList<>();
+    long next = nextId.get();
+    long first = Math.max(firstId, next - entries.length());
+    for (long id = next - 1; id >= first && result.size() < count; id--) {
+      Entry entry = entries.get(slot(id));
+      // the slot may have been overwritten by a newer entry in the meantime
+      if (entry != null && entry.getId() == id) {
+        result.add(entry);
+      }
+    }
+    return result;
+  }
+
+  public int size() {
+    long next = nextId.get();
+    return (int) (next - Math.max(firstId, next - entries.length()));
+  }
+
+  public void reset() {
+    firstId = nextId.get();
+  }
+
+  private int slot(long id) {
+    return (int) (id % entries.length());
+  }
+
+  private static List<SafeString> arguments(Request request) {
+    List<SafeString> params = request.getParams();
+    List<SafeString> arguments = new ArrayList<>();
+    arguments.add(safeString(request.getCommand()));
+    // the command counts as an argument, and the last one is replaced by the remaining count
+    int count = params.size() < MAX_ARGS ? params.size() : MAX_ARGS - 2;
+    for (int i = 0; i < count; i++) {
+      arguments.add(truncate(params.get(i)));
+    }
+    if (count < params.size()) {
+      arguments.add(safeString("... (" + (params.size() - count) + " more arguments)"));
+    }
+    return arguments;
+  }
+
+  private static SafeString truncate(SafeString argument) {
+    if (argument.length() > MAX_ARG_LENGTH) {
+      byte[] truncated = Arrays.copyOf(argument.getBytes(), MAX_ARG_LENGTH);
+      return SafeString.append(new SafeString(truncated),
+          safeString("... (" + (argument.length() - MAX_ARG_LENGTH) + " more bytes)"));
+    }
+    return argument;
+  }
+
+  public static final class Entry {
+    private final long id;
+    private final long timestamp;
+    private final long duration;
+    private final List<SafeString> arguments;
+    private final String client;
+
+    private Entry(long id, long timestamp, long duration, List<SafeString> arguments, String client) {
+      this.id = id;
+      this.timestamp = timestamp;
+      this.duration = duration;
+      this.arguments = arguments;
+      this.client = client;
+    }
+
+    public long getId() {
+      return id;
+    }
+
+    public long getTimestamp() {
+      return timestamp;
+    }
+
+    public long getDuration() {
+      return duration;
+    }
+
+    public List<SafeString> getArguments() {
+      return arguments;
+    }
+
+    public String getClient() {
+      return client;
+    }
+  }
+}
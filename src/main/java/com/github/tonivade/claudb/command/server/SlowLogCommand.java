@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.server;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static io.vavr.API.$;
+import static io.vavr.API.Case;
+import static io.vavr.API.Match;
+import static io.vavr.Predicates.is;
+import static java.util.stream.Collectors.toList;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Database;
+
+@ReadOnly
+@ParamLength(1)
+@Command("slowlog")
+public class SlowLogCommand implements DBCommand {
+
+  private static final int DEFAULT_COUNT = 10;
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    return Match(request.getParam(0).toString().toLowerCase())
+        .of(Case($(is("get")), ignore -> get(request)),
+            Case($(is("len")), ignore -> len(request)),
+            Case($(is("reset")), ignore -> reset(request)),
+            Case($(), command -> error("Unknown SLOWLOG subcommand: " + command)));
+  }
+
+  private RedisToken get(Request request) {
+    try {
+      int count = request.getOptionalParam(1).map(param -> Integer.parseInt(param.toString())).orElse(DEFAULT_COUNT);
+      return array(getSlowLog(request).get(count).stream().map(this::toToken).collect(toList()));
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    }
+  }
+
+  private RedisToken len(Request request) {
+    return integer(getSlowLog(request).size());
+  }
+
+  private RedisToken reset(Request request) {
+    getSlowLog(request).reset();
+    return responseOk();
+  }
+
+  private RedisToken toToken(SlowLog.Entry entry) {
+    return array(integer((int) entry.getId()),
+                 integer((int) entry.getTimestamp()),
+                 integer((int) entry.getDuration()),
+                 array(entry.getArguments().stream().map(RedisToken::string).collect(toList())),
+                 string(entry.getClient()));
+  }
+
+  private SlowLog getSlowLog(Request request) {
+    return getServerState(request.getServerContext()).getSlowLog();
+  }
+}
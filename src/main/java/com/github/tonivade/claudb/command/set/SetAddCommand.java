@@ -5,18 +5,16 @@
 package com.github.tonivade.claudb.command.set;
 
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.set;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
 
 @Command("sadd")
 @ParamLength(2)
@@ -25,8 +23,15 @@ public class SetAddCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    DatabaseValue value = db.merge(safeKey(request.getParam(0)), set(request.getParam(1)), 
-      (oldValue, newValue) -> set(oldValue.getSet().addAll(newValue.getSet())));
-    return integer(value.size());
+    int added = Sets.update(db, request.getParam(0), true, set -> {
+      int count = 0;
+      for (SafeString member : request.getParams().subList(1, request.getLength())) {
+        if (set.add(member)) {
+          count++;
+        }
+      }
+      return count;
+    });
+    return integer(added);
   }
 }
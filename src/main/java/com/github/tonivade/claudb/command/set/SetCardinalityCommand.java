@@ -4,20 +4,19 @@
  */
 package com.github.tonivade.claudb.command.set;
 
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-
-import io.vavr.collection.Set;
+import com.github.tonivade.claudb.data.DatabaseValue;
 
 @ReadOnly
 @Command("scard")
@@ -27,7 +26,7 @@ public class SetCardinalityCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    Set<SafeString> set = db.getSet(request.getParam(0));
-    return integer(set.size());
+    DatabaseValue value = db.getOrDefault(safeKey(request.getParam(0)), DatabaseValue.EMPTY_SET);
+    return integer(value.size());
   }
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.set;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Database;
+
+@Command("sinterstore")
+@ParamLength(2)
+public class SetIntersectionStoreCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      return integer(Sets.store(db, request.getParam(0),
+          Sets.intersection(Sets.values(db, request.getParams().subList(1, request.getLength())))));
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
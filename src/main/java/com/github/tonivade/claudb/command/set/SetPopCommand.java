@@ -4,14 +4,15 @@
  */
 package com.github.tonivade.claudb.command.set;
 
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.nullString;
 import static com.github.tonivade.resp.protocol.RedisToken.string;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.set;
+import static java.util.stream.Collectors.toList;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
@@ -22,10 +23,6 @@ import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
-
-import io.vavr.collection.Array;
-import io.vavr.collection.Set;
 
 @Command("spop")
 @ParamLength(1)
@@ -34,26 +31,44 @@ public class SetPopCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    List<SafeString> removed = new LinkedList<>();
-    db.merge(safeKey(request.getParam(0)), DatabaseValue.EMPTY_SET,
-        (oldValue, newValue) -> {
-          Set<SafeString> oldSet = oldValue.getSet();
-          SafeString item = getRandomItem(oldSet.toArray());
-          removed.add(item);
-          return set(oldSet.remove(item));
-        });
-    if (removed.isEmpty()) {
-      return nullString();
-    } else {
-      return string(removed.get(0));
+    if (request.getLength() > 2) {
+      return error("ERR syntax error");
+    }
+    if (request.getLength() == 1) {
+      List<SafeString> members = pop(db, request, 1);
+      return members.isEmpty() ? nullString() : string(members.get(0));
+    }
+    int count;
+    try {
+      count = Integer.parseInt(request.getParam(1).toString());
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
     }
+    if (count < 0) {
+      return error("ERR value is out of range, must be positive");
+    }
+    return array(pop(db, request, count).stream().map(RedisToken::string).collect(toList()));
   }
 
-  private SafeString getRandomItem(Array<SafeString> array) {
-    return array.get(random(array));
+  private List<SafeString> pop(Database db, Request request, int count) {
+    List<SafeString> members = Sets.update(db, request.getParam(0), false, set -> {
+      List<SafeString> result = new ArrayList<>(Math.min(count, set.size()));
+      while (result.size() < count && !set.isEmpty()) {
+        result.add(set.removeAt(random(set.size())));
+      }
+      return result;
+    });
+    if (!members.isEmpty()) {
+      // the members are chosen at random, so the slaves and the AOF have to remove the same ones
+      List<SafeString> params = new ArrayList<>(members.size() + 1);
+      params.add(request.getParam(0));
+      params.addAll(members);
+      replicateAs(request, "srem", params);
+    }
+    return members;
   }
 
-  private int random(Array<?> array) {
-    return new Random().nextInt(array.size());
+  private int random(int size) {
+    return ThreadLocalRandom.current().nextInt(size);
   }
 }
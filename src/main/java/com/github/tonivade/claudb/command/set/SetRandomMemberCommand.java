@@ -4,19 +4,20 @@
  */
 package com.github.tonivade.claudb.command.set;
 
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.nullString;
 import static com.github.tonivade.resp.protocol.RedisToken.string;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.set;
 
-import java.util.LinkedList;
-import java.util.Random;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
@@ -24,32 +25,82 @@ import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseValue;
 
-import io.vavr.collection.Array;
-import io.vavr.collection.Seq;
-
 @ReadOnly
 @Command("srandmember")
 @ParamLength(1)
 @ParamType(DataType.SET)
 public class SetRandomMemberCommand implements DBCommand {
 
+  // a negative count is not bounded by the size of the set, the reply is built in memory
+  private static final int MAX_REPEATED_MEMBERS = 1 << 20;
+
   @Override
   public RedisToken execute(Database db, Request request) {
-    LinkedList<SafeString> random = new LinkedList<>();
-    db.merge(safeKey(request.getParam(0)), DatabaseValue.EMPTY_SET,
-        (oldValue, newValue) -> {
-          Array<SafeString> merge = oldValue.getSet().toArray();
-          random.add(merge.get(random(merge)));
-          return set(merge);
-        });
-    if (random.isEmpty()) {
-      return nullString();
+    if (request.getLength() > 2) {
+      return error("ERR syntax error");
+    }
+    DatabaseValue value = db.getOrDefault(safeKey(request.getParam(0)), DatabaseValue.EMPTY_SET);
+    int size = value.size();
+    if (request.getLength() == 1) {
+      return size == 0 ? nullString() : string(value.getMember(random(size)));
+    }
+    int count;
+    try {
+      count = Integer.parseInt(request.getParam(1).toString());
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    }
+    if (size == 0 || count == 0) {
+      return array();
+    }
+    if (count < -MAX_REPEATED_MEMBERS) {
+      return error("ERR value is out of range");
+    }
+    if (count < 0) {
+      // the same member can be returned more than once
+      RedisToken[] result = new RedisToken[-count];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = string(value.getMember(random(size)));
+      }
+      return array(result);
+    }
+    if (count >= size) {
+      RedisToken[] result = new RedisToken[size];
+      for (int i = 0; i < size; i++) {
+        result[i] = string(value.getMember(i));
+      }
+      return array(result);
+    }
+    return array(sample(value, size, count));
+  }
+
+  // distinct positions chosen at random, if more than a half of the set is requested,
+  // the positions not returned are chosen instead, so it never needs more than size / 2 draws
+  private RedisToken[] sample(DatabaseValue value, int size, int count) {
+    boolean exclude = count > size / 2;
+    int draws = exclude ? size - count : count;
+    Set<Integer> positions = new HashSet<>();
+    while (positions.size() < draws) {
+      positions.add(random(size));
+    }
+    RedisToken[] result = new RedisToken[count];
+    if (exclude) {
+      int j = 0;
+      for (int i = 0; i < size; i++) {
+        if (!positions.contains(i)) {
+          result[j++] = string(value.getMember(i));
+        }
+      }
     } else {
-      return string(random.get(0));
+      int j = 0;
+      for (Integer position : positions) {
+        result[j++] = string(value.getMember(position));
+      }
     }
+    return result;
   }
 
-  private int random(Seq<?> merge) {
-    return new Random().nextInt(merge.size());
+  private int random(int size) {
+    return ThreadLocalRandom.current().nextInt(size);
   }
 }
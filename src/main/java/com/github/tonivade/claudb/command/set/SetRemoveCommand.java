@@ -5,10 +5,6 @@
 package com.github.tonivade.claudb.command.set;
 
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.set;
-
-import java.util.LinkedList;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
@@ -19,11 +15,6 @@ import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseValue;
-
-import io.vavr.collection.List;
-import io.vavr.collection.Set;
-import io.vavr.collection.Stream;
 
 @Command("srem")
 @ParamLength(2)
@@ -32,15 +23,15 @@ public class SetRemoveCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    List<SafeString> items = Stream.ofAll(request.getParams()).tail().toList();
-    LinkedList<SafeString> removed = new LinkedList<>();
-    db.merge(safeKey(request.getParam(0)), DatabaseValue.EMPTY_SET,
-        (oldValue, newValue) -> {
-          Set<SafeString> merge = oldValue.getSet();
-          items.retainAll(merge).forEach(removed::add);
-          return set(merge.removeAll(items));
-        });
-
-    return integer(removed.size());
+    int removed = Sets.update(db, request.getParam(0), false, set -> {
+      int count = 0;
+      for (SafeString member : request.getParams().subList(1, request.getLength())) {
+        if (set.remove(member)) {
+          count++;
+        }
+      }
+      return count;
+    });
+    return integer(removed);
   }
 }
@@ -4,20 +4,18 @@
  */
 package com.github.tonivade.claudb.command.set;
 
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
-import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
 
-import io.vavr.collection.List;
-import io.vavr.collection.Set;
-
 @ReadOnly
 @Command("sunion")
 @ParamLength(2)
@@ -26,10 +24,10 @@ public class SetUnionCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    Set<SafeString> result = db.getSet(request.getParam(0));
-    for (SafeString param : List.ofAll(request.getParams()).tail()) {
-      result = result.addAll(db.getSet(param));
+    try {
+      return convert(Sets.union(Sets.values(db, request.getParams())));
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
     }
-    return convert(result);
   }
 }
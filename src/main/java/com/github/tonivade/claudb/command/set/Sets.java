@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.set;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static java.util.Comparator.comparingInt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.IndexedSet;
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Set algebra over the values of several keys. Members are collected in a single mutable
+ * set instead of building a new immutable set for every key, and membership is tested
+ * against the stored values, so int set encoded sets are not decoded.
+ */
+final class Sets {
+
+  static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+  private Sets() { }
+
+  /**
+   * Values of the keys, an empty set if the key does not exists.
+   *
+   * @throws IllegalArgumentException if any of the values is not a set
+   */
+  static List<DatabaseValue> values(Database db, Collection<SafeString> keys) {
+    List<DatabaseValue> values = new ArrayList<>(keys.size());
+    for (SafeString key : keys) {
+      DatabaseValue value = db.getOrDefault(safeKey(key), DatabaseValue.EMPTY_SET);
+      if (value.getType() != DataType.SET) {
+        throw new IllegalArgumentException(WRONG_TYPE);
+      }
+      values.add(value);
+    }
+    return values;
+  }
+
+  /**
+   * Walks the smallest set and probes every member against the others, from smaller to bigger,
+   * so the cost depends on the smallest set, not on the order of the keys.
+   */
+  static Set<SafeString> intersection(List<DatabaseValue> values) {
+    List<DatabaseValue> sorted = new ArrayList<>(values);
+    sorted.sort(comparingInt(DatabaseValue::size));
+    Set<SafeString> result = new LinkedHashSet<>();
+    DatabaseValue smallest = sorted.get(0);
+    if (smallest.size() == 0) {
+      return result;
+    }
+    List<DatabaseValue> others = sorted.subList(1, sorted.size());
+    for (int i = 0; i < smallest.size(); i++) {
+      SafeString member = smallest.getMember(i);
+      if (others.stream().allMatch(other -> other.isMember(member))) {
+        result.add(member);
+      }
+    }
+    return result;
+  }
+
+  static Set<SafeString> union(List<DatabaseValue> values) {
+    Set<SafeString> result = new LinkedHashSet<>();
+    for (DatabaseValue value : values) {
+      for (int i = 0; i < value.size(); i++) {
+        result.add(value.getMember(i));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Members of the first set that are not in any of the others.
+   */
+  static Set<SafeString> difference(List<DatabaseValue> values) {
+    Set<SafeString> result = new LinkedHashSet<>();
+    DatabaseValue first = values.get(0);
+    List<DatabaseValue> others = new ArrayList<>(values.size() - 1);
+    for (DatabaseValue value : values.subList(1, values.size())) {
+      if (value.size() > 0) {
+        others.add(value);
+      }
+    }
+    for (int i = 0; i < first.size(); i++) {
+      SafeString member = first.getMember(i);
+      if (others.stream().noneMatch(other -> other.isMember(member))) {
+        result.add(member);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies the function to the set stored in key, changing it in place. The key is removed
+   * if the set ends empty, otherwise the value is put back, keeping the expiration, and encoded
+   * again. If create is false and the key does not exists, the function gets an empty set
+   * that is not stored.
+   */
+  static <T> T update(Database db, SafeString key, boolean create, Function<IndexedSet, T> function) {
+    DatabaseKey databaseKey = safeKey(key);
+    DatabaseValue value = db.get(databaseKey);
+    if (value == null && !create) {
+      return function.apply(new IndexedSet());
+    }
+    IndexedSet set = value != null ? value.getIndexedSet() : null;
+    if (set == null) {
+      // int set encoded, at most IntSet.MAX_ENTRIES members
+      set = value != null ? new IndexedSet(value.getSet()) : new IndexedSet();
+    }
+    T result = function.apply(set);
+    if (set.isEmpty()) {
+      db.remove(databaseKey);
+    } else {
+      db.store(databaseKey, DatabaseValue.set(set).expiredAt(value != null ? value.getExpiredAt() : DatabaseValue.NO_EXPIRATION));
+    }
+    return result;
+  }
+
+  /**
+   * Replaces the destination with the result, an empty result removes the key.
+   */
+  static int store(Database db, SafeString destination, Set<SafeString> result) {
+    DatabaseKey key = safeKey(destination);
+    if (result.isEmpty()) {
+      db.remove(key);
+    } else {
+      db.store(key, DatabaseValue.set(result));
+    }
+    return result.size();
+  }
+}
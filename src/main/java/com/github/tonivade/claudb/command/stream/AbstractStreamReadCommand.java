@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.Streams.match;
+import static com.github.tonivade.claudb.command.stream.Streams.parseInt;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+
+import java.util.List;
+
+import com.github.tonivade.claudb.DBServerState;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+abstract class AbstractStreamReadCommand implements DBCommand {
+
+  /**
+   * Parses [COUNT count] [BLOCK milliseconds] [NOACK] STREAMS key... id... starting at the given position.
+   */
+  protected Options parse(Request request, int position, boolean group) {
+    Options options = new Options();
+    int i = position;
+    for (; i < request.getLength() && !match("streams", request.getParam(i)); i++) {
+      SafeString option = request.getParam(i);
+      if (match("count", option) && i + 1 < request.getLength()) {
+        options.count = Math.max(parseInt(request.getParam(++i)), 0);
+      } else if (match("block", option) && i + 1 < request.getLength()) {
+        options.timeout = parseInt(request.getParam(++i));
+        if (options.timeout < 0) {
+          throw new IllegalArgumentException("ERR timeout is negative");
+        }
+      } else if (match("noack", option) && group) {
+        options.noack = true;
+      } else {
+        throw new IllegalArgumentException(Streams.SYNTAX_ERROR);
+      }
+    }
+    int streams = request.getLength() - i - 1;
+    if (streams <= 0) {
+      throw new IllegalArgumentException(Streams.SYNTAX_ERROR);
+    }
+    if (streams % 2 != 0) {
+      throw new IllegalArgumentException("ERR Unbalanced " + (group ? "XREADGROUP" : "XREAD")
+          + " list of streams: for each stream key an ID or '$' must be specified.");
+    }
+    List<SafeString> params = request.getParams();
+    options.keys = params.subList(i + 1, i + 1 + streams / 2);
+    options.ids = params.subList(i + 1 + streams / 2, request.getLength());
+    return options;
+  }
+
+  /**
+   * Blocks the client until one of the streams receives new entries or the timeout expires.
+   * Inside MULTI, a script, or on a replica it behaves as if the timeout had already expired.
+   */
+  protected RedisToken block(Request request, Options options, StreamWaiterFactory factory) {
+    DBServerState serverState = getServerState(request.getServerContext());
+    if (!serverState.isMaster() || !getSessionState(request.getSession()).isBlockingAllowed()) {
+      return nullString();
+    }
+    long deadline = options.timeout > 0 ? System.currentTimeMillis() + options.timeout : 0;
+    serverState.getBlockingRegistry().block(factory.create(currentDB(request), deadline));
+    // no reply until the client is served or the timeout expires
+    return null;
+  }
+
+  protected int currentDB(Request request) {
+    return getSessionState(request.getSession()).getCurrentDB();
+  }
+
+  interface StreamWaiterFactory {
+    StreamWaiter create(int db, long deadline);
+  }
+
+  static final class Options {
+    int count;
+    long timeout = -1;
+    boolean noack;
+    List<SafeString> keys;
+    List<SafeString> ids;
+
+    boolean isBlocking() {
+      return timeout >= 0;
+    }
+  }
+}
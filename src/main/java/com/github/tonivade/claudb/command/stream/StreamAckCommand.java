@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@Command("xack")
+@ParamLength(3)
+@ParamType(DataType.STREAM)
+public class StreamAckCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    DatabaseKey key = safeKey(request.getParam(0));
+    try {
+      List<StreamId> ids = request.getParams().stream().skip(2).map(Streams::parseId).collect(toList());
+      StreamLog stream = Streams.get(db, key);
+      ConsumerGroup group = stream != null ? stream.getGroup(request.getParam(1)) : null;
+      if (group == null) {
+        return integer(0);
+      }
+      int acknowledged = (int) ids.stream().filter(group::ack).count();
+      if (acknowledged > 0) {
+        Streams.put(db, key, stream);
+      }
+      return integer(acknowledged);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
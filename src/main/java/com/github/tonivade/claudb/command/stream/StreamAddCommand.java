@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.Clock;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@Command("xadd")
+@ParamLength(4)
+@ParamType(DataType.STREAM)
+public class StreamAddCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    DatabaseKey key = safeKey(request.getParam(0));
+    try {
+      int i = 1;
+      Streams.MaxLength maxLength = null;
+      if (Streams.match("maxlen", request.getParam(i))) {
+        maxLength = Streams.parseMaxLength(request, i);
+        i = maxLength.next;
+      }
+      int length = request.getLength() - i - 1;
+      if (length < 2 || length % 2 != 0) {
+        return error("ERR wrong number of arguments for 'xadd' command");
+      }
+
+      StreamLog stream = Streams.get(db, key);
+      if (stream == null) {
+        stream = new StreamLog();
+      }
+      StreamId id = nextId(stream, request.getParam(i));
+      List<SafeString> fields = request.getParams().subList(i + 1, request.getLength());
+      stream.add(id, fields);
+      if (maxLength != null) {
+        stream.trim(maxLength.count, maxLength.approximate);
+      }
+      Streams.put(db, key, stream);
+
+      // the generated id is replicated, so the slaves and the AOF have the same entries
+      List<SafeString> params = new ArrayList<>(request.getParams().subList(0, i));
+      params.add(safeString(id.toString()));
+      params.addAll(fields);
+      replicateAs(request, "xadd", params);
+
+      getServerState(request.getServerContext()).getBlockingRegistry()
+          .signal(getSessionState(request.getSession()).getCurrentDB(), request.getParam(0));
+
+      return string(id.toString());
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+
+  private StreamId nextId(StreamLog stream, SafeString param) {
+    if (param.toString().equals("*")) {
+      return stream.nextId(Clock.now());
+    }
+    StreamId id = Streams.parseId(param);
+    if (id.equals(StreamId.MIN)) {
+      throw new IllegalArgumentException("ERR The ID specified in XADD must be greater than 0-0");
+    }
+    if (id.compareTo(stream.getLastId()) <= 0) {
+      throw new IllegalArgumentException("ERR The ID specified in XADD is equal or smaller than the target stream top item");
+    }
+    return id;
+  }
+}
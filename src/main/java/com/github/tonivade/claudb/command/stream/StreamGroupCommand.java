@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@Command("xgroup")
+@ParamLength(1)
+public class StreamGroupCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    SafeString subcommand = request.getParam(0);
+    try {
+      if (Streams.match("create", subcommand) && (request.getLength() == 4 || request.getLength() == 5)) {
+        return create(db, request);
+      } else if (Streams.match("setid", subcommand) && request.getLength() == 4) {
+        return setId(db, request);
+      } else if (Streams.match("destroy", subcommand) && request.getLength() == 3) {
+        return destroy(db, request);
+      }
+      return error("ERR Unknown subcommand or wrong number of arguments for '" + subcommand + "'");
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+
+  private RedisToken create(Database db, Request request) {
+    DatabaseKey key = safeKey(request.getParam(1));
+    boolean mkstream = request.getLength() == 5;
+    if (mkstream && !Streams.match("mkstream", request.getParam(4))) {
+      return error(Streams.SYNTAX_ERROR);
+    }
+    StreamLog stream = Streams.get(db, key);
+    if (stream == null && !mkstream) {
+      return error("ERR The XGROUP subcommand requires the key to exist. Note that for CREATE you may want "
+          + "to use the MKSTREAM option to create an empty stream automatically.");
+    }
+    if (stream == null) {
+      stream = new StreamLog();
+    }
+    if (!stream.createGroup(request.getParam(2), parseId(stream, request.getParam(3)))) {
+      return error("BUSYGROUP Consumer Group name already exists");
+    }
+    Streams.put(db, key, stream);
+    return responseOk();
+  }
+
+  private RedisToken setId(Database db, Request request) {
+    DatabaseKey key = safeKey(request.getParam(1));
+    StreamLog stream = Streams.get(db, key);
+    ConsumerGroup group = stream != null ? stream.getGroup(request.getParam(2)) : null;
+    if (group == null) {
+      return error("NOGROUP No such consumer group '" + request.getParam(2) + "' for key name '" + key + "'");
+    }
+    group.setLastDelivered(parseId(stream, request.getParam(3)));
+    Streams.put(db, key, stream);
+    return responseOk();
+  }
+
+  private RedisToken destroy(Database db, Request request) {
+    DatabaseKey key = safeKey(request.getParam(1));
+    StreamLog stream = Streams.get(db, key);
+    if (stream == null || !stream.destroyGroup(request.getParam(2))) {
+      return integer(0);
+    }
+    Streams.put(db, key, stream);
+    return integer(1);
+  }
+
+  // $ means the group only receives the entries added from now
+  private StreamId parseId(StreamLog stream, SafeString id) {
+    return id.toString().equals(Streams.LAST_ID) ? stream.getLastId() : Streams.parseId(id);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Clock;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.ConsumerGroup.Pending;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@ReadOnly
+@Command("xpending")
+@ParamLength(2)
+@ParamType(DataType.STREAM)
+public class StreamPendingCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      StreamLog stream = Streams.get(db, safeKey(request.getParam(0)));
+      ConsumerGroup group = stream != null ? stream.getGroup(request.getParam(1)) : null;
+      if (group == null) {
+        return error("NOGROUP No such key '" + request.getParam(0)
+            + "' or consumer group '" + request.getParam(1) + "'");
+      }
+      if (request.getLength() == 2) {
+        return summary(group.getPending());
+      }
+      if (request.getLength() == 5 || request.getLength() == 6) {
+        StreamId start = Streams.parseStart(request.getParam(2));
+        StreamId end = Streams.parseEnd(request.getParam(3));
+        int count = Streams.parseInt(request.getParam(4));
+        SafeString consumer = request.getLength() == 6 ? request.getParam(5) : null;
+        return detail(group.getPending(), start, end, count, consumer);
+      }
+      return error(Streams.SYNTAX_ERROR);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+
+  private RedisToken summary(NavigableMap<StreamId, Pending> pending) {
+    if (pending.isEmpty()) {
+      return array(integer(0), nullString(), nullString(), nullString());
+    }
+    Map<SafeString, Integer> consumers = new TreeMap<>();
+    pending.values().forEach(entry -> consumers.merge(entry.getConsumer(), 1, Integer::sum));
+    List<RedisToken> counters = new ArrayList<>();
+    consumers.forEach((consumer, count) -> counters.add(array(string(consumer), string(String.valueOf(count)))));
+    return array(integer(pending.size()),
+                 string(pending.firstKey().toString()),
+                 string(pending.lastKey().toString()),
+                 array(counters));
+  }
+
+  private RedisToken detail(NavigableMap<StreamId, Pending> pending, StreamId start, StreamId end,
+                            int count, SafeString consumer) {
+    List<RedisToken> result = new ArrayList<>();
+    if (start.compareTo(end) > 0) {
+      return array(result);
+    }
+    long now = Clock.now();
+    for (Map.Entry<StreamId, Pending> entry : pending.subMap(start, true, end, true).entrySet()) {
+      if (result.size() >= count) {
+        break;
+      }
+      Pending value = entry.getValue();
+      if (consumer == null || consumer.equals(value.getConsumer())) {
+        result.add(array(string(entry.getKey().toString()),
+                         string(value.getConsumer()),
+                         integer((int) Math.min(now - value.getDeliveryTime(), Integer.MAX_VALUE)),
+                         integer((int) value.getDeliveryCount())));
+      }
+    }
+    return array(result);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+
+import java.util.List;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.StreamEntry;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@ReadOnly
+@Command("xrange")
+@ParamLength(3)
+@ParamType(DataType.STREAM)
+public class StreamRangeCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      int count = parseCount(request);
+      StreamLog stream = Streams.get(db, safeKey(request.getParam(0)));
+      // ids are parsed even if there is nothing to return
+      StreamLog target = stream != null && count >= 0 ? stream : new StreamLog();
+      return Streams.entries(range(target, request.getParam(1), request.getParam(2), Math.max(count, 0)));
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+
+  protected List<StreamEntry> range(StreamLog stream, SafeString start, SafeString end, int count) {
+    return stream.range(Streams.parseStart(start), Streams.parseEnd(end), count);
+  }
+
+  // zero means all, negative means none
+  private int parseCount(Request request) {
+    if (request.getLength() == 3) {
+      return 0;
+    }
+    if (request.getLength() != 5 || !Streams.match("count", request.getParam(3))) {
+      throw new IllegalArgumentException(Streams.SYNTAX_ERROR);
+    }
+    int count = Streams.parseInt(request.getParam(4));
+    return count > 0 ? count : -1;
+  }
+}
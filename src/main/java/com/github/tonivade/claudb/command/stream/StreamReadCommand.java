@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.StreamEntry;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@ReadOnly
+@Command("xread")
+@ParamLength(3)
+public class StreamReadCommand extends AbstractStreamReadCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      Options options = parse(request, 0, false);
+      Map<SafeString, StreamId> ids = new LinkedHashMap<>();
+      List<RedisToken> result = new ArrayList<>();
+      for (int i = 0; i < options.keys.size(); i++) {
+        SafeString key = options.keys.get(i);
+        StreamLog stream = Streams.get(db, safeKey(key));
+        StreamId id = parseId(stream, options.ids.get(i));
+        ids.put(key, id);
+        List<StreamEntry> entries = stream != null ? stream.after(id, options.count) : new ArrayList<>();
+        if (!entries.isEmpty()) {
+          result.add(array(string(key), Streams.entries(entries)));
+        }
+      }
+      if (!result.isEmpty()) {
+        return array(result);
+      }
+      if (options.isBlocking()) {
+        return block(request, options,
+            (current, deadline) -> new StreamWaiter(request.getSession(), current, ids, options.count, deadline));
+      }
+      return nullString();
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+
+  // $ means only the entries added after this call
+  private StreamId parseId(StreamLog stream, SafeString id) {
+    if (id.toString().equals(Streams.LAST_ID)) {
+      return stream != null ? stream.getLastId() : StreamId.MIN;
+    }
+    return Streams.parseId(id);
+  }
+}
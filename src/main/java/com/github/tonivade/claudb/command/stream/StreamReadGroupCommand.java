@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.StreamEntry;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@Command("xreadgroup")
+@ParamLength(6)
+public class StreamReadGroupCommand extends AbstractStreamReadCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    if (!Streams.match("group", request.getParam(0))) {
+      return error(Streams.SYNTAX_ERROR);
+    }
+    SafeString groupName = request.getParam(1);
+    SafeString consumer = request.getParam(2);
+    try {
+      Options options = parse(request, 3, true);
+      List<StreamLog> streams = new ArrayList<>();
+      List<StreamId> ids = new ArrayList<>();
+      for (int i = 0; i < options.keys.size(); i++) {
+        SafeString key = options.keys.get(i);
+        SafeString id = options.ids.get(i);
+        // null means only the entries never delivered to the group
+        ids.add(id.toString().equals(Streams.NEW_ENTRIES) ? null : Streams.parseId(id));
+        StreamLog stream = Streams.get(db, safeKey(key));
+        if (stream == null || stream.getGroup(groupName) == null) {
+          return error("NOGROUP No such key '" + key + "' or consumer group '" + groupName
+              + "' in XREADGROUP with GROUP option");
+        }
+        streams.add(stream);
+      }
+
+      boolean onlyNew = true;
+      List<RedisToken> result = new ArrayList<>();
+      for (int i = 0; i < options.keys.size(); i++) {
+        SafeString key = options.keys.get(i);
+        StreamLog stream = streams.get(i);
+        ConsumerGroup group = stream.getGroup(groupName);
+        StreamId id = ids.get(i);
+        if (id == null) {
+          List<StreamEntry> entries = Streams.deliver(stream, group, consumer, options.count, options.noack);
+          if (!entries.isEmpty()) {
+            Streams.put(db, safeKey(key), stream);
+            result.add(array(string(key), Streams.entries(entries)));
+          }
+        } else {
+          onlyNew = false;
+          result.add(array(string(key), Streams.history(stream, group, consumer, id, options.count)));
+        }
+      }
+      if (!result.isEmpty()) {
+        return array(result);
+      }
+      if (options.isBlocking() && onlyNew) {
+        Map<SafeString, StreamId> waiting = new LinkedHashMap<>();
+        options.keys.forEach(key -> waiting.put(key, StreamId.MAX));
+        return block(request, options, (current, deadline) -> new StreamWaiter(request.getSession(), current,
+            waiting, options.count, groupName, consumer, options.noack, deadline));
+      }
+      return nullString();
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
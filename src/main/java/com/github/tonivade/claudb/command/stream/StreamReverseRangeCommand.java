@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import java.util.List;
+
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.StreamEntry;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.protocol.SafeString;
+
+@ReadOnly
+@Command("xrevrange")
+@ParamLength(3)
+@ParamType(DataType.STREAM)
+public class StreamReverseRangeCommand extends StreamRangeCommand {
+
+  // params are end and start, in this order
+  @Override
+  protected List<StreamEntry> range(StreamLog stream, SafeString end, SafeString start, int count) {
+    return stream.reverseRange(Streams.parseEnd(end), Streams.parseStart(start), count);
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@Command("xtrim")
+@ParamLength(3)
+@ParamType(DataType.STREAM)
+public class StreamTrimCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    DatabaseKey key = safeKey(request.getParam(0));
+    try {
+      if (!Streams.match("maxlen", request.getParam(1))) {
+        return error(Streams.SYNTAX_ERROR);
+      }
+      Streams.MaxLength maxLength = Streams.parseMaxLength(request, 1);
+      if (maxLength.next != request.getLength()) {
+        return error(Streams.SYNTAX_ERROR);
+      }
+      StreamLog stream = Streams.get(db, key);
+      if (stream == null) {
+        return integer(0);
+      }
+      int removed = stream.trim(maxLength.count, maxLength.approximate);
+      if (removed > 0) {
+        Streams.put(db, key, stream);
+      }
+      return integer(removed);
+    } catch (IllegalArgumentException e) {
+      return error(e.getMessage());
+    }
+  }
+}
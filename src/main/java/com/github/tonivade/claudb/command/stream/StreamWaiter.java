@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.tonivade.claudb.command.list.BlockedClient;
+import com.github.tonivade.claudb.command.list.BlockingRegistry;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamEntry;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Client blocked in XREAD waiting for entries greater than the given ids, or in
+ * XREADGROUP waiting for entries never delivered to the group.
+ */
+class StreamWaiter extends BlockedClient {
+
+  private final Map<SafeString, StreamId> ids;
+  private final int count;
+  private final SafeString group;
+  private final SafeString consumer;
+  private final boolean noack;
+
+  StreamWaiter(Session session, int db, Map<SafeString, StreamId> ids, int count, long deadline) {
+    this(session, db, ids, count, null, null, false, deadline);
+  }
+
+  StreamWaiter(Session session, int db, Map<SafeString, StreamId> ids, int count,
+               SafeString group, SafeString consumer, boolean noack, long deadline) {
+    super(session, db, new ArrayList<>(ids.keySet()), deadline);
+    this.ids = ids;
+    this.count = count;
+    this.group = group;
+    this.consumer = consumer;
+    this.noack = noack;
+  }
+
+  @Override
+  protected boolean isReady(Database db, SafeString key) {
+    DatabaseValue value = db.get(safeKey(key));
+    if (value == null || value.getType() != DataType.STREAM) {
+      return false;
+    }
+    StreamLog stream = value.getStream();
+    if (group == null) {
+      return stream.getLastId().compareTo(ids.get(key)) > 0;
+    }
+    ConsumerGroup consumerGroup = stream.getGroup(group);
+    return consumerGroup != null && stream.getLastId().compareTo(consumerGroup.getLastDelivered()) > 0;
+  }
+
+  @Override
+  protected Optional<RedisToken> serve(BlockingRegistry registry, Database db, SafeString key) {
+    StreamLog stream = db.get(safeKey(key)).getStream();
+    if (group == null) {
+      publish(key, stream.after(ids.get(key), count));
+      return Optional.empty();
+    }
+    List<StreamEntry> entries = Streams.deliver(stream, stream.getGroup(group), consumer, count, noack);
+    Streams.put(db, safeKey(key), stream);
+    publish(key, entries);
+    // the replica delivers the same entries to the consumer
+    return Optional.of(noack
+        ? command(getDb(), "xreadgroup", safeString("group"), group, consumer,
+                  safeString("count"), safeString(String.valueOf(entries.size())), safeString("noack"),
+                  safeString("streams"), key, safeString(Streams.NEW_ENTRIES))
+        : command(getDb(), "xreadgroup", safeString("group"), group, consumer,
+                  safeString("count"), safeString(String.valueOf(entries.size())),
+                  safeString("streams"), key, safeString(Streams.NEW_ENTRIES)));
+  }
+
+  private void publish(SafeString key, List<StreamEntry> entries) {
+    getSession().publish(array(array(string(key), Streams.entries(entries))));
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.data.DatabaseValue.stream;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.tonivade.claudb.data.Clock;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamEntry;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+final class Streams {
+
+  static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+  static final String SYNTAX_ERROR = "ERR syntax error";
+  static final String INVALID_ID = "ERR Invalid stream ID specified as stream command argument";
+  static final String NOT_INTEGER = "ERR value is not an integer or out of range";
+
+  static final String LAST_ID = "$";
+  static final String NEW_ENTRIES = ">";
+
+  private Streams() { }
+
+  /**
+   * Stream stored in key, null if the key does not exists.
+   *
+   * @throws IllegalArgumentException if the value is not a stream
+   */
+  static StreamLog get(Database db, DatabaseKey key) {
+    DatabaseValue value = db.get(key);
+    if (value == null) {
+      return null;
+    }
+    if (value.getType() != DataType.STREAM) {
+      throw new IllegalArgumentException(WRONG_TYPE);
+    }
+    return value.getStream();
+  }
+
+  /**
+   * Puts the stream back in the database keeping the expiration.
+   */
+  static void put(Database db, DatabaseKey key, StreamLog stream) {
+    DatabaseValue value = db.get(key);
+    db.store(key, value != null ? stream(stream).expiredAt(value.getExpiredAt()) : stream(stream));
+  }
+
+  static StreamId parseId(SafeString value) {
+    return parseId(value, 0);
+  }
+
+  static StreamId parseStart(SafeString value) {
+    return parseRangeId(value, 0);
+  }
+
+  static StreamId parseEnd(SafeString value) {
+    return parseRangeId(value, Long.MAX_VALUE);
+  }
+
+  static int parseInt(SafeString value) {
+    try {
+      return Integer.parseInt(value.toString());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(NOT_INTEGER, e);
+    }
+  }
+
+  static boolean match(String option, SafeString param) {
+    return option.equalsIgnoreCase(param.toString());
+  }
+
+  /**
+   * Parses MAXLEN [~|=] count starting at the given position.
+   */
+  static MaxLength parseMaxLength(Request request, int position) {
+    int i = position + 1;
+    boolean approximate = false;
+    if (i < request.getLength() && (match("~", request.getParam(i)) || match("=", request.getParam(i)))) {
+      approximate = match("~", request.getParam(i));
+      i++;
+    }
+    if (i >= request.getLength()) {
+      throw new IllegalArgumentException(SYNTAX_ERROR);
+    }
+    int count = parseInt(request.getParam(i));
+    if (count < 0) {
+      throw new IllegalArgumentException("ERR The MAXLEN argument must be >= 0.");
+    }
+    return new MaxLength(count, approximate, i + 1);
+  }
+
+  /**
+   * Delivers to the consumer the entries never delivered to the group.
+   */
+  static List<StreamEntry> deliver(StreamLog stream, ConsumerGroup group, SafeString consumer,
+                                   int count, boolean noack) {
+    List<StreamEntry> entries = stream.after(group.getLastDelivered(), count);
+    long now = Clock.now();
+    for (StreamEntry entry : entries) {
+      group.deliver(entry.getId(), consumer, now, noack);
+    }
+    return entries;
+  }
+
+  /**
+   * Entries already delivered to the consumer but not acknowledged, with id greater than the given one.
+   */
+  static RedisToken history(StreamLog stream, ConsumerGroup group, SafeString consumer, StreamId id, int count) {
+    List<RedisToken> entries = new ArrayList<>();
+    for (StreamId pending : group.getPending(consumer, id, count)) {
+      StreamEntry entry = stream.get(pending);
+      entries.add(entry != null ? entry(entry) : array(string(pending.toString()), RedisToken.nullString()));
+    }
+    return array(entries);
+  }
+
+  static RedisToken entries(List<StreamEntry> entries) {
+    return array(entries.stream().map(Streams::entry).collect(toList()));
+  }
+
+  static RedisToken entry(StreamEntry entry) {
+    return array(string(entry.getId().toString()),
+                 array(entry.getFields().stream().map(RedisToken::string).collect(toList())));
+  }
+
+  // - and + are the min and max ids
+  private static StreamId parseRangeId(SafeString value, long defaultSequence) {
+    if (value.toString().equals("-")) {
+      return StreamId.MIN;
+    }
+    if (value.toString().equals("+")) {
+      return StreamId.MAX;
+    }
+    return parseId(value, defaultSequence);
+  }
+
+  private static StreamId parseId(SafeString value, long defaultSequence) {
+    try {
+      return StreamId.parse(value, defaultSequence);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(INVALID_ID, e);
+    }
+  }
+
+  static final class MaxLength {
+    final int count;
+    final boolean approximate;
+    final int next;
+
+    private MaxLength(int count, boolean approximate, int next) {
+      this.count = count;
+      this.approximate = approximate;
+      this.next = next;
+    }
+  }
+}
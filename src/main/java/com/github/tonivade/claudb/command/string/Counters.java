@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.string;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+final class Counters {
+
+  private Counters() { }
+
+  static RedisToken incrementBy(Database db, SafeString key, long increment) {
+    try {
+      return integer(increment(db, safeKey(key), increment));
+    } catch (NumberFormatException e) {
+      return error("ERR value is not an integer or out of range");
+    } catch (ArithmeticException e) {
+      return error("ERR increment or decrement would overflow");
+    }
+  }
+
+  // the reply token only holds an int, so results are checked against
+  // that range before they are stored
+  private static int increment(Database db, DatabaseKey key, long increment) {
+    DatabaseValue oldValue = db.get(key);
+    long current = oldValue != null ? oldValue.getLong() : 0;
+    int result = Math.toIntExact(Math.addExact(current, increment));
+    DatabaseValue newValue = string(result);
+    db.store(key, oldValue != null ? newValue.expiredAt(oldValue.getExpiredAt()) : newValue);
+    return result;
+  }
+}
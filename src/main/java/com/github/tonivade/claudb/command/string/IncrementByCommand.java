@@ -5,9 +5,6 @@
 package com.github.tonivade.claudb.command.string;
 
 import static com.github.tonivade.resp.protocol.RedisToken.error;
-import static com.github.tonivade.resp.protocol.RedisToken.integer;
-import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static com.github.tonivade.claudb.data.DatabaseValue.string;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
@@ -16,7 +13,6 @@ import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ParamType;
 import com.github.tonivade.claudb.data.DataType;
-import com.github.tonivade.claudb.data.DatabaseValue;
 import com.github.tonivade.claudb.data.Database;
 
 @Command("incrby")
@@ -27,13 +23,8 @@ public class IncrementByCommand implements DBCommand {
   @Override
   public RedisToken execute(Database db, Request request) {
     try {
-      DatabaseValue value = db.merge(safeKey(request.getParam(0)), string(request.getParam(1)),
-          (oldValue, newValue) -> {
-            int increment = Integer.parseInt(newValue.getString().toString());
-            int current = Integer.parseInt(oldValue.getString().toString());
-            return string(String.valueOf(current + increment));
-          });
-      return integer(Integer.parseInt(value.getString().toString()));
+      long increment = Long.parseLong(request.getParam(1).toString());
+      return Counters.incrementBy(db, request.getParam(0), increment);
     } catch (NumberFormatException e) {
       return error("ERR value is not an integer or out of range");
     }
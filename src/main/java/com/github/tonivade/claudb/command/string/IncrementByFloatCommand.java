@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.string;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+
+import java.math.BigDecimal;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+@Command("incrbyfloat")
+@ParamLength(2)
+@ParamType(DataType.STRING)
+public class IncrementByFloatCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    try {
+      DatabaseKey key = safeKey(request.getParam(0));
+      DatabaseValue oldValue = db.get(key);
+      double increment = Double.parseDouble(request.getParam(1).toString());
+      double current = oldValue != null ? Double.parseDouble(oldValue.getString().toString()) : 0;
+      double result = current + increment;
+      if (Double.isNaN(result) || Double.isInfinite(result)) {
+        return error("ERR increment would produce NaN or Infinity");
+      }
+      DatabaseValue newValue = string(BigDecimal.valueOf(result).stripTrailingZeros().toPlainString());
+      db.store(key, oldValue != null ? newValue.expiredAt(oldValue.getExpiredAt()) : newValue);
+      return RedisToken.string(newValue.getString());
+    } catch (NumberFormatException e) {
+      return error("ERR value is not a valid float");
+    }
+  }
+}
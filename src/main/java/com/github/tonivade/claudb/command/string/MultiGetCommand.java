@@ -4,6 +4,11 @@
  */
 package com.github.tonivade.claudb.command.string;
 
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
 import com.github.tonivade.resp.command.Request;
@@ -12,11 +17,8 @@ import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.ReadOnly;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
-import com.github.tonivade.claudb.data.DatabaseKey;
 import com.github.tonivade.claudb.data.DatabaseValue;
 
-import io.vavr.collection.List;
-
 @ReadOnly
 @Command("mget")
 @ParamLength(1)
@@ -24,10 +26,11 @@ public class MultiGetCommand implements DBCommand {
 
   @Override
   public RedisToken execute(Database db, Request request) {
-    List<DatabaseValue> result = List.ofAll(request.getParams())
-        .map(DatabaseKey::safeKey)
-        .filter(key -> db.isType(key, DataType.STRING))
-        .map(db::get);
-    return convert(result);
+    RedisToken[] result = new RedisToken[request.getLength()];
+    for (int i = 0; i < result.length; i++) {
+      DatabaseValue value = db.get(safeKey(request.getParam(i)));
+      result[i] = value != null && value.getType() == DataType.STRING ? string(value.getString()) : nullString();
+    }
+    return array(result);
   }
 }
@@ -25,7 +25,7 @@ public class MultiSetCommand implements DBCommand {
     SafeString key = null;
     for (SafeString value : request.getParams()) {
       if (key != null) {
-        db.put(safeKey(key), string(value));
+        db.store(safeKey(key), string(value));
         key = null;
       } else {
         key = value;
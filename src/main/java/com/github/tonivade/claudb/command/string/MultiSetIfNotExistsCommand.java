@@ -30,7 +30,7 @@ public class MultiSetIfNotExistsCommand implements DBCommand {
   public RedisToken execute(Database db, Request request) {
     Set<Tuple2<SafeString, SafeString>> pairs = toPairs(request);
     if (noneExists(db, pairs)) {
-      pairs.forEach(entry -> db.put(safeKey(entry._1()), string(entry._2())));
+      pairs.forEach(entry -> db.store(safeKey(entry._1()), string(entry._2())));
       return integer(1);
     }
     return integer(0);
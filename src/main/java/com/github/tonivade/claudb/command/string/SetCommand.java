@@ -14,10 +14,8 @@ import static io.vavr.API.Case;
 import static io.vavr.API.Match;
 import static io.vavr.Predicates.instanceOf;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.time.temporal.TemporalAmount;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
@@ -25,6 +23,7 @@ import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.resp.protocol.SafeString;
 import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseKey;
 import com.github.tonivade.claudb.data.DatabaseValue;
@@ -52,7 +51,7 @@ public class SetCommand implements DBCommand {
   private DatabaseValue parseValue(Request request, Parameters parameters) {
     DatabaseValue value = string(request.getParam(1));
     if (parameters.ttl != null) {
-      value = value.expiredAt(Instant.now().plus(parameters.ttl));
+      value = value.expiredAt(Clock.now() + parameters.ttl);
     }
     return value;
   }
@@ -77,7 +76,7 @@ public class SetCommand implements DBCommand {
   }
 
   private DatabaseValue putValue(Database db, DatabaseKey key, DatabaseValue value) {
-    db.put(key, value);
+    db.store(key, value);
     return value;
   }
 
@@ -103,14 +102,14 @@ public class SetCommand implements DBCommand {
             throw new SyntaxException();
           }
           parameters.ttl = parseTtl(request, ++i)
-              .map(Duration::ofSeconds)
+              .map(TimeUnit.SECONDS::toMillis)
               .orElseThrow(SyntaxException::new);
         } else if (match("PX", option)) {
           if (parameters.ttl != null) {
             throw new SyntaxException();
           }
           parameters.ttl = parseTtl(request, ++i)
-              .map(Duration::ofMillis)
+              .map(Integer::longValue)
               .orElseThrow(SyntaxException::new);
         } else if (match("NX", option)) {
           if (parameters.ifExists) {
@@ -142,7 +141,7 @@ public class SetCommand implements DBCommand {
   private static class Parameters {
     private boolean ifExists;
     private boolean ifNotExists;
-    private TemporalAmount ttl;
+    private Long ttl;
   }
 
   private static class SyntaxException extends RuntimeException {
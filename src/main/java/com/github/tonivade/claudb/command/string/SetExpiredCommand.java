@@ -24,7 +24,7 @@ public class SetExpiredCommand implements DBCommand {
   @Override
   public RedisToken execute(Database db, Request request) {
     try {
-      db.put(safeKey(request.getParam(0)), string(request.getParam(2))
+      db.store(safeKey(request.getParam(0)), string(request.getParam(2))
                .expiredAt(parseTtl(request.getParam(1))));
       return responseOk();
     } catch (NumberFormatException e) {
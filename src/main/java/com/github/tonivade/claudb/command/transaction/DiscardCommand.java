@@ -10,6 +10,7 @@ import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.command.Session;
 import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.DBServerState;
 import com.github.tonivade.claudb.TransactionState;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.TxIgnore;
@@ -24,6 +25,8 @@ public class DiscardCommand implements DBCommand {
   @Override
   public RedisToken execute(Database db, Request request) {
     removeTransactionIfExists(request.getSession());
+    DBServerState serverState = getServerState(request.getServerContext());
+    getSessionState(request.getSession()).removeWatch().ifPresent(serverState::unwatch);
 
     return RedisToken.responseOk();
   }
@@ -14,9 +14,13 @@ import com.github.tonivade.resp.command.RespCommand;
 import com.github.tonivade.resp.command.Session;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.DBServerContext;
+import com.github.tonivade.claudb.DBServerState;
+import com.github.tonivade.claudb.DBSessionState;
 import com.github.tonivade.claudb.TransactionState;
+import com.github.tonivade.claudb.WatchState;
 import com.github.tonivade.claudb.command.DBCommand;
 import com.github.tonivade.claudb.command.annotation.TxIgnore;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.Database;
 
 @Command("exec")
@@ -28,18 +32,36 @@ public class ExecCommand implements DBCommand {
     Optional<TransactionState> transaction = getTransactionIfExists(request.getSession());
     if (transaction.isPresent()) {
       DBServerContext server = getClauDB(request.getServerContext());
-      List<RedisToken> responses = new ArrayList<>();
-      for (Request queuedRequest : transaction.get()) {
-        responses.add(executeCommand(server, queuedRequest));
+      DBSessionState sessionState = getSessionState(request.getSession());
+      if (isAborted(getServerState(server), sessionState)) {
+        return RedisToken.nullString();
       }
+      int currentDB = sessionState.getCurrentDB();
+      List<RedisToken> responses = new ArrayList<>(transaction.get().size());
+      sessionState.setBlockingAllowed(false);
+      try {
+        transaction.get().forEach(
+            (queuedRequest, command) -> responses.add(executeCommand(server, queuedRequest, command)));
+      } finally {
+        sessionState.setBlockingAllowed(true);
+      }
+      server.replicateTransaction(currentDB, transaction.get().getRequests());
       return RedisToken.array(responses);
     } else {
       return RedisToken.error("ERR EXEC without MULTI");
     }
   }
 
-  private RedisToken executeCommand(DBServerContext server, Request queuedRequest) {
-    RespCommand command = server.getCommand(queuedRequest.getCommand());
+  private boolean isAborted(DBServerState serverState, DBSessionState sessionState) {
+    Optional<WatchState> watch = sessionState.removeWatch();
+    watch.ifPresent(serverState::unwatch);
+    return watch.map(state -> state.isDirty(Clock.now())).orElse(false);
+  }
+
+  private RedisToken executeCommand(DBServerContext server, Request queuedRequest, RespCommand command) {
+    if (command == null) {
+      command = server.getCommand(queuedRequest.getCommand());
+    }
     return command.execute(queuedRequest);
   }
 
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.transaction;
+
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.DBServerState;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.data.Database;
+
+@ReadOnly
+@Command("unwatch")
+public class UnwatchCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    DBServerState serverState = getServerState(request.getServerContext());
+    getSessionState(request.getSession()).removeWatch().ifPresent(serverState::unwatch);
+    return responseOk();
+  }
+}
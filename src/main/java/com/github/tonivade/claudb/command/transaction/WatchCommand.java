@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.transaction;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+
+import com.github.tonivade.resp.annotation.Command;
+import com.github.tonivade.resp.annotation.ParamLength;
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.DBServerState;
+import com.github.tonivade.claudb.DBSessionState;
+import com.github.tonivade.claudb.WatchState;
+import com.github.tonivade.claudb.command.DBCommand;
+import com.github.tonivade.claudb.command.annotation.ReadOnly;
+import com.github.tonivade.claudb.command.annotation.TxIgnore;
+import com.github.tonivade.claudb.data.Database;
+
+@ReadOnly
+@Command("watch")
+@ParamLength(1)
+@TxIgnore
+public class WatchCommand implements DBCommand {
+
+  @Override
+  public RedisToken execute(Database db, Request request) {
+    if (request.getSession().getValue("tx").isPresent()) {
+      return error("ERR WATCH inside MULTI is not allowed");
+    }
+    DBServerState serverState = getServerState(request.getServerContext());
+    DBSessionState sessionState = getSessionState(request.getSession());
+    WatchState watch = sessionState.getOrCreateWatch();
+    for (SafeString key : request.getParams()) {
+      serverState.watch(watch, sessionState.getCurrentDB(), safeKey(key));
+    }
+    return responseOk();
+  }
+}
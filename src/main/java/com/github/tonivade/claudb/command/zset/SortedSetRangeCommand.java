@@ -6,14 +6,15 @@ package com.github.tonivade.claudb.command.zset;
 
 import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
-import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.toList;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.NavigableSet;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.annotation.ParamLength;
@@ -50,19 +51,26 @@ public class SortedSetRangeCommand implements DBCommand {
         to = set.size() + to;
       }
 
-      List<Object> result = emptyList();
-      if (from <= to) {
-        Optional<SafeString> withScores = request.getOptionalParam(3);
-        if (withScores.isPresent() && withScores.get().toString().equalsIgnoreCase(PARAM_WITHSCORES)) {
-          result = set.stream().skip(from).limit((to - from) + 1l)
-              .flatMap(entry -> Stream.of(entry.getValue(), entry.getKey())).collect(toList());
-        } else {
-          result = set.stream().skip(from).limit((to - from) + 1l)
-              .map(Entry::getValue).collect(toList());
-        }
+      from = Math.max(0, from);
+      to = Math.min(to, set.size() - 1);
+      if (from > to) {
+        return array();
       }
 
-      return convert(result);
+      Optional<SafeString> withScores = request.getOptionalParam(3);
+      boolean scores = withScores.isPresent() && withScores.get().toString().equalsIgnoreCase(PARAM_WITHSCORES);
+      List<RedisToken> result = new ArrayList<>((to - from + 1) * (scores ? 2 : 1));
+      Iterator<Entry<Double, SafeString>> iterator = set.iterator();
+      for (int i = 0; i <= to && iterator.hasNext(); i++) {
+        Entry<Double, SafeString> entry = iterator.next();
+        if (i >= from) {
+          result.add(string(entry.getValue()));
+          if (scores) {
+            result.add(string(entry.getKey().toString()));
+          }
+        }
+      }
+      return array(result);
     } catch (NumberFormatException e) {
       return error("ERR value is not an integer or out of range");
     }
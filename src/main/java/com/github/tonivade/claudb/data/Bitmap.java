@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * String stored as an array of 64 bit words, so bit operations can be done in place and a word
+ * at a time. Bits are numbered like in redis, bit 0 is the most significant bit of the first byte.
+ */
+public class Bitmap implements Serializable {
+
+  private static final long serialVersionUID = -2541362947203941634L;
+
+  public static final long MAX_BITS = 1L << 32;
+
+  private long[] words;
+  private int length;
+
+  public Bitmap() {
+    this.words = new long[0];
+  }
+
+  public Bitmap(byte[] bytes) {
+    this.words = new long[wordsFor(bytes.length)];
+    this.length = bytes.length;
+    for (int i = 0; i < bytes.length; i++) {
+      words[i >>> 3] |= (bytes[i] & 0xFFL) << shiftOf(i);
+    }
+  }
+
+  private Bitmap(long[] words, int length) {
+    this.words = words;
+    this.length = length;
+  }
+
+  /**
+   * Length in bytes.
+   */
+  public int length() {
+    return length;
+  }
+
+  public boolean get(long offset) {
+    int index = (int) (offset >>> 6);
+    return index < words.length && (words[index] & maskOf(offset)) != 0;
+  }
+
+  /**
+   * Sets the bit, growing the bitmap if needed, and returns its previous value.
+   */
+  public boolean set(long offset, boolean value) {
+    ensure(offset);
+    int index = (int) (offset >>> 6);
+    long mask = maskOf(offset);
+    boolean previous = (words[index] & mask) != 0;
+    if (value) {
+      words[index] |= mask;
+    } else {
+      words[index] &= ~mask;
+    }
+    return previous;
+  }
+
+  /**
+   * Number of bits set between bytes from and to, both inclusive, indexes must be already normalized.
+   */
+  public long count(int from, int to) {
+    if (from > to || from >= length) {
+      return 0;
+    }
+    long start = (long) from << 3;
+    long end = ((long) Math.min(to, length - 1) + 1) << 3;
+    int first = (int) (start >>> 6);
+    int last = (int) ((end - 1) >>> 6);
+    long firstMask = -1L >>> (start & 63);
+    long lastMask = -1L << (63 - ((end - 1) & 63));
+    if (first == last) {
+      return Long.bitCount(words[first] & firstMask & lastMask);
+    }
+    long count = Long.bitCount(words[first] & firstMask);
+    for (int i = first + 1; i < last; i++) {
+      count += Long.bitCount(words[i]);
+    }
+    return count + Long.bitCount(words[last] & lastMask);
+  }
+
+  /**
+   * Position of the first bit with the given value between bytes from and to, both inclusive,
+   * or -1 if there is none. Indexes must be already normalized.
+   */
+  public long position(boolean bit, int from, int to) {
+    if (from > to || from >= length) {
+      return -1;
+    }
+    long start = (long) from << 3;
+    long end = ((long) Math.min(to, length - 1) + 1) << 3;
+    int first = (int) (start >>> 6);
+    int last = (int) ((end - 1) >>> 6);
+    for (int i = first; i <= last; i++) {
+      long word = bit ? words[i] : ~words[i];
+      if (i == first) {
+        word &= -1L >>> (start & 63);
+      }
+      if (i == last) {
+        word &= -1L << (63 - ((end - 1) & 63));
+      }
+      if (word != 0) {
+        return ((long) i << 6) + Long.numberOfLeadingZeros(word);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Reads bits, at most 64, starting at offset as an unsigned number. Bits after the end are zero.
+   */
+  public long getBits(long offset, int bits) {
+    int index = (int) (offset >>> 6);
+    int shift = (int) (offset & 63);
+    long value = wordAt(index) << shift;
+    if (shift + bits > 64) {
+      value |= wordAt(index + 1) >>> (64 - shift);
+    }
+    return value >>> (64 - bits);
+  }
+
+  /**
+   * Writes the lower bits of value, at most 64, starting at offset, growing the bitmap if needed.
+   */
+  public void setBits(long offset, int bits, long value) {
+    ensure(offset + bits - 1);
+    int index = (int) (offset >>> 6);
+    int shift = (int) (offset & 63);
+    long aligned = value << (64 - bits);
+    long mask = (-1L << (64 - bits)) >>> shift;
+    words[index] = (words[index] & ~mask) | ((aligned >>> shift) & mask);
+    if (shift + bits > 64) {
+      long rest = -1L << (128 - shift - bits);
+      words[index + 1] = (words[index + 1] & ~rest) | ((aligned << (64 - shift)) & rest);
+    }
+  }
+
+  public void and(Bitmap other) {
+    resize(Math.max(length, other.length));
+    for (int i = 0; i < words.length; i++) {
+      words[i] &= other.wordAt(i);
+    }
+  }
+
+  public void or(Bitmap other) {
+    resize(Math.max(length, other.length));
+    for (int i = 0; i < wordsFor(other.length); i++) {
+      words[i] |= other.words[i];
+    }
+  }
+
+  public void xor(Bitmap other) {
+    resize(Math.max(length, other.length));
+    for (int i = 0; i < wordsFor(other.length); i++) {
+      words[i] ^= other.words[i];
+    }
+  }
+
+  public void not() {
+    for (int i = 0; i < words.length; i++) {
+      words[i] = ~words[i];
+    }
+    clearTail();
+  }
+
+  public Bitmap copy() {
+    return new Bitmap(Arrays.copyOf(words, wordsFor(length)), length);
+  }
+
+  public byte[] toByteArray() {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (words[i >>> 3] >>> shiftOf(i));
+    }
+    return bytes;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = length;
+    for (int i = 0; i < wordsFor(length); i++) {
+      hash = 31 * hash + Long.hashCode(words[i]);
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Bitmap)) {
+      return false;
+    }
+    Bitmap other = (Bitmap) obj;
+    if (length != other.length) {
+      return false;
+    }
+    for (int i = 0; i < wordsFor(length); i++) {
+      if (words[i] != other.words[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "Bitmap [length=" + length + "]";
+  }
+
+  private void ensure(long offset) {
+    if (offset < 0 || offset >= MAX_BITS) {
+      throw new IllegalArgumentException("offset out of range: " + offset);
+    }
+    int required = (int) (offset >>> 3) + 1;
+    if (required > length) {
+      resize(required);
+    }
+  }
+
+  private void resize(int newLength) {
+    int required = wordsFor(newLength);
+    if (required > words.length) {
+      words = Arrays.copyOf(words, Math.max(required, words.length + (words.length >> 1)));
+    }
+    length = newLength;
+  }
+
+  // bits after the last byte must be always zero
+  private void clearTail() {
+    int last = wordsFor(length);
+    int used = (length & 7) << 3;
+    if (used != 0) {
+      words[last - 1] &= -1L << (64 - used);
+    }
+    Arrays.fill(words, last, words.length, 0);
+  }
+
+  private long wordAt(int index) {
+    return index < words.length ? words[index] : 0;
+  }
+
+  private static long maskOf(long offset) {
+    return 1L << (63 - (offset & 63));
+  }
+
+  private static int shiftOf(int index) {
+    return 56 - ((index & 7) << 3);
+  }
+
+  private static int wordsFor(int length) {
+    return (length + 7) >>> 3;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.util.function.Supplier;
+
+/**
+ * Server time in epoch millis used to check expiration of keys. Like redis, the time is read
+ * once when a command starts and every key accessed by the command (or by a script) is checked
+ * against the same instant, so read paths do not need a system call or an allocation per key.
+ *
+ * The time is frozen only for the thread running the command, any other thread (background
+ * tasks, loading a dump, tests) gets the current time.
+ */
+public final class Clock {
+
+  private static final ThreadLocal<long[]> CACHED = ThreadLocal.withInitial(() -> new long[1]);
+
+  private Clock() { }
+
+  public static long now() {
+    long time = CACHED.get()[0];
+    return time != 0 ? time : System.currentTimeMillis();
+  }
+
+  /**
+   * Runs the action with the time frozen, nested calls see the time of the outermost one.
+   */
+  public static <T> T frozen(Supplier<T> action) {
+    return frozen(System.currentTimeMillis(), action);
+  }
+
+  /**
+   * Like frozen, but at the given time, so a command can hand its time over to another thread.
+   */
+  public static <T> T frozen(long now, Supplier<T> action) {
+    long[] cached = CACHED.get();
+    if (cached[0] != 0) {
+      return action.get();
+    }
+    cached[0] = now;
+    try {
+      return action.get();
+    } finally {
+      cached[0] = 0;
+    }
+  }
+}
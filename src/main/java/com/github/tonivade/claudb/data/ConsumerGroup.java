@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static java.util.Collections.unmodifiableNavigableMap;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Consumer group of a stream. Keeps the last id delivered to the group and the pending
+ * entries list, entries delivered to a consumer but not acknowledged yet.
+ */
+public class ConsumerGroup implements Serializable {
+
+  private static final long serialVersionUID = 5019366734961312207L;
+
+  private StreamId lastDelivered;
+
+  private final TreeMap<StreamId, Pending> pending = new TreeMap<>();
+
+  public ConsumerGroup(StreamId lastDelivered) {
+    this.lastDelivered = requireNonNull(lastDelivered);
+  }
+
+  public StreamId getLastDelivered() {
+    return lastDelivered;
+  }
+
+  public void setLastDelivered(StreamId lastDelivered) {
+    this.lastDelivered = requireNonNull(lastDelivered);
+  }
+
+  /**
+   * Delivers a new entry to the consumer, if noack it is not added to the pending entries list.
+   */
+  public void deliver(StreamId id, SafeString consumer, long now, boolean noack) {
+    if (id.compareTo(lastDelivered) > 0) {
+      lastDelivered = id;
+    }
+    if (!noack) {
+      pending.put(id, new Pending(consumer, now));
+    }
+  }
+
+  /**
+   * Adds an entry to the pending entries list as it was when the stream was saved.
+   */
+  public void restore(StreamId id, SafeString consumer, long deliveryTime, long deliveryCount) {
+    Pending entry = new Pending(consumer, deliveryTime);
+    entry.deliveryCount = deliveryCount;
+    pending.put(id, entry);
+  }
+
+  public boolean ack(StreamId id) {
+    return pending.remove(id) != null;
+  }
+
+  public NavigableMap<StreamId, Pending> getPending() {
+    return unmodifiableNavigableMap(pending);
+  }
+
+  /**
+   * Ids pending of the consumer greater than the one given.
+   */
+  public List<StreamId> getPending(SafeString consumer, StreamId after, int count) {
+    List<StreamId> ids = new ArrayList<>();
+    for (Map.Entry<StreamId, Pending> entry : pending.tailMap(after, false).entrySet()) {
+      if (count > 0 && ids.size() == count) {
+        break;
+      }
+      if (entry.getValue().consumer.equals(consumer)) {
+        ids.add(entry.getKey());
+      }
+    }
+    return ids;
+  }
+
+  public static final class Pending implements Serializable {
+
+    private static final long serialVersionUID = -6283958113372010954L;
+
+    private SafeString consumer;
+    private long deliveryTime;
+    private long deliveryCount = 1;
+
+    private Pending(SafeString consumer, long deliveryTime) {
+      this.consumer = consumer;
+      this.deliveryTime = deliveryTime;
+    }
+
+    public SafeString getConsumer() {
+      return consumer;
+    }
+
+    public long getDeliveryTime() {
+      return deliveryTime;
+    }
+
+    public long getDeliveryCount() {
+      return deliveryCount;
+    }
+  }
+}
@@ -11,7 +11,9 @@ public enum DataType {
   SET("set"),
   ZSET("zset"),
   HASH("hash"),
-  NONE("none");
+  NONE("none"),
+  // after NONE, ordinals of the rest are the RDB type codes
+  STREAM("stream");
 
   private final String text;
 
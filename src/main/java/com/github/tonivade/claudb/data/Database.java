@@ -6,7 +6,6 @@ package com.github.tonivade.claudb.data;
 
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
 
-import java.time.Instant;
 import java.util.Map.Entry;
 import java.util.NavigableSet;
 import java.util.function.BiFunction;
@@ -14,7 +13,6 @@ import java.util.function.BiFunction;
 import com.github.tonivade.resp.protocol.SafeString;
 
 import io.vavr.Tuple2;
-import io.vavr.collection.List;
 import io.vavr.collection.Map;
 import io.vavr.collection.Seq;
 import io.vavr.collection.Set;
@@ -41,11 +39,31 @@ public interface Database {
 
   Set<Tuple2<DatabaseKey, DatabaseValue>> entrySet();
 
+  /**
+   * Removes all the keys at once, but the memory they use is not reclaimed until the returned
+   * task is executed, so it can be done out of the command thread.
+   */
+  Runnable detach();
+
+  /**
+   * Like remove, but without reading the value, returns true if the key existed.
+   */
+  default boolean unlink(DatabaseKey key) {
+    return remove(key) != null;
+  }
+
+  /**
+   * Like put, but without reading the old value, returns true if the key existed.
+   */
+  default boolean store(DatabaseKey key, DatabaseValue value) {
+    return put(key, value) != null;
+  }
+
   default SafeString getString(SafeString key) {
     return getOrDefault(safeKey(key), DatabaseValue.EMPTY_STRING).getString();
   }
 
-  default List<SafeString> getList(SafeString key) {
+  default QuickList getList(SafeString key) {
     return getOrDefault(safeKey(key), DatabaseValue.EMPTY_LIST).getList();
   }
 
@@ -62,7 +80,7 @@ public interface Database {
   }
 
   default void putAll(Map<? extends DatabaseKey, ? extends DatabaseValue> map) {
-    map.forEach(this::put);
+    map.forEach(this::store);
   }
 
   default DatabaseValue putIfAbsent(DatabaseKey key, DatabaseValue value) {
@@ -78,9 +96,9 @@ public interface Database {
     DatabaseValue oldValue = get(key);
     DatabaseValue newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
     if(newValue == null) {
-      remove(key);
+      unlink(key);
     } else {
-      put(key, newValue);
+      store(key, newValue);
     }
     return newValue;
   }
@@ -100,7 +118,7 @@ public interface Database {
   default boolean rename(DatabaseKey from, DatabaseKey to) {
     DatabaseValue value = remove(from);
     if (value != null) {
-      put(to, value);
+      store(to, value);
       return true;
     }
     return false;
@@ -111,7 +129,7 @@ public interface Database {
     putAll(value);
   }
 
-  default Set<DatabaseKey> evictableKeys(Instant now) {
+  default Set<DatabaseKey> evictableKeys(long now) {
     return entrySet()
         .filter(entry -> entry._2().isExpired(now))
         .map(Tuple2::_1).toSet();
@@ -1,6 +1,5 @@
 package com.github.tonivade.claudb.data;
 
-import java.time.Instant;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -36,7 +35,7 @@ public class DatabaseCleaner {
 
   private void clean() {
     LOGGER.debug("cleaning database: running");
-    server.clean(Instant.now());
+    server.clean(Clock.now());
     LOGGER.debug("cleaning database: done");
   }
 }
@@ -6,19 +6,23 @@
 package com.github.tonivade.claudb.data;
 
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
-import static tonivade.equalizer.Equalizer.equalizer;
 
 import java.io.Serializable;
-import java.util.Objects;
 
 import com.github.tonivade.resp.protocol.SafeString;
 
+/**
+ * Keys are looked up in a hash map in every command, so the hash is computed only once, like
+ * {@link String}, and equals compares the hashes before comparing the bytes.
+ */
 public class DatabaseKey implements Comparable<DatabaseKey>, Serializable {
 
   private static final long serialVersionUID = 7710472090270782053L;
 
   private final SafeString value;
 
+  private transient int hash;
+
   public DatabaseKey(SafeString value) {
     this.value = value;
   }
@@ -34,14 +38,24 @@ public class DatabaseKey implements Comparable<DatabaseKey>, Serializable {
 
   @Override
   public int hashCode() {
-    return Objects.hash(value);
+    int h = hash;
+    if (h == 0) {
+      h = value.hashCode();
+      hash = h;
+    }
+    return h;
   }
 
   @Override
   public boolean equals(Object obj) {
-    return equalizer(this)
-        .append((one, other) -> Objects.equals(one.value, other.value))
-        .applyTo(obj);
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DatabaseKey)) {
+      return false;
+    }
+    DatabaseKey other = (DatabaseKey) obj;
+    return hashCode() == other.hashCode() && value.equals(other.value);
   }
 
   @Override
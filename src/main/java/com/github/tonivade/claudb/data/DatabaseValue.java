@@ -9,17 +9,13 @@ import static io.vavr.API.$;
 import static io.vavr.API.Case;
 import static io.vavr.API.Match;
 import static io.vavr.Predicates.instanceOf;
-import static java.time.Instant.now;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toCollection;
 import static tonivade.equalizer.Equalizer.equalizer;
 
 import java.io.Serializable;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.AbstractMap.SimpleEntry;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map.Entry;
@@ -27,6 +23,7 @@ import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collector;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.github.tonivade.resp.protocol.SafeString;
@@ -35,33 +32,43 @@ import io.vavr.Tuple;
 import io.vavr.Tuple2;
 import io.vavr.collection.LinkedHashMap;
 import io.vavr.collection.LinkedHashSet;
-import io.vavr.collection.List;
 import io.vavr.collection.Map;
 import io.vavr.collection.Set;
 import io.vavr.collection.Traversable;
 
+/**
+ * Value stored in a database, with its type and expiration time.
+ *
+ * Lists, sets, streams, bitmaps and HyperLogLogs are kept in mutable structures ({@link QuickList},
+ * {@link IndexedSet}, {@link StreamLog}, {@link Bitmap} and {@link HyperLogLog}) that commands
+ * change in place. After changing one, a command has to put the value back with
+ * {@link Database#store}, even if it is the same instance, so the database can keep its stats,
+ * the watched keys and the serialized copies of off heap and segment databases up to date.
+ */
 public class DatabaseValue implements Serializable {
 
   private static final long serialVersionUID = -1001729166107392343L;
 
   public static final DatabaseValue EMPTY_STRING = string("");
-  public static final DatabaseValue EMPTY_LIST = list();
+  public static final DatabaseValue EMPTY_LIST = new DatabaseValue(DataType.LIST, QuickList.EMPTY);
   public static final DatabaseValue EMPTY_SET = set();
   public static final DatabaseValue EMPTY_ZSET = zset();
   public static final DatabaseValue EMPTY_HASH = hash();
 
   public static final DatabaseValue NULL = null;
 
+  public static final long NO_EXPIRATION = -1L;
+
   private final DataType type;
 
   private final Object value;
-  private final Instant expiredAt;
+  private final long expiredAt;
 
   private DatabaseValue(DataType type, Object value) {
-    this(type, value, null);
+    this(type, value, NO_EXPIRATION);
   }
 
-  private DatabaseValue(DataType type, Object value, Instant expiredAt) {
+  private DatabaseValue(DataType type, Object value, long expiredAt) {
     this.type = type;
     this.value = value;
     this.expiredAt = expiredAt;
@@ -73,22 +80,127 @@ public class DatabaseValue implements Serializable {
   
   public SafeString getString() {
     requiredType(DataType.STRING);
+    if (value instanceof Long) {
+      return safeString(value.toString());
+    }
+    if (value instanceof Bitmap) {
+      return new SafeString(((Bitmap) value).toByteArray());
+    }
+    if (value instanceof HyperLogLog) {
+      return new SafeString(((HyperLogLog) value).toByteArray());
+    }
     return getValue();
   }
+
+  /**
+   * Value of a string holding an integer, integer encoded strings are returned without parsing.
+   *
+   * @throws NumberFormatException if the string is not a valid 64 bit integer
+   */
+  public long getLong() {
+    requiredType(DataType.STRING);
+    if (value instanceof Long) {
+      return (Long) value;
+    }
+    return Long.parseLong(getString().toString());
+  }
+
+  /**
+   * Bitmap encoded strings are returned as they are, any other string is copied into a new bitmap.
+   */
+  public Bitmap getBitmap() {
+    requiredType(DataType.STRING);
+    if (value instanceof Bitmap) {
+      return (Bitmap) value;
+    }
+    return new Bitmap(getString().getBytes());
+  }
+
+  /**
+   * HyperLogLog encoded strings are returned as they are, any other string is parsed,
+   * returns null if it is not a valid HyperLogLog.
+   */
+  public HyperLogLog getHyperLogLog() {
+    requiredType(DataType.STRING);
+    if (value instanceof HyperLogLog) {
+      return (HyperLogLog) value;
+    }
+    return HyperLogLog.parse(getString().getBytes());
+  }
   
-  public List<SafeString> getList() {
+  public QuickList getList() {
     requiredType(DataType.LIST);
     return getValue();
   }
 
   public Set<SafeString> getSet() {
     requiredType(DataType.SET);
+    if (value instanceof IntSet) {
+      return ((IntSet) value).toSet();
+    }
+    if (value instanceof IndexedSet) {
+      return ((IndexedSet) value).toSet();
+    }
     return getValue();
   }
+
+  /**
+   * Int set encoded sets are returned as they are, null for any other set.
+   */
+  public IntSet getIntSet() {
+    requiredType(DataType.SET);
+    return value instanceof IntSet ? (IntSet) value : null;
+  }
+
+  /**
+   * Indexed sets are returned as they are, null for any other set.
+   */
+  public IndexedSet getIndexedSet() {
+    requiredType(DataType.SET);
+    return value instanceof IndexedSet ? (IndexedSet) value : null;
+  }
+
+  /**
+   * Membership test without decoding the set.
+   */
+  public boolean isMember(SafeString member) {
+    requiredType(DataType.SET);
+    if (value instanceof IntSet) {
+      return ((IntSet) value).contains(member);
+    }
+    if (value instanceof IndexedSet) {
+      return ((IndexedSet) value).contains(member);
+    }
+    return this.<Set<SafeString>>getValue().contains(member);
+  }
+
+  /**
+   * Member of a set by position, from 0 to size - 1, O(1) for int sets and indexed sets.
+   * Positions are stable until the set is modified.
+   */
+  public SafeString getMember(int position) {
+    requiredType(DataType.SET);
+    if (value instanceof IntSet) {
+      return ((IntSet) value).get(position);
+    }
+    if (value instanceof IndexedSet) {
+      return ((IndexedSet) value).get(position);
+    }
+    return this.<Set<SafeString>>getValue().toArray().get(position);
+  }
   
   public NavigableSet<Entry<Double, SafeString>> getSortedSet() {
     requiredType(DataType.ZSET);
-    return getValue();
+    return Collections.unmodifiableNavigableSet(getValue());
+  }
+
+  /**
+   * Score of a member of a sorted set without walking it, null if it is not a member.
+   */
+  public Double getScore(SafeString member) {
+    requiredType(DataType.ZSET);
+    SortedSet set = getValue();
+    return set.contains(member) ? set.score(member) : null;
   }
   
   public Map<SafeString, SafeString> getHash() {
@@ -96,46 +208,60 @@ public class DatabaseValue implements Serializable {
     return getValue();
   }
   
+  public StreamLog getStream() {
+    requiredType(DataType.STREAM);
+    return getValue();
+  }
+  
   public int size() {
     return Match(value).of(Case($(instanceOf(Set.class)), Set::size),
-                           Case($(instanceOf(List.class)), List::size),
+                           Case($(instanceOf(IntSet.class)), IntSet::size),
+                           Case($(instanceOf(IndexedSet.class)), IndexedSet::size),
+                           Case($(instanceOf(QuickList.class)), QuickList::size),
+                           Case($(instanceOf(StreamLog.class)), StreamLog::size),
                            Case($(instanceOf(Collection.class)), Collection::size),
                            Case($(instanceOf(Map.class)), Map::size),
                            Case($(instanceOf(SafeString.class)), 1),
+                           Case($(instanceOf(Long.class)), 1),
+                           Case($(instanceOf(Bitmap.class)), 1),
+                           Case($(instanceOf(HyperLogLog.class)), 1),
                            Case($(), other -> 0));
   }
 
-  public Instant getExpiredAt() {
+  /**
+   * Expiration time in epoch millis, or {@link #NO_EXPIRATION}.
+   */
+  public long getExpiredAt() {
     return expiredAt;
   }
 
-  public boolean isExpired(Instant now) {
-    if (expiredAt != null) {
-      return now.isAfter(expiredAt);
-    }
-    return false;
+  public boolean isExpired(long now) {
+    return expiredAt != NO_EXPIRATION && now > expiredAt;
   }
 
-  public long timeToLiveMillis(Instant now) {
-    if (expiredAt != null) {
-      return timeToLive(now);
+  public long timeToLiveMillis(long now) {
+    if (expiredAt != NO_EXPIRATION) {
+      return expiredAt - now;
     }
     return -1;
   }
 
-  public int timeToLiveSeconds(Instant now) {
-    if (expiredAt != null) {
-      return (int) Math.floorDiv(timeToLive(now), 1000L);
+  public int timeToLiveSeconds(long now) {
+    if (expiredAt != NO_EXPIRATION) {
+      return (int) Math.floorDiv(expiredAt - now, 1000L);
     }
     return -1;
   }
 
-  public DatabaseValue expiredAt(Instant instant) {
-    return new DatabaseValue(this.type, this.value, instant);
+  /**
+   * @param epochMillis absolute time in epoch millis, {@link #NO_EXPIRATION} to keep the value forever
+   */
+  public DatabaseValue expiredAt(long epochMillis) {
+    return new DatabaseValue(this.type, this.value, epochMillis);
   }
 
   public DatabaseValue expiredAt(int ttlSeconds) {
-    return new DatabaseValue(this.type, this.value, toInstant(toMillis(ttlSeconds)));
+    return new DatabaseValue(this.type, this.value, Clock.now() + toMillis(ttlSeconds));
   }
 
   public DatabaseValue noExpire() {
@@ -144,14 +270,15 @@ public class DatabaseValue implements Serializable {
 
   @Override
   public int hashCode() {
-    return Objects.hash(type, value);
+    return Objects.hash(type, type == DataType.SET ? membersHashCode() : comparableValue());
   }
 
   @Override
   public boolean equals(Object obj) {
     return equalizer(this)
         .append((one, other) -> Objects.equals(one.type, other.type))
-        .append((one, other) -> Objects.equals(one.value, other.value))
+        .append((one, other) -> one.type == DataType.SET
+            ? one.sameMembers(other) : Objects.equals(one.comparableValue(), other.comparableValue()))
         .applyTo(obj);
   }
 
@@ -168,42 +295,64 @@ public class DatabaseValue implements Serializable {
     return new DatabaseValue(DataType.STRING, value);
   }
 
+  /**
+   * String stored as a 64 bit integer, it is only rendered as text when it is read.
+   */
+  public static DatabaseValue string(long value) {
+    return new DatabaseValue(DataType.STRING, value);
+  }
+
   public static DatabaseValue list(Traversable<SafeString> values) {
-    return new DatabaseValue(DataType.LIST, requireNonNull(values).toList());
+    return new DatabaseValue(DataType.LIST, new QuickList(requireNonNull(values)));
   }
 
   public static DatabaseValue list(Collection<SafeString> values) {
-    return new DatabaseValue(DataType.LIST, requireNonNull(values).stream().collect(List.collector()));
+    return new DatabaseValue(DataType.LIST, new QuickList(requireNonNull(values)));
   }
 
   public static DatabaseValue list(SafeString... values) {
-    return new DatabaseValue(DataType.LIST, Stream.of(values).collect(List.collector()));
+    return new DatabaseValue(DataType.LIST, new QuickList(Arrays.asList(values)));
   }
   
   public static DatabaseValue set(Traversable<SafeString> values) {
-    return new DatabaseValue(DataType.SET, requireNonNull(values).toLinkedSet());
+    return new DatabaseValue(DataType.SET, encode(requireNonNull(values).toLinkedSet()));
   }
 
   public static DatabaseValue set(Collection<SafeString> values) {
     return new DatabaseValue(DataType.SET, 
-        requireNonNull(values).stream().collect(LinkedHashSet.collector()));
+        encode(requireNonNull(values).stream().collect(LinkedHashSet.collector())));
   }
 
   public static DatabaseValue set(SafeString... values) {
-    return new DatabaseValue(DataType.SET, Stream.of(values).collect(LinkedHashSet.collector()));
+    return new DatabaseValue(DataType.SET, encode(Stream.of(values).collect(LinkedHashSet.collector())));
+  }
+
+  /**
+   * The set is stored as it is, without encoding. For the sets of the admin database, like the
+   * subscribers of a channel, that are read as a whole by getSet and never by position.
+   */
+  public static DatabaseValue persistentSet(Set<SafeString> values) {
+    return new DatabaseValue(DataType.SET, requireNonNull(values));
+  }
+
+  public static DatabaseValue set(IntSet values) {
+    return new DatabaseValue(DataType.SET, requireNonNull(values));
+  }
+
+  /**
+   * The set is stored as it is, unless it is small enough to be stored as an int set.
+   */
+  public static DatabaseValue set(IndexedSet values) {
+    return new DatabaseValue(DataType.SET, encode(requireNonNull(values), values.size(), values));
   }
 
   public static DatabaseValue zset(Collection<Entry<Double, SafeString>> values) {
-    return new DatabaseValue(DataType.ZSET,
-        requireNonNull(values).stream().collect(collectingAndThen(toSortedSet(), 
-                                                                  Collections::unmodifiableNavigableSet)));
+    return new DatabaseValue(DataType.ZSET, requireNonNull(values).stream().collect(toSortedSet()));
   }
 
   @SafeVarargs
   public static DatabaseValue zset(Entry<Double, SafeString>... values) {
-    return new DatabaseValue(DataType.ZSET,
-        Stream.of(values).collect(collectingAndThen(toSortedSet(), 
-                                                    Collections::unmodifiableNavigableSet)));
+    return new DatabaseValue(DataType.ZSET, Stream.of(values).collect(toSortedSet()));
   }
 
   public static DatabaseValue hash(Collection<Tuple2<SafeString, SafeString>> values) {
@@ -220,12 +369,24 @@ public class DatabaseValue implements Serializable {
         Stream.of(values).collect(LinkedHashMap.collector()));
   }
 
+  public static DatabaseValue stream(StreamLog stream) {
+    return new DatabaseValue(DataType.STREAM, requireNonNull(stream));
+  }
+
+  public static DatabaseValue bitmap(Bitmap bitmap) {
+    return new DatabaseValue(DataType.STRING, requireNonNull(bitmap));
+  }
+
+  public static DatabaseValue hyperLogLog(HyperLogLog hll) {
+    return new DatabaseValue(DataType.STRING, requireNonNull(hll));
+  }
+
   public static DatabaseValue bitset(int... ones) {
-    BitSet bitSet = new BitSet();
+    Bitmap bitmap = new Bitmap();
     for (int position : ones) {
-      bitSet.set(position);
+      bitmap.set(position, true);
     }
-    return new DatabaseValue(DataType.STRING, new SafeString(bitSet.toByteArray()));
+    return bitmap(bitmap);
   }
 
   public static Tuple2<SafeString, SafeString> entry(SafeString key, SafeString value) {
@@ -236,22 +397,67 @@ public class DatabaseValue implements Serializable {
     return new SimpleEntry<>(score, value);
   }
 
-  private static Collector<Entry<Double, SafeString>, ?, NavigableSet<Entry<Double, SafeString>>> toSortedSet() {
-    return toCollection(SortedSet::new);
+  // small sets of integers are stored as int sets, any other set as an indexed set
+  private static Object encode(Set<SafeString> values) {
+    if (values.isEmpty()) {
+      return values;
+    }
+    return encode(values, values.size(), null);
   }
 
-  private long timeToLive(Instant now) {
-    return Duration.between(now, expiredAt).toMillis();
+  private static Object encode(Iterable<SafeString> values, int size, IndexedSet indexed) {
+    IntSet intSet = size > 0 && size <= IntSet.MAX_ENTRIES ? IntSet.of(values, size) : null;
+    if (intSet != null) {
+      return intSet;
+    }
+    return indexed != null ? indexed : new IndexedSet(values);
   }
 
-  private Instant toInstant(long ttlMillis) {
-    return now().plusMillis(ttlMillis);
+  private static Collector<Entry<Double, SafeString>, ?, NavigableSet<Entry<Double, SafeString>>> toSortedSet() {
+    return toCollection(SortedSet::new);
   }
 
   private long toMillis(int ttlSeconds) {
     return TimeUnit.SECONDS.toMillis(ttlSeconds);
   }
 
+  // integer, bitmap and hyperloglog encoded strings are equal to the same string stored as text
+  private Object comparableValue() {
+    return value instanceof Long || value instanceof Bitmap || value instanceof HyperLogLog ? getString() : value;
+  }
+
+  // sets are equal if they have the same members, whatever the encoding and the order
+  private boolean sameMembers(DatabaseValue other) {
+    if (size() != other.size()) {
+      return false;
+    }
+    for (SafeString member : members()) {
+      if (!other.isMember(member)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int membersHashCode() {
+    int hashCode = 0;
+    for (SafeString member : members()) {
+      hashCode += member.hashCode();
+    }
+    return hashCode;
+  }
+
+  private Iterable<SafeString> members() {
+    if (value instanceof IntSet) {
+      IntSet intSet = (IntSet) value;
+      return () -> IntStream.range(0, intSet.size()).mapToObj(intSet::get).iterator();
+    }
+    if (value instanceof IndexedSet) {
+      return (IndexedSet) value;
+    }
+    return this.<Set<SafeString>>getValue();
+  }
+
   @SuppressWarnings("unchecked")
   private <T> T getValue() {
     return (T) value;
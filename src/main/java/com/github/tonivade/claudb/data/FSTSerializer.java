@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.nio.ByteBuffer;
+
+import org.caffinitas.ohc.CacheSerializer;
+import org.nustaq.serialization.FSTConfiguration;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Serialization of keys and values stored out of the java heap, off heap or on disk.
+ */
+class FSTSerializer<E> implements CacheSerializer<E> {
+
+  private static final FSTConfiguration FST = FSTConfiguration.createDefaultConfiguration();
+
+  static {
+    FST.registerClass(DatabaseValue.class);
+    FST.registerClass(DatabaseKey.class);
+    FST.registerClass(SafeString.class);
+    FST.registerClass(SortedSet.class);
+    FST.registerClass(QuickList.class);
+    FST.registerClass(Bitmap.class);
+    FST.registerClass(HyperLogLog.class);
+    FST.registerClass(IntSet.class);
+    FST.registerClass(IndexedSet.class);
+    FST.registerClass(StreamLog.class);
+    FST.registerClass(StreamId.class);
+    FST.registerClass(ConsumerGroup.class);
+  }
+
+  public byte[] toByteArray(E value) {
+    return FST.asByteArray(value);
+  }
+
+  @SuppressWarnings("unchecked")
+  public E fromByteArray(byte[] array) {
+    return (E) FST.asObject(array);
+  }
+
+  @Override
+  public void serialize(E value, ByteBuffer buf) {
+    byte[] array = toByteArray(value);
+    buf.putInt(array.length);
+    buf.put(array);
+  }
+
+  @Override
+  public E deserialize(ByteBuffer buf) {
+    int length = buf.getInt();
+    byte[] array = new byte[length];
+    buf.get(array);
+    return fromByteArray(array);
+  }
+
+  @Override
+  public int serializedSize(E value) {
+    return toByteArray(value).length + Integer.BYTES;
+  }
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog with the same representation used by redis, so the strings can be exchanged
+ * with a redis server (GET/SET, RDB dumps and replication).
+ *
+ * The header is "HYLL", the encoding, three unused bytes and the cached cardinality, little
+ * endian, with the most significant bit set when it is not valid. Dense encoding stores 16384
+ * registers of 6 bits (12KB), sparse encoding stores runs of registers with the same value,
+ * and it is converted to dense when it grows over 3000 bytes or a register is bigger than 32.
+ */
+public class HyperLogLog implements Serializable {
+
+  private static final long serialVersionUID = 5390483146962381744L;
+
+  public static final int REGISTERS = 1 << 14;
+
+  private static final int P = 14;
+  private static final int Q = 64 - P;
+  private static final int BITS = 6;
+  private static final int REGISTER_MAX = (1 << BITS) - 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int DENSE_SIZE = (REGISTERS * BITS + 7) / 8;
+  private static final int SPARSE_MAX_BYTES = 3000;
+  private static final int SPARSE_VAL_MAX_VALUE = 32;
+  private static final int SPARSE_VAL_MAX_LEN = 4;
+  private static final int SPARSE_ZERO_MAX_LEN = 64;
+  private static final int SPARSE_XZERO_MAX_LEN = 16384;
+  private static final byte DENSE = 0;
+  private static final byte SPARSE = 1;
+  private static final byte[] MAGIC = { 'H', 'Y', 'L', 'L' };
+  private static final long SEED = 0xadc83b19L;
+  private static final double ALPHA_INF = 0.721347520444481703680;
+
+  private boolean dense;
+  private byte[] data;
+  private long cardinality;
+  private boolean valid = true;
+
+  public HyperLogLog() {
+    this.data = encodeSparse(new byte[REGISTERS]);
+  }
+
+  private HyperLogLog(boolean dense, byte[] data, long cardinality, boolean valid) {
+    this.dense = dense;
+    this.data = data;
+    this.cardinality = cardinality;
+    this.valid = valid;
+  }
+
+  /**
+   * Reads a HyperLogLog from its string representation, returns null if it is not valid.
+   */
+  public static HyperLogLog parse(byte[] bytes) {
+    if (bytes.length < HEADER_SIZE || !Arrays.equals(Arrays.copyOf(bytes, MAGIC.length), MAGIC)) {
+      return null;
+    }
+    byte encoding = bytes[4];
+    if (encoding == DENSE && bytes.length != HEADER_SIZE + DENSE_SIZE) {
+      return null;
+    }
+    if (encoding != DENSE && encoding != SPARSE) {
+      return null;
+    }
+    long cardinality = 0;
+    for (int i = 7; i >= 0; i--) {
+      cardinality = (cardinality << 8) | (bytes[8 + i] & 0xFF);
+    }
+    boolean valid = (bytes[15] & 0x80) == 0;
+    byte[] data;
+    if (encoding == DENSE) {
+      data = new byte[DENSE_SIZE + 1];
+      System.arraycopy(bytes, HEADER_SIZE, data, 0, DENSE_SIZE);
+    } else {
+      data = Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length);
+      if (!isValidSparse(data)) {
+        return null;
+      }
+    }
+    return new HyperLogLog(encoding == DENSE, data, valid ? cardinality : 0, valid);
+  }
+
+  /**
+   * Creates a dense HyperLogLog from the registers, one per byte.
+   */
+  public static HyperLogLog of(byte[] registers) {
+    HyperLogLog hll = new HyperLogLog(true, new byte[DENSE_SIZE + 1], 0, false);
+    for (int i = 0; i < REGISTERS; i++) {
+      hll.setDense(i, registers[i]);
+    }
+    return hll;
+  }
+
+  public boolean isDense() {
+    return dense;
+  }
+
+  /**
+   * Adds the elements and returns true if at least one register has changed.
+   */
+  public boolean add(byte[]... elements) {
+    boolean changed = false;
+    byte[] registers = null;
+    for (byte[] element : elements) {
+      long hash = hash(element);
+      int index = (int) (hash & (REGISTERS - 1));
+      int count = Long.numberOfTrailingZeros((hash >>> P) | (1L << Q)) + 1;
+      if (dense) {
+        if (getDense(index) < count) {
+          setDense(index, count);
+          changed = true;
+        }
+      } else {
+        if (registers == null) {
+          if (getSparse(index) >= count) {
+            continue;
+          }
+          registers = registers();
+        }
+        if (registers[index] < count) {
+          registers[index] = (byte) count;
+          changed = true;
+        }
+      }
+    }
+    if (registers != null) {
+      updateSparse(registers);
+    }
+    if (changed) {
+      valid = false;
+    }
+    return changed;
+  }
+
+  /**
+   * Estimated cardinality, the result is cached until the next change.
+   */
+  public long count() {
+    if (!valid) {
+      cardinality = count(histogram());
+      valid = true;
+    }
+    return cardinality;
+  }
+
+  public boolean isCached() {
+    return valid;
+  }
+
+  /**
+   * Estimated cardinality of the registers, one per byte.
+   */
+  public static long count(byte[] registers) {
+    int[] histogram = new int[64];
+    for (byte value : registers) {
+      histogram[value]++;
+    }
+    return count(histogram);
+  }
+
+  /**
+   * Registers, one per byte.
+   */
+  public byte[] registers() {
+    byte[] registers = new byte[REGISTERS];
+    merge(registers);
+    return registers;
+  }
+
+  /**
+   * Keeps in registers the maximum between the current value and this HyperLogLog.
+   */
+  public void merge(byte[] registers) {
+    if (dense) {
+      for (int i = 0; i < REGISTERS; i++) {
+        int value = getDense(i);
+        if (value > registers[i]) {
+          registers[i] = (byte) value;
+        }
+      }
+    } else {
+      int index = 0;
+      for (int i = 0; i < data.length;) {
+        int opcode = data[i] & 0xFF;
+        int length = runLength(data, i);
+        if (isVal(opcode)) {
+          int value = valValue(opcode);
+          for (int j = index; j < index + length; j++) {
+            if (value > registers[j]) {
+              registers[j] = (byte) value;
+            }
+          }
+        }
+        index += length;
+        i += isXZero(opcode) ? 2 : 1;
+      }
+    }
+  }
+
+  public byte[] toByteArray() {
+    int size = dense ? DENSE_SIZE : data.length;
+    byte[] bytes = new byte[HEADER_SIZE + size];
+    System.arraycopy(MAGIC, 0, bytes, 0, MAGIC.length);
+    bytes[4] = dense ? DENSE : SPARSE;
+    for (int i = 0; i < 8; i++) {
+      bytes[8 + i] = (byte) (cardinality >>> (i * 8));
+    }
+    if (!valid) {
+      bytes[15] |= 0x80;
+    }
+    System.arraycopy(data, 0, bytes, HEADER_SIZE, size);
+    return bytes;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(toByteArray());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof HyperLogLog)) {
+      return false;
+    }
+    return Arrays.equals(toByteArray(), ((HyperLogLog) obj).toByteArray());
+  }
+
+  @Override
+  public String toString() {
+    return "HyperLogLog [encoding=" + (dense ? "dense" : "sparse") + "]";
+  }
+
+  private int[] histogram() {
+    int[] histogram = new int[64];
+    if (dense) {
+      for (int i = 0; i < REGISTERS; i++) {
+        histogram[getDense(i)]++;
+      }
+    } else {
+      for (int i = 0; i < data.length;) {
+        int opcode = data[i] & 0xFF;
+        histogram[isVal(opcode) ? valValue(opcode) : 0] += runLength(data, i);
+        i += isXZero(opcode) ? 2 : 1;
+      }
+    }
+    return histogram;
+  }
+
+  // "New cardinality estimation algorithms for HyperLogLog sketches", Otmar Ertl, like redis
+  private static long count(int[] histogram) {
+    double m = REGISTERS;
+    double z = m * tau((m - histogram[Q + 1]) / m);
+    for (int j = Q; j >= 1; --j) {
+      z += histogram[j];
+      z *= 0.5;
+    }
+    z += m * sigma(histogram[0] / m);
+    return Math.round(ALPHA_INF * m * m / z);
+  }
+
+  private static double sigma(double x) {
+    if (x == 1.0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double zPrime;
+    double y = 1;
+    double z = x;
+    do {
+      x *= x;
+      zPrime = z;
+      z += x * y;
+      y += y;
+    } while (zPrime != z);
+    return z;
+  }
+
+  private static double tau(double x) {
+    if (x == 0.0 || x == 1.0) {
+      return 0.0;
+    }
+    double zPrime;
+    double y = 1.0;
+    double z = 1 - x;
+    do {
+      x = Math.sqrt(x);
+      zPrime = z;
+      y *= 0.5;
+      z -= Math.pow(1 - x, 2) * y;
+    } while (zPrime != z);
+    return z / 3;
+  }
+
+  private void updateSparse(byte[] registers) {
+    byte[] sparse = encodeSparse(registers);
+    if (sparse == null || HEADER_SIZE + sparse.length > SPARSE_MAX_BYTES) {
+      dense = true;
+      data = new byte[DENSE_SIZE + 1];
+      for (int i = 0; i < REGISTERS; i++) {
+        setDense(i, registers[i]);
+      }
+    } else {
+      data = sparse;
+    }
+  }
+
+  private int getSparse(int index) {
+    int position = 0;
+    for (int i = 0; i < data.length;) {
+      int opcode = data[i] & 0xFF;
+      position += runLength(data, i);
+      if (index < position) {
+        return isVal(opcode) ? valValue(opcode) : 0;
+      }
+      i += isXZero(opcode) ? 2 : 1;
+    }
+    return 0;
+  }
+
+  // dense registers are packed in 6 bits, least significant bits first, one more byte is
+  // allocated so the last register can be read without checking bounds
+  private int getDense(int index) {
+    int offset = index * BITS;
+    int position = offset >>> 3;
+    int shift = offset & 7;
+    int b0 = data[position] & 0xFF;
+    int b1 = data[position + 1] & 0xFF;
+    return ((b0 >>> shift) | (b1 << (8 - shift))) & REGISTER_MAX;
+  }
+
+  private void setDense(int index, int value) {
+    int offset = index * BITS;
+    int position = offset >>> 3;
+    int shift = offset & 7;
+    data[position] &= ~(REGISTER_MAX << shift);
+    data[position] |= value << shift;
+    data[position + 1] &= ~(REGISTER_MAX >>> (8 - shift));
+    data[position + 1] |= value >>> (8 - shift);
+  }
+
+  /**
+   * Run length encoding of the registers, or null if a value can not be represented.
+   */
+  private static byte[] encodeSparse(byte[] registers) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    int i = 0;
+    while (i < REGISTERS) {
+      int value = registers[i];
+      int end = i + 1;
+      while (end < REGISTERS && registers[end] == value) {
+        end++;
+      }
+      int length = end - i;
+      if (value == 0) {
+        while (length > 0) {
+          int run = Math.min(length, SPARSE_XZERO_MAX_LEN);
+          if (run > SPARSE_ZERO_MAX_LEN) {
+            output.write(0x40 | ((run - 1) >>> 8));
+            output.write((run - 1) & 0xFF);
+          } else {
+            output.write(run - 1);
+          }
+          length -= run;
+        }
+      } else if (value > SPARSE_VAL_MAX_VALUE) {
+        return null;
+      } else {
+        while (length > 0) {
+          int run = Math.min(length, SPARSE_VAL_MAX_LEN);
+          output.write(0x80 | ((value - 1) << 2) | (run - 1));
+          length -= run;
+        }
+      }
+      i = end;
+    }
+    return output.toByteArray();
+  }
+
+  private static boolean isValidSparse(byte[] data) {
+    int registers = 0;
+    for (int i = 0; i < data.length;) {
+      if (isXZero(data[i] & 0xFF) && i + 1 >= data.length) {
+        return false;
+      }
+      registers += runLength(data, i);
+      i += isXZero(data[i] & 0xFF) ? 2 : 1;
+    }
+    return registers == REGISTERS;
+  }
+
+  private static int runLength(byte[] data, int i) {
+    int opcode = data[i] & 0xFF;
+    if (isVal(opcode)) {
+      return (opcode & 0x3) + 1;
+    }
+    if (isXZero(opcode)) {
+      return (((opcode & 0x3F) << 8) | (data[i + 1] & 0xFF)) + 1;
+    }
+    return (opcode & 0x3F) + 1;
+  }
+
+  private static boolean isVal(int opcode) {
+    return (opcode & 0x80) != 0;
+  }
+
+  private static boolean isXZero(int opcode) {
+    return (opcode & 0xC0) == 0x40;
+  }
+
+  private static int valValue(int opcode) {
+    return ((opcode >>> 2) & 0x1F) + 1;
+  }
+
+  // MurmurHash64A, reading the blocks as little endian like redis does on x86
+  static long hash(byte[] key) {
+    final long m = 0xc6a4a7935bd1e995L;
+    final int r = 47;
+    int length = key.length;
+    long h = SEED ^ (length * m);
+    int blocks = length & ~7;
+    for (int i = 0; i < blocks; i += 8) {
+      long k = (key[i] & 0xFFL)
+          | (key[i + 1] & 0xFFL) << 8
+          | (key[i + 2] & 0xFFL) << 16
+          | (key[i + 3] & 0xFFL) << 24
+          | (key[i + 4] & 0xFFL) << 32
+          | (key[i + 5] & 0xFFL) << 40
+          | (key[i + 6] & 0xFFL) << 48
+          | (key[i + 7] & 0xFFL) << 56;
+      k *= m;
+      k ^= k >>> r;
+      k *= m;
+      h ^= k;
+      h *= m;
+    }
+    switch (length & 7) {
+    case 7: h ^= (key[blocks + 6] & 0xFFL) << 48;
+    case 6: h ^= (key[blocks + 5] & 0xFFL) << 40;
+    case 5: h ^= (key[blocks + 4] & 0xFFL) << 32;
+    case 4: h ^= (key[blocks + 3] & 0xFFL) << 24;
+    case 3: h ^= (key[blocks + 2] & 0xFFL) << 16;
+    case 2: h ^= (key[blocks + 1] & 0xFFL) << 8;
+    case 1: h ^= (key[blocks] & 0xFFL);
+      h *= m;
+    default:
+    }
+    h ^= h >>> r;
+    h *= m;
+    h ^= h >>> r;
+    return h;
+  }
+}
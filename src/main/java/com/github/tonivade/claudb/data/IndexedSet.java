@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+import io.vavr.collection.LinkedHashSet;
+import io.vavr.collection.Set;
+
+/**
+ * Set stored as a dense array of members plus a map from member to position, so any member
+ * can be accessed by position in O(1) and a random member can be picked without walking the
+ * set. A member is removed moving the last one to its position, so the order is the order of
+ * insertion only until the first removal.
+ */
+public class IndexedSet implements Iterable<SafeString>, Serializable {
+
+  private static final long serialVersionUID = 8118405707412361212L;
+
+  private final List<SafeString> members;
+  private final Map<SafeString, Integer> index;
+
+  public IndexedSet() {
+    this.members = new ArrayList<>();
+    this.index = new HashMap<>();
+  }
+
+  public IndexedSet(Iterable<SafeString> values) {
+    this();
+    values.forEach(this::add);
+  }
+
+  public int size() {
+    return members.size();
+  }
+
+  public boolean isEmpty() {
+    return members.isEmpty();
+  }
+
+  public boolean contains(SafeString member) {
+    return index.containsKey(member);
+  }
+
+  public SafeString get(int position) {
+    return members.get(position);
+  }
+
+  public boolean add(SafeString member) {
+    if (index.putIfAbsent(member, members.size()) != null) {
+      return false;
+    }
+    members.add(member);
+    return true;
+  }
+
+  public boolean remove(SafeString member) {
+    Integer position = index.get(member);
+    if (position == null) {
+      return false;
+    }
+    removeAt(position);
+    return true;
+  }
+
+  public SafeString removeAt(int position) {
+    SafeString member = members.get(position);
+    SafeString last = members.remove(members.size() - 1);
+    index.remove(member);
+    if (position < members.size()) {
+      members.set(position, last);
+      index.put(last, position);
+    }
+    return member;
+  }
+
+  public Set<SafeString> toSet() {
+    return LinkedHashSet.ofAll(members);
+  }
+
+  @Override
+  public Iterator<SafeString> iterator() {
+    return Collections.unmodifiableList(members).iterator();
+  }
+
+  @Override
+  public int hashCode() {
+    return index.keySet().hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof IndexedSet)) {
+      return false;
+    }
+    return index.keySet().equals(((IndexedSet) obj).index.keySet());
+  }
+
+  @Override
+  public String toString() {
+    return "IndexedSet" + members;
+  }
+}
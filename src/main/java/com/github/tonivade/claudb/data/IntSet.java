@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+import io.vavr.collection.LinkedHashSet;
+import io.vavr.collection.Set;
+
+/**
+ * Set of integers stored as a sorted array, like the intset encoding of redis. It is used for
+ * small sets when all the members are integers in canonical form (no plus sign, no leading zeros),
+ * so they can be rendered again exactly as they were added.
+ *
+ * Like vavr sets, it is immutable, commands build a new set and the value is encoded again.
+ */
+public final class IntSet implements Serializable {
+
+  private static final long serialVersionUID = -3036154811426924566L;
+
+  public static final int MAX_ENTRIES = 512;
+
+  private static final int HEADER_SIZE = 8;
+
+  private final long[] values;
+
+  private IntSet(long[] values) {
+    this.values = values;
+  }
+
+  public int size() {
+    return values.length;
+  }
+
+  public boolean contains(SafeString member) {
+    Long value = toLong(member);
+    return value != null && Arrays.binarySearch(values, value) >= 0;
+  }
+
+  public SafeString get(int position) {
+    return safeString(String.valueOf(values[position]));
+  }
+
+  /**
+   * Members rendered as strings, in ascending order.
+   */
+  public Set<SafeString> toSet() {
+    return LinkedHashSet.ofAll(Arrays.stream(values).mapToObj(value -> safeString(String.valueOf(value))));
+  }
+
+  /**
+   * Same format used by redis in RDB dumps: encoding (bytes per member), length and members,
+   * all of them little endian, members use the smallest encoding that fits all of them.
+   */
+  public byte[] toByteArray() {
+    int encoding = encoding();
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + encoding * values.length).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(encoding);
+    buffer.putInt(values.length);
+    for (long value : values) {
+      if (encoding == Short.BYTES) {
+        buffer.putShort((short) value);
+      } else if (encoding == Integer.BYTES) {
+        buffer.putInt((int) value);
+      } else {
+        buffer.putLong(value);
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * @throws IllegalArgumentException if it is not a valid intset
+   */
+  public static IntSet parse(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    if (bytes.length < HEADER_SIZE) {
+      throw new IllegalArgumentException("invalid intset");
+    }
+    int encoding = buffer.getInt();
+    int length = buffer.getInt();
+    if ((encoding != Short.BYTES && encoding != Integer.BYTES && encoding != Long.BYTES)
+        || length < 0 || bytes.length != HEADER_SIZE + (long) encoding * length) {
+      throw new IllegalArgumentException("invalid intset");
+    }
+    long[] values = new long[length];
+    for (int i = 0; i < length; i++) {
+      if (encoding == Short.BYTES) {
+        values[i] = buffer.getShort();
+      } else if (encoding == Integer.BYTES) {
+        values[i] = buffer.getInt();
+      } else {
+        values[i] = buffer.getLong();
+      }
+      if (i > 0 && values[i] <= values[i - 1]) {
+        throw new IllegalArgumentException("invalid intset");
+      }
+    }
+    return new IntSet(values);
+  }
+
+  /**
+   * Returns null if any of the members is not an integer or there are too many of them.
+   */
+  public static IntSet of(Iterable<SafeString> members, int size) {
+    if (size > MAX_ENTRIES) {
+      return null;
+    }
+    long[] values = new long[size];
+    int i = 0;
+    for (SafeString member : members) {
+      Long value = toLong(member);
+      if (value == null || i == size) {
+        return null;
+      }
+      values[i++] = value;
+    }
+    if (i != size) {
+      return null;
+    }
+    Arrays.sort(values);
+    int length = 0;
+    for (int j = 0; j < values.length; j++) {
+      if (j == 0 || values[j] != values[j - 1]) {
+        values[length++] = values[j];
+      }
+    }
+    return new IntSet(length < values.length ? Arrays.copyOf(values, length) : values);
+  }
+
+  /**
+   * Value of a member in canonical form, null if it is not.
+   */
+  public static Long toLong(SafeString member) {
+    byte[] bytes = member.getBytes();
+    // 20 characters: -9223372036854775808
+    if (bytes.length == 0 || bytes.length > 20) {
+      return null;
+    }
+    for (int i = 0; i < bytes.length; i++) {
+      byte b = bytes[i];
+      if (!(b >= '0' && b <= '9') && !(i == 0 && b == '-' && bytes.length > 1)) {
+        return null;
+      }
+    }
+    String value = member.toString();
+    try {
+      long result = Long.parseLong(value);
+      return String.valueOf(result).equals(value) ? result : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private int encoding() {
+    long min = values.length > 0 ? values[0] : 0;
+    long max = values.length > 0 ? values[values.length - 1] : 0;
+    if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+      return Short.BYTES;
+    }
+    if (min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE) {
+      return Integer.BYTES;
+    }
+    return Long.BYTES;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(values);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof IntSet)) {
+      return false;
+    }
+    return Arrays.equals(values, ((IntSet) obj).values);
+  }
+
+  @Override
+  public String toString() {
+    return "IntSet" + Arrays.toString(values);
+  }
+}
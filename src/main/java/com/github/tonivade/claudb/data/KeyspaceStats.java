@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of keyspace lookups and expired keys of all the databases. They are updated for
+ * every command, so they are striped counters, cheap to increment and only summed when read.
+ */
+public class KeyspaceStats {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+
+  void hit() {
+    hits.increment();
+  }
+
+  void miss() {
+    misses.increment();
+  }
+
+  void expired() {
+    expired.increment();
+  }
+
+  public void reset() {
+    hits.reset();
+    misses.reset();
+    expired.reset();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Keys removed because they have expired, when accessed or by the periodic cleaner.
+   */
+  public long getExpired() {
+    return expired.sum();
+  }
+
+  /**
+   * Keys removed to free memory, there is no maxmemory policy so no key is ever evicted.
+   */
+  public long getEvicted() {
+    return 0;
+  }
+}
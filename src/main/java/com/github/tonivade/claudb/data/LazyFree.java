@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reclaims in a background thread the memory (or disk) of data removed from the databases,
+ * like the content of a database detached by FLUSHDB ASYNC, so the command thread does not
+ * have to wait for it.
+ */
+public class LazyFree {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LazyFree.class);
+
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private ExecutorService executor;
+
+  public void free(Runnable reclaim) {
+    pending.incrementAndGet();
+    executor().execute(() -> {
+      try {
+        reclaim.run();
+      } catch (RuntimeException e) {
+        LOGGER.error("error freeing memory", e);
+      } finally {
+        pending.decrementAndGet();
+      }
+    });
+  }
+
+  public int getPending() {
+    return pending.get();
+  }
+
+  public synchronized void shutdown() {
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+  }
+
+  private synchronized ExecutorService executor() {
+    if (executor == null) {
+      executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lazy-free");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return executor;
+  }
+}
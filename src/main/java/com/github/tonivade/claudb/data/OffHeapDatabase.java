@@ -6,9 +6,9 @@ package com.github.tonivade.claudb.data;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.time.Instant;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.function.Supplier;
 
 import org.caffinitas.ohc.CloseableIterator;
 import org.caffinitas.ohc.OHCache;
@@ -21,10 +21,13 @@ import io.vavr.collection.Set;
 
 public class OffHeapDatabase implements Database {
 
+  private final Supplier<OHCache<DatabaseKey, DatabaseValue>> cacheFactory;
+
   private OHCache<DatabaseKey, DatabaseValue> cache;
 
-  public OffHeapDatabase(OHCache<DatabaseKey, DatabaseValue> cache) {
-    this.cache = cache;
+  public OffHeapDatabase(Supplier<OHCache<DatabaseKey, DatabaseValue>> cacheFactory) {
+    this.cacheFactory = cacheFactory;
+    this.cache = cacheFactory.get();
   }
 
   @Override
@@ -46,7 +49,7 @@ public class OffHeapDatabase implements Database {
   public DatabaseValue get(DatabaseKey key) {
     DatabaseValue value = cache.get(key);
     if (value != null) {
-      if (!value.isExpired(Instant.now())) {
+      if (!value.isExpired(Clock.now())) {
         return value;
       }
       cache.remove(key);
@@ -56,14 +59,24 @@ public class OffHeapDatabase implements Database {
 
   @Override
   public DatabaseValue put(DatabaseKey key, DatabaseValue value) {
+    DatabaseValue oldValue = cache.get(key);
     cache.put(key, value);
-    return value;
+    return oldValue;
+  }
+
+  @Override
+  public boolean store(DatabaseKey key, DatabaseValue value) {
+    boolean existed = cache.containsKey(key);
+    cache.put(key, value);
+    return existed;
   }
 
   @Override
   public DatabaseValue remove(DatabaseKey key) {
-    DatabaseValue value = get(key);
-    cache.remove(key);
+    DatabaseValue value = cache.get(key);
+    if (value != null) {
+      cache.remove(key);
+    }
     return value;
   }
 
@@ -72,6 +85,24 @@ public class OffHeapDatabase implements Database {
     cache.clear();
   }
 
+  @Override
+  public Runnable detach() {
+    OHCache<DatabaseKey, DatabaseValue> detached = cache;
+    cache = cacheFactory.get();
+    return () -> {
+      try {
+        detached.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
+
+  @Override
+  public boolean unlink(DatabaseKey key) {
+    return cache.remove(key);
+  }
+
   @Override
   public Set<DatabaseKey> keySet() {
     HashSet<DatabaseKey> keys = new HashSet<>();
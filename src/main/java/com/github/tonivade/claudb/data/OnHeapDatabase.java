@@ -4,7 +4,7 @@
  */
 package com.github.tonivade.claudb.data;
 
-import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 
 import io.vavr.Tuple;
@@ -16,7 +16,7 @@ import io.vavr.collection.Set;
 
 public class OnHeapDatabase implements Database {
 
-  private final Map<DatabaseKey, DatabaseValue> cache;
+  private Map<DatabaseKey, DatabaseValue> cache;
 
   public OnHeapDatabase(Map<DatabaseKey, DatabaseValue> cache) {
     this.cache = cache;
@@ -41,7 +41,7 @@ public class OnHeapDatabase implements Database {
   public DatabaseValue get(DatabaseKey key) {
     DatabaseValue value = cache.get(key);
     if (value != null) {
-      if (!value.isExpired(Instant.now())) {
+      if (!value.isExpired(Clock.now())) {
         return value;
       }
       cache.remove(key);
@@ -66,6 +66,13 @@ public class OnHeapDatabase implements Database {
     cache.clear();
   }
 
+  @Override
+  public Runnable detach() {
+    Map<DatabaseKey, DatabaseValue> detached = cache;
+    cache = new HashMap<>();
+    return detached::clear;
+  }
+
   @Override
   public Set<DatabaseKey> keySet() {
     return HashSet.ofAll(cache.keySet());
@@ -0,0 +1,518 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Doubly linked list of small arrays. Push and pop at both ends are O(1), access by
+ * index only has to walk the nodes, not the elements.
+ */
+public class QuickList implements Iterable<SafeString>, Serializable {
+
+  private static final long serialVersionUID = 3424536829442426713L;
+
+  static final int NODE_SIZE = 128;
+  private static final int INITIAL_NODE_SIZE = 4;
+
+  static final QuickList EMPTY = new QuickList(true);
+
+  private final transient boolean readOnly;
+
+  private transient Node head;
+  private transient Node tail;
+  private transient int size;
+
+  public QuickList() {
+    this(false);
+  }
+
+  public QuickList(Iterable<SafeString> values) {
+    this(false);
+    values.forEach(this::addLast);
+  }
+
+  private QuickList(boolean readOnly) {
+    this.readOnly = readOnly;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void addFirst(SafeString value) {
+    checkWritable();
+    if (head == null || (head.start == 0 && !head.growFront())) {
+      linkFirst(new Node(INITIAL_NODE_SIZE, INITIAL_NODE_SIZE));
+    }
+    head.items[--head.start] = value;
+    head.count++;
+    size++;
+  }
+
+  public void addLast(SafeString value) {
+    checkWritable();
+    if (tail == null || (tail.end() == tail.items.length && !tail.growBack())) {
+      linkLast(new Node(INITIAL_NODE_SIZE, 0));
+    }
+    tail.items[tail.end()] = value;
+    tail.count++;
+    size++;
+  }
+
+  public SafeString removeFirst() {
+    checkWritable();
+    if (head == null) {
+      throw new NoSuchElementException();
+    }
+    SafeString value = head.items[head.start];
+    head.items[head.start++] = null;
+    head.count--;
+    size--;
+    if (head.count == 0) {
+      unlink(head);
+    }
+    return value;
+  }
+
+  public SafeString removeLast() {
+    checkWritable();
+    if (tail == null) {
+      throw new NoSuchElementException();
+    }
+    int last = tail.end() - 1;
+    SafeString value = tail.items[last];
+    tail.items[last] = null;
+    tail.count--;
+    size--;
+    if (tail.count == 0) {
+      unlink(tail);
+    }
+    return value;
+  }
+
+  public SafeString get(int index) {
+    checkIndex(index);
+    Node node = nodeOf(index);
+    return node.items[node.start + offsetOf(node, index)];
+  }
+
+  public void set(int index, SafeString value) {
+    checkWritable();
+    checkIndex(index);
+    Node node = nodeOf(index);
+    node.items[node.start + offsetOf(node, index)] = value;
+  }
+
+  /**
+   * Elements between from and to, both inclusive, indexes must be already normalized.
+   */
+  public List<SafeString> range(int from, int to) {
+    List<SafeString> result = new ArrayList<>(Math.max(0, to - from + 1));
+    if (from > to || from >= size) {
+      return result;
+    }
+    Node node = nodeOf(from);
+    int offset = offsetOf(node, from);
+    int remaining = Math.min(to, size - 1) - from + 1;
+    while (remaining > 0) {
+      int n = Math.min(remaining, node.count - offset);
+      for (int i = 0; i < n; i++) {
+        result.add(node.items[node.start + offset + i]);
+      }
+      remaining -= n;
+      offset = 0;
+      node = node.next;
+    }
+    return result;
+  }
+
+  /**
+   * Keeps only the elements between from and to, both inclusive, indexes must be already normalized.
+   */
+  public void trim(int from, int to) {
+    checkWritable();
+    if (from > to || from >= size) {
+      clear();
+      return;
+    }
+    dropFirst(from);
+    dropLast(size - (Math.min(to, size + from - 1) - from + 1));
+  }
+
+  /**
+   * Inserts the value before or after the first occurrence of pivot, returns false if pivot is not found.
+   */
+  public boolean insert(SafeString pivot, SafeString value, boolean before) {
+    checkWritable();
+    for (Node node = head; node != null; node = node.next) {
+      for (int i = 0; i < node.count; i++) {
+        if (Objects.equals(node.items[node.start + i], pivot)) {
+          insertAt(node, before ? i : i + 1, value);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes up to count occurrences of value, starting from the head if count is positive,
+   * from the tail if it is negative, or all of them if it is zero. Returns the number of removed elements.
+   */
+  public int remove(int count, SafeString value) {
+    checkWritable();
+    int limit = count == 0 ? Integer.MAX_VALUE : Math.abs(count);
+    int removed = 0;
+    if (count >= 0) {
+      for (Node node = head; node != null && removed < limit;) {
+        Node next = node.next;
+        removed += node.removeForward(value, limit - removed);
+        unlinkIfEmpty(node);
+        node = next;
+      }
+    } else {
+      for (Node node = tail; node != null && removed < limit;) {
+        Node prev = node.prev;
+        removed += node.removeBackward(value, limit - removed);
+        unlinkIfEmpty(node);
+        node = prev;
+      }
+    }
+    size -= removed;
+    return removed;
+  }
+
+  public void clear() {
+    checkWritable();
+    head = null;
+    tail = null;
+    size = 0;
+  }
+
+  public Stream<SafeString> stream() {
+    return StreamSupport.stream(
+        Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.SIZED), false);
+  }
+
+  public List<SafeString> toList() {
+    return range(0, size - 1);
+  }
+
+  @Override
+  public Iterator<SafeString> iterator() {
+    return new Iterator<SafeString>() {
+      private Node node = head;
+      private int offset;
+
+      @Override
+      public boolean hasNext() {
+        return node != null;
+      }
+
+      @Override
+      public SafeString next() {
+        if (node == null) {
+          throw new NoSuchElementException();
+        }
+        SafeString value = node.items[node.start + offset++];
+        if (offset == node.count) {
+          node = node.next;
+          offset = 0;
+        }
+        return value;
+      }
+    };
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (SafeString value : this) {
+      hash = 31 * hash + Objects.hashCode(value);
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof QuickList)) {
+      return false;
+    }
+    QuickList other = (QuickList) obj;
+    if (size != other.size) {
+      return false;
+    }
+    Iterator<SafeString> iterator = other.iterator();
+    for (SafeString value : this) {
+      if (!Objects.equals(value, iterator.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return toList().toString();
+  }
+
+  private void insertAt(Node node, int offset, SafeString value) {
+    if (node.count == node.items.length && !node.growBack()) {
+      Node split = node.split();
+      if (tail == node) {
+        tail = split;
+      }
+      if (offset > node.count) {
+        offset -= node.count;
+        node = split;
+      }
+    }
+    node.insert(offset, value);
+    size++;
+  }
+
+  private void dropFirst(int n) {
+    while (n > 0 && head.count <= n) {
+      n -= head.count;
+      size -= head.count;
+      unlink(head);
+    }
+    for (int i = 0; i < n; i++) {
+      removeFirst();
+    }
+  }
+
+  private void dropLast(int n) {
+    while (n > 0 && tail.count <= n) {
+      n -= tail.count;
+      size -= tail.count;
+      unlink(tail);
+    }
+    for (int i = 0; i < n; i++) {
+      removeLast();
+    }
+  }
+
+  private Node nodeOf(int index) {
+    if (index < size / 2) {
+      int position = 0;
+      Node node = head;
+      while (position + node.count <= index) {
+        position += node.count;
+        node = node.next;
+      }
+      node.position = position;
+      return node;
+    }
+    int position = size;
+    Node node = tail;
+    while (position - node.count > index) {
+      position -= node.count;
+      node = node.prev;
+    }
+    node.position = position - node.count;
+    return node;
+  }
+
+  private int offsetOf(Node node, int index) {
+    return index - node.position;
+  }
+
+  private void linkFirst(Node node) {
+    node.next = head;
+    if (head != null) {
+      head.prev = node;
+    } else {
+      tail = node;
+    }
+    head = node;
+  }
+
+  private void linkLast(Node node) {
+    node.prev = tail;
+    if (tail != null) {
+      tail.next = node;
+    } else {
+      head = node;
+    }
+    tail = node;
+  }
+
+  private void unlinkIfEmpty(Node node) {
+    if (node.count == 0) {
+      unlink(node);
+    }
+  }
+
+  private void unlink(Node node) {
+    if (node.prev != null) {
+      node.prev.next = node.next;
+    } else {
+      head = node.next;
+    }
+    if (node.next != null) {
+      node.next.prev = node.prev;
+    } else {
+      tail = node.prev;
+    }
+    node.prev = null;
+    node.next = null;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+    }
+  }
+
+  private void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("read only list");
+    }
+  }
+
+  private void writeObject(ObjectOutputStream output) throws IOException {
+    output.defaultWriteObject();
+    output.writeInt(size);
+    for (SafeString value : this) {
+      output.writeObject(value);
+    }
+  }
+
+  private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+    input.defaultReadObject();
+    int length = input.readInt();
+    for (int i = 0; i < length; i++) {
+      addLast((SafeString) input.readObject());
+    }
+  }
+
+  private static final class Node {
+    private SafeString[] items;
+    private int start;
+    private int count;
+    private int position;
+
+    private Node prev;
+    private Node next;
+
+    private Node(int capacity, int start) {
+      this.items = new SafeString[capacity];
+      this.start = start;
+    }
+
+    private int end() {
+      return start + count;
+    }
+
+    private boolean growFront() {
+      if (items.length >= NODE_SIZE) {
+        return false;
+      }
+      int capacity = Math.min(NODE_SIZE, items.length * 2);
+      SafeString[] array = new SafeString[capacity];
+      int newStart = start + capacity - items.length;
+      System.arraycopy(items, start, array, newStart, count);
+      items = array;
+      start = newStart;
+      return true;
+    }
+
+    private boolean growBack() {
+      if (items.length >= NODE_SIZE) {
+        return false;
+      }
+      int capacity = Math.min(NODE_SIZE, items.length * 2);
+      SafeString[] array = new SafeString[capacity];
+      System.arraycopy(items, start, array, start, count);
+      items = array;
+      return true;
+    }
+
+    // there must be room at one of the ends
+    private void insert(int offset, SafeString value) {
+      if (end() < items.length) {
+        int position = start + offset;
+        System.arraycopy(items, position, items, position + 1, count - offset);
+        items[position] = value;
+      } else {
+        System.arraycopy(items, start, items, start - 1, offset);
+        start--;
+        items[start + offset] = value;
+      }
+      count++;
+    }
+
+    private Node split() {
+      int half = count / 2;
+      Node node = new Node(NODE_SIZE, 0);
+      System.arraycopy(items, start + half, node.items, 0, count - half);
+      Arrays.fill(items, start + half, end(), null);
+      node.count = count - half;
+      count = half;
+      node.next = next;
+      node.prev = this;
+      if (next != null) {
+        next.prev = node;
+      }
+      next = node;
+      return node;
+    }
+
+    private int removeForward(SafeString value, int limit) {
+      int removed = 0;
+      int write = start;
+      for (int read = start; read < end(); read++) {
+        if (removed < limit && Objects.equals(items[read], value)) {
+          removed++;
+        } else {
+          items[write++] = items[read];
+        }
+      }
+      Arrays.fill(items, write, end(), null);
+      count -= removed;
+      return removed;
+    }
+
+    private int removeBackward(SafeString value, int limit) {
+      int removed = 0;
+      int write = end() - 1;
+      for (int read = end() - 1; read >= start; read--) {
+        if (removed < limit && Objects.equals(items[read], value)) {
+          removed++;
+        } else {
+          items[write--] = items[read];
+        }
+      }
+      Arrays.fill(items, start, write + 1, null);
+      start = write + 1;
+      count -= removed;
+      return removed;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append only file mapped in memory, values are written one after the other and they are
+ * never modified, a value that is overwritten or removed is garbage until the segment is
+ * compacted.
+ */
+final class Segment {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(Segment.class);
+
+  private static final Consumer<MappedByteBuffer> UNMAPPER = unmapper();
+
+  private final int id;
+  private final Path file;
+  private final MappedByteBuffer buffer;
+
+  private int position;
+  private long live;
+  private boolean deleted;
+
+  Segment(int id, Path file, int capacity) throws IOException {
+    this.id = id;
+    this.file = file;
+    try (FileChannel channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+      // the mapping remains valid after the channel is closed
+      this.buffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+    }
+  }
+
+  int getId() {
+    return id;
+  }
+
+  int capacity() {
+    return buffer.capacity();
+  }
+
+  boolean hasRoom(int length) {
+    return buffer.capacity() - position >= length;
+  }
+
+  /**
+   * Returns the offset where the value has been written.
+   */
+  int append(byte[] value) {
+    int offset = position;
+    ByteBuffer view = buffer.duplicate();
+    view.position(offset);
+    view.put(value);
+    position += value.length;
+    live += value.length;
+    return offset;
+  }
+
+  byte[] read(int offset, int length) {
+    byte[] value = new byte[length];
+    ByteBuffer view = buffer.duplicate();
+    view.position(offset);
+    view.get(value);
+    return value;
+  }
+
+  void release(int length) {
+    live -= length;
+  }
+
+  /**
+   * Fraction of the written bytes that belong to values still in use.
+   */
+  double liveRatio() {
+    return position > 0 ? (double) live / position : 1.0;
+  }
+
+  boolean isEmpty() {
+    return live == 0;
+  }
+
+  /**
+   * Unmaps the file and removes it. The segment must not be used after it is deleted, accessing
+   * an unmapped buffer crashes the JVM.
+   */
+  void delete() throws IOException {
+    if (!deleted) {
+      deleted = true;
+      UNMAPPER.accept(buffer);
+    }
+    Files.deleteIfExists(file);
+  }
+
+  // a mapped buffer is unmapped when it is collected, unless its cleaner is run before, with
+  // Unsafe.invokeCleaner since java 9, or with the cleaner of the buffer in java 8. If none of
+  // them is available it is left to the garbage collector.
+  private static Consumer<MappedByteBuffer> unmapper() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      Object unsafe = field.get(null);
+      return buffer -> invoke(invokeCleaner, unsafe, buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // java 8
+    }
+    try {
+      Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> invoke(clean, invoke(cleaner, buffer));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.warn("mapped segments will not be unmapped until they are collected", e);
+      return buffer -> { };
+    }
+  }
+
+  private static Object invoke(Method method, Object target, Object... args) {
+    try {
+      return method.invoke(target, args);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("error unmapping segment", e);
+    }
+  }
+}
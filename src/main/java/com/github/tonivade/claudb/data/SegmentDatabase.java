@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+
+/**
+ * Database that stores the values in append only segment files mapped in memory, so the data
+ * set can be larger than the memory. Only the keys are kept on heap, with the location of the
+ * value and its expiration, so checking if a key exists or has expired does not read the disk.
+ *
+ * The files are only a place to keep the values out of the heap, they are removed when the
+ * database is created or cleared, persistence is still done with RDB dumps and AOF journal.
+ *
+ * Writes only append to the active segment, space of overwritten or removed values is reclaimed
+ * by {@link #compact()}, moving the live values of the segment with more garbage to the active
+ * one. It runs in a background thread, so all the methods are synchronized, the lock is not
+ * contended unless a compaction is running, and even then it is released every few values.
+ */
+public class SegmentDatabase implements Database {
+
+  static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final double COMPACT_RATIO = 0.5;
+  private static final int COMPACT_BATCH = 1000;
+
+  private final Path directory;
+  private final String name;
+  private final int segmentSize;
+
+  private final FSTSerializer<DatabaseValue> serializer = new FSTSerializer<>();
+
+  private Map<DatabaseKey, Location> index = new HashMap<>();
+  private Map<Integer, Segment> segments = new TreeMap<>();
+
+  private Segment active;
+  private int nextSegment;
+
+  public SegmentDatabase(Path directory, String name, int segmentSize) {
+    this.directory = directory;
+    this.name = name;
+    this.segmentSize = segmentSize;
+    deleteFiles();
+  }
+
+  @Override
+  public synchronized int size() {
+    return index.size();
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return index.isEmpty();
+  }
+
+  @Override
+  public synchronized boolean containsKey(DatabaseKey key) {
+    return index.containsKey(key);
+  }
+
+  @Override
+  public synchronized DatabaseValue get(DatabaseKey key) {
+    Location location = index.get(key);
+    if (location != null) {
+      if (!location.isExpired(Clock.now())) {
+        return read(location);
+      }
+      release(index.remove(key));
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized DatabaseValue put(DatabaseKey key, DatabaseValue value) {
+    Location oldLocation = index.put(key, write(serializer.toByteArray(value), value.getExpiredAt()));
+    if (oldLocation != null) {
+      DatabaseValue oldValue = read(oldLocation);
+      release(oldLocation);
+      return oldValue;
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized boolean store(DatabaseKey key, DatabaseValue value) {
+    Location oldLocation = index.put(key, write(serializer.toByteArray(value), value.getExpiredAt()));
+    if (oldLocation != null) {
+      release(oldLocation);
+      return !oldLocation.isExpired(Clock.now());
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized DatabaseValue remove(DatabaseKey key) {
+    Location location = index.remove(key);
+    if (location != null) {
+      DatabaseValue value = read(location);
+      release(location);
+      return value;
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized void clear() {
+    index.clear();
+    segments.values().forEach(this::delete);
+    segments.clear();
+    active = null;
+    deleteFiles();
+  }
+
+  @Override
+  public synchronized Runnable detach() {
+    Map<Integer, Segment> detached = segments;
+    index = new HashMap<>();
+    segments = new TreeMap<>();
+    active = null;
+    return () -> detached.values().forEach(this::delete);
+  }
+
+  @Override
+  public synchronized boolean unlink(DatabaseKey key) {
+    Location location = index.remove(key);
+    if (location != null) {
+      release(location);
+      return !location.isExpired(Clock.now());
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized Set<DatabaseKey> keySet() {
+    return HashSet.ofAll(index.keySet());
+  }
+
+  @Override
+  public synchronized Seq<DatabaseValue> values() {
+    return io.vavr.collection.List.ofAll(index.values()).map(this::read);
+  }
+
+  @Override
+  public synchronized Set<Tuple2<DatabaseKey, DatabaseValue>> entrySet() {
+    return HashSet.ofAll(index.entrySet()).map(entry -> Tuple.of(entry.getKey(), read(entry.getValue())));
+  }
+
+  @Override
+  public synchronized Set<DatabaseKey> evictableKeys(long now) {
+    return HashSet.ofAll(index.entrySet())
+        .filter(entry -> entry.getValue().isExpired(now))
+        .map(Map.Entry::getKey);
+  }
+
+  /**
+   * Moves the live values of the segment with less live data to the active segment and removes
+   * the file, if there is a segment with more garbage than live values. Returns true if a
+   * segment has been compacted.
+   */
+  public boolean compact() {
+    Segment victim;
+    List<DatabaseKey> keys = new ArrayList<>();
+    synchronized (this) {
+      victim = findVictim();
+      if (victim == null) {
+        return false;
+      }
+      index.forEach((key, location) -> {
+        if (location.segment == victim.getId()) {
+          keys.add(key);
+        }
+      });
+    }
+    Iterator<DatabaseKey> iterator = keys.iterator();
+    while (iterator.hasNext()) {
+      synchronized (this) {
+        if (segments.get(victim.getId()) != victim) {
+          // removed in the meantime, it has been cleared or all the values were overwritten
+          return false;
+        }
+        for (int i = 0; i < COMPACT_BATCH && iterator.hasNext(); i++) {
+          move(iterator.next(), victim);
+        }
+      }
+    }
+    synchronized (this) {
+      if (segments.get(victim.getId()) == victim && victim.isEmpty()) {
+        segments.remove(victim.getId());
+        delete(victim);
+      }
+    }
+    return true;
+  }
+
+  private Segment findVictim() {
+    Segment victim = null;
+    for (Segment segment : segments.values()) {
+      if (segment != active && segment.liveRatio() < COMPACT_RATIO
+          && (victim == null || segment.liveRatio() < victim.liveRatio())) {
+        victim = segment;
+      }
+    }
+    return victim;
+  }
+
+  private void move(DatabaseKey key, Segment victim) {
+    Location location = index.get(key);
+    // it may have been overwritten or removed since the keys were collected
+    if (location != null && location.segment == victim.getId()) {
+      byte[] value = victim.read(location.offset, location.length);
+      index.put(key, write(value, location.expiredAt));
+      victim.release(location.length);
+    }
+  }
+
+  private Location write(byte[] value, long expiredAt) {
+    if (active == null || !active.hasRoom(value.length)) {
+      active = createSegment(Math.max(segmentSize, value.length));
+    }
+    int offset = active.append(value);
+    return new Location(active.getId(), offset, value.length, expiredAt);
+  }
+
+  private DatabaseValue read(Location location) {
+    byte[] value = segments.get(location.segment).read(location.offset, location.length);
+    return serializer.fromByteArray(value);
+  }
+
+  private void release(Location location) {
+    Segment segment = segments.get(location.segment);
+    segment.release(location.length);
+    if (segment != active && segment.isEmpty()) {
+      segments.remove(segment.getId());
+      delete(segment);
+    }
+  }
+
+  private Segment createSegment(int capacity) {
+    int id = nextSegment++;
+    try {
+      Segment segment = new Segment(id, directory.resolve(name + "-" + id + ".seg"), capacity);
+      segments.put(id, segment);
+      return segment;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void delete(Segment segment) {
+    try {
+      segment.delete();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void deleteFiles() {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String fileName = file.getFileName().toString();
+        if (fileName.startsWith(name + "-") && fileName.endsWith(".seg")) {
+          Files.delete(file);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class Location {
+    private final int segment;
+    private final int offset;
+    private final int length;
+    private final long expiredAt;
+
+    private Location(int segment, int offset, int length, long expiredAt) {
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+      this.expiredAt = expiredAt;
+    }
+
+    private boolean isExpired(long now) {
+      return expiredAt != NO_EXPIRATION && now > expiredAt;
+    }
+  }
+}
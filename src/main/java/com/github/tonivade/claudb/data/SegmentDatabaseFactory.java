@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Databases stored in segment files, the most recently used keys are kept on heap if
+ * hotKeys is greater than 0.
+ */
+public class SegmentDatabaseFactory implements DatabaseFactory {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentDatabaseFactory.class);
+
+  private static final int COMPACT_PERIOD = 1;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int hotKeys;
+
+  private final List<SegmentDatabase> databases = new CopyOnWriteArrayList<>();
+
+  private ScheduledExecutorService executor;
+
+  public SegmentDatabaseFactory(Path directory, int hotKeys) {
+    this(directory, hotKeys, SegmentDatabase.DEFAULT_SEGMENT_SIZE);
+  }
+
+  public SegmentDatabaseFactory(Path directory, int hotKeys, int segmentSize) {
+    this.directory = directory;
+    this.hotKeys = hotKeys;
+    this.segmentSize = segmentSize;
+  }
+
+  @Override
+  public synchronized Database create(String name) {
+    SegmentDatabase database = new SegmentDatabase(createDirectory(), name, segmentSize);
+    databases.add(database);
+    if (executor == null) {
+      executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "segment-compaction");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.scheduleWithFixedDelay(this::compact, COMPACT_PERIOD, COMPACT_PERIOD, TimeUnit.SECONDS);
+    }
+    return hotKeys > 0 ? new TieredDatabase(database, hotKeys) : database;
+  }
+
+  @Override
+  public synchronized void clear() {
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+    databases.forEach(SegmentDatabase::clear);
+    databases.clear();
+  }
+
+  private void compact() {
+    for (SegmentDatabase database : databases) {
+      try {
+        database.compact();
+      } catch (RuntimeException e) {
+        LOGGER.error("error compacting segments", e);
+      }
+    }
+  }
+
+  private Path createDirectory() {
+    try {
+      return Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
+
+import io.vavr.Tuple2;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+
+/**
+ * Database that keeps the statistics of the keyspace updated as keys are read and written, so
+ * they can be reported without scanning the keys. The number of keys is the size of the
+ * database, this keeps the number of keys with expiration and an estimation of their time to
+ * live, like redis, it is an average of the time to live of the last keys with expiration.
+ *
+ * The databases remove an expired key when it is accessed and do not return it, if there are
+ * keys with expiration the size is checked before and after to know that it has happened.
+ */
+public class StatsDatabase implements Database {
+
+  private static final int AVG_TTL_SAMPLES = 50;
+
+  private final Database database;
+  private final KeyspaceStats stats;
+
+  private long expires;
+  private long avgTtl;
+
+  public StatsDatabase(Database database, KeyspaceStats stats) {
+    this.database = database;
+    this.stats = stats;
+  }
+
+  public long getExpires() {
+    return expires;
+  }
+
+  /**
+   * Estimated time to live in millis of the keys with expiration, 0 if there is none.
+   */
+  public long getAvgTtl() {
+    return expires > 0 ? avgTtl : 0;
+  }
+
+  public void reset() {
+    expires = 0;
+    avgTtl = 0;
+  }
+
+  @Override
+  public int size() {
+    return database.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return database.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(DatabaseKey key) {
+    return database.containsKey(key);
+  }
+
+  @Override
+  public DatabaseValue get(DatabaseKey key) {
+    DatabaseValue value = lookup(key);
+    if (value != null) {
+      stats.hit();
+    } else {
+      stats.miss();
+    }
+    return value;
+  }
+
+  @Override
+  public boolean isType(DatabaseKey key, DataType type) {
+    // checking the type is not a lookup of the command, only the expiration is tracked
+    DatabaseValue value = lookup(key);
+    return value != null ? value.getType() == type : true;
+  }
+
+  @Override
+  public DatabaseValue put(DatabaseKey key, DatabaseValue value) {
+    DatabaseValue oldValue = database.put(key, value);
+    added(value);
+    return oldValue != null ? removed(oldValue) : null;
+  }
+
+  @Override
+  public boolean store(DatabaseKey key, DatabaseValue value) {
+    if (expires > 0) {
+      // it has to know if the old value had expiration
+      return put(key, value) != null;
+    }
+    boolean existed = database.store(key, value);
+    added(value);
+    return existed;
+  }
+
+  @Override
+  public DatabaseValue remove(DatabaseKey key) {
+    int size = expires > 0 ? database.size() : 0;
+    DatabaseValue value = database.remove(key);
+    if (value != null) {
+      return removed(value);
+    }
+    if (expires > 0 && database.size() < size) {
+      expired();
+    }
+    return null;
+  }
+
+  @Override
+  public boolean unlink(DatabaseKey key) {
+    if (expires > 0) {
+      // it has to know if the key had expiration
+      return remove(key) != null;
+    }
+    return database.unlink(key);
+  }
+
+  @Override
+  public void clear() {
+    database.clear();
+    reset();
+  }
+
+  @Override
+  public Runnable detach() {
+    Runnable reclaim = database.detach();
+    reset();
+    return reclaim;
+  }
+
+  @Override
+  public Set<DatabaseKey> keySet() {
+    return database.keySet();
+  }
+
+  @Override
+  public Seq<DatabaseValue> values() {
+    return database.values();
+  }
+
+  @Override
+  public Set<Tuple2<DatabaseKey, DatabaseValue>> entrySet() {
+    return database.entrySet();
+  }
+
+  @Override
+  public Set<DatabaseKey> evictableKeys(long now) {
+    return database.evictableKeys(now);
+  }
+
+  private DatabaseValue lookup(DatabaseKey key) {
+    int size = expires > 0 ? database.size() : 0;
+    DatabaseValue value = database.get(key);
+    if (value == null && expires > 0 && database.size() < size) {
+      expired();
+    }
+    return value;
+  }
+
+  /**
+   * Some databases return the removed value even if it has expired, then it is discarded.
+   */
+  private DatabaseValue removed(DatabaseValue value) {
+    if (value.getExpiredAt() != NO_EXPIRATION) {
+      expires--;
+      if (value.isExpired(Clock.now())) {
+        stats.expired();
+        return null;
+      }
+    }
+    return value;
+  }
+
+  private void added(DatabaseValue value) {
+    if (value.getExpiredAt() != NO_EXPIRATION) {
+      expires++;
+      sampleTtl(Math.max(value.getExpiredAt() - Clock.now(), 0));
+    }
+  }
+
+  private void expired() {
+    expires--;
+    stats.expired();
+  }
+
+  private void sampleTtl(long ttl) {
+    avgTtl = avgTtl == 0 ? ttl : (avgTtl / AVG_TTL_SAMPLES) * (AVG_TTL_SAMPLES - 1) + ttl / AVG_TTL_SAMPLES;
+  }
+}
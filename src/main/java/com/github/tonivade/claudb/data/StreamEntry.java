@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static tonivade.equalizer.Equalizer.equalizer;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+public final class StreamEntry {
+
+  private final StreamId id;
+  private final List<SafeString> fields;
+
+  public StreamEntry(StreamId id, List<SafeString> fields) {
+    this.id = requireNonNull(id);
+    this.fields = unmodifiableList(requireNonNull(fields));
+  }
+
+  public StreamId getId() {
+    return id;
+  }
+
+  /**
+   * Field names and values, one after the other.
+   */
+  public List<SafeString> getFields() {
+    return fields;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, fields);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return equalizer(this)
+        .append((one, other) -> Objects.equals(one.id, other.id))
+        .append((one, other) -> Objects.equals(one.fields, other.fields))
+        .applyTo(obj);
+  }
+
+  @Override
+  public String toString() {
+    return "StreamEntry [id=" + id + ", fields=" + fields + "]";
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static tonivade.equalizer.Equalizer.equalizer;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Identifier of an entry of a stream, milliseconds time and a sequence number
+ * for the entries added in the same millisecond.
+ */
+public final class StreamId implements Comparable<StreamId>, Serializable {
+
+  private static final long serialVersionUID = -2316203741588937711L;
+
+  public static final StreamId MIN = new StreamId(0, 0);
+  public static final StreamId MAX = new StreamId(Long.MAX_VALUE, Long.MAX_VALUE);
+
+  private final long time;
+  private final long sequence;
+
+  public StreamId(long time, long sequence) {
+    if (time < 0 || sequence < 0) {
+      throw new IllegalArgumentException("invalid stream id: " + time + "-" + sequence);
+    }
+    this.time = time;
+    this.sequence = sequence;
+  }
+
+  public long getTime() {
+    return time;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Smallest id greater than this one.
+   */
+  public StreamId next() {
+    if (sequence == Long.MAX_VALUE) {
+      return new StreamId(time + 1, 0);
+    }
+    return new StreamId(time, sequence + 1);
+  }
+
+  @Override
+  public int compareTo(StreamId other) {
+    int result = Long.compare(time, other.time);
+    return result != 0 ? result : Long.compare(sequence, other.sequence);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(time, sequence);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return equalizer(this)
+        .append((one, other) -> one.time == other.time && one.sequence == other.sequence)
+        .applyTo(obj);
+  }
+
+  @Override
+  public String toString() {
+    return time + "-" + sequence;
+  }
+
+  /**
+   * Parses ids like 1526919030474-55, if the sequence is missing the default one is used.
+   *
+   * @throws IllegalArgumentException if it is not a valid id
+   */
+  public static StreamId parse(SafeString value, long defaultSequence) {
+    String id = value.toString();
+    int separator = id.indexOf('-');
+    try {
+      if (separator < 0) {
+        return new StreamId(Long.parseLong(id), defaultSequence);
+      }
+      return new StreamId(Long.parseLong(id.substring(0, separator)), Long.parseLong(id.substring(separator + 1)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("invalid stream id: " + id, e);
+    }
+  }
+}
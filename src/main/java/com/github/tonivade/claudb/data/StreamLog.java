@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static java.util.Collections.unmodifiableMap;
+import static tonivade.equalizer.Equalizer.equalizer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Append only log of entries ordered by id. Entries are stored in blocks of up to
+ * BLOCK_ENTRIES, indexed by the id of its first entry, inside a block ids are delta
+ * encoded and the field names are omitted when they are the same of the first entry,
+ * so a range only has to decode the blocks it touches.
+ */
+public class StreamLog implements Serializable {
+
+  private static final long serialVersionUID = -3961744364628806424L;
+
+  static final int BLOCK_ENTRIES = 100;
+  static final int BLOCK_BYTES = 4096;
+
+  private final TreeMap<StreamId, Block> blocks = new TreeMap<>();
+  private final Map<SafeString, ConsumerGroup> groups = new LinkedHashMap<>();
+
+  private StreamId lastId = StreamId.MIN;
+  private int size;
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Greatest id ever added, even if the entry has been trimmed.
+   */
+  public StreamId getLastId() {
+    return lastId;
+  }
+
+  /**
+   * Restores the greatest id ever added, it is greater than the last entry if it has been trimmed.
+   *
+   * @throws IllegalArgumentException if it is lower than the last id
+   */
+  public void setLastId(StreamId id) {
+    if (id.compareTo(lastId) < 0) {
+      throw new IllegalArgumentException("id " + id + " is lower than " + lastId);
+    }
+    lastId = id;
+  }
+
+  /**
+   * Id for a new entry added at the given time.
+   */
+  public StreamId nextId(long now) {
+    if (now > lastId.getTime()) {
+      return new StreamId(now, 0);
+    }
+    return lastId.next();
+  }
+
+  /**
+   * @throws IllegalArgumentException if the id is not greater than the last one
+   */
+  public void add(StreamId id, List<SafeString> fields) {
+    if (id.compareTo(lastId) <= 0) {
+      throw new IllegalArgumentException("id " + id + " is not greater than " + lastId);
+    }
+    Map.Entry<StreamId, Block> last = blocks.lastEntry();
+    if (last == null || !last.getValue().append(id, fields)) {
+      blocks.put(id, new Block(id, fields));
+    }
+    lastId = id;
+    size++;
+  }
+
+  /**
+   * Entries with id between start and end, both inclusive. If count is zero all are returned.
+   */
+  public List<StreamEntry> range(StreamId start, StreamId end, int count) {
+    List<StreamEntry> result = new ArrayList<>();
+    if (start.compareTo(end) > 0) {
+      return result;
+    }
+    for (Block block : blocks.subMap(fromKey(start), true, end, true).values()) {
+      if (block.last.compareTo(start) < 0) {
+        continue;
+      }
+      for (StreamEntry entry : block.entries()) {
+        if (entry.getId().compareTo(start) >= 0 && entry.getId().compareTo(end) <= 0) {
+          result.add(entry);
+          if (result.size() == count) {
+            return result;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Like range but from end to start.
+   */
+  public List<StreamEntry> reverseRange(StreamId end, StreamId start, int count) {
+    List<StreamEntry> result = new ArrayList<>();
+    if (start.compareTo(end) > 0) {
+      return result;
+    }
+    for (Block block : blocks.subMap(fromKey(start), true, end, true).descendingMap().values()) {
+      if (block.last.compareTo(start) < 0) {
+        break;
+      }
+      List<StreamEntry> entries = block.entries();
+      for (int i = entries.size() - 1; i >= 0; i--) {
+        StreamEntry entry = entries.get(i);
+        if (entry.getId().compareTo(start) >= 0 && entry.getId().compareTo(end) <= 0) {
+          result.add(entry);
+          if (result.size() == count) {
+            return result;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Entries with id greater than the given one.
+   */
+  public List<StreamEntry> after(StreamId id, int count) {
+    if (id.equals(StreamId.MAX)) {
+      return new ArrayList<>();
+    }
+    return range(id.next(), StreamId.MAX, count);
+  }
+
+  /**
+   * Entry with the given id, null if it does not exists or it has been trimmed.
+   */
+  public StreamEntry get(StreamId id) {
+    List<StreamEntry> entries = range(id, id, 1);
+    return entries.isEmpty() ? null : entries.get(0);
+  }
+
+  /**
+   * Removes the oldest entries until there are no more than maxlen. If approximate, only whole
+   * blocks are removed, so some more entries can be kept, but no block has to be rewritten.
+   *
+   * @return number of entries removed
+   */
+  public int trim(int maxlen, boolean approximate) {
+    int removed = 0;
+    while (size > maxlen) {
+      Block first = blocks.firstEntry().getValue();
+      if (size - first.count >= maxlen) {
+        blocks.pollFirstEntry();
+        size -= first.count;
+        removed += first.count;
+      } else if (approximate) {
+        break;
+      } else {
+        int drop = size - maxlen;
+        List<StreamEntry> entries = first.entries();
+        blocks.pollFirstEntry();
+        Block rest = Block.of(entries.subList(drop, entries.size()));
+        blocks.put(rest.first, rest);
+        size -= drop;
+        removed += drop;
+      }
+    }
+    return removed;
+  }
+
+  public ConsumerGroup getGroup(SafeString name) {
+    return groups.get(name);
+  }
+
+  /**
+   * Returns false if the group already exists.
+   */
+  public boolean createGroup(SafeString name, StreamId lastDelivered) {
+    return groups.putIfAbsent(name, new ConsumerGroup(lastDelivered)) == null;
+  }
+
+  public boolean destroyGroup(SafeString name) {
+    return groups.remove(name) != null;
+  }
+
+  public Map<SafeString, ConsumerGroup> getGroups() {
+    return unmodifiableMap(groups);
+  }
+
+  int blocks() {
+    return blocks.size();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(lastId, size);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return equalizer(this)
+        .append((one, other) -> Objects.equals(one.lastId, other.lastId))
+        .append((one, other) -> one.size == other.size)
+        .append((one, other) -> Objects.equals(one.range(StreamId.MIN, StreamId.MAX, 0),
+                                               other.range(StreamId.MIN, StreamId.MAX, 0)))
+        .applyTo(obj);
+  }
+
+  @Override
+  public String toString() {
+    return "StreamLog [size=" + size + ", lastId=" + lastId + "]";
+  }
+
+  private StreamId fromKey(StreamId start) {
+    StreamId floor = blocks.floorKey(start);
+    return floor != null ? floor : start;
+  }
+
+  private static final class Block implements Serializable {
+
+    private static final long serialVersionUID = -1458744163870316385L;
+
+    private static final int SAME_NAMES = 1;
+
+    private final StreamId first;
+    private final SafeString[] names;
+    private StreamId last;
+    private int count;
+    private byte[] data = new byte[64];
+    private int length;
+
+    private Block(StreamId first, List<SafeString> fields) {
+      this.first = first;
+      this.last = first;
+      this.names = names(fields);
+      write(first, fields);
+    }
+
+    private static Block of(List<StreamEntry> entries) {
+      StreamEntry head = entries.get(0);
+      Block block = new Block(head.getId(), head.getFields());
+      for (StreamEntry entry : entries.subList(1, entries.size())) {
+        block.write(entry.getId(), entry.getFields());
+      }
+      return block;
+    }
+
+    private boolean append(StreamId id, List<SafeString> fields) {
+      if (count >= BLOCK_ENTRIES || length >= BLOCK_BYTES) {
+        return false;
+      }
+      write(id, fields);
+      return true;
+    }
+
+    private void write(StreamId id, List<SafeString> fields) {
+      long timeDelta = id.getTime() - last.getTime();
+      writeLong(timeDelta);
+      writeLong(timeDelta == 0 ? id.getSequence() - last.getSequence() : id.getSequence());
+      boolean sameNames = Arrays.equals(names, names(fields));
+      ensureCapacity(1);
+      data[length++] = (byte) (sameNames ? SAME_NAMES : 0);
+      writeLong(fields.size() / 2);
+      for (int i = 0; i < fields.size(); i += 2) {
+        if (!sameNames) {
+          writeString(fields.get(i));
+        }
+        writeString(fields.get(i + 1));
+      }
+      last = id;
+      count++;
+    }
+
+    private List<StreamEntry> entries() {
+      List<StreamEntry> entries = new ArrayList<>(count);
+      int[] position = { 0 };
+      long time = first.getTime();
+      long sequence = first.getSequence();
+      for (int i = 0; i < count; i++) {
+        long timeDelta = readLong(position);
+        long value = readLong(position);
+        time += timeDelta;
+        sequence = timeDelta == 0 ? sequence + value : value;
+        boolean sameNames = data[position[0]++] == SAME_NAMES;
+        int pairs = (int) readLong(position);
+        List<SafeString> fields = new ArrayList<>(pairs * 2);
+        for (int j = 0; j < pairs; j++) {
+          fields.add(sameNames ? names[j] : readString(position));
+          fields.add(readString(position));
+        }
+        entries.add(new StreamEntry(new StreamId(time, sequence), fields));
+      }
+      return entries;
+    }
+
+    private void writeLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        data[length++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      data[length++] = (byte) value;
+    }
+
+    private long readLong(int[] position) {
+      long value = 0;
+      int shift = 0;
+      byte current;
+      do {
+        current = data[position[0]++];
+        value |= (long) (current & 0x7F) << shift;
+        shift += 7;
+      } while ((current & 0x80) != 0);
+      return value;
+    }
+
+    private void writeString(SafeString value) {
+      byte[] bytes = value.getBytes();
+      writeLong(bytes.length);
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, data, length, bytes.length);
+      length += bytes.length;
+    }
+
+    private SafeString readString(int[] position) {
+      int size = (int) readLong(position);
+      SafeString value = new SafeString(Arrays.copyOfRange(data, position[0], position[0] + size));
+      position[0] += size;
+      return value;
+    }
+
+    private void ensureCapacity(int bytes) {
+      if (length + bytes > data.length) {
+        data = Arrays.copyOf(data, Math.max(data.length * 2, length + bytes));
+      }
+    }
+
+    private static SafeString[] names(List<SafeString> fields) {
+      SafeString[] names = new SafeString[fields.size() / 2];
+      for (int i = 0; i < names.length; i++) {
+        names[i] = fields.get(i * 2);
+      }
+      return names;
+    }
+  }
+}
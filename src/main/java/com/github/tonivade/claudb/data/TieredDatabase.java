@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.vavr.Tuple2;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+
+/**
+ * Database with two tiers, the most recently used keys are kept on heap as live objects and
+ * the rest are demoted to an off heap database. A key is only in one of the tiers at a time,
+ * when a cold key is accessed it is promoted to the hot tier, and the least recently used
+ * key of the hot tier is demoted if it is full.
+ */
+public class TieredDatabase implements Database {
+
+  private final int maxHotKeys;
+
+  private final Database cold;
+
+  private Map<DatabaseKey, DatabaseValue> hotCache;
+  private Database hot;
+
+  public TieredDatabase(Database cold, int maxHotKeys) {
+    if (maxHotKeys < 1) {
+      throw new IllegalArgumentException("max hot keys must be positive: " + maxHotKeys);
+    }
+    this.cold = cold;
+    this.maxHotKeys = maxHotKeys;
+    createHotTier();
+  }
+
+  @Override
+  public int size() {
+    return hot.size() + cold.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return hot.isEmpty() && cold.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(DatabaseKey key) {
+    return hot.containsKey(key) || cold.containsKey(key);
+  }
+
+  @Override
+  public DatabaseValue get(DatabaseKey key) {
+    DatabaseValue value = hot.get(key);
+    if (value == null) {
+      // it is deserialized only once, and then it is a live object until it is demoted again
+      value = cold.remove(key);
+      if (value == null || value.isExpired(Clock.now())) {
+        return null;
+      }
+      promote(key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public DatabaseValue put(DatabaseKey key, DatabaseValue value) {
+    DatabaseValue oldValue = remove(key);
+    promote(key, value);
+    return oldValue;
+  }
+
+  @Override
+  public boolean store(DatabaseKey key, DatabaseValue value) {
+    boolean existed = unlink(key);
+    promote(key, value);
+    return existed;
+  }
+
+  @Override
+  public DatabaseValue remove(DatabaseKey key) {
+    DatabaseValue value = hot.remove(key);
+    return value != null ? value : cold.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    hot.clear();
+    cold.clear();
+  }
+
+  @Override
+  public Runnable detach() {
+    // the hot tier is on heap, it is reclaimed by the garbage collector
+    createHotTier();
+    return cold.detach();
+  }
+
+  @Override
+  public boolean unlink(DatabaseKey key) {
+    return hot.remove(key) != null || cold.unlink(key);
+  }
+
+  @Override
+  public Set<DatabaseKey> keySet() {
+    return hot.keySet().addAll(cold.keySet());
+  }
+
+  @Override
+  public Seq<DatabaseValue> values() {
+    return hot.values().appendAll(cold.values());
+  }
+
+  @Override
+  public Set<Tuple2<DatabaseKey, DatabaseValue>> entrySet() {
+    return hot.entrySet().addAll(cold.entrySet());
+  }
+
+  public int hotSize() {
+    return hot.size();
+  }
+
+  private void createHotTier() {
+    hotCache = new LinkedHashMap<>(16, 0.75f, true);
+    hot = new OnHeapDatabase(hotCache);
+  }
+
+  private void promote(DatabaseKey key, DatabaseValue value) {
+    hotCache.put(key, value);
+    Iterator<Map.Entry<DatabaseKey, DatabaseValue>> iterator = hotCache.entrySet().iterator();
+    while (hotCache.size() > maxHotKeys) {
+      Map.Entry<DatabaseKey, DatabaseValue> eldest = iterator.next();
+      cold.put(eldest.getKey(), eldest.getValue());
+      iterator.remove();
+    }
+  }
+}
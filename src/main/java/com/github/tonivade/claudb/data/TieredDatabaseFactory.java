@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+public class TieredDatabaseFactory implements DatabaseFactory {
+
+  private final OffHeapDatabaseFactory offHeap = new OffHeapDatabaseFactory();
+
+  private final int maxHotKeys;
+
+  public TieredDatabaseFactory(int maxHotKeys) {
+    this.maxHotKeys = maxHotKeys;
+  }
+
+  @Override
+  public Database create(String name) {
+    return new TieredDatabase(offHeap.create(name), maxHotKeys);
+  }
+
+  @Override
+  public void clear() {
+    offHeap.clear();
+  }
+}
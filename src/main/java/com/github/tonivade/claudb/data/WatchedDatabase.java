@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.tonivade.claudb.WatchState;
+
+import io.vavr.Tuple2;
+import io.vavr.collection.Seq;
+
+/**
+ * Database that marks as dirty the clients watching a key when the key is modified.
+ * If nobody is watching, writes only pay an extra isEmpty check.
+ */
+public class WatchedDatabase implements Database {
+
+  private final Database database;
+
+  private final Map<DatabaseKey, Set<WatchState>> watchers = new HashMap<>();
+
+  public WatchedDatabase(Database database) {
+    this.database = database;
+  }
+
+  public void watch(DatabaseKey key, WatchState state) {
+    watchers.computeIfAbsent(key, k -> new HashSet<>()).add(state);
+  }
+
+  public void unwatch(DatabaseKey key, WatchState state) {
+    Set<WatchState> states = watchers.get(key);
+    if (states != null) {
+      states.remove(state);
+      if (states.isEmpty()) {
+        watchers.remove(key);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return database.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return database.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(DatabaseKey key) {
+    return database.containsKey(key);
+  }
+
+  @Override
+  public DatabaseValue get(DatabaseKey key) {
+    return database.get(key);
+  }
+
+  @Override
+  public boolean isType(DatabaseKey key, DataType type) {
+    return database.isType(key, type);
+  }
+
+  @Override
+  public DatabaseValue put(DatabaseKey key, DatabaseValue value) {
+    if (!watchers.isEmpty()) {
+      touch(key);
+    }
+    return database.put(key, value);
+  }
+
+  @Override
+  public boolean store(DatabaseKey key, DatabaseValue value) {
+    if (!watchers.isEmpty()) {
+      touch(key);
+    }
+    return database.store(key, value);
+  }
+
+  @Override
+  public DatabaseValue remove(DatabaseKey key) {
+    DatabaseValue value = database.remove(key);
+    if (value != null && !watchers.isEmpty()) {
+      touch(key);
+    }
+    return value;
+  }
+
+  @Override
+  public void clear() {
+    if (!watchers.isEmpty()) {
+      watchers.keySet().stream().filter(database::containsKey).forEach(this::touch);
+    }
+    database.clear();
+  }
+
+  @Override
+  public Runnable detach() {
+    if (!watchers.isEmpty()) {
+      watchers.keySet().stream().filter(database::containsKey).forEach(this::touch);
+    }
+    return database.detach();
+  }
+
+  @Override
+  public boolean unlink(DatabaseKey key) {
+    boolean removed = database.unlink(key);
+    if (removed && !watchers.isEmpty()) {
+      touch(key);
+    }
+    return removed;
+  }
+
+  @Override
+  public io.vavr.collection.Set<DatabaseKey> keySet() {
+    return database.keySet();
+  }
+
+  @Override
+  public Seq<DatabaseValue> values() {
+    return database.values();
+  }
+
+  @Override
+  public io.vavr.collection.Set<Tuple2<DatabaseKey, DatabaseValue>> entrySet() {
+    return database.entrySet();
+  }
+
+  @Override
+  public io.vavr.collection.Set<DatabaseKey> evictableKeys(long now) {
+    return database.evictableKeys(now);
+  }
+
+  private void touch(DatabaseKey key) {
+    Set<WatchState> states = watchers.get(key);
+    if (states != null) {
+      states.forEach(WatchState::touch);
+    }
+  }
+}
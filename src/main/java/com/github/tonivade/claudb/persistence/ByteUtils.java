@@ -33,6 +33,37 @@ public class ByteUtils {
         ((long)(array[0] & 0xFF)) << 56;
   }
 
+  /**
+   * Value of the bytes if they are the canonical decimal representation of a long, without
+   * sign or leading zeros, the same string is returned when it is converted back, or null.
+   */
+  static Long parseLong(byte[] bytes) {
+    if (bytes.length == 0 || bytes.length > 20) {
+      return null;
+    }
+    boolean negative = bytes[0] == '-';
+    int start = negative ? 1 : 0;
+    if (start == bytes.length || (bytes[start] == '0' && (negative || bytes.length > 1))) {
+      return null;
+    }
+    // accumulated as a negative number, the range is one larger than the positive one
+    long value = 0;
+    for (int i = start; i < bytes.length; i++) {
+      int digit = bytes[i] - '0';
+      if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+        return null;
+      }
+      value = value * 10 - digit;
+    }
+    if (!negative) {
+      if (value == Long.MIN_VALUE) {
+        return null;
+      }
+      value = -value;
+    }
+    return value;
+  }
+
   public static int byteArrayToInt(byte[] array) {
     return array[3] & 0xFF |
         (array[2] & 0xFF) << 8 |
@@ -6,16 +6,22 @@ package com.github.tonivade.claudb.persistence;
 
 import java.util.zip.Checksum;
 
+/**
+ * CRC-64 (Jones, reflected, no initial or final xor) of the RDB dumps, the same used by redis. Blocks of bytes are processed with the
+ * slicing-by-8 algorithm, eight bytes per iteration using a lookup table for each position,
+ * instead of one byte per lookup.
+ */
 public class CRC64 implements Checksum {
 
   private static final int LOOKUPTABLE_SIZE = 256;
-  private static final long POLY64REV = 0xC96C5795D7870F42L;
-  private static final long LOOKUPTABLE[] = new long[LOOKUPTABLE_SIZE];
+  private static final int SLICES = Long.BYTES;
+  private static final long POLY64REV = 0x95AC9329AC4BC9B5L;
+  private static final long LOOKUPTABLE[][] = new long[SLICES][LOOKUPTABLE_SIZE];
 
-  private long crc = -1;
+  private long crc = 0;
 
   static {
-    for (int b = 0; b < LOOKUPTABLE.length; ++b) {
+    for (int b = 0; b < LOOKUPTABLE_SIZE; ++b) {
       long r = b;
       for (int i = 0; i < Long.BYTES; ++i) {
         if ((r & 1) == 1) {
@@ -24,31 +30,75 @@ public class CRC64 implements Checksum {
           r >>>= 1;
         }
       }
-      LOOKUPTABLE[b] = r;
+      LOOKUPTABLE[0][b] = r;
+    }
+    // table k is the crc of a byte followed by k zero bytes
+    for (int k = 1; k < SLICES; ++k) {
+      for (int b = 0; b < LOOKUPTABLE_SIZE; ++b) {
+        long r = LOOKUPTABLE[k - 1][b];
+        LOOKUPTABLE[k][b] = (r >>> 8) ^ LOOKUPTABLE[0][(int) r & 0xFF];
+      }
     }
   }
 
   @Override
   public void update(int b) {
-    crc = LOOKUPTABLE[((b & 0xFF) ^ (int) crc) & 0xFF] ^ (crc >>> 8);
+    crc = LOOKUPTABLE[0][((b & 0xFF) ^ (int) crc) & 0xFF] ^ (crc >>> 8);
   }
 
   @Override
   public void update(byte[] buf, int off, int len) {
+    long[] t0 = LOOKUPTABLE[0];
+    long[] t1 = LOOKUPTABLE[1];
+    long[] t2 = LOOKUPTABLE[2];
+    long[] t3 = LOOKUPTABLE[3];
+    long[] t4 = LOOKUPTABLE[4];
+    long[] t5 = LOOKUPTABLE[5];
+    long[] t6 = LOOKUPTABLE[6];
+    long[] t7 = LOOKUPTABLE[7];
+
+    long value = crc;
     int end = off + len;
+    int blocks = off + (len & ~(SLICES - 1));
+
+    while (off < blocks) {
+      long x = value ^ littleEndian(buf, off);
+      value = t7[(int) x & 0xFF]
+          ^ t6[(int) (x >>> 8) & 0xFF]
+          ^ t5[(int) (x >>> 16) & 0xFF]
+          ^ t4[(int) (x >>> 24) & 0xFF]
+          ^ t3[(int) (x >>> 32) & 0xFF]
+          ^ t2[(int) (x >>> 40) & 0xFF]
+          ^ t1[(int) (x >>> 48) & 0xFF]
+          ^ t0[(int) (x >>> 56) & 0xFF];
+      off += SLICES;
+    }
 
     while (off < end) {
-      crc = LOOKUPTABLE[(buf[off++] ^ (int) crc) & 0xFF] ^ (crc >>> 8);
+      value = t0[(buf[off++] ^ (int) value) & 0xFF] ^ (value >>> 8);
     }
+
+    crc = value;
   }
 
   @Override
   public long getValue() {
-    return ~crc;
+    return crc;
   }
 
   @Override
   public void reset() {
-    crc = -1;
+    crc = 0;
+  }
+
+  private static long littleEndian(byte[] buf, int off) {
+    return (buf[off] & 0xFFL)
+        | (buf[off + 1] & 0xFFL) << 8
+        | (buf[off + 2] & 0xFFL) << 16
+        | (buf[off + 3] & 0xFFL) << 24
+        | (buf[off + 4] & 0xFFL) << 32
+        | (buf[off + 5] & 0xFFL) << 40
+        | (buf[off + 6] & 0xFFL) << 48
+        | (buf[off + 7] & 0xFFL) << 56;
   }
 }
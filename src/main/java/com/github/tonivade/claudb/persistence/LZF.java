@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.persistence;
+
+/**
+ * LZF compression, the format used by redis for compressed strings in RDB dumps.
+ *
+ * The compressed data is a sequence of literal runs, a control byte 000LLLLL followed by L + 1
+ * bytes, and back references, a control byte LLLOOOOO, an extra length byte if LLL is 7, and
+ * the low byte of the offset, to copy L + 2 bytes starting offset + 1 bytes before.
+ */
+final class LZF {
+
+  private static final int HASH_LOG = 14;
+  private static final int MAX_LITERAL = 1 << 5;
+  private static final int MAX_OFFSET = 1 << 13;
+  private static final int MAX_REFERENCE = (1 << 8) + (1 << 3);
+
+  private LZF() {}
+
+  /**
+   * Compresses the input into the output buffer, returns the compressed length, or 0 if it does
+   * not fit in the output buffer, so the caller decides how much compression is worth it.
+   */
+  static int compress(byte[] input, byte[] output) {
+    int[] table = new int[1 << HASH_LOG];
+    int ip = 0;
+    int op = 0;
+    int literals = 0;
+    while (ip < input.length - 2) {
+      int hash = hash(input, ip);
+      int reference = table[hash] - 1;
+      table[hash] = ip + 1;
+      int offset = ip - reference - 1;
+      if (reference >= 0 && offset < MAX_OFFSET && matches(input, reference, ip)) {
+        int maxLength = Math.min(MAX_REFERENCE, input.length - ip);
+        int length = 3;
+        while (length < maxLength && input[reference + length] == input[ip + length]) {
+          length++;
+        }
+        op = literals(input, literals, ip, output, op);
+        if (op < 0 || op + 3 > output.length) {
+          return 0;
+        }
+        int encoded = length - 2;
+        if (encoded < 7) {
+          output[op++] = (byte) ((encoded << 5) | (offset >> 8));
+        } else {
+          output[op++] = (byte) ((7 << 5) | (offset >> 8));
+          output[op++] = (byte) (encoded - 7);
+        }
+        output[op++] = (byte) offset;
+        ip += length;
+        literals = ip;
+      } else {
+        ip++;
+      }
+    }
+    op = literals(input, literals, input.length, output, op);
+    return op < 0 ? 0 : op;
+  }
+
+  static byte[] decompress(byte[] input, int length) {
+    byte[] output = new byte[length];
+    int ip = 0;
+    int op = 0;
+    while (ip < input.length) {
+      int control = input[ip++] & 0xFF;
+      if (control < MAX_LITERAL) {
+        int literals = control + 1;
+        check(ip + literals <= input.length && op + literals <= length);
+        System.arraycopy(input, ip, output, op, literals);
+        ip += literals;
+        op += literals;
+      } else {
+        int referenceLength = control >> 5;
+        if (referenceLength == 7) {
+          check(ip < input.length);
+          referenceLength += input[ip++] & 0xFF;
+        }
+        referenceLength += 2;
+        check(ip < input.length);
+        int reference = op - ((control & 0x1F) << 8) - (input[ip++] & 0xFF) - 1;
+        check(reference >= 0 && op + referenceLength <= length);
+        // it can overlap with the output, so it is copied byte by byte
+        for (int i = 0; i < referenceLength; i++) {
+          output[op++] = output[reference++];
+        }
+      }
+    }
+    check(op == length);
+    return output;
+  }
+
+  private static int literals(byte[] input, int from, int to, byte[] output, int op) {
+    for (int start = from; start < to; start += MAX_LITERAL) {
+      int count = Math.min(MAX_LITERAL, to - start);
+      if (op + count + 1 > output.length) {
+        return -1;
+      }
+      output[op++] = (byte) (count - 1);
+      System.arraycopy(input, start, output, op, count);
+      op += count;
+    }
+    return op;
+  }
+
+  private static boolean matches(byte[] input, int reference, int ip) {
+    return input[reference] == input[ip]
+        && input[reference + 1] == input[ip + 1]
+        && input[reference + 2] == input[ip + 2];
+  }
+
+  private static int hash(byte[] input, int ip) {
+    int value = (input[ip] & 0xFF) << 16 | (input[ip + 1] & 0xFF) << 8 | (input[ip + 2] & 0xFF);
+    return (value * 0x9E3779B1) >>> (Integer.SIZE - HASH_LOG);
+  }
+
+  private static void check(boolean valid) {
+    if (!valid) {
+      throw new IllegalArgumentException("invalid compressed data");
+    }
+  }
+}
@@ -5,6 +5,7 @@
 package com.github.tonivade.claudb.persistence;
 
 import static java.nio.ByteBuffer.wrap;
+import static java.util.Collections.singletonList;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -14,6 +15,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -76,8 +78,15 @@ public class PersistenceManager {
   }
 
   public void append(RedisToken command) {
+    append(singletonList(command));
+  }
+
+  /**
+   * Appends all the commands with a single flush, like the whole block of a transaction.
+   */
+  public void append(List<RedisToken> commands) {
     if (output != null) {
-      executor.submit(() -> appendRedo(command));
+      executor.submit(() -> appendRedo(commands));
     }
   }
 
@@ -143,13 +152,14 @@ public class PersistenceManager {
     }
   }
 
-  private void appendRedo(RedisToken command) {
+  private void appendRedo(List<RedisToken> commands) {
     try {
       RedisSerializer serializer = new RedisSerializer();
-      byte[] buffer = serializer.encodeToken(command);
-      output.write(buffer);
+      for (RedisToken command : commands) {
+        output.write(serializer.encodeToken(command));
+      }
       output.flush();
-      LOGGER.debug("new command: " + command);
+      LOGGER.debug("new commands: " + commands);
     } catch (IOException e) {
       LOGGER.error("error writing to AOF file", e);
     }
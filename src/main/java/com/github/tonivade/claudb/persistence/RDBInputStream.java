@@ -5,20 +5,23 @@
 package com.github.tonivade.claudb.persistence;
 
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
 import static com.github.tonivade.claudb.data.DatabaseValue.entry;
 import static com.github.tonivade.claudb.data.DatabaseValue.hash;
 import static com.github.tonivade.claudb.data.DatabaseValue.list;
 import static com.github.tonivade.claudb.data.DatabaseValue.score;
 import static com.github.tonivade.claudb.data.DatabaseValue.set;
+import static com.github.tonivade.claudb.data.DatabaseValue.stream;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
 import static com.github.tonivade.claudb.data.DatabaseValue.zset;
 import static com.github.tonivade.claudb.persistence.ByteUtils.byteArrayToInt;
-import static java.time.Instant.ofEpochMilli;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -28,8 +31,13 @@ import java.util.Set;
 import java.util.zip.CheckedInputStream;
 
 import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.data.Clock;
+import com.github.tonivade.claudb.data.ConsumerGroup;
 import com.github.tonivade.claudb.data.DatabaseKey;
 import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.IntSet;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
 
 import io.vavr.Tuple2;
 
@@ -39,28 +47,54 @@ public class RDBInputStream {
 
   private static final long TO_MILLIS = 1000L;
 
-  private static final int TWO_BYTES_LENGTH = 0x4000;
-  private static final int ONE_BYTE_LENGTH = 0x40;
-
+  private static final int ONE_BYTE_LENGTH = 0x00;
+  private static final int TWO_BYTES_LENGTH = 0x01;
+  private static final int FIVE_BYTES_LENGTH = 0x80;
+  private static final int NINE_BYTES_LENGTH = 0x81;
+
+  private static final int ENCODED = 0x03;
+  private static final int ENCODED_INT_8 = 0x00;
+  private static final int ENCODED_INT_16 = 0x01;
+  private static final int ENCODED_INT_32 = 0x02;
+  private static final int ENCODED_LZF = 0x03;
+
+  private static final int DOUBLE_NAN = 253;
+  private static final int DOUBLE_POSITIVE_INFINITY = 254;
+  private static final int DOUBLE_NEGATIVE_INFINITY = 255;
+
+  private static final int CLAUDB_STREAM = 0x40;
+  private static final int LIST_QUICKLIST = 0x0E;
+  private static final int HASH_ZIPLIST = 0x0D;
+  private static final int ZSET_ZIPLIST = 0x0C;
+  private static final int SET_INTSET = 0x0B;
+  private static final int LIST_ZIPLIST = 0x0A;
+  private static final int SORTED_SET_2 = 0x05;
   private static final int HASH = 0x04;
   private static final int SORTED_SET = 0x03;
   private static final int SET = 0x02;
   private static final int LIST = 0x01;
   private static final int STRING = 0x00;
 
+  private static final int IDLE = 0xF8;
+  private static final int FREQ = 0xF9;
+  private static final int AUX = 0xFA;
+  private static final int RESIZEDB = 0xFB;
   private static final int TTL_MILISECONDS = 0xFC;
   private static final int TTL_SECONDS = 0xFD;
   private static final int SELECT = 0xFE;
   private static final int END_OF_STREAM = 0xFF;
 
-  private static final int REDIS_VERSION = 6;
+  private static final int REDIS_VERSION = 9;
   private static final int VERSION_LENGTH = 4;
   private static final int REDIS_LENGTH = 5;
 
+  private static final int BUFFER_SIZE = 64 * 1024;
+
   private final CheckedInputStream in;
 
   public RDBInputStream(InputStream in) {
-    this.in = new CheckedInputStream(in, new CRC64());
+    // the checksum has to be of the bytes already read, so the buffer goes after it
+    this.in = new CheckedInputStream(new BufferedInputStream(in, BUFFER_SIZE), new CRC64());
   }
 
   public Map<Integer, Map<DatabaseKey, DatabaseValue>> parse() throws IOException {
@@ -72,7 +106,7 @@ public class RDBInputStream {
       throw new IOException("invalid version: " + version);
     }
 
-    Long expireTime = null;
+    long expireTime = NO_EXPIRATION;
     HashMap<DatabaseKey, DatabaseValue> db = null;
     for (boolean end = false; !end;) {
       int read = in.read();
@@ -81,6 +115,22 @@ public class RDBInputStream {
         db = new HashMap<>();
         databases.put(readLength(), db);
         break;
+      case AUX:
+        // information about the server that created the dump, like redis-ver or used-mem
+        readSafeString();
+        readSafeString();
+        break;
+      case RESIZEDB:
+        // hints about the size of the hash tables of the database
+        readLength();
+        readLength();
+        break;
+      case IDLE:
+        readLength();
+        break;
+      case FREQ:
+        in.read();
+        break;
       case TTL_SECONDS:
         expireTime = parseTimeSeconds();
         break;
@@ -89,29 +139,57 @@ public class RDBInputStream {
         break;
       case STRING:
         ensure(db, readKey(), readString(expireTime));
-        expireTime = null;
+        expireTime = NO_EXPIRATION;
         break;
       case LIST:
         ensure(db, readKey(), readList(expireTime));
-        expireTime = null;
+        expireTime = NO_EXPIRATION;
+        break;
+      case LIST_ZIPLIST:
+        ensure(db, readKey(), readZiplistList(expireTime));
+        expireTime = NO_EXPIRATION;
+        break;
+      case LIST_QUICKLIST:
+        ensure(db, readKey(), readQuicklist(expireTime));
+        expireTime = NO_EXPIRATION;
         break;
       case SET:
         ensure(db, readKey(), readSet(expireTime));
-        expireTime = null;
+        expireTime = NO_EXPIRATION;
+        break;
+      case SET_INTSET:
+        ensure(db, readKey(), readIntSet(expireTime));
+        expireTime = NO_EXPIRATION;
         break;
       case SORTED_SET:
-        ensure(db, readKey(), readSortedSet(expireTime));
-        expireTime = null;
+        ensure(db, readKey(), readSortedSet(expireTime, this::readDouble));
+        expireTime = NO_EXPIRATION;
+        break;
+      case SORTED_SET_2:
+        ensure(db, readKey(), readSortedSet(expireTime, this::readBinaryDouble));
+        expireTime = NO_EXPIRATION;
+        break;
+      case ZSET_ZIPLIST:
+        ensure(db, readKey(), readZiplistSortedSet(expireTime));
+        expireTime = NO_EXPIRATION;
         break;
       case HASH:
         ensure(db, readKey(), readHash(expireTime));
-        expireTime = null;
+        expireTime = NO_EXPIRATION;
+        break;
+      case HASH_ZIPLIST:
+        ensure(db, readKey(), readZiplistHash(expireTime));
+        expireTime = NO_EXPIRATION;
+        break;
+      case CLAUDB_STREAM:
+        ensure(db, readKey(), readStream(expireTime));
+        expireTime = NO_EXPIRATION;
         break;
       case END_OF_STREAM:
         // end of stream
         end = true;
         db = null;
-        expireTime = null;
+        expireTime = NO_EXPIRATION;
         break;
       default:
         throw new IOException("not supported: " + read);
@@ -124,13 +202,11 @@ public class RDBInputStream {
   }
 
   private long parseTimeSeconds() throws IOException {
-    byte[] seconds = read(Integer.BYTES);
-    return ByteUtils.byteArrayToInt(seconds) * TO_MILLIS;
+    return readLittleEndian(Integer.BYTES) * TO_MILLIS;
   }
 
   private long parseTimeMillis() throws IOException {
-    byte[] millis = read(Long.BYTES);
-    return ByteUtils.byteArrayToLong(millis);
+    return readLittleEndian(Long.BYTES);
   }
 
   private void verifyChecksum() throws IOException {
@@ -138,13 +214,14 @@ public class RDBInputStream {
 
     long readed = parseChecksum();
 
-    if (calculated != readed) {
+    // redis writes 0 when the checksum is disabled
+    if (readed != 0 && calculated != readed) {
       throw new IOException("invalid checksum");
     }
   }
 
   private long parseChecksum() throws IOException {
-    return ByteUtils.byteArrayToLong(read(Long.BYTES));
+    return readLittleEndian(Long.BYTES);
   }
 
   private int version() throws IOException {
@@ -163,51 +240,106 @@ public class RDBInputStream {
     return Integer.parseInt(sb.toString());
   }
 
-  private DatabaseValue readString(Long expireTime) throws IOException {
-    return string(readSafeString()).expiredAt(expireTime != null ? ofEpochMilli(expireTime) : null);
+  private DatabaseValue readString(long expireTime) throws IOException {
+    return string(readSafeString()).expiredAt(expireTime);
   }
 
-  private DatabaseValue readList(Long expireTime) throws IOException {
+  private DatabaseValue readList(long expireTime) throws IOException {
     int size = readLength();
     List<SafeString> list = new LinkedList<>();
     for (int i = 0; i < size; i++) {
       list.add(readSafeString());
     }
-    return list(list).expiredAt(expireTime != null ? ofEpochMilli(expireTime) : null);
+    return list(list).expiredAt(expireTime);
   }
 
-  private DatabaseValue readSet(Long expireTime) throws IOException {
+  private DatabaseValue readSet(long expireTime) throws IOException {
     int size = readLength();
     Set<SafeString> set = new LinkedHashSet<>();
     for (int i = 0; i < size; i++) {
       set.add(readSafeString());
     }
-    return set(set).expiredAt(expireTime != null ? ofEpochMilli(expireTime) : null);
+    return set(set).expiredAt(expireTime);
+  }
+
+  private DatabaseValue readIntSet(long expireTime) throws IOException {
+    try {
+      return set(IntSet.parse(readSafeString().getBytes())).expiredAt(expireTime);
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  private DatabaseValue readZiplistList(long expireTime) throws IOException {
+    return list(readZiplist()).expiredAt(expireTime);
+  }
+
+  private DatabaseValue readQuicklist(long expireTime) throws IOException {
+    int size = readLength();
+    List<SafeString> list = new LinkedList<>();
+    for (int i = 0; i < size; i++) {
+      list.addAll(readZiplist());
+    }
+    return list(list).expiredAt(expireTime);
   }
 
-  private DatabaseValue readSortedSet(Long expireTime) throws IOException {
+  private DatabaseValue readSortedSet(long expireTime, ScoreReader reader) throws IOException {
     int size = readLength();
     Set<Entry<Double, SafeString>> entries = new LinkedHashSet<>();
     for (int i = 0; i < size; i++) {
       SafeString value = readSafeString();
-      Double score = readDouble();
+      Double score = reader.read();
       entries.add(score(score, value));
     }
-    return zset(entries).expiredAt(expireTime != null ? ofEpochMilli(expireTime) : null);
+    return zset(entries).expiredAt(expireTime);
+  }
+
+  private DatabaseValue readZiplistSortedSet(long expireTime) throws IOException {
+    Iterator<SafeString> iterator = readZiplist().iterator();
+    Set<Entry<Double, SafeString>> entries = new LinkedHashSet<>();
+    while (iterator.hasNext()) {
+      SafeString value = iterator.next();
+      entries.add(score(parseDouble(next(iterator).toString()), value));
+    }
+    return zset(entries).expiredAt(expireTime);
+  }
+
+  private DatabaseValue readZiplistHash(long expireTime) throws IOException {
+    Iterator<SafeString> iterator = readZiplist().iterator();
+    Set<Tuple2<SafeString, SafeString>> entries = new LinkedHashSet<>();
+    while (iterator.hasNext()) {
+      entries.add(entry(iterator.next(), next(iterator)));
+    }
+    return hash(entries).expiredAt(expireTime);
   }
 
-  private DatabaseValue readHash(Long expireTime) throws IOException {
+  private List<SafeString> readZiplist() throws IOException {
+    try {
+      return Ziplist.unpack(readSafeString().getBytes());
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  private SafeString next(Iterator<SafeString> iterator) throws IOException {
+    if (!iterator.hasNext()) {
+      throw new IOException("invalid ziplist");
+    }
+    return iterator.next();
+  }
+
+  private DatabaseValue readHash(long expireTime) throws IOException {
     int size = readLength();
     Set<Tuple2<SafeString, SafeString>> entries = new LinkedHashSet<>();
     for (int i = 0; i < size; i++) {
       entries.add(entry(readSafeString(), readSafeString()));
     }
-    return hash(entries).expiredAt(expireTime != null ? ofEpochMilli(expireTime) : null);
+    return hash(entries).expiredAt(expireTime);
   }
 
   private void ensure(Map<DatabaseKey, DatabaseValue> db, DatabaseKey key, DatabaseValue value) throws IOException {
     if (db != null) {
-      if (!value.isExpired(Instant.now())) {
+      if (!value.isExpired(Clock.now())) {
         db.put(key, value);
       }
     } else {
@@ -216,27 +348,108 @@ public class RDBInputStream {
   }
 
   private int readLength() throws IOException {
-    int length = in.read();
-    if (length < ONE_BYTE_LENGTH) {
+    int first = in.read();
+    if ((first >> 6) == ENCODED) {
+      throw new IOException("not a length: " + first);
+    }
+    return readLength(first);
+  }
+
+  private int readLength(int first) throws IOException {
+    switch (first >> 6) {
+    case ONE_BYTE_LENGTH:
       // 1 byte: 00XXXXXX
-      return length;
-    } else if (length < TWO_BYTES_LENGTH) {
+      return first;
+    case TWO_BYTES_LENGTH:
       // 2 bytes: 01XXXXXX XXXXXXXX
-      int next = in.read();
-      return readLength(length, next);
-    } else {
-      // 5 bytes: 10...... XXXXXXXX XXXXXXXX XXXXXXXX XXXXXXXX
-      return byteArrayToInt(read(Integer.BYTES));
+      return ((first & 0x3F) << 8) | (in.read() & 0xFF);
+    default:
+      if (first == FIVE_BYTES_LENGTH) {
+        // 5 bytes: 10000000 XXXXXXXX XXXXXXXX XXXXXXXX XXXXXXXX
+        return byteArrayToInt(read(Integer.BYTES));
+      } else if (first == NINE_BYTES_LENGTH) {
+        // 9 bytes: 10000001 and a 64 bits length, larger than any array anyway
+        return Math.toIntExact(ByteUtils.byteArrayToLong(read(Long.BYTES)));
+      }
+      throw new IOException("invalid length: " + first);
+    }
+  }
+
+  private SafeString readSafeString() throws IOException {
+    int first = in.read();
+    if ((first >> 6) == ENCODED) {
+      return readEncodedString(first & 0x3F);
     }
+    return new SafeString(read(readLength(first)));
   }
 
-  private int readLength(int length, int next) {
-    return ((length & 0x3F) << 8) | (next & 0xFF);
+  private SafeString readEncodedString(int encoding) throws IOException {
+    switch (encoding) {
+    case ENCODED_INT_8:
+      return integer(readLittleEndian(1), 1);
+    case ENCODED_INT_16:
+      return integer(readLittleEndian(2), 2);
+    case ENCODED_INT_32:
+      return integer(readLittleEndian(4), 4);
+    case ENCODED_LZF:
+      int compressedLength = readLength();
+      int length = readLength();
+      try {
+        return new SafeString(LZF.decompress(read(compressedLength), length));
+      } catch (IllegalArgumentException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    default:
+      throw new IOException("invalid string encoding: " + encoding);
+    }
   }
 
-  private SafeString readSafeString() throws IOException {
-    int length = readLength();
-    return new SafeString(read(length));
+  private DatabaseValue readStream(long expireTime) throws IOException {
+    try {
+      StreamLog stream = new StreamLog();
+      int size = readLength();
+      for (int i = 0; i < size; i++) {
+        StreamId id = readStreamId();
+        int fields = readLength();
+        List<SafeString> list = new ArrayList<>(fields);
+        for (int j = 0; j < fields; j++) {
+          list.add(readSafeString());
+        }
+        stream.add(id, list);
+      }
+      stream.setLastId(readStreamId());
+      int groups = readLength();
+      for (int i = 0; i < groups; i++) {
+        SafeString name = readSafeString();
+        stream.createGroup(name, readStreamId());
+        ConsumerGroup group = stream.getGroup(name);
+        int pending = readLength();
+        for (int j = 0; j < pending; j++) {
+          group.restore(readStreamId(), readSafeString(), readLittleEndian(Long.BYTES), readLittleEndian(Long.BYTES));
+        }
+      }
+      return stream(stream).expiredAt(expireTime);
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  private StreamId readStreamId() throws IOException {
+    return new StreamId(readLittleEndian(Long.BYTES), readLittleEndian(Long.BYTES));
+  }
+
+  private SafeString integer(long value, int size) {
+    int shift = Long.SIZE - size * 8;
+    return safeString(String.valueOf((value << shift) >> shift));
+  }
+
+  private long readLittleEndian(int size) throws IOException {
+    byte[] bytes = read(size);
+    long value = 0;
+    for (int i = size - 1; i >= 0; i--) {
+      value = (value << 8) | (bytes[i] & 0xFF);
+    }
+    return value;
   }
 
   private DatabaseKey readKey() throws IOException {
@@ -244,16 +457,55 @@ public class RDBInputStream {
   }
 
   private Double readDouble() throws IOException {
-    return Double.parseDouble(readSafeString().toString());
+    int length = in.read();
+    switch (length) {
+    case DOUBLE_NAN:
+      return Double.NaN;
+    case DOUBLE_POSITIVE_INFINITY:
+      return Double.POSITIVE_INFINITY;
+    case DOUBLE_NEGATIVE_INFINITY:
+      return Double.NEGATIVE_INFINITY;
+    default:
+      return parseDouble(new SafeString(read(length)).toString());
+    }
+  }
+
+  private Double readBinaryDouble() throws IOException {
+    return Double.longBitsToDouble(readLittleEndian(Long.BYTES));
+  }
+
+  private Double parseDouble(String value) throws IOException {
+    // redis writes the infinite as inf
+    switch (value) {
+    case "inf":
+    case "+inf":
+      return Double.POSITIVE_INFINITY;
+    case "-inf":
+      return Double.NEGATIVE_INFINITY;
+    default:
+      try {
+        return Double.parseDouble(value);
+      } catch (NumberFormatException e) {
+        throw new IOException("invalid score: " + value, e);
+      }
+    }
   }
 
   private byte[] read(int size) throws IOException {
     byte[] array = new byte[size];
-    int read = in.read(array);
-    if (read != size) {
-      throw new IOException("error reading stream");
+    int offset = 0;
+    while (offset < size) {
+      int read = in.read(array, offset, size - offset);
+      if (read < 0) {
+        throw new IOException("error reading stream");
+      }
+      offset += read;
     }
     return array;
   }
 
+  @FunctionalInterface
+  private interface ScoreReader {
+    Double read() throws IOException;
+  }
 }
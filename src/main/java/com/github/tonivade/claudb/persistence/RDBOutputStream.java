@@ -5,42 +5,85 @@
 package com.github.tonivade.claudb.persistence;
 
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
 import static com.github.tonivade.claudb.persistence.ByteUtils.toByteArray;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.NavigableSet;
 import java.util.zip.CheckedOutputStream;
 
 import com.github.tonivade.resp.protocol.SafeString;
-import com.github.tonivade.claudb.data.DataType;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.ConsumerGroup.Pending;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseKey;
 import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.IntSet;
+import com.github.tonivade.claudb.data.QuickList;
+import com.github.tonivade.claudb.data.StreamEntry;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
 
 import io.vavr.Tuple2;
-import io.vavr.collection.List;
 import io.vavr.collection.Map;
-import io.vavr.collection.Set;
 
+/**
+ * Writes RDB dumps compatible with redis 4.0 (version 8), the expiration times and the checksum
+ * are little endian like in redis. Strings are stored as integers when
+ * possible, and compressed with LZF when they are large enough, sorted set scores are stored
+ * in binary and small lists, hashes and sorted sets are packed in a single ziplist.
+ * Streams are stored with a type of their own, not known by redis.
+ */
 public class RDBOutputStream {
 
   private static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
 
   private static final byte[] REDIS = safeString("REDIS").getBytes();
 
+  private static final int STRING = 0x00;
+  private static final int LIST = 0x01;
+  private static final int SET = 0x02;
+  private static final int HASH = 0x04;
+  private static final int ZSET_2 = 0x05;
+  private static final int LIST_ZIPLIST = 0x0A;
+  private static final int SET_INTSET = 0x0B;
+  private static final int ZSET_ZIPLIST = 0x0C;
+  private static final int HASH_ZIPLIST = 0x0D;
+  // there are no streams in version 8, they are stored in a format only known by claudb
+  private static final int CLAUDB_STREAM = 0x40;
+
+  private static final int ENCODED = 0xC0;
+  private static final int ENCODED_INT_8 = 0x00;
+  private static final int ENCODED_INT_16 = 0x01;
+  private static final int ENCODED_INT_32 = 0x02;
+  private static final int ENCODED_LZF = 0x03;
+
+  // close to the default limits of redis
+  private static final int MAX_INTEGER_LENGTH = 11;
+  private static final int MIN_COMPRESS_LENGTH = 20;
+  private static final int MAX_ZIPLIST_ENTRIES = 128;
+  private static final int MAX_ZIPLIST_VALUE = 64;
+
   private static final int TTL_MILISECONDS = 0xFC;
   private static final int END_OF_STREAM = 0xFF;
   private static final int SELECT = 0xFE;
 
-  private final CheckedOutputStream out;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final CheckedOutputStream checked;
+  private final OutputStream out;
 
   public RDBOutputStream(OutputStream out) {
     super();
-    this.out = new CheckedOutputStream(out, new CRC64());
+    // the buffer is before the checksum, so it is calculated by blocks and not byte by byte
+    this.checked = new CheckedOutputStream(out, new CRC64());
+    this.out = new BufferedOutputStream(checked, BUFFER_SIZE);
   }
 
   public void preamble(int version) throws IOException {
@@ -65,59 +108,56 @@ public class RDBOutputStream {
     for (Tuple2<DatabaseKey, DatabaseValue> entry : db.entrySet()) {
       value(entry._1(), entry._2());
     }
+    out.flush();
   }
 
   private void value(DatabaseKey key, DatabaseValue value) throws IOException {
     expiredAt(value.getExpiredAt());
-    type(value.getType());
-    key(key);
-    value(value);
-  }
-
-  private void expiredAt(Instant expiredAt) throws IOException {
-    if (expiredAt != null) {
-      out.write(TTL_MILISECONDS);
-      out.write(ByteUtils.toByteArray(expiredAt.toEpochMilli()));
-    }
-  }
-
-  private void type(DataType type) throws IOException {
-    out.write(type.ordinal());
-  }
-
-  private void key(DatabaseKey key) throws IOException {
-    string(key.getValue());
-  }
-
-  private void value(DatabaseValue value) throws IOException {
     switch (value.getType()) {
     case STRING:
+      out.write(STRING);
+      key(key);
       string(value.getString());
       break;
     case LIST:
-      list(value.getList());
+      list(key, value.getList());
       break;
     case HASH:
-      hash(value.getHash());
+      hash(key, value.getHash());
       break;
     case SET:
-      set(value.getSet());
+      set(key, value);
       break;
     case ZSET:
-      zset(value.getSortedSet());
+      zset(key, value.getSortedSet());
+      break;
+    case STREAM:
+      stream(key, value.getStream());
       break;
     default:
       break;
     }
   }
 
+  private void expiredAt(long expiredAt) throws IOException {
+    if (expiredAt != NO_EXPIRATION) {
+      out.write(TTL_MILISECONDS);
+      littleEndian(expiredAt, Long.BYTES);
+    }
+  }
+
+  private void key(DatabaseKey key) throws IOException {
+    string(key.getValue());
+  }
+
   private void length(int length) throws IOException {
     if (length < 0x40) {
       // 1 byte: 00XXXXXX
       out.write(length);
     } else if (length < 0x4000) {
       // 2 bytes: 01XXXXXX XXXXXXXX
-      out.write(0x4000 & length);
+      out.write(0x40 | (length >> 8));
+      out.write(length & 0xFF);
     } else {
       // 5 bytes: 10...... XXXXXXXX XXXXXXXX XXXXXXXX XXXXXXXX
       out.write(0x80);
@@ -125,53 +165,185 @@ public class RDBOutputStream {
     }
   }
 
-  private void string(String value) throws IOException {
-    string(safeString(value));
+  private void string(SafeString value) throws IOException {
+    string(value.getBytes());
   }
 
-  private void string(SafeString value) throws IOException {
-    byte[] bytes = value.getBytes();
+  private void string(byte[] bytes) throws IOException {
+    Long integer = bytes.length <= MAX_INTEGER_LENGTH ? ByteUtils.parseLong(bytes) : null;
+    if (integer != null && integer == integer.intValue()) {
+      integer(integer.intValue());
+    } else if (bytes.length <= MIN_COMPRESS_LENGTH || !compressed(bytes)) {
+      length(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private void integer(int value) throws IOException {
+    if (value == (byte) value) {
+      out.write(ENCODED | ENCODED_INT_8);
+      littleEndian(value, 1);
+    } else if (value == (short) value) {
+      out.write(ENCODED | ENCODED_INT_16);
+      littleEndian(value, 2);
+    } else {
+      out.write(ENCODED | ENCODED_INT_32);
+      littleEndian(value, 4);
+    }
+  }
+
+  private boolean compressed(byte[] bytes) throws IOException {
+    // it is not worth it if it does not save at least the bytes of the lengths
+    byte[] compressed = new byte[bytes.length - 4];
+    int length = LZF.compress(bytes, compressed);
+    if (length == 0) {
+      return false;
+    }
+    out.write(ENCODED | ENCODED_LZF);
+    length(length);
     length(bytes.length);
-    out.write(bytes);
+    out.write(compressed, 0, length);
+    return true;
   }
 
-  private void string(double value) throws IOException {
-    string(String.valueOf(value));
+  private void littleEndian(long value, int size) throws IOException {
+    for (int i = 0; i < size; i++) {
+      out.write((int) (value >> (i * 8)));
+    }
   }
 
-  private void list(List<SafeString> value) throws IOException {
-    length(value.size());
+  private void list(DatabaseKey key, QuickList value) throws IOException {
+    List<SafeString> items = new ArrayList<>(value.size());
     for (SafeString item : value) {
-      string(item);
+      items.add(item);
+    }
+    if (isPackable(items)) {
+      out.write(LIST_ZIPLIST);
+      key(key);
+      string(Ziplist.pack(items));
+    } else {
+      out.write(LIST);
+      key(key);
+      length(items.size());
+      for (SafeString item : items) {
+        string(item);
+      }
     }
   }
 
-  private void hash(Map<SafeString, SafeString> value) throws IOException {
-    length(value.size());
+  private void hash(DatabaseKey key, Map<SafeString, SafeString> value) throws IOException {
+    List<SafeString> entries = new ArrayList<>(value.size() * 2);
     for (Tuple2<SafeString, SafeString> entry : value) {
-      string(entry._1());
-      string(entry._2());
+      entries.add(entry._1());
+      entries.add(entry._2());
+    }
+    if (isPackable(entries)) {
+      out.write(HASH_ZIPLIST);
+      key(key);
+      string(Ziplist.pack(entries));
+    } else {
+      out.write(HASH);
+      key(key);
+      length(value.size());
+      for (SafeString entry : entries) {
+        string(entry);
+      }
     }
   }
 
-  private void set(Set<SafeString> value) throws IOException {
-    length(value.size());
-    for (SafeString item : value) {
-      string(item);
+  private void set(DatabaseKey key, DatabaseValue value) throws IOException {
+    IntSet intSet = value.getIntSet();
+    if (intSet != null) {
+      out.write(SET_INTSET);
+      key(key);
+      string(intSet.toByteArray());
+    } else {
+      out.write(SET);
+      key(key);
+      length(value.size());
+      for (int i = 0; i < value.size(); i++) {
+        string(value.getMember(i));
+      }
     }
   }
 
-  private void zset(NavigableSet<Entry<Double, SafeString>> value) throws IOException {
-    length(value.size());
+  private void zset(DatabaseKey key, NavigableSet<Entry<Double, SafeString>> value) throws IOException {
+    List<SafeString> entries = new ArrayList<>(value.size() * 2);
     for (Entry<Double, SafeString> item : value) {
-      string(item.getValue());
-      string(item.getKey());
+      entries.add(item.getValue());
+      entries.add(score(item.getKey()));
+    }
+    if (isPackable(entries)) {
+      out.write(ZSET_ZIPLIST);
+      key(key);
+      string(Ziplist.pack(entries));
+    } else {
+      out.write(ZSET_2);
+      key(key);
+      length(value.size());
+      for (Entry<Double, SafeString> item : value) {
+        string(item.getValue());
+        littleEndian(Double.doubleToLongBits(item.getKey()), Long.BYTES);
+      }
     }
   }
 
+  private void stream(DatabaseKey key, StreamLog stream) throws IOException {
+    out.write(CLAUDB_STREAM);
+    key(key);
+    List<StreamEntry> entries = stream.range(StreamId.MIN, StreamId.MAX, 0);
+    length(entries.size());
+    for (StreamEntry entry : entries) {
+      streamId(entry.getId());
+      length(entry.getFields().size());
+      for (SafeString field : entry.getFields()) {
+        string(field);
+      }
+    }
+    streamId(stream.getLastId());
+    length(stream.getGroups().size());
+    for (Entry<SafeString, ConsumerGroup> group : stream.getGroups().entrySet()) {
+      string(group.getKey());
+      streamId(group.getValue().getLastDelivered());
+      length(group.getValue().getPending().size());
+      for (Entry<StreamId, Pending> pending : group.getValue().getPending().entrySet()) {
+        streamId(pending.getKey());
+        string(pending.getValue().getConsumer());
+        littleEndian(pending.getValue().getDeliveryTime(), Long.BYTES);
+        littleEndian(pending.getValue().getDeliveryCount(), Long.BYTES);
+      }
+    }
+  }
+
+  private void streamId(StreamId id) throws IOException {
+    littleEndian(id.getTime(), Long.BYTES);
+    littleEndian(id.getSequence(), Long.BYTES);
+  }
+
+  private SafeString score(double score) {
+    // integral scores are stored as integers in the ziplist
+    if (score == Math.rint(score) && Math.abs(score) < 1L << 53) {
+      return safeString(String.valueOf((long) score));
+    }
+    return safeString(String.valueOf(score));
+  }
+
+  private boolean isPackable(List<SafeString> entries) {
+    if (entries.size() > MAX_ZIPLIST_ENTRIES) {
+      return false;
+    }
+    for (SafeString entry : entries) {
+      if (entry.length() > MAX_ZIPLIST_VALUE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public void end() throws IOException {
     out.write(END_OF_STREAM);
-    out.write(toByteArray(out.getChecksum().getValue()));
+    out.flush();
+    littleEndian(checked.getChecksum().getValue(), Long.BYTES);
     out.flush();
   }
 }
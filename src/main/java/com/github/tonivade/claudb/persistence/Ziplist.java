@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.persistence;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+/**
+ * Ziplist, the packed encoding used by redis for small lists, hashes and sorted sets, it is
+ * stored in RDB dumps as a single string. Integers are stored in binary, the rest of entries
+ * as strings, every entry has the length of the previous one to be traversed backwards.
+ *
+ * <pre>
+ * zlbytes(4) zltail(4) zllen(2) [prevlen(1|5) encoding(1|2|5) data]... 0xFF
+ * </pre>
+ */
+final class Ziplist {
+
+  private static final int HEADER_SIZE = 10;
+  private static final int END = 0xFF;
+  private static final int BIG_PREVLEN = 0xFE;
+
+  private static final int STRING_6BIT = 0x00;
+  private static final int STRING_14BIT = 0x40;
+  private static final int STRING_32BIT = 0x80;
+  private static final int INT_16 = 0xC0;
+  private static final int INT_32 = 0xD0;
+  private static final int INT_64 = 0xE0;
+  private static final int INT_24 = 0xF0;
+  private static final int INT_8 = 0xFE;
+  private static final int INT_IMMEDIATE_MIN = 0xF1;
+  private static final int INT_IMMEDIATE_MAX = 0xFD;
+
+  private Ziplist() {}
+
+  static byte[] pack(List<SafeString> entries) {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    int previous = 0;
+    int tail = HEADER_SIZE;
+    for (SafeString entry : entries) {
+      tail = HEADER_SIZE + body.size();
+      byte[] encoded = encode(entry);
+      byte[] prevlen = prevlen(previous);
+      body.write(prevlen, 0, prevlen.length);
+      body.write(encoded, 0, encoded.length);
+      previous = prevlen.length + encoded.length;
+    }
+    body.write(END);
+    byte[] ziplist = new byte[HEADER_SIZE + body.size()];
+    littleEndian(ziplist, 0, ziplist.length, Integer.BYTES);
+    littleEndian(ziplist, 4, tail, Integer.BYTES);
+    littleEndian(ziplist, 8, Math.min(entries.size(), 0xFFFF), Short.BYTES);
+    System.arraycopy(body.toByteArray(), 0, ziplist, HEADER_SIZE, body.size());
+    return ziplist;
+  }
+
+  static List<SafeString> unpack(byte[] ziplist) {
+    List<SafeString> entries = new ArrayList<>();
+    check(ziplist.length > HEADER_SIZE);
+    int position = HEADER_SIZE;
+    while ((ziplist[position] & 0xFF) != END) {
+      position += (ziplist[position] & 0xFF) == BIG_PREVLEN ? 5 : 1;
+      check(position < ziplist.length);
+      int encoding = ziplist[position++] & 0xFF;
+      switch (encoding >> 6) {
+      case 0:
+        position = string(ziplist, position, encoding & 0x3F, entries);
+        break;
+      case 1:
+        check(position < ziplist.length);
+        position = string(ziplist, position + 1, ((encoding & 0x3F) << 8) | (ziplist[position] & 0xFF), entries);
+        break;
+      case 2:
+        check(position + 4 <= ziplist.length);
+        position = string(ziplist, position + 4, (int) bigEndian(ziplist, position, Integer.BYTES), entries);
+        break;
+      default:
+        int size = integerSize(encoding);
+        check(position + size <= ziplist.length);
+        long value = size > 0
+            ? signed(littleEndian(ziplist, position, size), size) : (encoding & 0x0F) - 1;
+        entries.add(safeString(String.valueOf(value)));
+        position += size;
+        break;
+      }
+      check(position < ziplist.length);
+    }
+    return entries;
+  }
+
+  private static byte[] encode(SafeString entry) {
+    byte[] bytes = entry.getBytes();
+    Long value = ByteUtils.parseLong(bytes);
+    if (value != null) {
+      return encode(value);
+    }
+    byte[] header;
+    if (bytes.length < 1 << 6) {
+      header = new byte[] { (byte) (STRING_6BIT | bytes.length) };
+    } else if (bytes.length < 1 << 14) {
+      header = new byte[] { (byte) (STRING_14BIT | (bytes.length >> 8)), (byte) bytes.length };
+    } else {
+      header = new byte[5];
+      header[0] = (byte) STRING_32BIT;
+      for (int i = 0; i < Integer.BYTES; i++) {
+        header[i + 1] = (byte) (bytes.length >> ((Integer.BYTES - i - 1) * 8));
+      }
+    }
+    byte[] encoded = new byte[header.length + bytes.length];
+    System.arraycopy(header, 0, encoded, 0, header.length);
+    System.arraycopy(bytes, 0, encoded, header.length, bytes.length);
+    return encoded;
+  }
+
+  private static byte[] encode(long value) {
+    if (value >= 0 && value <= INT_IMMEDIATE_MAX - INT_IMMEDIATE_MIN) {
+      return new byte[] { (byte) (INT_IMMEDIATE_MIN + value) };
+    }
+    int encoding;
+    int size;
+    if (value == (byte) value) {
+      encoding = INT_8;
+      size = 1;
+    } else if (value == (short) value) {
+      encoding = INT_16;
+      size = 2;
+    } else if (value >= -(1 << 23) && value < 1 << 23) {
+      encoding = INT_24;
+      size = 3;
+    } else if (value == (int) value) {
+      encoding = INT_32;
+      size = 4;
+    } else {
+      encoding = INT_64;
+      size = 8;
+    }
+    byte[] encoded = new byte[size + 1];
+    encoded[0] = (byte) encoding;
+    littleEndian(encoded, 1, value, size);
+    return encoded;
+  }
+
+  private static byte[] prevlen(int length) {
+    if (length < BIG_PREVLEN) {
+      return new byte[] { (byte) length };
+    }
+    byte[] prevlen = new byte[5];
+    prevlen[0] = (byte) BIG_PREVLEN;
+    littleEndian(prevlen, 1, length, Integer.BYTES);
+    return prevlen;
+  }
+
+  private static int integerSize(int encoding) {
+    switch (encoding) {
+    case INT_8:
+      return 1;
+    case INT_16:
+      return 2;
+    case INT_24:
+      return 3;
+    case INT_32:
+      return 4;
+    case INT_64:
+      return 8;
+    default:
+      check(encoding >= INT_IMMEDIATE_MIN && encoding <= INT_IMMEDIATE_MAX);
+      return 0;
+    }
+  }
+
+  private static int string(byte[] ziplist, int position, int length, List<SafeString> entries) {
+    check(length >= 0 && position + length <= ziplist.length);
+    byte[] bytes = new byte[length];
+    System.arraycopy(ziplist, position, bytes, 0, length);
+    entries.add(new SafeString(bytes));
+    return position + length;
+  }
+
+  private static void littleEndian(byte[] array, int offset, long value, int size) {
+    for (int i = 0; i < size; i++) {
+      array[offset + i] = (byte) (value >> (i * 8));
+    }
+  }
+
+  private static long littleEndian(byte[] array, int offset, int size) {
+    long value = 0;
+    for (int i = size - 1; i >= 0; i--) {
+      value = (value << 8) | (array[offset + i] & 0xFF);
+    }
+    return value;
+  }
+
+  private static long bigEndian(byte[] array, int offset, int size) {
+    long value = 0;
+    for (int i = 0; i < size; i++) {
+      value = (value << 8) | (array[offset + i] & 0xFF);
+    }
+    return value;
+  }
+
+  private static long signed(long value, int size) {
+    int shift = Long.SIZE - size * 8;
+    return (value << shift) >> shift;
+  }
+
+  private static void check(boolean valid) {
+    if (!valid) {
+      throw new IllegalArgumentException("invalid ziplist");
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.github.tonivade.claudb.data.Clock;
+import com.github.tonivade.claudb.data.KeyspaceStats;
+import com.github.tonivade.claudb.data.OnHeapDatabaseFactory;
+import com.github.tonivade.claudb.data.StatsDatabase;
+
+public class DBServerStateTest {
+
+  private final DBServerState state = new DBServerState(new OnHeapDatabaseFactory(), 1);
+
+  @Test
+  public void evictExpired() {
+    state.getDatabase(0).put(safeKey("a"), string("1").expiredAt(Clock.now() - 1000));
+    state.getDatabase(0).put(safeKey("b"), string("2").expiredAt(Clock.now() + 60000));
+
+    state.evictExpired(Clock.now());
+
+    assertThat(state.getDatabase(0).size(), is(1));
+    assertThat(state.getKeyspace(0).getExpires(), is(1L));
+    assertThat(state.getKeyspaceStats().getExpired(), is(1L));
+    assertThat(state.getKeyspaceStats().getEvicted(), is(0L));
+  }
+
+  @Test
+  public void clear() {
+    StatsDatabase keyspace = state.getKeyspace(0);
+    KeyspaceStats stats = state.getKeyspaceStats();
+    state.getDatabase(0).put(safeKey("a"), string("1").expiredAt(Clock.now() + 60000));
+    state.getDatabase(0).get(safeKey("a"));
+    state.getDatabase(0).get(safeKey("b"));
+
+    state.clear();
+
+    assertThat(keyspace.getExpires(), is(0L));
+    assertThat(keyspace.getAvgTtl(), is(0L));
+    assertThat(stats.getHits(), is(0L));
+    assertThat(stats.getMisses(), is(0L));
+  }
+}
@@ -8,7 +8,6 @@ package com.github.tonivade.claudb;
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
 
-import java.time.Instant;
 import java.util.Map.Entry;
 
 import org.hamcrest.Matcher;
@@ -17,6 +16,7 @@ import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNull;
 
 import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.DatabaseValue;
 
 import io.vavr.Tuple2;
@@ -76,7 +76,7 @@ public class DatabaseValueMatchers {
 
     @Override
     protected boolean matchesSafely(DatabaseValue item) {
-      return item.isExpired(Instant.now());
+      return item.isExpired(Clock.now());
     }
   }
 
@@ -89,7 +89,7 @@ public class DatabaseValueMatchers {
 
     @Override
     protected boolean matchesSafely(DatabaseValue item) {
-      return !item.isExpired(Instant.now());
+      return !item.isExpired(Clock.now());
     }
   }
   
@@ -23,6 +23,7 @@ import org.junit.runners.model.Statement;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import com.github.tonivade.resp.annotation.Command;
 import com.github.tonivade.resp.command.Request;
 import com.github.tonivade.resp.command.RespCommand;
 import com.github.tonivade.resp.command.ServerContext;
@@ -99,6 +100,8 @@ public class CommandRule implements TestRule {
 
         command = target.getClass().getAnnotation(CommandUnderTest.class).value().newInstance();
 
+        when(request.getCommand()).thenReturn(command.getClass().getAnnotation(Command.class).value());
+
         base.evaluate();
 
         getDatabase().clear();
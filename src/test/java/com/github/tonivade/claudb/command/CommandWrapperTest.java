@@ -31,6 +31,7 @@ import com.github.tonivade.claudb.DBServerContext;
 import com.github.tonivade.claudb.DBServerState;
 import com.github.tonivade.claudb.DBSessionState;
 import com.github.tonivade.claudb.command.annotation.ParamType;
+import com.github.tonivade.claudb.command.server.SlowLog;
 import com.github.tonivade.claudb.data.DataType;
 import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseKey;
@@ -63,6 +64,7 @@ public class CommandWrapperTest {
 
   @Test
   public void testExecute() {
+    when(serverState.getSlowLog()).thenReturn(new SlowLog());
     DBCommandWrapper wrapper = new DBCommandWrapper(new SomeCommand());
 
     RedisToken response = wrapper.execute(request);
@@ -72,6 +74,7 @@ public class CommandWrapperTest {
 
   @Test
   public void testLengthOK() {
+    when(serverState.getSlowLog()).thenReturn(new SlowLog());
     when(request.getLength()).thenReturn(3);
 
     DBCommandWrapper wrapper = new DBCommandWrapper(new LengthCommand());
@@ -94,6 +97,7 @@ public class CommandWrapperTest {
 
   @Test
   public void testTypeOK() {
+    when(serverState.getSlowLog()).thenReturn(new SlowLog());
     when(db.isType(any(DatabaseKey.class), eq(DataType.STRING))).thenReturn(true);
     when(request.getParam(0)).thenReturn(safeString("test"));
 
@@ -116,6 +120,20 @@ public class CommandWrapperTest {
     assertThat(response, equalTo(error("WRONGTYPE Operation against a key holding the wrong kind of value")));
   }
 
+  @Test
+  public void testSlowLog() {
+    SlowLog slowLog = new SlowLog(0, 10);
+    when(serverState.getSlowLog()).thenReturn(slowLog);
+    when(session.getId()).thenReturn("localhost:12345");
+
+    DBCommandWrapper wrapper = new DBCommandWrapper(new SomeCommand());
+
+    wrapper.execute(request);
+
+    assertThat(slowLog.size(), equalTo(1));
+    assertThat(slowLog.get(1).get(0).getClient(), equalTo("localhost:12345"));
+  }
+
   @Command("test")
   private static class SomeCommand implements DBCommand {
     @Override
@@ -13,6 +13,8 @@ import static com.github.tonivade.claudb.data.DatabaseValue.zset;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 import com.github.tonivade.resp.protocol.RedisToken;
@@ -80,6 +82,18 @@ public class DBResponseTest {
                                          RedisToken.string("c")));
   }
 
+  @Test
+  public void convertsArray() {
+    RedisToken token = DBResponse.convertArray(Arrays.asList(safeString("a"), 1, true, 2.0, null, string("b")));
+
+    assertThat(token, equalTo(array(RedisToken.string("a"),
+                                    RedisToken.integer(1),
+                                    RedisToken.integer(true),
+                                    RedisToken.string("2.0"),
+                                    RedisToken.nullString(),
+                                    RedisToken.string("b"))));
+  }
+
   @Test
   public void convertsNull() {
     RedisToken token = DBResponse.convertValue((DatabaseValue) null);
@@ -5,7 +5,10 @@
 
 package com.github.tonivade.claudb.command.bitset;
 
+import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -26,4 +29,26 @@ public class BitCountCommandTest {
     .execute()
     .assertThat(integer(4));
   }
+
+  @Test
+  public void testExecuteRange()  {
+    rule.withData("test", DatabaseValue.string("foobar"))
+    .withParams("test", "1", "1")
+    .execute()
+    .assertThat(integer(6));
+
+    rule.withParams("test", "-2", "-1")
+    .execute()
+    .assertThat(integer(7));
+
+    rule.withParams("test", "0", "100")
+    .execute()
+    .assertThat(integer(26));
+  }
+
+  @Test
+  public void testOutOfRange()  {
+    assertThat(Bitmaps.bits(Integer.MAX_VALUE), equalTo(integer(Integer.MAX_VALUE)));
+    assertThat(Bitmaps.bits(1L << 31), equalTo(error("ERR bit count or position is out of range")));
+  }
 }
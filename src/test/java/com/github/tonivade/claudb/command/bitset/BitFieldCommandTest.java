@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.bitset;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.nullValue;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(BitFieldCommand.class)
+public class BitFieldCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void setAndGet() {
+    rule.withParams("test", "set", "u8", "0", "97", "set", "i8", "#1", "-1", "get", "u8", "#1", "get", "i4", "0")
+    .execute()
+    .assertValue("test", equalTo(string(new SafeString(new byte[] { 97, (byte) 0xff }))))
+    .assertThat(array(integer(0), integer(0), integer(255), integer(6)));
+  }
+
+  @Test
+  public void incrementAcrossWords() {
+    rule.withParams("test", "incrby", "i16", "56", "1000", "incrby", "i16", "56", "-3000")
+    .execute()
+    .assertThat(array(integer(1000), integer(-2000)));
+
+    rule.withParams("test", "get", "i16", "56")
+    .execute()
+    .assertThat(array(integer(-2000)));
+  }
+
+  @Test
+  public void overflow() {
+    rule.withParams("test", "incrby", "u2", "100", "1",
+                            "overflow", "sat", "incrby", "u2", "102", "5",
+                            "overflow", "wrap", "incrby", "u2", "104", "5",
+                            "overflow", "fail", "incrby", "u2", "106", "5")
+    .execute()
+    .assertThat(array(integer(1), integer(3), integer(1), nullString()));
+
+    rule.withParams("test", "overflow", "sat", "incrby", "i8", "0", "-200")
+    .execute()
+    .assertThat(array(integer(-128)));
+  }
+
+  @Test
+  public void getDoesNotCreate() {
+    rule.withParams("test", "get", "u8", "0")
+    .execute()
+    .assertValue("test", is(nullValue()))
+    .assertThat(array(integer(0)));
+  }
+
+  @Test
+  public void invalidType() {
+    rule.withParams("test", "get", "u32", "0")
+    .execute()
+    .assertThat(error("ERR Invalid bitfield type. Use something like i16 u8. Note that u32 and i64 are not supported."));
+
+    rule.withParams("test", "get", "u8")
+    .execute()
+    .assertThat(error("ERR syntax error"));
+  }
+}
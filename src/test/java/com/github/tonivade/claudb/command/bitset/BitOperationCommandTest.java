@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.bitset;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isString;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.nullValue;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(BitOperationCommand.class)
+public class BitOperationCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void and() {
+    rule.withData("a", string("foobar"))
+    .withData("b", string("abcdef"))
+    .withParams("and", "dest", "a", "b")
+    .execute()
+    .assertValue("dest", isString("`bc`ab"))
+    .assertThat(integer(6));
+  }
+
+  @Test
+  public void or() {
+    rule.withData("a", string("foo"))
+    .withData("b", string("abcdef"))
+    .withParams("OR", "dest", "a", "b")
+    .execute()
+    .assertValue("dest", isString("goodef"))
+    .assertThat(integer(6));
+  }
+
+  @Test
+  public void xor() {
+    rule.withData("a", string("ab"))
+    .withData("b", string("ab"))
+    .withParams("xor", "dest", "a", "b")
+    .execute()
+    .assertValue("dest", isString("\u0000\u0000"))
+    .assertThat(integer(2));
+  }
+
+  @Test
+  public void not() {
+    rule.withData("a", string("\u0000\u000f"))
+    .withParams("not", "dest", "a")
+    .execute()
+    .assertThat(integer(2));
+
+    rule.withParams("not", "dest", "a", "b")
+    .execute()
+    .assertThat(error("ERR BITOP NOT must be called with a single source key."));
+  }
+
+  @Test
+  public void emptyResult() {
+    rule.withData("dest", string("a"))
+    .withParams("and", "dest", "a", "b")
+    .execute()
+    .assertValue("dest", is(nullValue()))
+    .assertThat(integer(0));
+  }
+
+  @Test
+  public void wrongType() {
+    rule.withData("a", list("a"))
+    .withParams("and", "dest", "a")
+    .execute()
+    .assertThat(error("WRONGTYPE Operation against a key holding the wrong kind of value"));
+  }
+}
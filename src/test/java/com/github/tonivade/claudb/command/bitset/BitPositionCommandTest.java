@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.bitset;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.resp.protocol.SafeString;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+@CommandUnderTest(BitPositionCommand.class)
+public class BitPositionCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testExecute() {
+    rule.withData("test", DatabaseValue.string(new SafeString(new byte[] { (byte) 0xff, (byte) 0xf0, 0x00 })))
+    .withParams("test", "0")
+    .execute()
+    .assertThat(integer(12));
+
+    rule.withParams("test", "1", "2")
+    .execute()
+    .assertThat(integer(-1));
+
+    rule.withParams("test", "1", "1")
+    .execute()
+    .assertThat(integer(8));
+  }
+
+  @Test
+  public void allOnes() {
+    rule.withData("test", DatabaseValue.string(new SafeString(new byte[] { (byte) 0xff, (byte) 0xff })))
+    .withParams("test", "0")
+    .execute()
+    .assertThat(integer(16));
+
+    rule.withParams("test", "0", "0", "-1")
+    .execute()
+    .assertThat(integer(-1));
+  }
+
+  @Test
+  public void keyNotExists() {
+    rule.withParams("test", "0")
+    .execute()
+    .assertThat(integer(0));
+
+    rule.withParams("test", "1")
+    .execute()
+    .assertThat(integer(-1));
+  }
+
+  @Test
+  public void invalidBit() {
+    rule.withParams("test", "2")
+    .execute()
+    .assertThat(error("ERR The bit argument must be 1 or 0."));
+  }
+}
@@ -7,6 +7,7 @@ package com.github.tonivade.claudb.command.bitset;
 
 import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isString;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -29,6 +30,20 @@ public class SetBitCommandTest {
     .assertThat(integer(false));
   }
 
+  @Test
+  public void testExecuteStored()  {
+    rule.withData("test", DatabaseValue.string("a"))
+    .withParams("test", "6", "1")
+    .execute()
+    .assertValue("test", isString("c"))
+    .assertThat(integer(false));
+
+    rule.withParams("test", "15", "1")
+    .execute()
+    .assertValue("test", isString("c\u0001"))
+    .assertThat(integer(false));
+  }
+
   @Test
   public void testExecuteZero()  {
     rule.withData("test", DatabaseValue.bitset(10))
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.data.DatabaseValue.score;
+import static com.github.tonivade.claudb.data.DatabaseValue.zset;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+@CommandUnderTest(GeoAddCommand.class)
+public class GeoAddCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  static DatabaseValue sicily() {
+    return zset(score(3479099956230698L, safeString("Palermo")),
+                score(3479447370796909L, safeString("Catania")));
+  }
+
+  @Test
+  public void execute() {
+    rule.withParams("Sicily", "13.361389", "38.115556", "Palermo", "15.087269", "37.502669", "Catania")
+        .execute()
+        .assertValue("Sicily", is(sicily()))
+        .assertThat(integer(2));
+  }
+
+  @Test
+  public void update() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "13.361389", "38.115556", "Palermo", "13.583333", "37.316667", "Agrigento")
+        .execute()
+        .assertThat(integer(1));
+
+    rule.withParams("Sicily", "CH", "13", "38", "Palermo")
+        .execute()
+        .assertThat(integer(1));
+
+    rule.withParams("Sicily", "NX", "13.361389", "38.115556", "Palermo")
+        .execute()
+        .assertThat(integer(0))
+        .assertValue("Sicily", not(sicily()));
+
+    rule.withParams("Sicily", "XX", "CH", "13.361389", "38.115556", "Palermo", "14", "37", "Messina")
+        .execute()
+        .assertThat(integer(1));
+  }
+
+  @Test
+  public void invalid() {
+    rule.withParams("Sicily", "200", "38.115556", "Palermo")
+        .execute()
+        .assertThat(error("ERR invalid longitude,latitude pair 200.000000,38.115556"));
+
+    rule.withParams("Sicily", "a", "38.115556", "Palermo")
+        .execute()
+        .assertThat(error("ERR value is not a valid float"));
+
+    rule.withParams("Sicily", "NX", "13.361389", "38.115556")
+        .execute()
+        .assertThat(error("ERR syntax error"));
+  }
+}
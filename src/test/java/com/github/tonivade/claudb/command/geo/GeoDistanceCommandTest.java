@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.command.geo.GeoAddCommandTest.sicily;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(GeoDistanceCommand.class)
+public class GeoDistanceCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "Palermo", "Catania")
+        .execute()
+        .assertThat(string("166274.1516"));
+
+    rule.withParams("Sicily", "Palermo", "Catania", "km")
+        .execute()
+        .assertThat(string("166.2742"));
+
+    rule.withParams("Sicily", "Palermo", "Catania", "mi")
+        .execute()
+        .assertThat(string("103.3182"));
+
+    rule.withParams("Sicily", "Palermo", "NonExisting")
+        .execute()
+        .assertThat(nullString());
+  }
+
+  @Test
+  public void invalidUnit() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "Palermo", "Catania", "yd")
+        .execute()
+        .assertThat(error("ERR unsupported unit provided. please use M, KM, FT, MI"));
+  }
+}
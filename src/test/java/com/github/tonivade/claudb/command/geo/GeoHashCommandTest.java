@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.command.geo.GeoAddCommandTest.sicily;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(GeoHashCommand.class)
+public class GeoHashCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "Palermo", "Catania", "NonExisting")
+        .execute()
+        .assertThat(array(string("sqc8b49rny0"), string("sqdtr74hyu0"), nullString()));
+  }
+}
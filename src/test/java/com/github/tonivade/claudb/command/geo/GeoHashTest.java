@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class GeoHashTest {
+
+  @Test
+  public void encode() {
+    assertThat(GeoHash.encode(13.361389, 38.115556), is(3479099956230698L));
+    assertThat(GeoHash.encode(15.087269, 37.502669), is(3479447370796909L));
+  }
+
+  @Test
+  public void decode() {
+    double[] position = GeoHash.decode(3479099956230698L);
+
+    assertThat(position[0], closeTo(13.361389, 0.000001));
+    assertThat(position[1], closeTo(38.115556, 0.000001));
+  }
+
+  @Test
+  public void geohash() {
+    assertThat(GeoHash.toString(13.361389, 38.115556), is("sqc8b49rny0"));
+    assertThat(GeoHash.toString(15.087269, 37.502669), is("sqdtr74hyu0"));
+  }
+
+  @Test
+  public void distance() {
+    double[] palermo = GeoHash.decode(3479099956230698L);
+    double[] catania = GeoHash.decode(3479447370796909L);
+
+    assertThat(GeoHash.distance(palermo[0], palermo[1], catania[0], catania[1]), closeTo(166274.1516, 0.0001));
+  }
+
+  @Test
+  public void ranges() {
+    long hash = GeoHash.encode(15, 37);
+
+    List<long[]> ranges = GeoHash.ranges(15, 37, 200000);
+
+    assertThat(ranges.size() <= 9, is(true));
+    assertThat(ranges.stream().anyMatch(range -> range[0] <= hash && hash < range[1]), is(true));
+  }
+
+  @Test
+  public void rangesNearAntimeridian() {
+    long hash = GeoHash.encode(-179.9, 0);
+
+    List<long[]> ranges = GeoHash.ranges(179.9, 0, 50000);
+
+    assertThat(ranges.stream().anyMatch(range -> range[0] <= hash && hash < range[1]), is(true));
+  }
+
+  @Test
+  public void invalid() {
+    assertThat(GeoHash.isValid(181, 0), is(false));
+    assertThat(GeoHash.isValid(0, 86), is(false));
+    assertThat(GeoHash.isValid(-180, -85), is(true));
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.command.geo.GeoAddCommandTest.sicily;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(GeoRadiusByMemberCommand.class)
+public class GeoRadiusByMemberCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "Palermo", "200", "km", "WITHDIST")
+        .execute()
+        .assertThat(array(array(string("Palermo"), string("0.0000")),
+                          array(string("Catania"), string("166.2742"))));
+
+    rule.withParams("Sicily", "Palermo", "100", "km")
+        .execute()
+        .assertThat(array(string("Palermo")));
+  }
+
+  @Test
+  public void memberNotExists() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "Agrigento", "100", "km")
+        .execute()
+        .assertThat(error("ERR could not decode requested zset member"));
+  }
+}
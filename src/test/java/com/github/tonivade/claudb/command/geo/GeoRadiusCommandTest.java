@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.command.geo.GeoAddCommandTest.sicily;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(GeoRadiusCommand.class)
+public class GeoRadiusCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "15", "37", "200", "km", "WITHDIST", "ASC")
+        .execute()
+        .assertThat(array(array(string("Catania"), string("56.4413")),
+                          array(string("Palermo"), string("190.4424"))));
+
+    rule.withParams("Sicily", "15", "37", "100", "km")
+        .execute()
+        .assertThat(array(string("Catania")));
+
+    rule.withParams("Sicily", "15", "37", "200", "km", "DESC", "COUNT", "1")
+        .execute()
+        .assertThat(array(string("Palermo")));
+
+    rule.withParams("Sicily", "15", "37", "200", "km", "WITHCOORD", "COUNT", "1")
+        .execute()
+        .assertThat(array(array(string("Catania"),
+                                array(string("15.087267458438873"), string("37.50266842333161")))));
+  }
+
+  @Test
+  public void notExists() {
+    rule.withParams("notExists", "15", "37", "200", "km")
+        .execute()
+        .assertThat(array());
+  }
+
+  @Test
+  public void syntaxError() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "15", "37", "200", "km", "WITHHASHES")
+        .execute()
+        .assertThat(error("ERR syntax error"));
+
+    rule.withParams("Sicily", "15", "37", "200", "km", "ANY")
+        .execute()
+        .assertThat(error("ERR syntax error"));
+
+    rule.withParams("Sicily", "15", "37", "200", "km", "COUNT", "0")
+        .execute()
+        .assertThat(error("ERR COUNT must be > 0"));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.geo;
+
+import static com.github.tonivade.claudb.command.geo.GeoAddCommandTest.sicily;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(GeoSearchCommand.class)
+public class GeoSearchCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void byRadius() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "FROMLONLAT", "15", "37", "BYRADIUS", "200", "km", "ASC")
+        .execute()
+        .assertThat(array(string("Catania"), string("Palermo")));
+
+    rule.withParams("Sicily", "FROMMEMBER", "Catania", "BYRADIUS", "100", "km")
+        .execute()
+        .assertThat(array(string("Catania")));
+  }
+
+  @Test
+  public void byBox() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "FROMLONLAT", "15", "37", "BYBOX", "400", "400", "km", "ASC", "WITHDIST")
+        .execute()
+        .assertThat(array(array(string("Catania"), string("56.4413")),
+                          array(string("Palermo"), string("190.4424"))));
+
+    // palermo is 190 km away, but only 100 km to the north
+    rule.withParams("Sicily", "FROMLONLAT", "15", "37", "BYBOX", "400", "150", "km", "ASC")
+        .execute()
+        .assertThat(array(string("Catania")));
+  }
+
+  @Test
+  public void invalid() {
+    rule.withData("Sicily", sicily())
+        .withParams("Sicily", "FROMLONLAT", "15", "37", "FROMMEMBER", "Palermo", "BYRADIUS", "200", "km")
+        .execute()
+        .assertThat(error("ERR exactly one of FROMMEMBER or FROMLONLAT can be specified for geosearch"));
+
+    rule.withParams("Sicily", "FROMLONLAT", "15", "37", "BYRADIUS", "200", "km", "BYBOX", "1", "1", "km")
+        .execute()
+        .assertThat(error("ERR exactly one of BYRADIUS and BYBOX can be specified for geosearch"));
+
+    rule.withParams("Sicily", "FROMMEMBER", "Agrigento", "BYRADIUS", "200", "km")
+        .execute()
+        .assertThat(error("ERR could not decode requested zset member"));
+  }
+}
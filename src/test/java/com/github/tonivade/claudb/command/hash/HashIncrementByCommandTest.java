@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hash;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.entry;
+import static com.github.tonivade.claudb.data.DatabaseValue.hash;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(HashIncrementByCommand.class)
+public class HashIncrementByCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testExecute() {
+    rule.withData("a", hash(entry("key", "10"), entry("other", "value")))
+    .withParams("a", "key", "5")
+    .execute()
+    .assertValue("a", equalTo(hash(entry("key", "15"), entry("other", "value"))))
+    .assertThat(integer(15));
+
+    rule.withParams("a", "new", "-1")
+    .execute()
+    .assertThat(integer(-1));
+  }
+
+  @Test
+  public void notAnInteger() {
+    rule.withData("a", hash(entry("key", "value")))
+    .withParams("a", "key", "5")
+    .execute()
+    .assertThat(error("ERR hash value is not an integer"));
+
+    rule.withParams("a", "key", "a")
+    .execute()
+    .assertThat(error("ERR value is not an integer or out of range"));
+  }
+}
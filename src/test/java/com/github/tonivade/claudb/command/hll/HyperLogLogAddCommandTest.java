@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hll;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+@CommandUnderTest(HyperLogLogAddCommand.class)
+public class HyperLogLogAddCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withParams("hll", "a", "b", "c")
+        .execute()
+        .assertThat(integer(1));
+
+    rule.withParams("hll", "a", "b")
+        .execute()
+        .assertThat(integer(0));
+  }
+
+  @Test
+  public void executeWithoutElements() {
+    rule.withParams("hll")
+        .execute()
+        .assertThat(integer(1));
+
+    rule.withParams("hll")
+        .execute()
+        .assertThat(integer(0));
+  }
+
+  @Test
+  public void executeInvalidValue() {
+    rule.withData("hll", DatabaseValue.string("hello"))
+        .withParams("hll", "a")
+        .execute()
+        .assertThat(error("WRONGTYPE Key is not a valid HyperLogLog string value."));
+  }
+}
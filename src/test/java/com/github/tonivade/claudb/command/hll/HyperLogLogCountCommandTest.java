@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hll;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.HyperLogLog;
+
+@CommandUnderTest(HyperLogLogCountCommand.class)
+public class HyperLogLogCountCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("hll", hll("a", "b", "c"))
+        .withParams("hll")
+        .execute()
+        .assertThat(integer(3));
+
+    assertThat(rule.getDatabase().get(DatabaseKey.safeKey("hll")).getHyperLogLog().isCached(), is(true));
+  }
+
+  @Test
+  public void executeMultipleKeys() {
+    rule.withData("hll1", hll("a", "b", "c"))
+        .withData("hll2", hll("c", "d"))
+        .withParams("hll1", "hll2", "hll3")
+        .execute()
+        .assertThat(integer(4));
+  }
+
+  @Test
+  public void executeNotExists() {
+    rule.withParams("hll")
+        .execute()
+        .assertThat(integer(0));
+  }
+
+  @Test
+  public void executeInvalidValue() {
+    rule.withData("hll", DatabaseValue.string("hello"))
+        .withParams("hll")
+        .execute()
+        .assertThat(error("WRONGTYPE Key is not a valid HyperLogLog string value."));
+  }
+
+  private DatabaseValue hll(String... elements) {
+    HyperLogLog hll = new HyperLogLog();
+    for (String element : elements) {
+      hll.add(element.getBytes(UTF_8));
+    }
+    return DatabaseValue.hyperLogLog(hll);
+  }
+}
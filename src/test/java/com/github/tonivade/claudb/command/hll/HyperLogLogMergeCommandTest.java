@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.hll;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseKey;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.HyperLogLog;
+
+@CommandUnderTest(HyperLogLogMergeCommand.class)
+public class HyperLogLogMergeCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("dest", hll("a"))
+        .withData("hll1", hll("a", "b", "c"))
+        .withData("hll2", hll("c", "d"))
+        .withParams("dest", "hll1", "hll2", "hll3")
+        .execute()
+        .assertThat(responseOk());
+
+    HyperLogLog result = rule.getDatabase().get(DatabaseKey.safeKey("dest")).getHyperLogLog();
+
+    assertThat(result.isDense(), is(true));
+    assertThat(result.count(), is(4L));
+  }
+
+  @Test
+  public void executeInvalidValue() {
+    rule.withData("hll", DatabaseValue.string("hello"))
+        .withParams("dest", "hll")
+        .execute()
+        .assertThat(error("WRONGTYPE Key is not a valid HyperLogLog string value."));
+  }
+
+  private DatabaseValue hll(String... elements) {
+    HyperLogLog hll = new HyperLogLog();
+    for (String element : elements) {
+      hll.add(element.getBytes(UTF_8));
+    }
+    return DatabaseValue.hyperLogLog(hll);
+  }
+}
@@ -9,13 +9,12 @@ import static com.github.tonivade.resp.protocol.SafeString.safeString;
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
 
-import java.time.Instant;
-
 import org.junit.Rule;
 import org.junit.Test;
 
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.DatabaseKey;
 
 public abstract class TimeToLiveCommandTest {
@@ -32,9 +31,9 @@ public abstract class TimeToLiveCommandTest {
 
     @Test
     public void testExecuteExpired() {
-        Instant now = Instant.now();
+        long now = Clock.now();
 
-        rule.withData(new DatabaseKey(safeString("test")), string("value").expiredAt(now.minusSeconds(10)))
+        rule.withData(new DatabaseKey(safeString("test")), string("value").expiredAt(now - 10000))
             .withParams("test")
             .execute()
             .assertThat(RedisToken.integer(-2));
@@ -8,12 +8,11 @@ package com.github.tonivade.claudb.command.key;
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
 
-import java.time.Instant;
-
 import org.junit.Test;
 
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.Clock;
 import com.github.tonivade.claudb.data.DatabaseKey;
 
 @CommandUnderTest(TimeToLiveMillisCommand.class)
@@ -21,9 +20,9 @@ public class TimeToLiveMillisCommandTest extends TimeToLiveCommandTest {
 
   @Test
   public void testExecute() {
-    Instant now = Instant.now();
+    long now = Clock.now();
 
-    rule.withData(new DatabaseKey(safeString("test")), string("value").expiredAt(now.plusSeconds(10)))
+    rule.withData(new DatabaseKey(safeString("test")), string("value").expiredAt(now + 10000))
     .withParams("test")
     .execute()
     .assertThat(org.hamcrest.Matchers.any(RedisToken.class));
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.key;
+
+import static com.github.tonivade.claudb.DatabaseValueMatchers.nullValue;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@CommandUnderTest(UnlinkCommand.class)
+public class UnlinkCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testExecute() {
+    rule.withData("a", string("1"))
+    .withData("b", string("2"))
+    .withParams("a", "b", "c")
+    .execute()
+    .assertValue("a", is(nullValue()))
+    .assertValue("b", is(nullValue()))
+    .assertThat(RedisToken.integer(2));
+  }
+}
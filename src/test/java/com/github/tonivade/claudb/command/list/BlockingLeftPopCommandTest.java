@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isList;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseValue;
+
+@CommandUnderTest(BlockingLeftPopCommand.class)
+public class BlockingLeftPopCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void popFirstNonEmptyKey() {
+    rule.withData("key2", list("a", "b"))
+        .withParams("key1", "key2", "0")
+        .execute()
+        .assertValue("key2", isList("b"))
+        .assertThat(array(string("key2"), string("a")));
+  }
+
+  @Test
+  public void blockWhenEmpty() {
+    rule.withParams("key", "0")
+        .execute()
+        .assertThat(nullValue());
+
+    assertThat(rule.getServerState().getBlockingRegistry().isBlocked(rule.getSession()), equalTo(true));
+  }
+
+  @Test
+  public void doNotBlockInsideTransaction() {
+    rule.getSessionState().setBlockingAllowed(false);
+
+    rule.withParams("key", "0")
+        .execute()
+        .assertThat(nullString());
+
+    assertThat(rule.getServerState().getBlockingRegistry().isBlocked(rule.getSession()), equalTo(false));
+  }
+
+  @Test
+  public void invalidTimeout() {
+    rule.withParams("key", "-1")
+        .execute()
+        .assertThat(error("ERR timeout is not a float or out of range"));
+  }
+
+  @Test
+  public void wrongType() {
+    rule.withData("key", DatabaseValue.string("a"))
+        .withParams("key", "0")
+        .execute()
+        .assertThat(error("WRONGTYPE Operation against a key holding the wrong kind of value"));
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isList;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.github.tonivade.claudb.data.Database;
+import com.github.tonivade.claudb.data.OnHeapDatabaseFactory;
+import com.github.tonivade.resp.command.Session;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BlockingRegistryTest {
+
+  @Mock
+  private Session first;
+  @Mock
+  private Session second;
+
+  private final BlockingRegistry registry = new BlockingRegistry();
+  private final Database db = new OnHeapDatabaseFactory().create("test");
+
+  @Before
+  public void setUp() {
+    when(first.getId()).thenReturn("first");
+    when(second.getId()).thenReturn("second");
+  }
+
+  @Test
+  public void serveInArrivalOrder() {
+    registry.block(waiter(first, Waiter.Side.LEFT, 0));
+    registry.block(waiter(second, Waiter.Side.RIGHT, 0));
+
+    db.put(safeKey("key"), list("a", "b", "c"));
+    registry.signal(0, safeString("key"));
+
+    assertThat(registry.serve(i -> db), equalTo(asList(array(string("0"), string("lpop"), string("key")),
+                                                       array(string("0"), string("rpop"), string("key")))));
+    assertThat(db.get(safeKey("key")), isList("b"));
+    verify(first).publish(array(string("key"), string("a")));
+    verify(second).publish(array(string("key"), string("c")));
+    assertThat(registry.isBlocked(first), equalTo(false));
+    assertThat(registry.isBlocked(second), equalTo(false));
+  }
+
+  @Test
+  public void keepWaitingWhileEmpty() {
+    registry.block(waiter(first, Waiter.Side.LEFT, 0));
+
+    registry.signal(0, safeString("key"));
+
+    assertThat(registry.serve(i -> db), empty());
+    assertThat(registry.isBlocked(first), equalTo(true));
+  }
+
+  @Test
+  public void expireTimeout() {
+    long now = System.currentTimeMillis();
+    registry.block(waiter(first, Waiter.Side.LEFT, now + 150));
+    registry.block(waiter(second, Waiter.Side.LEFT, 0));
+
+    registry.expire(now);
+
+    verify(first, never()).publish(nullString());
+
+    registry.expire(now + 300);
+
+    verify(first).publish(nullString());
+    assertThat(registry.isBlocked(first), equalTo(false));
+    assertThat(registry.isBlocked(second), equalTo(true));
+    assertThat(registry.hasTimeouts(), equalTo(false));
+  }
+
+  @Test
+  public void cancelOnDisconnect() {
+    registry.block(waiter(first, Waiter.Side.LEFT, System.currentTimeMillis() + 1000));
+
+    registry.cancel(first);
+
+    assertThat(registry.isBlocked(first), equalTo(false));
+    assertThat(registry.hasTimeouts(), equalTo(false));
+  }
+
+  private Waiter waiter(Session session, Waiter.Side side, long deadline) {
+    return new Waiter(session, 0, singletonList(safeString("key")), side, Optional.empty(), deadline);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isList;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(BlockingRightPopCommand.class)
+public class BlockingRightPopCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void popLastElement() {
+    rule.withData("key", list("a", "b"))
+        .withParams("key", "1.5")
+        .execute()
+        .assertValue("key", isList("a"))
+        .assertThat(array(string("key"), string("b")));
+  }
+
+  @Test
+  public void blockWhenEmpty() {
+    rule.withParams("key", "1.5")
+        .execute()
+        .assertThat(nullValue());
+
+    assertThat(rule.getServerState().getBlockingRegistry().hasTimeouts(), equalTo(true));
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isList;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(BlockingRightPopLeftPushCommand.class)
+public class BlockingRightPopLeftPushCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void moveElement() {
+    rule.withData("source", list("a", "b"))
+        .withData("destination", list("c"))
+        .withParams("source", "destination", "0")
+        .execute()
+        .assertValue("source", isList("a"))
+        .assertValue("destination", isList("b", "c"))
+        .assertThat(string("b"));
+  }
+
+  @Test
+  public void blockWhenEmpty() {
+    rule.withParams("source", "destination", "0")
+        .execute()
+        .assertThat(nullValue());
+
+    assertThat(rule.getServerState().getBlockingRegistry().isBlocked(rule.getSession()), equalTo(true));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isList;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(ListInsertCommand.class)
+public class ListInsertCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testExecute() {
+    rule.withData("key", list("a", "c"))
+        .withParams("key", "BEFORE", "c", "b")
+        .execute()
+        .assertValue("key", isList("a", "b", "c"))
+        .assertThat(RedisToken.integer(3));
+
+    rule.withParams("key", "after", "c", "d")
+        .execute()
+        .assertValue("key", isList("a", "b", "c", "d"))
+        .assertThat(RedisToken.integer(4));
+  }
+
+  @Test
+  public void pivotNotFound() {
+    rule.withData("key", list("a", "c"))
+        .withParams("key", "before", "z", "b")
+        .execute()
+        .assertValue("key", isList("a", "c"))
+        .assertThat(RedisToken.integer(-1));
+  }
+
+  @Test
+  public void keyNotExists() {
+    rule.withParams("key", "before", "a", "b")
+        .execute()
+        .assertValue("key", is(nullValue()))
+        .assertThat(RedisToken.integer(0));
+  }
+
+  @Test
+  public void syntaxError() {
+    rule.withData("key", list("a", "c"))
+        .withParams("key", "middle", "a", "b")
+        .execute()
+        .assertThat(RedisToken.error("ERR syntax error"));
+  }
+}
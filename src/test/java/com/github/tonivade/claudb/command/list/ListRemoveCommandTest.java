@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.list;
+
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isList;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(ListRemoveCommand.class)
+public class ListRemoveCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testExecute() {
+    rule.withData("key", list("a", "b", "a", "c", "a"))
+        .withParams("key", "-2", "a")
+        .execute()
+        .assertValue("key", isList("a", "b", "c"))
+        .assertThat(RedisToken.integer(2));
+  }
+
+  @Test
+  public void removeAll() {
+    rule.withData("key", list("a", "a"))
+        .withParams("key", "0", "a")
+        .execute()
+        .assertValue("key", is(nullValue()))
+        .assertThat(RedisToken.integer(2));
+  }
+}
@@ -107,7 +107,7 @@ public class EvalCommandTest {
   public void testExecuteScriptError() {
     rule.withParams("return '1", "0")
         .execute()
-        .assertThat(error("eval threw javax.script.ScriptException: [string \"script\"]:1: unfinished string"));
+        .assertThat(error("ERR Error running script: [string \"script\"]:1: unfinished string"));
   }
 
   @Test
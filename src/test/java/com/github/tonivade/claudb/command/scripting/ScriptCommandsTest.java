@@ -64,6 +64,13 @@ public class ScriptCommandsTest {
         .assertThat(integer(false));
   }
 
+  @Test
+  public void killNotBusy() {
+    rule.withParams("kill")
+        .execute()
+        .assertThat(error("NOTBUSY No scripts in execution right now."));
+  }
+
   @Test
   public void unknown() {
     rule.withParams("asdf", sha1sum)
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.scripting;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.resp.protocol.SafeString;
+
+import io.vavr.control.Try;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScriptExecutorTest {
+
+  private static final SafeString SHA1 = safeString("sha1");
+
+  @Mock
+  private Session session;
+  @Mock
+  private RedisLibrary redis;
+
+  private final ScriptExecutor executor = new ScriptExecutor(10);
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void finishBeforeTimeLimit() {
+    RedisToken result = executor.execute(SHA1, session, script -> integer(1));
+
+    assertThat(result, equalTo(integer(1)));
+    assertThat(executor.isBusy(), equalTo(false));
+    assertThat(executor.getStats().get(SHA1).getCalls(), equalTo(1L));
+  }
+
+  @Test
+  public void killReadOnlyScript() {
+    RedisToken result = executor.execute(SHA1, session,
+        script -> interpreter(script).execute(safeString("while true do end"), emptyList(), emptyList()));
+
+    assertThat(result, nullValue());
+    assertThat(executor.isBusy(), equalTo(true));
+    assertThat(executor.kill(), equalTo(responseOk()));
+
+    verify(session, timeout(1000)).publish(error("ERR Error running script: script:1 Script killed by user with SCRIPT KILL..."));
+  }
+
+  @Test
+  public void killAfterWrite() {
+    CountDownLatch latch = new CountDownLatch(1);
+
+    RedisToken result = executor.execute(SHA1, session, script -> {
+      script.markDirty();
+      Try.run(latch::await);
+      return integer(1);
+    });
+
+    assertThat(result, nullValue());
+    assertThat(executor.kill(), equalTo(error("UNKILLABLE Sorry the script already executed write commands against the dataset. "
+        + "You can either wait the script termination or kill the server in a hard way using the SHUTDOWN NOSAVE command.")));
+
+    latch.countDown();
+
+    verify(session, timeout(1000)).publish(integer(1));
+  }
+
+  private LuaInterpreter interpreter(RunningScript script) {
+    return new LuaInterpreter(new RedisBinding(redis), Optional.of(new ScriptWatchdog(script)));
+  }
+}
@@ -5,6 +5,7 @@
 
 package com.github.tonivade.claudb.command.server;
 
+import static com.github.tonivade.resp.protocol.RedisToken.error;
 import static com.github.tonivade.resp.protocol.RedisToken.status;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
 import static org.hamcrest.CoreMatchers.is;
@@ -31,4 +32,24 @@ public class FlushDBCommandTest {
     assertThat(rule.getDatabase().isEmpty(), is(true));
   }
 
+  @Test
+  public void testExecuteAsync() {
+    rule.withData("a", string("test"))
+    .withParams("async")
+    .execute()
+    .assertThat(status("OK"));
+
+    assertThat(rule.getDatabase().isEmpty(), is(true));
+  }
+
+  @Test
+  public void testExecuteInvalidOption() {
+    rule.withData("a", string("test"))
+    .withParams("later")
+    .execute()
+    .assertThat(error("ERR syntax error"));
+
+    assertThat(rule.getDatabase().isEmpty(), is(false));
+  }
+
 }
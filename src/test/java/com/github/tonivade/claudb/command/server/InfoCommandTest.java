@@ -5,6 +5,7 @@
 
 package com.github.tonivade.claudb.command.server;
 
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
 import static org.hamcrest.Matchers.any;
 
 import org.junit.Rule;
@@ -26,4 +27,13 @@ public class InfoCommandTest {
     .execute()
     .assertThat(any(RedisToken.class));
   }
+
+  @Test
+  public void testKeyspace()  {
+    rule.withData("a", string("1"))
+    .withData("b", string("2"))
+    .withParams("keyspace")
+    .execute()
+    .assertThat(RedisToken.string("#keyspace\r\ndb0:keys=2,expires=0,avg_ttl=0\r\n\r\n\r\n"));
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.server;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static java.util.stream.Collectors.toList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(SlowLogCommand.class)
+public class SlowLogCommandTest {
+
+  private static final int DEFAULT_MAX = 128;
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testGet() {
+    slowCommand("get", "a");
+    slowCommand("set", "a", "1");
+
+    rule.withParams("get")
+    .execute()
+    .assertThat(array(entry(1, "set", "a", "1"), entry(0, "get", "a")));
+  }
+
+  @Test
+  public void testGetCount() {
+    slowCommand("get", "a");
+    slowCommand("set", "a", "1");
+
+    rule.withParams("get", "1")
+    .execute()
+    .assertThat(array(entry(1, "set", "a", "1")));
+  }
+
+  @Test
+  public void testGetInvalidCount() {
+    rule.withParams("get", "a")
+    .execute()
+    .assertThat(error("ERR value is not an integer or out of range"));
+  }
+
+  @Test
+  public void testLen() {
+    slowCommand("get", "a");
+
+    rule.withParams("len")
+    .execute()
+    .assertThat(integer(1));
+  }
+
+  @Test
+  public void testReset() {
+    slowCommand("get", "a");
+
+    rule.withParams("RESET")
+    .execute()
+    .assertThat(responseOk());
+
+    rule.withParams("len")
+    .execute()
+    .assertThat(integer(0));
+  }
+
+  @Test
+  public void testUnknownSubcommand() {
+    rule.withParams("notExists")
+    .execute()
+    .assertThat(error("Unknown SLOWLOG subcommand: notexists"));
+  }
+
+  private void slowCommand(String command, String ... params) {
+    Request request = mock(Request.class);
+    when(request.getCommand()).thenReturn(command);
+    when(request.getParams()).thenReturn(safeAsList(params));
+    when(request.getSession()).thenReturn(rule.getSession());
+    rule.getServerState().getSlowLog().record(request, 20000);
+  }
+
+  private RedisToken entry(int id, String ... arguments) {
+    // the timestamp depends on when it was recorded
+    long timestamp = rule.getServerState().getSlowLog().get(DEFAULT_MAX).stream()
+        .filter(entry -> entry.getId() == id).findFirst().get().getTimestamp();
+    return array(integer(id),
+                 integer((int) timestamp),
+                 integer(20000),
+                 array(safeAsList(arguments).stream().map(RedisToken::string).collect(toList())),
+                 string("localhost:12345"));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.server;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.tonivade.resp.command.Request;
+import com.github.tonivade.resp.command.Session;
+import com.github.tonivade.resp.protocol.SafeString;
+
+public class SlowLogTest {
+
+  @Test
+  public void fasterCommandsAreNotRecorded() {
+    SlowLog slowLog = new SlowLog(100, 10);
+
+    slowLog.record(request("get", 1), 99);
+
+    assertThat(slowLog.size(), equalTo(0));
+  }
+
+  @Test
+  public void negativeThresholdDisablesTheLog() {
+    SlowLog slowLog = new SlowLog(-1, 10);
+
+    slowLog.record(request("get", 1), Long.MAX_VALUE);
+
+    assertThat(slowLog.size(), equalTo(0));
+  }
+
+  @Test
+  public void oldestEntriesAreOverwritten() {
+    SlowLog slowLog = new SlowLog(0, 3);
+
+    for (int i = 0; i < 5; i++) {
+      slowLog.record(request("get", 1), i);
+    }
+
+    assertThat(slowLog.size(), equalTo(3));
+    assertThat(slowLog.get(10).stream().map(SlowLog.Entry::getId).collect(toList()), contains(4L, 3L, 2L));
+  }
+
+  @Test
+  public void resetRemovesAllEntries() {
+    SlowLog slowLog = new SlowLog(0, 3);
+    slowLog.record(request("get", 1), 0);
+
+    slowLog.reset();
+    slowLog.record(request("set", 2), 0);
+
+    assertThat(slowLog.size(), equalTo(1));
+    assertThat(slowLog.get(10).get(0).getArguments().get(0), equalTo(safeString("set")));
+  }
+
+  @Test
+  public void argumentsAreTruncated() {
+    SlowLog slowLog = new SlowLog(0, 3);
+
+    slowLog.record(request("mset", 40), 0);
+
+    List<SafeString> arguments = slowLog.get(1).get(0).getArguments();
+    assertThat(arguments, hasSize(32));
+    assertThat(arguments.get(31), equalTo(safeString("... (10 more arguments)")));
+  }
+
+  @Test
+  public void longArgumentsAreTruncated() {
+    SlowLog slowLog = new SlowLog(0, 3);
+    Request request = request("set", 0);
+    when(request.getParams()).thenReturn(asList(safeString("a"), safeString(String.join("", nCopies(200, "x")))));
+
+    slowLog.record(request, 0);
+
+    SafeString argument = slowLog.get(1).get(0).getArguments().get(2);
+    assertThat(argument.toString(), equalTo(String.join("", nCopies(128, "x")) + "... (72 more bytes)"));
+  }
+
+  private Request request(String command, int params) {
+    List<SafeString> list = new ArrayList<>();
+    for (int i = 0; i < params; i++) {
+      list.add(safeString("param" + i));
+    }
+    Request request = mock(Request.class);
+    Session session = mock(Session.class);
+    when(request.getCommand()).thenReturn(command);
+    when(request.getParams()).thenReturn(list);
+    when(request.getSession()).thenReturn(session);
+    return request;
+  }
+}
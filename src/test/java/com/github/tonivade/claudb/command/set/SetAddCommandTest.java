@@ -6,6 +6,7 @@ package com.github.tonivade.claudb.command.set;
 
 import static com.github.tonivade.resp.protocol.RedisToken.integer;
 import static com.github.tonivade.claudb.DatabaseValueMatchers.isSet;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.set;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -26,4 +27,22 @@ public class SetAddCommandTest {
     .assertValue("key", isSet("value"))
     .assertThat(integer(1));
   }
+
+  @Test
+  public void testExecuteMultiple()  {
+    rule.withData("key", set("a"))
+    .withParams("key", "a", "b", "c")
+    .execute()
+    .assertValue("key", isSet("a", "b", "c"))
+    .assertThat(integer(2));
+  }
+
+  @Test
+  public void testExecuteUpgradeIntSet()  {
+    rule.withData("key", set("1", "2"))
+    .withParams("key", "a")
+    .execute()
+    .assertValue("key", isSet("1", "2", "a"))
+    .assertThat(integer(1));
+  }
 }
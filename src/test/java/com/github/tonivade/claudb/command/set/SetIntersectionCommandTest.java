@@ -7,6 +7,7 @@ package com.github.tonivade.claudb.command.set;
 import static com.github.tonivade.resp.protocol.RedisToken.array;
 import static com.github.tonivade.resp.protocol.RedisToken.string;
 import static com.github.tonivade.claudb.DatabaseValueMatchers.set;
+import static com.github.tonivade.claudb.command.InAnyOrderRedisArrayMatcher.containsInAnyOrder;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -29,6 +30,16 @@ public class SetIntersectionCommandTest {
     .assertThat(array(string("3")));
   }
 
+  @Test
+  public void testExecuteSmallestFirst()  {
+    rule.withData("a", set("1", "2", "3", "4", "5"))
+    .withData("b", set("5", "4", "x"))
+    .withData("c", set("4", "5", "6"))
+    .withParams("a", "b", "c")
+    .execute()
+    .assertThat(containsInAnyOrder(string("4"), string("5")));
+  }
+
   @Test
   public void testExecuteNoExists()  {
     rule.withData("a", set("1", "2", "3"))
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.set;
+
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isSet;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.nullValue;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.set;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(SetIntersectionStoreCommand.class)
+public class SetIntersectionStoreCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testExecute()  {
+    rule.withData("a", set("1", "2", "3"))
+    .withData("b", set("3", "4"))
+    .withData("dst", string("old"))
+    .withParams("dst", "a", "b")
+    .execute()
+    .assertThat(integer(1))
+    .assertValue("dst", isSet("3"));
+  }
+
+  @Test
+  public void testExecuteEmpty()  {
+    rule.withData("dst", set("1"))
+    .withParams("dst", "a", "b")
+    .execute()
+    .assertThat(integer(0))
+    .assertValue("dst", is(nullValue()));
+  }
+
+  @Test
+  public void testExecuteWrongType()  {
+    rule.withData("a", set("1", "2", "3"))
+    .withData("b", string("3"))
+    .withParams("dst", "a", "b")
+    .execute()
+    .assertThat(error("WRONGTYPE Operation against a key holding the wrong kind of value"));
+  }
+}
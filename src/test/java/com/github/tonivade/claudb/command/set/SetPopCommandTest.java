@@ -6,10 +6,16 @@ package com.github.tonivade.claudb.command.set;
 
 import static com.github.tonivade.claudb.DatabaseValueMatchers.set;
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.DatabaseValueMatchers.nullValue;
+import static com.github.tonivade.claudb.command.set.SetRandomMemberCommandTest.hasSize;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.Optional;
+
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -35,6 +41,56 @@ public class SetPopCommandTest {
     assertThat(value.size(), is(2));
   }
 
+  @Test
+  public void testExecuteCount()  {
+    rule.withData("key", set("a", "b", "c"))
+    .withParams("key", "2")
+    .execute()
+    .assertThat(hasSize(2));
+
+    assertThat(rule.getDatabase().get(safeKey("key")).size(), is(1));
+
+    rule.withParams("key", "5")
+    .execute()
+    .assertThat(hasSize(1))
+    .assertValue("key", nullValue());
+  }
+
+  @Test
+  public void testReplicatedAsRemove()  {
+    rule.withData("key", set("a"))
+    .withParams("key")
+    .execute()
+    .assertThat(string("a"));
+
+    assertThat(rule.getSessionState().removeReplication(rule.getRequest()),
+        is(Optional.of(array(string("0"), string("srem"), string("key"), string("a")))));
+
+    rule.withData("key", set("b"))
+    .withParams("key", "5")
+    .execute()
+    .assertThat(array(string("b")));
+
+    assertThat(rule.getSessionState().removeReplication(rule.getRequest()),
+        is(Optional.of(array(string("0"), string("srem"), string("key"), string("b")))));
+  }
+
+  @Test
+  public void testNotExistsNotReplicatedAsRemove()  {
+    rule.withParams("key")
+    .execute();
+
+    assertThat(rule.getSessionState().removeReplication(rule.getRequest()), is(Optional.empty()));
+  }
+
+  @Test
+  public void testExecuteNegativeCount()  {
+    rule.withData("key", set("a", "b", "c"))
+    .withParams("key", "-1")
+    .execute()
+    .assertThat(RedisToken.error("ERR value is out of range, must be positive"));
+  }
+
   @Test
   public void testExecuteNotExists()  {
     rule.withParams("key")
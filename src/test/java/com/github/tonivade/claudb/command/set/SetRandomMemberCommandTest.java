@@ -7,13 +7,18 @@ package com.github.tonivade.claudb.command.set;
 
 import static com.github.tonivade.claudb.DatabaseValueMatchers.set;
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.command.InAnyOrderRedisArrayMatcher.containsInAnyOrder;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
+import org.hamcrest.FeatureMatcher;
+import org.hamcrest.Matcher;
 import org.junit.Rule;
 import org.junit.Test;
 
+import com.github.tonivade.resp.protocol.AbstractRedisToken.ArrayRedisToken;
 import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.command.CommandRule;
 import com.github.tonivade.claudb.command.CommandUnderTest;
@@ -36,6 +41,48 @@ public class SetRandomMemberCommandTest {
     assertThat(value.size(), is(3));
   }
 
+  @Test
+  public void testExecuteCount()  {
+    rule.withData("key", set("a", "b", "c", "d", "e"))
+    .withParams("key", "2")
+    .execute()
+    .assertThat(hasSize(2));
+
+    rule.withParams("key", "4")
+    .execute()
+    .assertThat(hasSize(4));
+
+    rule.withParams("key", "10")
+    .execute()
+    .assertThat(containsInAnyOrder(string("a"), string("b"), string("c"), string("d"), string("e")));
+
+    rule.withParams("key", "-10")
+    .execute()
+    .assertThat(hasSize(10));
+  }
+
+  @Test
+  public void testExecuteCountOutOfRange()  {
+    rule.withData("key", set("a", "b", "c"))
+    .withParams("key", "-2000000000")
+    .execute()
+    .assertThat(RedisToken.error("ERR value is out of range"));
+
+    rule.withParams("key", String.valueOf(Integer.MIN_VALUE))
+    .execute()
+    .assertThat(RedisToken.error("ERR value is out of range"));
+  }
+
+  @Test
+  public void testExecuteCountDistinct()  {
+    rule.withData("key", set("a", "b", "c", "d", "e"))
+    .withParams("key", "3")
+    .execute();
+
+    RedisToken response = rule.getResponse();
+    assertThat(((ArrayRedisToken) response).getValue().stream().distinct().count(), is(3L));
+  }
+
   @Test
   public void testExecuteNotExists()  {
     rule.withParams("key")
@@ -43,4 +90,12 @@ public class SetRandomMemberCommandTest {
     .assertThat(RedisToken.nullString());
   }
 
+  static Matcher<RedisToken> hasSize(int size) {
+    return new FeatureMatcher<RedisToken, Integer>(is(size), "array of size", "size") {
+      @Override
+      protected Integer featureValueOf(RedisToken actual) {
+        return ((ArrayRedisToken) actual).getValue().size();
+      }
+    };
+  }
 }
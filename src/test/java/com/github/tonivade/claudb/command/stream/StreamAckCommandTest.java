@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.claudb.command.stream.StreamReadGroupCommandTest.withGroup;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamId;
+
+@CommandUnderTest(StreamAckCommand.class)
+public class StreamAckCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    DatabaseValue value = withGroup(stream(3));
+    value.getStream().getGroup(safeString("group")).deliver(new StreamId(1, 0), safeString("alice"), 0, false);
+    value.getStream().getGroup(safeString("group")).deliver(new StreamId(1, 1), safeString("alice"), 0, false);
+
+    rule.withData("key", value)
+        .withParams("key", "group", "1-0", "1-1", "1-2")
+        .execute()
+        .assertThat(integer(2));
+
+    rule.withParams("key", "group", "1-0")
+        .execute()
+        .assertThat(integer(0));
+
+    rule.withParams("key", "other", "1-0")
+        .execute()
+        .assertThat(integer(0));
+  }
+
+  @Test
+  public void executeInvalidId() {
+    rule.withParams("key", "group", "a")
+        .execute()
+        .assertThat(error("ERR Invalid stream ID specified as stream command argument"));
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.Clock;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@CommandUnderTest(StreamAddCommand.class)
+public class StreamAddCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withParams("key", "1-1", "a", "1", "b", "2")
+        .execute()
+        .assertThat(string("1-1"));
+
+    rule.withParams("key", "2", "a", "3")
+        .execute()
+        .assertThat(string("2-0"));
+
+    assertThat(savedStream().size(), equalTo(2));
+    assertThat(savedStream().getLastId(), equalTo(new StreamId(2, 0)));
+  }
+
+  @Test
+  public void executeWithGeneratedId() {
+    rule.withParams("key", "*", "a", "1")
+        .execute();
+
+    assertThat(savedStream().getLastId().getTime(), greaterThan(0L));
+  }
+
+  @Test
+  public void generatedIdWithFrozenClock() {
+    rule.withParams("key", "*", "a", "1");
+
+    RedisToken first = Clock.frozen(1000L, () -> rule.execute().getResponse());
+    RedisToken second = Clock.frozen(1000L, () -> rule.execute().getResponse());
+
+    assertThat(first, equalTo(string("1000-0")));
+    assertThat(second, equalTo(string("1000-1")));
+  }
+
+  @Test
+  public void replicatedWithGeneratedId() {
+    rule.withParams("key", "MAXLEN", "10", "*", "a", "1")
+        .execute();
+
+    String id = savedStream().getLastId().toString();
+    Optional<RedisToken> replicated = rule.getSessionState().removeReplication(rule.getRequest());
+
+    assertThat(replicated, equalTo(Optional.of(array(string("0"), string("xadd"), string("key"),
+        string("MAXLEN"), string("10"), string(id), string("a"), string("1")))));
+  }
+
+  @Test
+  public void executeWithMaxLength() {
+    rule.withData("key", stream(5))
+        .withParams("key", "MAXLEN", "3", "2-0", "a", "1")
+        .execute()
+        .assertThat(string("2-0"));
+
+    assertThat(savedStream().size(), equalTo(3));
+  }
+
+  @Test
+  public void executeWithSmallerId() {
+    rule.withData("key", stream(5))
+        .withParams("key", "1-4", "a", "1")
+        .execute()
+        .assertThat(error("ERR The ID specified in XADD is equal or smaller than the target stream top item"));
+
+    rule.withParams("key", "0-0", "a", "1")
+        .execute()
+        .assertThat(error("ERR The ID specified in XADD must be greater than 0-0"));
+  }
+
+  @Test
+  public void executeWithInvalidParams() {
+    rule.withParams("key", "MAXLEN", "1", "1-1", "a")
+        .execute()
+        .assertThat(error("ERR wrong number of arguments for 'xadd' command"));
+
+    rule.withParams("key", "a-b", "a", "1")
+        .execute()
+        .assertThat(error("ERR Invalid stream ID specified as stream command argument"));
+  }
+
+  private StreamLog savedStream() {
+    return rule.getDatabase().get(safeKey("key")).getStream();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+
+@CommandUnderTest(StreamGroupCommand.class)
+public class StreamGroupCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void create() {
+    rule.withData("key", stream(3))
+        .withParams("CREATE", "key", "group", "$")
+        .execute()
+        .assertThat(responseOk());
+
+    assertThat(savedStream().getGroup(safeString("group")).getLastDelivered(), equalTo(new StreamId(1, 2)));
+
+    rule.withParams("CREATE", "key", "group", "0")
+        .execute()
+        .assertThat(error("BUSYGROUP Consumer Group name already exists"));
+  }
+
+  @Test
+  public void createWithoutStream() {
+    rule.withParams("CREATE", "key", "group", "$")
+        .execute()
+        .assertThat(error("ERR The XGROUP subcommand requires the key to exist. Note that for CREATE you may want "
+            + "to use the MKSTREAM option to create an empty stream automatically."));
+
+    rule.withParams("CREATE", "key", "group", "$", "MKSTREAM")
+        .execute()
+        .assertThat(responseOk());
+
+    assertThat(savedStream().isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void setIdAndDestroy() {
+    rule.withData("key", stream(3))
+        .withParams("CREATE", "key", "group", "0")
+        .execute()
+        .assertThat(responseOk());
+
+    rule.withParams("SETID", "key", "group", "1-1")
+        .execute()
+        .assertThat(responseOk());
+
+    assertThat(savedStream().getGroup(safeString("group")).getLastDelivered(), equalTo(new StreamId(1, 1)));
+
+    rule.withParams("DESTROY", "key", "group")
+        .execute()
+        .assertThat(integer(1));
+
+    rule.withParams("SETID", "key", "group", "1-1")
+        .execute()
+        .assertThat(error("NOGROUP No such consumer group 'group' for key name 'key'"));
+  }
+
+  private StreamLog savedStream() {
+    return rule.getDatabase().get(safeKey("key")).getStream();
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+
+@CommandUnderTest(StreamLengthCommand.class)
+public class StreamLengthCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    StreamLog stream = new StreamLog();
+    stream.add(new StreamId(1, 0), safeAsList("a", "1"));
+    stream.add(new StreamId(1, 1), safeAsList("a", "2"));
+
+    rule.withData("key", DatabaseValue.stream(stream))
+        .withParams("key")
+        .execute()
+        .assertThat(integer(2));
+
+    rule.withParams("notExists")
+        .execute()
+        .assertThat(integer(0));
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.claudb.command.stream.StreamReadGroupCommandTest.withGroup;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamId;
+
+@CommandUnderTest(StreamPendingCommand.class)
+public class StreamPendingCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void summary() {
+    rule.withData("key", withPending())
+        .withParams("key", "group")
+        .execute()
+        .assertThat(array(integer(3), string("1-0"), string("1-2"),
+                          array(array(string("alice"), string("2")), array(string("bob"), string("1")))));
+  }
+
+  @Test
+  public void summaryWithoutPending() {
+    rule.withData("key", withGroup(stream(3)))
+        .withParams("key", "group")
+        .execute()
+        .assertThat(array(integer(0), nullString(), nullString(), nullString()));
+  }
+
+  @Test
+  public void detail() {
+    rule.withData("key", withPending())
+        .withParams("key", "group", "-", "+", "10", "alice")
+        .execute()
+        .assertThat(array(array(string("1-0"), string("alice"), integer(Integer.MAX_VALUE), integer(1)),
+                          array(string("1-2"), string("alice"), integer(Integer.MAX_VALUE), integer(1))));
+
+    rule.withParams("key", "group", "1-1", "+", "1")
+        .execute()
+        .assertThat(array(array(string("1-1"), string("bob"), integer(Integer.MAX_VALUE), integer(1))));
+  }
+
+  @Test
+  public void executeWithoutGroup() {
+    rule.withData("key", stream(3))
+        .withParams("key", "group")
+        .execute()
+        .assertThat(error("NOGROUP No such key 'key' or consumer group 'group'"));
+  }
+
+  // delivered long ago, so the idle time is always the max value
+  private static DatabaseValue withPending() {
+    DatabaseValue value = withGroup(stream(3));
+    ConsumerGroup group = value.getStream().getGroup(safeString("group"));
+    group.deliver(new StreamId(1, 0), safeString("alice"), 0, false);
+    group.deliver(new StreamId(1, 1), safeString("bob"), 0, false);
+    group.deliver(new StreamId(1, 2), safeString("alice"), 0, false);
+    return value;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.protocol.RedisToken;
+
+@CommandUnderTest(StreamRangeCommand.class)
+public class StreamRangeCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("key", stream(3))
+        .withParams("key", "-", "+")
+        .execute()
+        .assertThat(array(entry("1-0", "0"), entry("1-1", "1"), entry("1-2", "2")));
+
+    rule.withParams("key", "1-1", "1")
+        .execute()
+        .assertThat(array(entry("1-1", "1"), entry("1-2", "2")));
+
+    rule.withParams("key", "-", "+", "COUNT", "1")
+        .execute()
+        .assertThat(array(entry("1-0", "0")));
+
+    rule.withParams("key", "-", "+", "COUNT", "0")
+        .execute()
+        .assertThat(array());
+  }
+
+  @Test
+  public void executeNotExists() {
+    rule.withParams("key", "-", "+")
+        .execute()
+        .assertThat(array());
+  }
+
+  @Test
+  public void executeInvalidParams() {
+    rule.withParams("key", "a", "+")
+        .execute()
+        .assertThat(error("ERR Invalid stream ID specified as stream command argument"));
+
+    rule.withParams("key", "-", "+", "LIMIT", "1")
+        .execute()
+        .assertThat(error("ERR syntax error"));
+  }
+
+  static RedisToken entry(String id, String value) {
+    return array(string(id), array(string("a"), string(value)));
+  }
+
+  static DatabaseValue stream(int size) {
+    StreamLog stream = new StreamLog();
+    for (int i = 0; i < size; i++) {
+      stream.add(new StreamId(1, i), safeAsList("a", String.valueOf(i)));
+    }
+    return DatabaseValue.stream(stream);
+  }
+}
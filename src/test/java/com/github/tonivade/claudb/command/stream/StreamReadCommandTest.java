@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.entry;
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.command.list.BlockingRegistry;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamId;
+
+@CommandUnderTest(StreamReadCommand.class)
+public class StreamReadCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("key1", stream(3))
+        .withData("key2", stream(2))
+        .withParams("STREAMS", "key1", "key2", "1-0", "1-1")
+        .execute()
+        .assertThat(array(array(string("key1"), array(entry("1-1", "1"), entry("1-2", "2")))));
+
+    rule.withParams("COUNT", "1", "STREAMS", "key1", "key2", "0", "0")
+        .execute()
+        .assertThat(array(array(string("key1"), array(entry("1-0", "0"))),
+                          array(string("key2"), array(entry("1-0", "0")))));
+  }
+
+  @Test
+  public void executeWithoutNewEntries() {
+    rule.withData("key", stream(3))
+        .withParams("STREAMS", "key", "$")
+        .execute()
+        .assertThat(nullString());
+  }
+
+  @Test
+  public void blockUntilNewEntries() {
+    rule.withData("key", stream(3))
+        .withParams("BLOCK", "0", "STREAMS", "key", "$")
+        .execute()
+        .assertThat(nullValue());
+
+    BlockingRegistry registry = rule.getServerState().getBlockingRegistry();
+    assertThat(registry.isBlocked(rule.getSession()), equalTo(true));
+
+    rule.getDatabase().get(safeKey("key")).getStream().add(new StreamId(2, 0), safeAsList("a", "new"));
+    registry.signal(0, safeString("key"));
+
+    assertThat(registry.serve(i -> rule.getDatabase()), empty());
+    assertThat(registry.isBlocked(rule.getSession()), equalTo(false));
+    verify(rule.getSession()).publish(array(array(string("key"), array(entry("2-0", "new")))));
+  }
+
+  @Test
+  public void doNotBlockInsideTransaction() {
+    rule.getSessionState().setBlockingAllowed(false);
+
+    rule.withParams("BLOCK", "100", "STREAMS", "key", "$")
+        .execute()
+        .assertThat(nullString());
+
+    assertThat(rule.getServerState().getBlockingRegistry().isBlocked(rule.getSession()), equalTo(false));
+  }
+
+  @Test
+  public void executeInvalidParams() {
+    rule.withParams("STREAMS", "key1", "key2", "0")
+        .execute()
+        .assertThat(error("ERR Unbalanced XREAD list of streams: for each stream key an ID or '$' must be specified."));
+
+    rule.withParams("COUNT", "1", "key", "0")
+        .execute()
+        .assertThat(error("ERR syntax error"));
+
+    rule.withData("key", DatabaseValue.string("a"))
+        .withParams("STREAMS", "key", "0")
+        .execute()
+        .assertThat(error("WRONGTYPE Operation against a key holding the wrong kind of value"));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.entry;
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.nullString;
+import static com.github.tonivade.resp.protocol.RedisToken.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.command.list.BlockingRegistry;
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+
+@CommandUnderTest(StreamReadGroupCommand.class)
+public class StreamReadGroupCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("key", withGroup(stream(3)))
+        .withParams("GROUP", "group", "alice", "COUNT", "2", "STREAMS", "key", ">")
+        .execute()
+        .assertThat(array(array(string("key"), array(entry("1-0", "0"), entry("1-1", "1")))));
+
+    rule.withParams("GROUP", "group", "bob", "STREAMS", "key", ">")
+        .execute()
+        .assertThat(array(array(string("key"), array(entry("1-2", "2")))));
+
+    rule.withParams("GROUP", "group", "bob", "STREAMS", "key", ">")
+        .execute()
+        .assertThat(nullString());
+
+    ConsumerGroup group = group();
+    assertThat(group.getLastDelivered(), equalTo(new StreamId(1, 2)));
+    assertThat(group.getPending(safeString("alice"), StreamId.MIN, 0),
+        equalTo(asList(new StreamId(1, 0), new StreamId(1, 1))));
+  }
+
+  @Test
+  public void executeHistory() {
+    rule.withData("key", withGroup(stream(3)))
+        .withParams("GROUP", "group", "alice", "STREAMS", "key", ">")
+        .execute();
+
+    rule.withParams("GROUP", "group", "alice", "STREAMS", "key", "1-0")
+        .execute()
+        .assertThat(array(array(string("key"), array(entry("1-1", "1"), entry("1-2", "2")))));
+
+    rule.withParams("GROUP", "group", "bob", "STREAMS", "key", "0")
+        .execute()
+        .assertThat(array(array(string("key"), array())));
+  }
+
+  @Test
+  public void executeWithoutAck() {
+    rule.withData("key", withGroup(stream(3)))
+        .withParams("GROUP", "group", "alice", "NOACK", "STREAMS", "key", ">")
+        .execute();
+
+    assertThat(group().getPending().isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void blockUntilNewEntries() {
+    rule.withData("key", withGroup(stream(0)))
+        .withParams("GROUP", "group", "alice", "BLOCK", "0", "STREAMS", "key", ">")
+        .execute()
+        .assertThat(nullValue());
+
+    rule.getDatabase().get(safeKey("key")).getStream().add(new StreamId(2, 0), safeAsList("a", "new"));
+    BlockingRegistry registry = rule.getServerState().getBlockingRegistry();
+    registry.signal(0, safeString("key"));
+
+    assertThat(registry.serve(i -> rule.getDatabase()),
+        equalTo(asList(array(string("0"), string("xreadgroup"), string("group"), string("group"), string("alice"),
+                             string("count"), string("1"), string("streams"), string("key"), string(">")))));
+    verify(rule.getSession()).publish(array(array(string("key"), array(entry("2-0", "new")))));
+    assertThat(group().getPending().size(), equalTo(1));
+  }
+
+  @Test
+  public void executeWithoutGroup() {
+    rule.withData("key", stream(3))
+        .withParams("GROUP", "group", "alice", "STREAMS", "key", ">")
+        .execute()
+        .assertThat(error("NOGROUP No such key 'key' or consumer group 'group' in XREADGROUP with GROUP option"));
+  }
+
+  private ConsumerGroup group() {
+    return rule.getDatabase().get(safeKey("key")).getStream().getGroup(safeString("group"));
+  }
+
+  static DatabaseValue withGroup(DatabaseValue value) {
+    StreamLog stream = value.getStream();
+    stream.createGroup(safeString("group"), StreamId.MIN);
+    return value;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.entry;
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.resp.protocol.RedisToken.array;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(StreamReverseRangeCommand.class)
+public class StreamReverseRangeCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("key", stream(3))
+        .withParams("key", "+", "-")
+        .execute()
+        .assertThat(array(entry("1-2", "2"), entry("1-1", "1"), entry("1-0", "0")));
+
+    rule.withParams("key", "+", "-", "COUNT", "2")
+        .execute()
+        .assertThat(array(entry("1-2", "2"), entry("1-1", "1")));
+
+    rule.withParams("key", "-", "+")
+        .execute()
+        .assertThat(array());
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.stream;
+
+import static com.github.tonivade.claudb.command.stream.StreamRangeCommandTest.stream;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.integer;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(StreamTrimCommand.class)
+public class StreamTrimCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withData("key", stream(10))
+        .withParams("key", "MAXLEN", "~", "5")
+        .execute()
+        .assertThat(integer(0));
+
+    rule.withParams("key", "MAXLEN", "5")
+        .execute()
+        .assertThat(integer(5));
+
+    assertThat(rule.getDatabase().get(safeKey("key")).getStream().size(), equalTo(5));
+  }
+
+  @Test
+  public void executeInvalidParams() {
+    rule.withParams("key", "MINID", "5")
+        .execute()
+        .assertThat(error("ERR syntax error"));
+
+    rule.withParams("key", "MAXLEN", "-1")
+        .execute()
+        .assertThat(error("ERR The MAXLEN argument must be >= 0."));
+  }
+}
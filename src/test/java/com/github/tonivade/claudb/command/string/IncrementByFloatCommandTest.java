@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.string;
+
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isString;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.resp.protocol.RedisToken;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+
+@CommandUnderTest(IncrementByFloatCommand.class)
+public class IncrementByFloatCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void testExecute() {
+    rule.withData("a", string("10.50"))
+    .withParams("a", "0.1")
+    .execute()
+    .assertValue("a", isString("10.6"))
+    .assertThat(RedisToken.string("10.6"));
+
+    rule.withParams("a", "-5.6")
+    .execute()
+    .assertThat(RedisToken.string("5"));
+
+    rule.withParams("a", "5.0e3")
+    .execute()
+    .assertThat(RedisToken.string("5005"));
+  }
+
+  @Test
+  public void integerEncoded() {
+    rule.withData("a", string(10))
+    .withParams("a", "0.5")
+    .execute()
+    .assertThat(RedisToken.string("10.5"));
+  }
+
+  @Test
+  public void notAFloat() {
+    rule.withParams("a", "a")
+    .execute()
+    .assertThat(RedisToken.error("ERR value is not a valid float"));
+  }
+}
@@ -5,6 +5,13 @@
 
 package com.github.tonivade.claudb.command.string;
 
+import static com.github.tonivade.claudb.DatabaseValueMatchers.isString;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -34,4 +41,31 @@ public class IncrementCommandTest {
     .assertThat(RedisToken.integer(3));
   }
 
+  @Test
+  public void notAnInteger() {
+    rule.withData("a", string("a"))
+    .withParams("a")
+    .execute()
+    .assertThat(RedisToken.error("ERR value is not an integer or out of range"));
+  }
+
+  @Test
+  public void overflow() {
+    rule.withData("a", string(String.valueOf(Integer.MAX_VALUE)))
+    .withParams("a")
+    .execute()
+    .assertValue("a", isString(String.valueOf(Integer.MAX_VALUE)))
+    .assertThat(RedisToken.error("ERR increment or decrement would overflow"));
+  }
+
+  @Test
+  public void keepsExpiration() {
+    rule.withData("a", string("1").expiredAt(10))
+    .withParams("a")
+    .execute()
+    .assertThat(RedisToken.integer(2));
+
+    assertThat(rule.getDatabase().get(safeKey("a")).getExpiredAt(), not(NO_EXPIRATION));
+  }
+
 }
@@ -34,4 +34,14 @@ public class MultiGetCommandTest {
                           RedisToken.string("2")));
   }
 
+  @Test
+  public void testExecuteWrongType() {
+    rule.withData("a", string("1"))
+        .withData("z", list(safeString("x")))
+        .withParams("a", "z")
+        .execute()
+        .assertThat(array(RedisToken.string("1"),
+                          RedisToken.nullString()));
+  }
+
 }
@@ -7,8 +7,12 @@ package com.github.tonivade.claudb.command.transaction;
 import static com.github.tonivade.resp.protocol.RedisToken.array;
 import static com.github.tonivade.resp.protocol.RedisToken.string;
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
 import static java.util.Collections.emptyList;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,6 +30,8 @@ import com.github.tonivade.resp.protocol.RedisToken;
 import com.github.tonivade.claudb.TransactionState;
 import com.github.tonivade.claudb.command.CommandRule;
 import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.Clock;
+import com.github.tonivade.claudb.data.DatabaseValue;
 
 @CommandUnderTest(ExecCommand.class)
 public class ExecCommandTest {
@@ -44,6 +50,58 @@ public class ExecCommandTest {
     .assertThat(array(string(""), string(""), string("")));
 
     verify(command, times(3)).execute(any());
+    verify(rule.getServer()).replicateTransaction(eq(0), argThat(requests -> requests.size() == 3));
+  }
+
+  @Test
+  public void executeWithResolvedCommands()  {
+    TransactionState transaction = new TransactionState();
+    transaction.enqueue(new DefaultRequest(null, null, safeString("ping"), emptyList()), command);
+    transaction.enqueue(new DefaultRequest(null, null, safeString("ping"), emptyList()), command);
+    givenTransaction(transaction);
+
+    rule.execute()
+    .assertThat(array(string(""), string("")));
+
+    verify(command, times(2)).execute(any());
+    verify(rule.getServer(), never()).getCommand(any());
+  }
+
+  @Test
+  public void executeWithWatchedKeyModified()  {
+    givenPingCommand();
+    givenExistingTransaction();
+    rule.getServerState().watch(rule.getSessionState().getOrCreateWatch(), 0, safeKey("a"));
+    rule.withData("a", DatabaseValue.string("value"));
+
+    rule.execute()
+    .assertThat(RedisToken.nullString());
+
+    verify(command, never()).execute(any());
+  }
+
+  @Test
+  public void executeWithWatchedKeyNotModified()  {
+    givenPingCommand();
+    givenExistingTransaction();
+    rule.getServerState().watch(rule.getSessionState().getOrCreateWatch(), 0, safeKey("a"));
+    rule.withData("b", DatabaseValue.string("value"));
+
+    rule.execute()
+    .assertThat(array(string(""), string(""), string("")));
+  }
+
+  @Test
+  public void executeWithWatchedKeyExpired() throws InterruptedException  {
+    givenPingCommand();
+    givenExistingTransaction();
+    rule.withData("a", DatabaseValue.string("value").expiredAt(Clock.now() + 100));
+    rule.getServerState().watch(rule.getSessionState().getOrCreateWatch(), 0, safeKey("a"));
+
+    Thread.sleep(200);
+
+    rule.execute()
+    .assertThat(RedisToken.nullString());
   }
 
   @Test
@@ -57,8 +115,10 @@ public class ExecCommandTest {
   }
 
   private void givenExistingTransaction() {
-    TransactionState transaction = createTransaction();
+    givenTransaction(createTransaction());
+  }
 
+  private void givenTransaction(TransactionState transaction) {
     when(rule.getSession().getValue("tx")).thenReturn(Optional.of(transaction), Optional.empty());
     when(rule.getSession().removeValue("tx")).thenReturn(Optional.of(transaction));
   }
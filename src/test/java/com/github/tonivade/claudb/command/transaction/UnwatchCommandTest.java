@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.transaction;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.WatchState;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.Clock;
+
+@CommandUnderTest(UnwatchCommand.class)
+public class UnwatchCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    WatchState watch = rule.getSessionState().getOrCreateWatch();
+    rule.getServerState().watch(watch, 0, safeKey("a"));
+
+    rule.execute()
+        .assertThat(responseOk());
+
+    rule.getDatabase().put(safeKey("a"), string("value"));
+
+    assertThat(watch.isDirty(Clock.now()), is(false));
+    assertThat(rule.getSessionState().removeWatch().isPresent(), is(false));
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.command.transaction;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static com.github.tonivade.resp.protocol.RedisToken.error;
+import static com.github.tonivade.resp.protocol.RedisToken.responseOk;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tonivade.claudb.TransactionState;
+import com.github.tonivade.claudb.command.CommandRule;
+import com.github.tonivade.claudb.command.CommandUnderTest;
+import com.github.tonivade.claudb.data.Clock;
+
+@CommandUnderTest(WatchCommand.class)
+public class WatchCommandTest {
+
+  @Rule
+  public final CommandRule rule = new CommandRule(this);
+
+  @Test
+  public void execute() {
+    rule.withParams("a", "b")
+        .execute()
+        .assertThat(responseOk());
+
+    rule.getDatabase().put(safeKey("c"), string("value"));
+
+    assertThat(rule.getSessionState().getOrCreateWatch().isDirty(Clock.now()), is(false));
+
+    rule.getDatabase().put(safeKey("b"), string("value"));
+
+    assertThat(rule.getSessionState().getOrCreateWatch().isDirty(Clock.now()), is(true));
+  }
+
+  @Test
+  public void insideMulti() {
+    when(rule.getSession().getValue("tx")).thenReturn(Optional.of(new TransactionState()));
+
+    rule.withParams("a")
+        .execute()
+        .assertThat(error("ERR WATCH inside MULTI is not allowed"));
+  }
+}
@@ -73,6 +73,14 @@ public class SortedSetRangeCommandTest {
     .assertThat(RedisToken.array());
   }
 
+  @Test
+  public void testExecuteNegativeFromOutOfRange()  {
+    rule.withData("key", zset(score(1, "a"), score(2, "b"), score(3, "c")))
+    .withParams("key", "-5", "0")
+    .execute()
+    .assertThat(array(string("a")));
+  }
+
   @Test
   public void testExecuteFromOrder()  {
     rule.withData("key", zset(score(1, "a"), score(2, "b"), score(3, "c")))
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.nustaq.serialization.FSTConfiguration;
+
+public class BitmapTest {
+
+  private static final FSTConfiguration FST = FSTConfiguration.createDefaultConfiguration();
+
+  static {
+    FST.registerClass(Bitmap.class);
+  }
+
+  @Test
+  public void bytesRoundTrip() {
+    byte[] bytes = new byte[37];
+    new Random(1).nextBytes(bytes);
+
+    assertThat(new Bitmap(bytes).toByteArray(), equalTo(bytes));
+  }
+
+  @Test
+  public void setAndGet() {
+    Bitmap bitmap = new Bitmap();
+
+    assertThat(bitmap.set(0, true), is(false));
+    assertThat(bitmap.set(1000, true), is(false));
+    assertThat(bitmap.set(1000, false), is(true));
+
+    assertThat(bitmap.get(0), is(true));
+    assertThat(bitmap.get(1000), is(false));
+    assertThat(bitmap.get(100000), is(false));
+    assertThat(bitmap.length(), is(126));
+    assertThat(bitmap.toByteArray()[0], is((byte) 0x80));
+  }
+
+  @Test
+  public void count() {
+    byte[] bytes = new byte[100];
+    new Random(1).nextBytes(bytes);
+    Bitmap bitmap = new Bitmap(bytes);
+
+    for (int from = 0; from < 100; from += 7) {
+      for (int to = from; to < 100; to += 11) {
+        assertThat(bitmap.count(from, to), is(naiveCount(bytes, from, to)));
+      }
+    }
+  }
+
+  @Test
+  public void position() {
+    Bitmap bitmap = new Bitmap(new byte[20]);
+    bitmap.set(100, true);
+
+    assertThat(bitmap.position(true, 0, 19), is(100L));
+    assertThat(bitmap.position(true, 13, 19), is(-1L));
+    assertThat(bitmap.position(false, 12, 12), is(96L));
+  }
+
+  @Test
+  public void bits() {
+    Bitmap bitmap = new Bitmap();
+
+    bitmap.setBits(60, 10, 0x2AB);
+    bitmap.setBits(0, 64, -1L);
+
+    assertThat(bitmap.getBits(60, 10), is(0x3EBL));
+    assertThat(bitmap.getBits(64, 6), is(0x2BL));
+    assertThat(bitmap.getBits(0, 64), is(-1L));
+  }
+
+  @Test
+  public void not() {
+    Bitmap bitmap = new Bitmap(new byte[] { 0x0f, 0x00, 0x01 });
+
+    bitmap.not();
+
+    assertThat(bitmap.toByteArray(), equalTo(new byte[] { (byte) 0xf0, (byte) 0xff, (byte) 0xfe }));
+    assertThat(bitmap.count(0, 2), is(19L));
+  }
+
+  @Test
+  public void serialization() {
+    byte[] bytes = new byte[37];
+    new Random(1).nextBytes(bytes);
+    Bitmap bitmap = new Bitmap(bytes);
+
+    assertThat(FST.asObject(FST.asByteArray(bitmap)), equalTo(bitmap));
+  }
+
+  private long naiveCount(byte[] bytes, int from, int to) {
+    long count = 0;
+    for (int i = from; i <= to; i++) {
+      count += Integer.bitCount(bytes[i] & 0xff);
+    }
+    return count;
+  }
+}
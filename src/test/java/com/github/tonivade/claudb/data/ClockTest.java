@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ClockTest {
+
+  @Test
+  public void frozenDuringAction() {
+    long[] times = Clock.frozen(() -> {
+      long first = Clock.now();
+      sleep(10);
+      long nested = Clock.frozen(Clock::now);
+      return new long[] { first, Clock.now(), nested };
+    });
+
+    assertThat(times[1], is(times[0]));
+    assertThat(times[2], is(times[0]));
+  }
+
+  @Test
+  public void frozenOnlyForCurrentThread() {
+    long[] other = new long[1];
+    long frozen = Clock.frozen(1000L, () -> {
+      Thread thread = new Thread(() -> other[0] = Clock.now());
+      thread.start();
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return Clock.now();
+    });
+
+    assertThat(frozen, is(1000L));
+    assertThat(other[0], greaterThan(1000L));
+  }
+
+  @Test
+  public void runningOutsideAction() {
+    long now = Clock.now();
+    sleep(10);
+
+    assertThat(Clock.now(), greaterThan(now));
+  }
+
+  @Test
+  public void expirationCheckedAtFrozenTime() {
+    DatabaseValue value = DatabaseValue.string("a").expiredAt(Clock.now() + 5);
+
+    boolean expired = Clock.frozen(() -> {
+      sleep(10);
+      return value.isExpired(Clock.now());
+    });
+
+    assertThat(expired, is(false));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class DatabaseKeyTest {
+
+  @Test
+  public void equality() {
+    DatabaseKey key = safeKey("a");
+
+    assertThat(key, is(safeKey("a")));
+    assertThat(key, not(safeKey("b")));
+    assertThat(key.hashCode(), is(safeKey("a").hashCode()));
+    assertThat(key.hashCode(), is(safeString("a").hashCode()));
+  }
+
+  @Test
+  public void serialization() throws IOException, ClassNotFoundException {
+    DatabaseKey key = safeKey("a");
+    key.hashCode();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+      output.writeObject(key);
+    }
+    try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      DatabaseKey copy = (DatabaseKey) input.readObject();
+
+      assertThat(copy, is(key));
+      assertThat(copy.hashCode(), is(key.hashCode()));
+    }
+  }
+}
@@ -5,13 +5,18 @@
 package com.github.tonivade.claudb.data;
 
 import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
 import static com.github.tonivade.claudb.data.DatabaseValue.score;
+import static com.github.tonivade.claudb.data.DatabaseValue.set;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
 import static com.github.tonivade.claudb.data.DatabaseValue.zset;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.*;
 
-import java.time.Instant;
 import java.util.Map;
 import java.util.NavigableSet;
 
@@ -19,11 +24,15 @@ import org.junit.Test;
 
 import com.github.tonivade.resp.protocol.SafeString;
 
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Set;
+import io.vavr.collection.Stream;
+
 public class DatabaseValueTest {
 
   @Test
   public void testNoExpirationValue() {
-    Instant now = Instant.now();
+    long now = Clock.now();
 
     DatabaseValue nonExpiredValue = string("hola");
 
@@ -34,15 +43,15 @@ public class DatabaseValueTest {
 
   @Test
   public void testExpiredKey() {
-    Instant now = Instant.now();
+    long now = Clock.now();
 
-    DatabaseValue expiredValue = string("hola").expiredAt(now.plusSeconds(10));
+    DatabaseValue expiredValue = string("hola").expiredAt(now + 10000);
 
     assertThat(expiredValue.isExpired(now), is(false));
     assertThat(expiredValue.timeToLiveSeconds(now), is(10));
     assertThat(expiredValue.timeToLiveMillis(now), is(10000L));
 
-    Instant expired = now.plusSeconds(11);
+    long expired = now + 11000;
 
     assertThat(expiredValue.isExpired(expired), is(true));
     assertThat(expiredValue.timeToLiveMillis(expired), is(-1000L));
@@ -54,6 +63,54 @@ public class DatabaseValueTest {
     assertThat(string("hola").getString(), is(safeString("hola")));
   }
   
+  @Test
+  public void integerValue() {
+    assertThat(string(10).getString(), is(safeString("10")));
+    assertThat(string(10).getLong(), is(10L));
+    assertThat(string("10").getLong(), is(10L));
+    assertThat(string(10), is(string("10")));
+    assertThat(string(10).hashCode(), is(string("10").hashCode()));
+  }
+
+  @Test
+  public void intSetValue() {
+    DatabaseValue value = set(safeString("3"), safeString("1"), safeString("2"));
+
+    assertThat(value.getIntSet(), notNullValue());
+    assertThat(value.size(), is(3));
+    assertThat(value.isMember(safeString("2")), is(true));
+    assertThat(value.isMember(safeString("02")), is(false));
+    assertThat(value.getSet().toJavaList(), is(safeAsList("1", "2", "3")));
+    assertThat(value.hashCode(), is(set(safeString("1"), safeString("2"), safeString("3")).hashCode()));
+  }
+
+  @Test
+  public void persistentSetValue() {
+    Set<SafeString> members = HashSet.of(safeString("a"), safeString("b"), safeString("1"));
+    DatabaseValue value = DatabaseValue.persistentSet(members);
+
+    assertThat(value.getSet(), sameInstance(members));
+    assertThat(value, is(set(safeString("1"), safeString("b"), safeString("a"))));
+    assertThat(value.hashCode(), is(set(safeString("1"), safeString("b"), safeString("a")).hashCode()));
+    assertThat(value, not(set(safeString("1"), safeString("b"))));
+    assertThat(set(safeString("1"), safeString("2")), not(set(safeString("1"), safeString("3"))));
+  }
+
+  @Test
+  public void intSetUpgrade() {
+    assertThat(set(safeString("1"), safeString("a")).getIntSet(), nullValue());
+    assertThat(set(safeString("1"), safeString("+2")).getIntSet(), nullValue());
+    assertThat(set(Stream.range(0, IntSet.MAX_ENTRIES).map(String::valueOf).map(SafeString::safeString)).getIntSet(),
+               notNullValue());
+    assertThat(set(Stream.range(0, IntSet.MAX_ENTRIES + 1).map(String::valueOf).map(SafeString::safeString)).getIntSet(),
+               nullValue());
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void integerValueMismatch() {
+    string("hola").getLong();
+  }
+
   @Test(expected = IllegalStateException.class)
   public void getValueMismatch() {
     string("hola").getList();
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+  @Test
+  public void hash() {
+    assertThat(HyperLogLog.hash(bytes("")), is(-2819277119954315470L));
+    assertThat(HyperLogLog.hash(bytes("a")), is(6039968161137406375L));
+    assertThat(HyperLogLog.hash(bytes("hello")), is(1109414937308947456L));
+    assertThat(HyperLogLog.hash(bytes("foobar12")), is(-5658893097605153663L));
+    assertThat(HyperLogLog.hash(bytes("hello world, this is a test")), is(-2395698097025037207L));
+  }
+
+  @Test
+  public void empty() {
+    HyperLogLog hll = new HyperLogLog();
+
+    assertThat(hll.isDense(), is(false));
+    assertThat(hll.count(), is(0L));
+    assertThat(hll.toByteArray(), is(new byte[] {
+        'H', 'Y', 'L', 'L', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0x7f, (byte) 0xff }));
+  }
+
+  @Test
+  public void add() {
+    HyperLogLog hll = new HyperLogLog();
+
+    assertThat(hll.add(bytes("a"), bytes("b"), bytes("c"), bytes("d"), bytes("e"), bytes("f"), bytes("g")), is(true));
+    assertThat(hll.isCached(), is(false));
+    assertThat(hll.count(), is(7L));
+    assertThat(hll.isCached(), is(true));
+    assertThat(hll.add(bytes("a")), is(false));
+    assertThat(hll.isCached(), is(true));
+  }
+
+  @Test
+  public void sparseToDense() {
+    HyperLogLog hll = new HyperLogLog();
+
+    for (int i = 0; i < 100000; i++) {
+      hll.add(bytes("element:" + i));
+    }
+
+    assertThat(hll.isDense(), is(true));
+    assertThat(hll.toByteArray().length, is(16 + 12288));
+    assertThat((double) hll.count(), closeTo(100000, 2000));
+  }
+
+  @Test
+  public void sparseAndDenseAreEquivalent() {
+    HyperLogLog sparse = new HyperLogLog();
+    for (int i = 0; i < 500; i++) {
+      sparse.add(bytes("element:" + i));
+    }
+
+    HyperLogLog dense = HyperLogLog.of(sparse.registers());
+
+    assertThat(sparse.isDense(), is(false));
+    assertThat(dense.isDense(), is(true));
+    assertThat(dense.count(), is(sparse.count()));
+    assertThat(dense.registers(), is(sparse.registers()));
+  }
+
+  @Test
+  public void parse() {
+    HyperLogLog hll = new HyperLogLog();
+    hll.add(bytes("a"), bytes("b"), bytes("c"));
+
+    HyperLogLog sparse = HyperLogLog.parse(hll.toByteArray());
+    HyperLogLog dense = HyperLogLog.parse(HyperLogLog.of(hll.registers()).toByteArray());
+
+    assertThat(sparse, notNullValue());
+    assertThat(sparse.registers(), is(hll.registers()));
+    assertThat(sparse.count(), is(3L));
+    assertThat(dense, notNullValue());
+    assertThat(dense.registers(), is(hll.registers()));
+    assertThat(dense.count(), is(3L));
+  }
+
+  @Test
+  public void parseInvalid() {
+    assertThat(HyperLogLog.parse(bytes("hello")), nullValue());
+    assertThat(HyperLogLog.parse(bytes("HYLL0000000000000000")), nullValue());
+    assertThat(HyperLogLog.parse(new byte[] {
+        'H', 'Y', 'L', 'L', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0x7f }), nullValue());
+  }
+
+  @Test
+  public void merge() {
+    HyperLogLog first = new HyperLogLog();
+    HyperLogLog second = new HyperLogLog();
+    for (int i = 0; i < 1000; i++) {
+      first.add(bytes("element:" + i));
+      second.add(bytes("element:" + (i + 500)));
+    }
+
+    byte[] registers = new byte[HyperLogLog.REGISTERS];
+    first.merge(registers);
+    second.merge(registers);
+
+    assertThat((double) HyperLogLog.count(registers), closeTo(1500, 30));
+  }
+
+  private byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class IndexedSetTest {
+
+  @Test
+  public void addAndRemove() {
+    IndexedSet set = new IndexedSet(safeAsList("a", "b", "c", "a"));
+
+    assertThat(set.size(), is(3));
+    assertThat(set.add(safeString("d")), is(true));
+    assertThat(set.add(safeString("d")), is(false));
+    assertThat(set.remove(safeString("a")), is(true));
+    assertThat(set.remove(safeString("a")), is(false));
+
+    assertThat(set.size(), is(3));
+    assertThat(set.contains(safeString("a")), is(false));
+    // the last member takes the place of the removed one
+    assertThat(set.get(0), is(safeString("d")));
+    assertThat(set.toSet().toJavaList(), is(safeAsList("d", "b", "c")));
+  }
+
+  @Test
+  public void removeAt() {
+    IndexedSet set = new IndexedSet(safeAsList("a", "b", "c"));
+
+    assertThat(set.removeAt(2), is(safeString("c")));
+    assertThat(set.removeAt(0), is(safeString("a")));
+    assertThat(set.removeAt(0), is(safeString("b")));
+    assertThat(set.isEmpty(), is(true));
+  }
+
+  @Test
+  public void equalsIgnoresOrder() {
+    IndexedSet set = new IndexedSet(safeAsList("a", "b", "c"));
+    IndexedSet other = new IndexedSet(safeAsList("c", "a", "b"));
+
+    assertThat(set, is(other));
+    assertThat(set.hashCode(), is(other.hashCode()));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class IntSetTest {
+
+  @Test
+  public void canonical() {
+    assertThat(IntSet.toLong(safeString("123")), is(123L));
+    assertThat(IntSet.toLong(safeString("-123")), is(-123L));
+    assertThat(IntSet.toLong(safeString("-9223372036854775808")), is(Long.MIN_VALUE));
+    assertThat(IntSet.toLong(safeString("0")), is(0L));
+    assertThat(IntSet.toLong(safeString("0123")), nullValue());
+    assertThat(IntSet.toLong(safeString("+1")), nullValue());
+    assertThat(IntSet.toLong(safeString("-0")), nullValue());
+    assertThat(IntSet.toLong(safeString("-")), nullValue());
+    assertThat(IntSet.toLong(safeString("1.0")), nullValue());
+    assertThat(IntSet.toLong(safeString("9223372036854775808")), nullValue());
+  }
+
+  @Test
+  public void sortedWithoutDuplicates() {
+    IntSet set = IntSet.of(safeAsList("3", "-1", "3", "2"), 4);
+
+    assertThat(set.size(), is(3));
+    assertThat(set.toSet().toJavaList(), is(safeAsList("-1", "2", "3")));
+    assertThat(set.contains(safeString("2")), is(true));
+    assertThat(set.contains(safeString("4")), is(false));
+    assertThat(set.contains(safeString("a")), is(false));
+  }
+
+  @Test
+  public void notIntegers() {
+    assertThat(IntSet.of(safeAsList("1", "a"), 2), nullValue());
+  }
+
+  @Test
+  public void serialization() {
+    IntSet small = IntSet.of(safeAsList("1", "2"), 2);
+    IntSet medium = IntSet.of(safeAsList("1", "100000"), 2);
+    IntSet large = IntSet.of(safeAsList("1", "10000000000"), 2);
+
+    assertThat(small.toByteArray().length, is(8 + 2 * 2));
+    assertThat(medium.toByteArray().length, is(8 + 2 * 4));
+    assertThat(large.toByteArray().length, is(8 + 2 * 8));
+    assertThat(IntSet.parse(small.toByteArray()), is(small));
+    assertThat(IntSet.parse(medium.toByteArray()), is(medium));
+    assertThat(IntSet.parse(large.toByteArray()), is(large));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalid() {
+    IntSet.parse(new byte[] { 2, 0, 0, 0, 2, 0, 0, 0, 1, 0 });
+  }
+}
@@ -6,6 +6,7 @@ package com.github.tonivade.claudb.data;
 
 import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
 
@@ -53,6 +54,27 @@ public class OffHeapDatabaseTest {
                                                        entry(safeKey("c"), string("3"))));
   }
 
+  @Test
+  public void detach() {
+    database.put(safeKey("a"), string("1"));
+
+    Runnable reclaim = database.detach();
+
+    assertThat(database.isEmpty(), is(true));
+    reclaim.run();
+
+    database.put(safeKey("b"), string("2"));
+    assertThat(database.keySet(), containsInAnyOrder(safeKey("b")));
+  }
+
+  @Test
+  public void unlink() {
+    database.put(safeKey("a"), string("1"));
+
+    assertThat(database.unlink(safeKey("a")), is(true));
+    assertThat(database.unlink(safeKey("a")), is(false));
+  }
+
   private Tuple2<DatabaseKey, DatabaseValue> entry(DatabaseKey key, DatabaseValue value) {
     return Tuple.of(key, value);
   }
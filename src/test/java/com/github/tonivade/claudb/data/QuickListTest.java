@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.nustaq.serialization.FSTConfiguration;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+public class QuickListTest {
+
+  private static final FSTConfiguration FST = FSTConfiguration.createDefaultConfiguration();
+
+  static {
+    FST.registerClass(QuickList.class);
+    FST.registerClass(SafeString.class);
+  }
+
+  @Test
+  public void testPushAndPop() {
+    QuickList list = new QuickList();
+    LinkedList<SafeString> expected = new LinkedList<>();
+
+    for (int i = 0; i < 1000; i++) {
+      list.addFirst(value(i));
+      expected.addFirst(value(i));
+      list.addLast(value(-i));
+      expected.addLast(value(-i));
+    }
+
+    assertThat(list.toList(), equalTo(expected));
+
+    for (int i = 0; i < 700; i++) {
+      assertThat(list.removeFirst(), equalTo(expected.removeFirst()));
+      assertThat(list.removeLast(), equalTo(expected.removeLast()));
+    }
+
+    assertThat(list.size(), is(600));
+    assertThat(list.toList(), equalTo(expected));
+  }
+
+  @Test
+  public void testGetAndSet() {
+    QuickList list = new QuickList(values(0, 500));
+
+    for (int i = 0; i < 500; i++) {
+      assertThat(list.get(i), equalTo(value(i)));
+    }
+
+    list.set(0, safeString("first"));
+    list.set(250, safeString("middle"));
+    list.set(499, safeString("last"));
+
+    assertThat(list.get(0), equalTo(safeString("first")));
+    assertThat(list.get(250), equalTo(safeString("middle")));
+    assertThat(list.get(499), equalTo(safeString("last")));
+  }
+
+  @Test
+  public void testRange() {
+    QuickList list = new QuickList(values(0, 500));
+
+    assertThat(list.range(100, 399), equalTo(values(100, 400)));
+    assertThat(list.range(490, 1000), equalTo(values(490, 500)));
+    assertThat(list.range(10, 5), equalTo(values(0, 0)));
+  }
+
+  @Test
+  public void testTrim() {
+    QuickList list = new QuickList(values(0, 500));
+
+    list.trim(100, 399);
+
+    assertThat(list.toList(), equalTo(values(100, 400)));
+
+    list.trim(10, 5);
+
+    assertThat(list.isEmpty(), is(true));
+  }
+
+  @Test
+  public void testInsert() {
+    QuickList list = new QuickList(values(0, 300));
+    List<SafeString> expected = new LinkedList<>(values(0, 300));
+
+    for (int i = 0; i < 300; i += 3) {
+      assertThat(list.insert(value(i), safeString("before"), true), is(true));
+      expected.add(expected.indexOf(value(i)), safeString("before"));
+      assertThat(list.insert(value(i), safeString("after"), false), is(true));
+      expected.add(expected.indexOf(value(i)) + 1, safeString("after"));
+    }
+
+    assertThat(list.insert(safeString("notfound"), safeString("a"), true), is(false));
+    assertThat(list.size(), is(expected.size()));
+    assertThat(list.toList(), equalTo(expected));
+
+    list.addLast(safeString("tail"));
+
+    assertThat(list.get(list.size() - 1), equalTo(safeString("tail")));
+  }
+
+  @Test
+  public void testRemove() {
+    QuickList list = new QuickList(safeAsList("a", "b", "a", "c", "a", "b"));
+
+    assertThat(list.remove(1, safeString("a")), is(1));
+    assertThat(list.toList(), equalTo(safeAsList("b", "a", "c", "a", "b")));
+
+    assertThat(list.remove(-1, safeString("b")), is(1));
+    assertThat(list.toList(), equalTo(safeAsList("b", "a", "c", "a")));
+
+    assertThat(list.remove(0, safeString("a")), is(2));
+    assertThat(list.toList(), equalTo(safeAsList("b", "c")));
+
+    assertThat(list.remove(0, safeString("z")), is(0));
+  }
+
+  @Test
+  public void testSerialization() {
+    QuickList list = new QuickList(values(0, 300));
+
+    QuickList deserializedList = (QuickList) FST.asObject(FST.asByteArray(list));
+
+    assertThat(deserializedList, equalTo(list));
+  }
+
+  private static List<SafeString> values(int from, int to) {
+    return IntStream.range(from, to).mapToObj(QuickListTest::value).collect(Collectors.toList());
+  }
+
+  private static SafeString value(int i) {
+    return safeString(String.valueOf(i));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SegmentDatabaseTest {
+
+  private static final int SEGMENT_SIZE = 1024;
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private SegmentDatabase database;
+
+  @Before
+  public void setUp() throws IOException {
+    database = new SegmentDatabase(folder.getRoot().toPath(), "test", SEGMENT_SIZE);
+  }
+
+  @Test
+  public void putAndGet() {
+    assertThat(database.put(safeKey("a"), string("1")), nullValue());
+    assertThat(database.put(safeKey("b"), string("2")), nullValue());
+    assertThat(database.put(safeKey("a"), string("3")), is(string("1")));
+
+    assertThat(database.size(), is(2));
+    assertThat(database.get(safeKey("a")), is(string("3")));
+    assertThat(database.keySet(), containsInAnyOrder(safeKey("a"), safeKey("b")));
+    assertThat(database.values(), containsInAnyOrder(string("2"), string("3")));
+
+    assertThat(database.remove(safeKey("b")), is(string("2")));
+    assertThat(database.get(safeKey("b")), nullValue());
+    assertThat(database.containsKey(safeKey("b")), is(false));
+  }
+
+  @Test
+  public void store() {
+    assertThat(database.store(safeKey("a"), string("1")), is(false));
+    assertThat(database.store(safeKey("a"), string("2")), is(true));
+    database.put(safeKey("b"), string("1").expiredAt(Clock.now() - 1000));
+    assertThat(database.store(safeKey("b"), string("2")), is(false));
+
+    assertThat(database.get(safeKey("a")), is(string("2")));
+    assertThat(database.get(safeKey("b")), is(string("2")));
+  }
+
+  @Test
+  public void expiration() {
+    database.put(safeKey("a"), string("1").expiredAt(Clock.now() - 1000));
+    database.put(safeKey("b"), string("2"));
+
+    assertThat(database.evictableKeys(Clock.now()), containsInAnyOrder(safeKey("a")));
+    assertThat(database.get(safeKey("a")), nullValue());
+    assertThat(database.size(), is(1));
+  }
+
+  @Test
+  public void largeValue() {
+    String value = new String(new char[SEGMENT_SIZE * 2]).replace('\0', 'x');
+
+    database.put(safeKey("a"), string(value));
+
+    assertThat(database.get(safeKey("a")), is(string(value)));
+  }
+
+  @Test
+  public void compaction() {
+    for (int i = 0; i < 200; i++) {
+      database.put(safeKey("key" + (i % 10)), string("value" + i));
+    }
+    int files = segmentFiles();
+
+    while (database.compact()) {
+      // compact everything
+    }
+
+    assertThat(segmentFiles() < files, is(true));
+    assertThat(database.size(), is(10));
+    for (int i = 0; i < 10; i++) {
+      assertThat(database.get(safeKey("key" + i)), is(string("value" + (190 + i))));
+    }
+  }
+
+  @Test
+  public void clear() {
+    database.put(safeKey("a"), string("1"));
+
+    database.clear();
+
+    assertThat(database.isEmpty(), is(true));
+    assertThat(segmentFiles(), is(0));
+  }
+
+  @Test
+  public void detach() {
+    database.put(safeKey("a"), string("1"));
+
+    Runnable reclaim = database.detach();
+
+    assertThat(database.isEmpty(), is(true));
+    assertThat(segmentFiles(), is(1));
+    reclaim.run();
+    assertThat(segmentFiles(), is(0));
+  }
+
+  @Test
+  public void hotKeys() {
+    SegmentDatabaseFactory factory = new SegmentDatabaseFactory(folder.getRoot().toPath(), 10, SEGMENT_SIZE);
+
+    Database tiered = factory.create("tiered");
+    tiered.put(safeKey("a"), string("1"));
+
+    assertThat(tiered, instanceOf(TieredDatabase.class));
+    assertThat(tiered.get(safeKey("a")), is(string("1")));
+
+    factory.clear();
+  }
+
+  private int segmentFiles() {
+    File[] files = folder.getRoot().listFiles((dir, name) -> name.endsWith(".seg"));
+    return files.length;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class StatsDatabaseTest {
+
+  private final KeyspaceStats stats = new KeyspaceStats();
+  private final StatsDatabase database;
+
+  public StatsDatabaseTest(DatabaseFactory factory) {
+    this.database = new StatsDatabase(factory.create("test"), stats);
+  }
+
+  @Parameters
+  public static Collection<Object[]> factories() {
+    return Arrays.asList(new Object[] { new OnHeapDatabaseFactory() },
+                         new Object[] { new OffHeapDatabaseFactory() });
+  }
+
+  @Test
+  public void hitsAndMisses() {
+    database.put(safeKey("a"), string("1"));
+
+    database.get(safeKey("a"));
+    database.get(safeKey("b"));
+    database.get(safeKey("c"));
+
+    assertThat(stats.getHits(), is(1L));
+    assertThat(stats.getMisses(), is(2L));
+  }
+
+  @Test
+  public void expires() {
+    database.put(safeKey("a"), string("1").expiredAt(60));
+    database.put(safeKey("b"), string("2").expiredAt(60));
+    database.put(safeKey("c"), string("3"));
+    database.put(safeKey("b"), string("2"));
+    database.remove(safeKey("a"));
+
+    assertThat(database.getExpires(), is(0L));
+    assertThat(database.getAvgTtl(), is(0L));
+    assertThat(stats.getExpired(), is(0L));
+  }
+
+  @Test
+  public void avgTtl() {
+    database.put(safeKey("a"), string("1").expiredAt(Clock.now() + 60000));
+
+    assertThat(database.getExpires(), is(1L));
+    assertThat(database.getAvgTtl(), allOf(greaterThan(59000L), lessThanOrEqualTo(60000L)));
+  }
+
+  @Test
+  public void expiredWhenAccessed() {
+    database.put(safeKey("a"), string("1").expiredAt(Clock.now() - 1000));
+    database.put(safeKey("b"), string("2").expiredAt(Clock.now() - 1000));
+
+    assertThat(database.get(safeKey("a")), nullValue());
+    assertThat(database.remove(safeKey("b")), nullValue());
+    assertThat(database.getExpires(), is(0L));
+    assertThat(stats.getExpired(), is(2L));
+  }
+
+  @Test
+  public void overwriteExpired() {
+    database.put(safeKey("a"), string("1").expiredAt(Clock.now() - 1000));
+
+    assertThat(database.put(safeKey("a"), string("2")), nullValue());
+    assertThat(database.getExpires(), is(0L));
+    assertThat(stats.getExpired(), is(1L));
+  }
+
+  @Test
+  public void store() {
+    assertThat(database.store(safeKey("a"), string("1")), is(false));
+    assertThat(database.store(safeKey("b"), string("2").expiredAt(Clock.now() + 60000)), is(false));
+    assertThat(database.store(safeKey("b"), string("3")), is(true));
+
+    assertThat(database.getExpires(), is(0L));
+    assertThat(database.get(safeKey("b")), is(string("3")));
+  }
+
+  @Test
+  public void clear() {
+    database.put(safeKey("a"), string("1").expiredAt(60));
+
+    database.clear();
+
+    assertThat(database.getExpires(), is(0L));
+  }
+}
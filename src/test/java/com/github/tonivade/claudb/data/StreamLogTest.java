@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.resp.protocol.SafeString.safeAsList;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.nustaq.serialization.FSTConfiguration;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+public class StreamLogTest {
+
+  private static final FSTConfiguration FST = FSTConfiguration.createDefaultConfiguration();
+
+  static {
+    FST.registerClass(StreamLog.class);
+    FST.registerClass(StreamId.class);
+    FST.registerClass(ConsumerGroup.class);
+    FST.registerClass(SafeString.class);
+  }
+
+  @Test
+  public void testAddAndRange() {
+    StreamLog stream = stream(250);
+
+    assertThat(stream.size(), is(250));
+    assertThat(stream.blocks(), is(3));
+    assertThat(stream.getLastId(), equalTo(id(249)));
+    assertThat(stream.range(StreamId.MIN, StreamId.MAX, 0), equalTo(entries(0, 250)));
+    assertThat(stream.range(id(95), id(205), 0), equalTo(entries(95, 206)));
+    assertThat(stream.range(id(95), id(205), 10), equalTo(entries(95, 105)));
+    assertThat(stream.range(id(205), id(95), 0), equalTo(entries(0, 0)));
+  }
+
+  @Test
+  public void testReverseRange() {
+    StreamLog stream = stream(250);
+
+    List<StreamEntry> expected = entries(95, 206);
+    Collections.reverse(expected);
+
+    assertThat(stream.reverseRange(id(205), id(95), 0), equalTo(expected));
+    assertThat(stream.reverseRange(id(205), id(95), 5), equalTo(expected.subList(0, 5)));
+  }
+
+  @Test
+  public void testAfterAndGet() {
+    StreamLog stream = stream(250);
+
+    assertThat(stream.after(id(240), 0), equalTo(entries(241, 250)));
+    assertThat(stream.after(id(249), 0), equalTo(entries(0, 0)));
+    assertThat(stream.get(id(150)), equalTo(entry(150)));
+    assertThat(stream.get(new StreamId(150, 1)), nullValue());
+  }
+
+  @Test
+  public void testDifferentFieldsAndIds() {
+    StreamLog stream = new StreamLog();
+
+    stream.add(new StreamId(1, 0), safeAsList("a", "1", "b", "2"));
+    stream.add(new StreamId(1, 5), safeAsList("a", "3", "b", "4"));
+    stream.add(new StreamId(100000000000L, 0), safeAsList("c", "5"));
+    stream.add(new StreamId(100000000000L, Long.MAX_VALUE), safeAsList("a", "6", "b", "7", "c", "8"));
+
+    assertThat(stream.range(StreamId.MIN, StreamId.MAX, 0).stream().map(StreamEntry::getFields).collect(toList()),
+        equalTo(asList(safeAsList("a", "1", "b", "2"), safeAsList("a", "3", "b", "4"),
+                       safeAsList("c", "5"), safeAsList("a", "6", "b", "7", "c", "8"))));
+    assertThat(stream.range(StreamId.MIN, StreamId.MAX, 0).stream().map(StreamEntry::getId).collect(toList()),
+        equalTo(asList(new StreamId(1, 0), new StreamId(1, 5),
+                       new StreamId(100000000000L, 0), new StreamId(100000000000L, Long.MAX_VALUE))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddSmallerId() {
+    StreamLog stream = stream(10);
+
+    stream.add(id(5), safeAsList("a", "b"));
+  }
+
+  @Test
+  public void testNextId() {
+    StreamLog stream = new StreamLog();
+
+    assertThat(stream.nextId(1000), equalTo(new StreamId(1000, 0)));
+
+    stream.add(new StreamId(1000, 0), safeAsList("a", "b"));
+
+    assertThat(stream.nextId(1000), equalTo(new StreamId(1000, 1)));
+    assertThat(stream.nextId(999), equalTo(new StreamId(1000, 1)));
+    assertThat(stream.nextId(1001), equalTo(new StreamId(1001, 0)));
+  }
+
+  @Test
+  public void testTrim() {
+    StreamLog stream = stream(250);
+
+    assertThat(stream.trim(220, true), is(0));
+    assertThat(stream.trim(140, true), is(100));
+    assertThat(stream.size(), is(150));
+    assertThat(stream.trim(120, false), is(30));
+    assertThat(stream.size(), is(120));
+    assertThat(stream.range(StreamId.MIN, StreamId.MAX, 0), equalTo(entries(130, 250)));
+    assertThat(stream.trim(0, false), is(120));
+    assertThat(stream.isEmpty(), is(true));
+    assertThat(stream.getLastId(), equalTo(id(249)));
+  }
+
+  @Test
+  public void testConsumerGroup() {
+    StreamLog stream = stream(10);
+
+    assertThat(stream.createGroup(safeString("group"), StreamId.MIN), is(true));
+    assertThat(stream.createGroup(safeString("group"), StreamId.MIN), is(false));
+
+    ConsumerGroup group = stream.getGroup(safeString("group"));
+    group.deliver(id(0), safeString("alice"), 1000, false);
+    group.deliver(id(1), safeString("bob"), 1000, false);
+    group.deliver(id(2), safeString("alice"), 1000, true);
+
+    assertThat(group.getLastDelivered(), equalTo(id(2)));
+    assertThat(group.getPending().size(), is(2));
+    assertThat(group.getPending(safeString("alice"), StreamId.MIN, 0), equalTo(asList(id(0))));
+    assertThat(group.ack(id(0)), is(true));
+    assertThat(group.ack(id(0)), is(false));
+    assertThat(stream.destroyGroup(safeString("group")), is(true));
+    assertThat(stream.getGroup(safeString("group")), nullValue());
+  }
+
+  @Test
+  public void testSerialization() {
+    StreamLog stream = stream(250);
+    stream.createGroup(safeString("group"), id(10));
+
+    StreamLog deserialized = (StreamLog) FST.asObject(FST.asByteArray(stream));
+
+    assertThat(deserialized, equalTo(stream));
+    assertThat(deserialized.getGroup(safeString("group")).getLastDelivered(), equalTo(id(10)));
+
+    deserialized.add(id(250), fields(250));
+
+    assertThat(deserialized.range(id(249), StreamId.MAX, 0), equalTo(entries(249, 251)));
+  }
+
+  private static StreamLog stream(int size) {
+    StreamLog stream = new StreamLog();
+    for (int i = 0; i < size; i++) {
+      stream.add(id(i), fields(i));
+    }
+    return stream;
+  }
+
+  private static List<StreamEntry> entries(int from, int to) {
+    return IntStream.range(from, to).mapToObj(StreamLogTest::entry).collect(toList());
+  }
+
+  private static StreamEntry entry(int i) {
+    return new StreamEntry(id(i), fields(i));
+  }
+
+  private static StreamId id(int i) {
+    return new StreamId(1000 + i / 3, i % 3);
+  }
+
+  private static List<SafeString> fields(int i) {
+    return safeAsList("name", "value" + i, "index", String.valueOf(i));
+  }
+}
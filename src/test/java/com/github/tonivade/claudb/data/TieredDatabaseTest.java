@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.list;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TieredDatabaseTest {
+
+  private TieredDatabase database = (TieredDatabase) new TieredDatabaseFactory(2).create("test");
+
+  @Before
+  public void setUp() {
+    database.clear();
+  }
+
+  @Test
+  public void demotesLeastRecentlyUsed() {
+    database.put(safeKey("a"), string("1"));
+    database.put(safeKey("b"), string("2"));
+    database.get(safeKey("a"));
+    database.put(safeKey("c"), string("3"));
+
+    assertThat(database.size(), is(3));
+    assertThat(database.hotSize(), is(2));
+    assertThat(database.keySet(), containsInAnyOrder(safeKey("a"), safeKey("b"), safeKey("c")));
+    assertThat(database.values(), containsInAnyOrder(string("1"), string("2"), string("3")));
+  }
+
+  @Test
+  public void promotesOnAccess() {
+    DatabaseValue value = list(safeString("a"));
+    database.put(safeKey("a"), value);
+    database.put(safeKey("b"), string("2"));
+    database.put(safeKey("c"), string("3"));
+
+    DatabaseValue promoted = database.get(safeKey("a"));
+
+    assertThat(promoted, is(value));
+    assertThat(database.get(safeKey("a")), sameInstance(promoted));
+    assertThat(database.size(), is(3));
+    assertThat(database.hotSize(), is(2));
+  }
+
+  @Test
+  public void putAndRemoveInBothTiers() {
+    database.put(safeKey("a"), string("1"));
+    database.put(safeKey("b"), string("2"));
+    database.put(safeKey("c"), string("3"));
+
+    assertThat(database.put(safeKey("a"), string("4")), is(string("1")));
+    assertThat(database.remove(safeKey("b")), is(string("2")));
+    assertThat(database.remove(safeKey("c")), is(string("3")));
+    assertThat(database.get(safeKey("b")), nullValue());
+
+    assertThat(database.size(), is(1));
+    assertThat(database.containsKey(safeKey("a")), is(true));
+    assertThat(database.get(safeKey("a")), is(string("4")));
+  }
+
+  @Test
+  public void expiredInColdTier() {
+    database.put(safeKey("a"), string("1").expiredAt(Clock.now() - 1000));
+    database.put(safeKey("b"), string("2"));
+    database.put(safeKey("c"), string("3"));
+
+    assertThat(database.get(safeKey("a")), nullValue());
+    assertThat(database.size(), is(2));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.data;
+
+import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
+import static com.github.tonivade.claudb.data.DatabaseValue.NO_EXPIRATION;
+import static com.github.tonivade.claudb.data.DatabaseValue.string;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.github.tonivade.claudb.WatchState;
+
+public class WatchedDatabaseTest {
+
+  private final WatchedDatabase database = new WatchedDatabase(new OnHeapDatabaseFactory().create("test"));
+
+  private final WatchState state = new WatchState();
+
+  @Test
+  public void putWatchedKey() {
+    watch("a");
+
+    database.put(safeKey("b"), string("value"));
+
+    assertThat(state.isDirty(Clock.now()), is(false));
+
+    database.put(safeKey("a"), string("value"));
+
+    assertThat(state.isDirty(Clock.now()), is(true));
+  }
+
+  @Test
+  public void removeWatchedKey() {
+    watch("a");
+
+    database.remove(safeKey("a"));
+
+    assertThat(state.isDirty(Clock.now()), is(false));
+
+    database.put(safeKey("b"), string("value"));
+    database.remove(safeKey("b"));
+
+    assertThat(state.isDirty(Clock.now()), is(false));
+  }
+
+  @Test
+  public void removeExistingWatchedKey() {
+    database.put(safeKey("a"), string("value"));
+    watch("a");
+
+    database.remove(safeKey("a"));
+
+    assertThat(state.isDirty(Clock.now()), is(true));
+  }
+
+  @Test
+  public void clearWatchedKey() {
+    database.put(safeKey("a"), string("value"));
+    watch("a");
+
+    database.clear();
+
+    assertThat(state.isDirty(Clock.now()), is(true));
+    assertThat(database.isEmpty(), is(true));
+  }
+
+  @Test
+  public void clearWithoutWatchedKeys() {
+    watch("a");
+
+    database.put(safeKey("b"), string("value"));
+    database.clear();
+
+    assertThat(state.isDirty(Clock.now()), is(false));
+  }
+
+  @Test
+  public void unwatch() {
+    watch("a");
+    database.unwatch(safeKey("a"), state);
+
+    database.put(safeKey("a"), string("value"));
+
+    assertThat(state.isDirty(Clock.now()), is(false));
+  }
+
+  @Test
+  public void expiredWatchedKey() {
+    long now = Clock.now();
+    state.add(0, safeKey("a"), now + 10000);
+
+    assertThat(state.isDirty(now), is(false));
+    assertThat(state.isDirty(now + 11000), is(true));
+  }
+
+  private void watch(String key) {
+    state.add(0, safeKey(key), NO_EXPIRATION);
+    database.watch(safeKey(key), state);
+  }
+}
@@ -10,6 +10,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.io.UnsupportedEncodingException;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -25,7 +26,7 @@ public class CRC64Test {
       crc.update(b);
     }
 
-    assertThat(new SafeString(toByteArray(crc.getValue())).toHexString(), is("995DC9BBDF1939FA"));
+    assertThat(new SafeString(toByteArray(crc.getValue())).toHexString(), is("E9C6D914C4B8D9CA"));
   }
 
   @Test
@@ -34,7 +35,7 @@ public class CRC64Test {
     byte[] bytes = "This is a test of the emergency broadcast system.".getBytes("UTF-8");
     crc.update(bytes, 0, bytes.length);
 
-    assertThat(new SafeString(toByteArray(crc.getValue())).toHexString(), is("27DB187FC15BBC72"));
+    assertThat(new SafeString(toByteArray(crc.getValue())).toHexString(), is("42153DC5DB99540F"));
   }
 
   @Test
@@ -43,7 +44,26 @@ public class CRC64Test {
     byte[] bytes = fromHexString("524544495330303033FE00FF").getBytes();
     crc.update(bytes, 0, bytes.length);
 
-    assertThat(new SafeString(toByteArray(crc.getValue())).toHexString(), is("77DE0394AC9D23EA"));
+    assertThat(new SafeString(toByteArray(crc.getValue())).toHexString(), is("BC9782C3713E35AD"));
   }
 
+  @Test
+  public void testBlocks() {
+    byte[] bytes = new byte[1027];
+    new Random(1).nextBytes(bytes);
+
+    for (int offset = 0; offset < 9; offset++) {
+      for (int length : new int[] { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 1018 - offset }) {
+        CRC64 block = new CRC64();
+        block.update(bytes, offset, length);
+
+        CRC64 single = new CRC64();
+        for (int i = offset; i < offset + length; i++) {
+          single.update(bytes[i]);
+        }
+
+        assertThat(block.getValue(), is(single.getValue()));
+      }
+    }
+  }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.persistence;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import io.vavr.collection.Stream;
+
+public class LZFTest {
+
+  @Test
+  public void compressAndDecompress() {
+    byte[] input = Stream.range(0, 1000).map(String::valueOf).mkString(",").getBytes(StandardCharsets.UTF_8);
+    byte[] output = new byte[input.length];
+
+    int length = LZF.compress(input, output);
+
+    assertThat(length > 0 && length < input.length, is(true));
+    assertThat(LZF.decompress(Arrays.copyOf(output, length), input.length), is(input));
+  }
+
+  @Test
+  public void longRepetitions() {
+    byte[] input = new byte[10000];
+    byte[] output = new byte[input.length];
+
+    int length = LZF.compress(input, output);
+
+    assertThat(LZF.decompress(Arrays.copyOf(output, length), input.length), is(input));
+  }
+
+  @Test
+  public void notCompressible() {
+    byte[] input = "abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8);
+
+    assertThat(LZF.compress(input, new byte[input.length - 4]), is(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidData() {
+    LZF.decompress(new byte[] { (byte) 0x20, 0x00 }, 10);
+  }
+}
@@ -6,6 +6,7 @@ package com.github.tonivade.claudb.persistence;
 
 import static com.github.tonivade.resp.protocol.RedisToken.string;
 import static com.github.tonivade.resp.protocol.SafeString.fromHexString;
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
@@ -110,6 +111,16 @@ public class PersistenceManagerTest {
     assertThat(readAOF(), is("*1\r\n$4\r\nPING\r\n"));
   }
 
+  @Test
+  public void testAppendBlock() throws InterruptedException {
+    manager.start();
+    manager.append(asList(RedisToken.array(string("MULTI")), pingCommand(), RedisToken.array(string("EXEC"))));
+
+    Thread.sleep(1000);
+
+    assertThat(readAOF(), is("*1\r\n$5\r\nMULTI\r\n*1\r\n$4\r\nPING\r\n*1\r\n$4\r\nEXEC\r\n"));
+  }
+
   private void deleteFiles() {
     deleteFile(DUMP_FILE);
     deleteFile(REDO_FILE);
@@ -162,7 +173,7 @@ public class PersistenceManagerTest {
     @Override
     public Void answer(InvocationOnMock invocation) throws Throwable {
       OutputStream output = (OutputStream) invocation.getArguments()[0];
-      output.write(fromHexString("524544495330303033FE00FF77DE0394AC9D23EA").getBytes());
+      output.write(fromHexString("524544495330303033FE00FFAD353E71C38297BC").getBytes());
       return null;
     }
   }
@@ -5,6 +5,7 @@
 package com.github.tonivade.claudb.persistence;
 
 import static com.github.tonivade.resp.protocol.SafeString.fromHexString;
+import static com.github.tonivade.resp.protocol.SafeString.safeString;
 import static com.github.tonivade.claudb.DatabaseValueMatchers.entry;
 import static com.github.tonivade.claudb.DatabaseValueMatchers.list;
 import static com.github.tonivade.claudb.DatabaseValueMatchers.score;
@@ -13,8 +14,10 @@ import static com.github.tonivade.claudb.data.DatabaseKey.safeKey;
 import static com.github.tonivade.claudb.data.DatabaseValue.hash;
 import static com.github.tonivade.claudb.data.DatabaseValue.string;
 import static com.github.tonivade.claudb.data.DatabaseValue.zset;
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
@@ -23,14 +26,23 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import com.github.tonivade.claudb.data.ConsumerGroup;
+import com.github.tonivade.claudb.data.ConsumerGroup.Pending;
+import com.github.tonivade.claudb.data.Database;
 import com.github.tonivade.claudb.data.DatabaseKey;
 import com.github.tonivade.claudb.data.DatabaseValue;
+import com.github.tonivade.claudb.data.OnHeapDatabaseFactory;
+import com.github.tonivade.claudb.data.StreamId;
+import com.github.tonivade.claudb.data.StreamLog;
+import com.github.tonivade.resp.protocol.SafeString;
+
+import io.vavr.collection.Stream;
 
 public class RDBInputStreamTest {
 
   @Test
   public void testEmpty() throws IOException {
-    RDBInputStream in = new RDBInputStream(array("524544495330303033FE00FF77DE0394AC9D23EA"));
+    RDBInputStream in = new RDBInputStream(array("524544495330303033FE00FFAD353E71C38297BC"));
 
     Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = in.parse();
 
@@ -39,7 +51,7 @@ public class RDBInputStreamTest {
 
   @Test
   public void testAll() throws IOException {
-    RDBInputStream in = new RDBInputStream(array("524544495330303033FE000001610474657374FE01010161010474657374FE02020161010474657374FE0303016101047465737403312E30FE040401610101310474657374FE05FC00000000000000010001610474657374FFA9D1F09C463A7043"));
+    RDBInputStream in = new RDBInputStream(array("524544495330303033FE000001610474657374FE01010161010474657374FE02020161010474657374FE0303016101047465737403312E30FE040401610101310474657374FE05FC01000000000000000001610474657374FF7E25A86758329F54"));
 
     Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = in.parse();
 
@@ -54,11 +66,155 @@ public class RDBInputStreamTest {
     assertThat(databases.get(5).isEmpty(), is(true));
   }
 
+  @Test
+  public void testChecksumDisabled() throws IOException {
+    RDBInputStream in = new RDBInputStream(array("524544495330303033FE00FF0000000000000000"));
+
+    Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = in.parse();
+
+    assertThat(databases.size(), is(1));
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidChecksum() throws IOException {
+    RDBInputStream in = new RDBInputStream(array("524544495330303033FE00FF0100000000000000"));
+
+    in.parse();
+  }
+
+  @Test
+  public void testTtlSeconds() throws IOException {
+    String dump = "524544495330303038FE00FD005786F40001610474657374FF";
+    RDBInputStream in = new RDBInputStream(array(dump + checksum(dump)));
+
+    Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = in.parse();
+
+    assertThat(databases.get(0).get(safeKey("a")).getExpiredAt(), is(4102444800000L));
+  }
+
+  @Test
+  public void testIntSet() throws IOException {
+    String dump = "524544495330303033FE000B01610E0200000003000000010002000300FF";
+    RDBInputStream in = new RDBInputStream(array(dump + checksum(dump)));
+
+    Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = in.parse();
+
+    assertDB(databases.get(0), set("1", "2", "3"));
+  }
+
+  @Test
+  public void testLongIntSet() throws IOException {
+    DatabaseValue value = DatabaseValue.set(Stream.range(0, 100).map(String::valueOf).map(SafeString::safeString));
+    ByteBufferOutputStream buffer = new ByteBufferOutputStream();
+    RDBOutputStream out = new RDBOutputStream(buffer);
+    out.preamble(6);
+    out.select(0);
+    Database db = new OnHeapDatabaseFactory().create("test");
+    db.put(safeKey("a"), value);
+    out.dabatase(db);
+    out.end();
+
+    Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = new RDBInputStream(new ByteBufferInputStream(buffer.toByteArray())).parse();
+
+    assertDB(databases.get(0), value);
+  }
+
+  @Test
+  public void testRedisOpcodesAndQuicklist() throws IOException {
+    String dump = "524544495330303038"
+        + "FA0972656469732D76657205342E302E30"
+        + "FE00FB0100"
+        + "0E01610113130000000C000000020000F2020474657374FF"
+        + "FF";
+    RDBInputStream in = new RDBInputStream(array(dump + checksum(dump)));
+
+    Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = in.parse();
+
+    assertDB(databases.get(0), list("1", "test"));
+  }
+
+  @Test
+  public void testCompactEncodings() throws IOException {
+    String large = Stream.range(0, 100).map(String::valueOf).mkString(",");
+
+    assertRoundTrip(string("12345"));
+    assertRoundTrip(string("-2147483648"));
+    assertRoundTrip(string("007"));
+    assertRoundTrip(string(large));
+    assertRoundTrip(list("1", "-200", "test", large));
+    assertRoundTrip(DatabaseValue.list(Stream.range(0, 200).map(String::valueOf).map(SafeString::safeString)));
+    assertRoundTrip(hash(entry("1", "test"), entry("large", large)));
+    assertRoundTrip(hash(Stream.range(0, 100).map(i -> entry("key" + i, "value" + i))));
+    assertRoundTrip(zset(score(1.5, "a"), score(2.0, "b"), score(Double.POSITIVE_INFINITY, "c")));
+    assertRoundTrip(zset(Stream.range(0, 100).map(i -> score(i / 3.0, "member" + i)).toJavaList()));
+  }
+
+  @Test
+  public void testStream() throws IOException {
+    StreamLog stream = new StreamLog();
+    for (int i = 1; i <= 300; i++) {
+      stream.add(new StreamId(1000 + i / 10, i), asList(safeString("field"), safeString("value" + i), safeString("n"), safeString(String.valueOf(i))));
+    }
+    stream.trim(250, false);
+    stream.add(new StreamId(2000, 0), asList(safeString("other"), safeString("1")));
+    stream.setLastId(new StreamId(3000, 5));
+    stream.createGroup(safeString("group"), new StreamId(1500, 0));
+    stream.getGroup(safeString("group")).restore(new StreamId(1010, 100), safeString("consumer"), 12345L, 3L);
+    stream.createGroup(safeString("empty"), StreamId.MIN);
+
+    StreamLog result = roundTrip(DatabaseValue.stream(stream).expiredAt(4102444800000L)).getStream();
+
+    assertThat(result, is(stream));
+    assertThat(result.getLastId(), is(new StreamId(3000, 5)));
+    assertThat(result.getGroups().keySet(), contains(safeString("group"), safeString("empty")));
+    ConsumerGroup group = result.getGroup(safeString("group"));
+    assertThat(group.getLastDelivered(), is(new StreamId(1500, 0)));
+    assertThat(group.getPending().firstKey(), is(new StreamId(1010, 100)));
+    Pending pending = group.getPending().firstEntry().getValue();
+    assertThat(pending.getConsumer(), is(safeString("consumer")));
+    assertThat(pending.getDeliveryTime(), is(12345L));
+    assertThat(pending.getDeliveryCount(), is(3L));
+    assertThat(result.getGroup(safeString("empty")).getPending().isEmpty(), is(true));
+  }
+
+  private void assertRoundTrip(DatabaseValue value) throws IOException {
+    assertThat(roundTrip(value), is(value));
+  }
+
+  private DatabaseValue roundTrip(DatabaseValue value) throws IOException {
+    ByteBufferOutputStream buffer = new ByteBufferOutputStream();
+    RDBOutputStream out = new RDBOutputStream(buffer);
+    out.preamble(8);
+    out.select(0);
+    Database db = new OnHeapDatabaseFactory().create("test");
+    db.put(safeKey("a"), value);
+    out.dabatase(db);
+    out.end();
+
+    Map<Integer, Map<DatabaseKey, DatabaseValue>> databases = new RDBInputStream(new ByteBufferInputStream(buffer.toByteArray())).parse();
+
+    assertThat(databases.get(0), notNullValue());
+    return databases.get(0).get(safeKey("a"));
+  }
+
   private void assertDB(Map<DatabaseKey, DatabaseValue> db, DatabaseValue value) {
     assertThat(db, notNullValue());
     assertThat(db.get(safeKey("a")), is(value));
   }
 
+  private String checksum(String string) {
+    CRC64 crc = new CRC64();
+    byte[] bytes = fromHexString(string).getBytes();
+    crc.update(bytes, 0, bytes.length);
+    byte[] checksum = ByteUtils.toByteArray(crc.getValue());
+    for (int i = 0; i < checksum.length / 2; i++) {
+      byte tmp = checksum[i];
+      checksum[i] = checksum[checksum.length - 1 - i];
+      checksum[checksum.length - 1 - i] = tmp;
+    }
+    return new SafeString(checksum).toHexString();
+  }
+
   private InputStream array(String string) {
     return new ByteBufferInputStream(fromHexString(string).getBytes());
   }
@@ -17,7 +17,6 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
-import java.time.Instant;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +44,7 @@ public class RDBOutputStreamTest {
     out.select(0);
     out.end();
 
-    assertThat(toHexString(baos.toByteArray()), is("524544495330303033FE00FF77DE0394AC9D23EA"));
+    assertThat(toHexString(baos.toByteArray()), is("524544495330303033FE00FFAD353E71C38297BC"));
   }
 
   @Test
@@ -57,16 +56,16 @@ public class RDBOutputStreamTest {
 
   @Test
   public void testStringTtl() throws IOException  {
-    out.dabatase(database().add(new DatabaseKey(safeString("a")), string("test").expiredAt(Instant.ofEpochMilli(1L))).build());
+    out.dabatase(database().add(new DatabaseKey(safeString("a")), string("test").expiredAt(1L)).build());
 
-    assertThat(toHexString(baos.toByteArray()), is("FC00000000000000010001610474657374"));
+    assertThat(toHexString(baos.toByteArray()), is("FC01000000000000000001610474657374"));
   }
 
   @Test
   public void testList() throws IOException  {
     out.dabatase(database().add(safeKey("a"), list("test")).build());
 
-    assertThat(toHexString(baos.toByteArray()), is("010161010474657374"));
+    assertThat(toHexString(baos.toByteArray()), is("0A016111110000000A0000000100000474657374FF"));
   }
 
   @Test
@@ -76,18 +75,25 @@ public class RDBOutputStreamTest {
     assertThat(toHexString(baos.toByteArray()), is("020161010474657374"));
   }
 
+  @Test
+  public void testIntSet() throws IOException  {
+    out.dabatase(database().add(safeKey("a"), set("3", "1", "2")).build());
+
+    assertThat(toHexString(baos.toByteArray()), is("0B01610E0200000003000000010002000300"));
+  }
+
   @Test
   public void testSortedSet() throws IOException  {
     out.dabatase(database().add(safeKey("a"), zset(score(1.0, "test"))).build());
 
-    assertThat(toHexString(baos.toByteArray()), is("03016101047465737403312E30"));
+    assertThat(toHexString(baos.toByteArray()), is("0C0161131300000010000000020000047465737406F2FF"));
   }
 
   @Test
   public void testHash() throws IOException  {
     out.dabatase(database().add(safeKey("a"), hash(entry("1", "test"))).build());
 
-    assertThat(toHexString(baos.toByteArray()), is("0401610101310474657374"));
+    assertThat(toHexString(baos.toByteArray()), is("0D016113130000000C000000020000F2020474657374FF"));
   }
 
   @Test
@@ -104,10 +110,10 @@ public class RDBOutputStreamTest {
     out.select(4);
     out.dabatase(database().add(safeKey("a"), hash(entry("1", "test"))).build());
     out.select(5);
-    out.dabatase(database().add(new DatabaseKey(safeString("a")), string("test").expiredAt(Instant.ofEpochMilli(1L))).build());
+    out.dabatase(database().add(new DatabaseKey(safeString("a")), string("test").expiredAt(1L)).build());
     out.end();
 
-    assertThat(toHexString(baos.toByteArray()), is("524544495330303033FE000001610474657374FE01010161010474657374FE02020161010474657374FE0303016101047465737403312E30FE040401610101310474657374FE05FC00000000000000010001610474657374FFA9D1F09C463A7043"));
+    assertThat(toHexString(baos.toByteArray()), is("524544495330303033FE000001610474657374FE010A016111110000000A0000000100000474657374FFFE02020161010474657374FE030C0161131300000010000000020000047465737406F2FFFE040D016113130000000C000000020000F2020474657374FFFE05FC01000000000000000001610474657374FF21CA6EC62E884E96"));
   }
 
   private String toHexString(byte[] byteArray) {
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015-2017, Antonio Gabriel Muñoz Conejo <antoniogmc at gmail dot com>
+ * Distributed under the terms of the MIT License
+ */
+package com.github.tonivade.claudb.persistence;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.tonivade.resp.protocol.SafeString;
+
+import io.vavr.collection.Stream;
+
+public class ZiplistTest {
+
+  @Test
+  public void integers() {
+    assertPacked("0", "12", "13", "-1", "-200", "40000", "-8388608", "2147483647", "-9223372036854775808");
+  }
+
+  @Test
+  public void strings() {
+    String large = Stream.range(0, 1000).map(String::valueOf).mkString();
+    String huge = Stream.range(0, 5000).map(String::valueOf).mkString();
+
+    assertPacked("", "test", "007", "1.5", large, huge, "1");
+  }
+
+  @Test
+  public void format() {
+    assertThat(new SafeString(Ziplist.pack(Stream.of("1", "test").map(SafeString::safeString).toJavaList())).toHexString(),
+               is("13000000" + "0C000000" + "0200" + "00F2" + "020474657374" + "FF"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalid() {
+    Ziplist.unpack(SafeString.fromHexString("13000000" + "0C000000" + "0200" + "00F2" + "0214").getBytes());
+  }
+
+  private void assertPacked(String ... entries) {
+    List<SafeString> list = Stream.of(entries).map(SafeString::safeString).toJavaList();
+
+    assertThat(Ziplist.unpack(Ziplist.pack(list)), is(list));
+  }
+}